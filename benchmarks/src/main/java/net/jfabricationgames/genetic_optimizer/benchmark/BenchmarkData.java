@@ -0,0 +1,58 @@
+package net.jfabricationgames.genetic_optimizer.benchmark;
+
+import java.util.Random;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.GeneticOptimizerProblem;
+
+/**
+ * The (reproducible) input data of the benchmarks.
+ */
+final class BenchmarkData {
+	
+	private static final long SEED = 42;
+	
+	private BenchmarkData() {}
+	
+	/**
+	 * Create DNAs with random genomes in [0, 1) and their fitness (the sum of the genomes).
+	 */
+	static DNA[] createPopulation(int populationSize, int length) {
+		Random random = new Random(SEED);
+		DNA[] population = new DNA[populationSize];
+		for (int i = 0; i < populationSize; i++) {
+			double[] dnaCode = new double[length];
+			double sum = 0;
+			for (int j = 0; j < length; j++) {
+				dnaCode[j] = random.nextDouble();
+				sum += dnaCode[j];
+			}
+			population[i] = new DNA(dnaCode);
+			population[i].setFitness(sum);
+		}
+		return population;
+	}
+	
+	/**
+	 * A cheap problem (the sum of the genomes), so the benchmarks measure the optimizer and not the fitness function.
+	 */
+	static GeneticOptimizerProblem createSumProblem(int length) {
+		return new GeneticOptimizerProblem() {
+			
+			@Override
+			public int getLength() {
+				return length;
+			}
+			
+			@Override
+			public double calculateFitness(DNA dna) {
+				double[] dnaCode = dna.readDNACode();
+				double sum = 0;
+				for (int i = dna.getOffset(); i < dna.getOffset() + dna.getLength(); i++) {
+					sum += dnaCode[i];
+				}
+				return sum;
+			}
+		};
+	}
+}
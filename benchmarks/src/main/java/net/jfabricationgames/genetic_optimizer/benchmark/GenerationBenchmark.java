@@ -0,0 +1,89 @@
+package net.jfabricationgames.genetic_optimizer.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.jfabricationgames.genetic_optimizer.abort_condition.GenerationCountAbortCondition;
+import net.jfabricationgames.genetic_optimizer.heredity.HeredityRandom;
+import net.jfabricationgames.genetic_optimizer.mutation.MutationNormalDistributed;
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.GeneticOptimizer;
+import net.jfabricationgames.genetic_optimizer.optimizer.GeneticOptimizerBuilder;
+import net.jfabricationgames.genetic_optimizer.selection.FitnessProportionalSelector;
+import net.jfabricationgames.genetic_optimizer.selection.SigmaScalingSelectionPressure;
+
+/**
+ * Measures the generation loop of the {@link GeneticOptimizer} (selection, heredity, mutation and fitness calculation of a whole population) with a
+ * cheap fitness function.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GenerationBenchmark {
+	
+	private static final int GENERATIONS = 10;
+	
+	@Param({"100", "1000", "10000"})
+	public int populationSize;
+	
+	@Param({"10", "100", "1000"})
+	public int length;
+	
+	@Param({"1", "4"})
+	public int threads;
+	
+	@Param({"true", "false"})
+	public boolean contiguousPopulation;
+	
+	private GeneticOptimizer optimizer;
+	
+	@Setup(Level.Trial)
+	public void setUp() {
+		optimizer = new GeneticOptimizerBuilder().setProblem(BenchmarkData.createSumProblem(length)).setPopulationSize(populationSize)
+				.setHeredity(new HeredityRandom(0.5)).addMutation(new MutationNormalDistributed(0.5, 0.1, 0, 0.1))
+				.setSelectionPressure(new SigmaScalingSelectionPressure()).setSelector(new FitnessProportionalSelector())
+				.setAbortCondition(new GenerationCountAbortCondition(GENERATIONS)).setUsedThreads(threads)
+				.setUseContiguousPopulation(contiguousPopulation).build();
+	}
+	
+	/**
+	 * Start every iteration with a new random population, so the population doesn't converge over the iterations.
+	 */
+	@Setup(Level.Iteration)
+	public void startOptimization() {
+		optimizer.startOptimization();
+	}
+	
+	/**
+	 * One generation of the optimization.
+	 */
+	@Benchmark
+	public DNA optimizeNextGeneration() throws InterruptedException {
+		optimizer.optimizeNextGeneration();
+		return optimizer.getBestDNA();
+	}
+	
+	/**
+	 * A complete optimization (the initial population and {@value #GENERATIONS} generations).
+	 */
+	@Benchmark
+	public DNA optimize() {
+		optimizer.optimize();
+		return optimizer.getBestDNA();
+	}
+}
@@ -0,0 +1,80 @@
+package net.jfabricationgames.genetic_optimizer.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.jfabricationgames.genetic_optimizer.heredity.Heredity;
+import net.jfabricationgames.genetic_optimizer.heredity.HeredityDoubleCross;
+import net.jfabricationgames.genetic_optimizer.heredity.HeredityRandom;
+import net.jfabricationgames.genetic_optimizer.heredity.HeredityShuffleCross;
+import net.jfabricationgames.genetic_optimizer.heredity.HereditySingleCross;
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+
+/**
+ * Measures the creation of one child by every {@link Heredity} (allocating a new child and writing into an existing child).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HeredityBenchmark {
+	
+	@Param({"SINGLE_CROSS", "DOUBLE_CROSS", "RANDOM", "SHUFFLE_CROSS"})
+	public String heredityType;
+	
+	@Param({"10", "100", "1000", "10000"})
+	public int length;
+	
+	private Heredity heredity;
+	private DNA father;
+	private DNA mother;
+	private DNA child;
+	
+	@Setup
+	public void setUp() {
+		switch (heredityType) {
+			case "SINGLE_CROSS":
+				heredity = new HereditySingleCross();
+				break;
+			case "DOUBLE_CROSS":
+				heredity = new HeredityDoubleCross();
+				break;
+			case "RANDOM":
+				heredity = new HeredityRandom(0.5);
+				break;
+			case "SHUFFLE_CROSS":
+				heredity = new HeredityShuffleCross();
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown heredity: " + heredityType);
+		}
+		DNA[] parents = BenchmarkData.createPopulation(2, length);
+		father = parents[0];
+		mother = parents[1];
+		child = new DNA(length);
+	}
+	
+	@Benchmark
+	public DNA mixDNA() {
+		return heredity.mixDNA(father, mother);
+	}
+	
+	@Benchmark
+	public DNA mixDNAInPlace() {
+		heredity.mixDNA(father, mother, child);
+		return child;
+	}
+}
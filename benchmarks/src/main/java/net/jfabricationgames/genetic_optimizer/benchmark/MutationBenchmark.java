@@ -0,0 +1,75 @@
+package net.jfabricationgames.genetic_optimizer.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.jfabricationgames.genetic_optimizer.mutation.Mutation;
+import net.jfabricationgames.genetic_optimizer.mutation.MutationInversion;
+import net.jfabricationgames.genetic_optimizer.mutation.MutationNormalDistributed;
+import net.jfabricationgames.genetic_optimizer.mutation.MutationReptation;
+import net.jfabricationgames.genetic_optimizer.mutation.MutationScramble;
+import net.jfabricationgames.genetic_optimizer.mutation.MutationSparseGaussian;
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+
+/**
+ * Measures the mutation of one DNA by every {@link Mutation} (with a mutation rate of 1, so every call mutates the DNA).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MutationBenchmark {
+	
+	@Param({"NORMAL_DISTRIBUTED", "INVERSION", "REPTATION", "SCRAMBLE", "SPARSE_GAUSSIAN"})
+	public String mutationType;
+	
+	@Param({"10", "100", "1000", "10000"})
+	public int length;
+	
+	private Mutation mutation;
+	private DNA dna;
+	
+	@Setup
+	public void setUp() {
+		switch (mutationType) {
+			case "NORMAL_DISTRIBUTED":
+				mutation = new MutationNormalDistributed(1, 0.1, 0, 0.1);
+				break;
+			case "INVERSION":
+				mutation = new MutationInversion(1, Math.max(1, length / 10), 1);
+				break;
+			case "REPTATION":
+				mutation = new MutationReptation(1, 1, Math.max(1, length / 10), 0.5);
+				break;
+			case "SCRAMBLE":
+				mutation = new MutationScramble(1, Math.max(1, length / 10));
+				break;
+			case "SPARSE_GAUSSIAN":
+				//a per-gene rate of 0.1% (the cost depends on the number of mutated genomes, not on the length)
+				mutation = new MutationSparseGaussian(0.001, 0.1);
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown mutation: " + mutationType);
+		}
+		dna = BenchmarkData.createPopulation(1, length)[0];
+	}
+	
+	@Benchmark
+	public DNA mutate() {
+		mutation.mutate(dna);
+		return dna;
+	}
+}
@@ -0,0 +1,68 @@
+package net.jfabricationgames.genetic_optimizer.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.OptimizerRandom;
+
+/**
+ * Compares single draws from {@link ThreadLocalRandom} (as the operators used them per genome) with the bulk draws of {@link OptimizerRandom}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RandomBenchmark {
+	
+	@Param({"100", "10000"})
+	public int count;
+	
+	private double[] values;
+	
+	@Setup
+	public void setUp() {
+		values = new double[count];
+	}
+	
+	@Benchmark
+	public double[] threadLocalRandomDoubles() {
+		for (int i = 0; i < count; i++) {
+			values[i] = ThreadLocalRandom.current().nextDouble();
+		}
+		return values;
+	}
+	
+	@Benchmark
+	public double[] bulkDoubles() {
+		OptimizerRandom.nextDoubles(values, 0, count);
+		return values;
+	}
+	
+	@Benchmark
+	public double[] threadLocalRandomGaussians() {
+		for (int i = 0; i < count; i++) {
+			values[i] = ThreadLocalRandom.current().nextGaussian();
+		}
+		return values;
+	}
+	
+	@Benchmark
+	public double[] bulkGaussians() {
+		OptimizerRandom.nextGaussians(values, 0, count);
+		return values;
+	}
+}
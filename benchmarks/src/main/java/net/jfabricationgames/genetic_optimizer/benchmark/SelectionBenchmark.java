@@ -0,0 +1,131 @@
+package net.jfabricationgames.genetic_optimizer.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.selection.AliasTableSelector;
+import net.jfabricationgames.genetic_optimizer.selection.EquallyDistributedSelectionPressure;
+import net.jfabricationgames.genetic_optimizer.selection.FitnessProportionalSelectionPressure;
+import net.jfabricationgames.genetic_optimizer.selection.FitnessProportionalSelector;
+import net.jfabricationgames.genetic_optimizer.selection.FitnessStatistics;
+import net.jfabricationgames.genetic_optimizer.selection.LinearDynamicScalingSelectionPressure;
+import net.jfabricationgames.genetic_optimizer.selection.PopulationSelector;
+import net.jfabricationgames.genetic_optimizer.selection.SelectionPressure;
+import net.jfabricationgames.genetic_optimizer.selection.Selector;
+import net.jfabricationgames.genetic_optimizer.selection.SigmaScalingSelectionPressure;
+import net.jfabricationgames.genetic_optimizer.selection.StochasticallyDistributedSelector;
+import net.jfabricationgames.genetic_optimizer.selection.TournamentSelector;
+import net.jfabricationgames.genetic_optimizer.selection.TruncationSelector;
+
+/**
+ * Measures the selection of the parents of one generation by every pair of {@link SelectionPressure} and {@link Selector}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SelectionBenchmark {
+	
+	@Param({"EQUALLY_DISTRIBUTED", "FITNESS_PROPORTIONAL", "LINEAR_DYNAMIC_SCALING", "SIGMA_SCALING"})
+	public String selectionPressureType;
+	
+	@Param({"FITNESS_PROPORTIONAL", "STOCHASTICALLY_DISTRIBUTED", "ALIAS_TABLE", "TOURNAMENT", "TRUNCATION"})
+	public String selectorType;
+	
+	@Param({"100", "1000", "10000", "100000"})
+	public int populationSize;
+	
+	private SelectionPressure selectionPressure;
+	private Selector selector;
+	private DNA[] population;
+	private double[] selectionProbability;
+	private double[] selectionProbabilityBuffer;
+	
+	@Setup
+	public void setUp() {
+		switch (selectionPressureType) {
+			case "EQUALLY_DISTRIBUTED":
+				selectionPressure = new EquallyDistributedSelectionPressure();
+				break;
+			case "FITNESS_PROPORTIONAL":
+				selectionPressure = new FitnessProportionalSelectionPressure();
+				break;
+			case "LINEAR_DYNAMIC_SCALING":
+				selectionPressure = new LinearDynamicScalingSelectionPressure();
+				break;
+			case "SIGMA_SCALING":
+				selectionPressure = new SigmaScalingSelectionPressure();
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown selection pressure: " + selectionPressureType);
+		}
+		switch (selectorType) {
+			case "FITNESS_PROPORTIONAL":
+				selector = new FitnessProportionalSelector();
+				break;
+			case "STOCHASTICALLY_DISTRIBUTED":
+				selector = new StochasticallyDistributedSelector();
+				break;
+			case "ALIAS_TABLE":
+				selector = new AliasTableSelector();
+				break;
+			case "TOURNAMENT":
+				selector = new TournamentSelector(2, true);
+				break;
+			case "TRUNCATION":
+				selector = new TruncationSelector(0.5);
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown selector: " + selectorType);
+		}
+		population = BenchmarkData.createPopulation(populationSize, 10);
+		selectionProbability = selectionPressure.calculateSelectionProbability(population, 0, true, 0);
+		selectionProbabilityBuffer = new double[populationSize];
+	}
+	
+	@Benchmark
+	public double[] calculateSelectionProbability() {
+		return selectionPressure.calculateSelectionProbability(population, 0, true, 0);
+	}
+	
+	/**
+	 * The selection probabilities written to a reused array, using the fitness statistics (as used by the optimizer).
+	 */
+	@Benchmark
+	public double[] calculateSelectionProbabilityWithStatistics() {
+		FitnessStatistics statistics = selectionPressure.usesFitnessStatistics() ? FitnessStatistics.of(population) : null;
+		selectionPressure.calculateSelectionProbability(population, statistics, 0, true, 0, selectionProbabilityBuffer);
+		return selectionProbabilityBuffer;
+	}
+	
+	@Benchmark
+	public int[] select() {
+		return selector.select(selectionProbability, populationSize);
+	}
+	
+	/**
+	 * The selection pressure and the selector together (as used in every generation of the optimizer). A {@link PopulationSelector} selects by the
+	 * fitness, so the selection pressure is not used (like in the optimizer).
+	 */
+	@Benchmark
+	public int[] calculateSelectionProbabilityAndSelect() {
+		if (selector instanceof PopulationSelector) {
+			return ((PopulationSelector) selector).select(population, true, populationSize);
+		}
+		return selector.select(selectionPressure.calculateSelectionProbability(population, 0, true, 0), populationSize);
+	}
+}
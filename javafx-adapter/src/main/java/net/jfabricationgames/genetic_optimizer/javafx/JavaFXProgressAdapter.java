@@ -0,0 +1,57 @@
+package net.jfabricationgames.genetic_optimizer.javafx;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import net.jfabricationgames.genetic_optimizer.optimizer.GeneticOptimizer;
+import net.jfabricationgames.genetic_optimizer.optimizer.OptimizationEvent;
+import net.jfabricationgames.genetic_optimizer.optimizer.OptimizationListener;
+
+/**
+ * Provides the progress of a {@link GeneticOptimizer} as a JavaFX property, that is updated on the JavaFX application thread (so it can be bound
+ * to UI controls like a progress bar).
+ * 
+ * The adapter listens to the events of the optimizer, so the optimization is never blocked by the JavaFX listeners. If the optimizer is faster
+ * than the JavaFX application thread only the latest progress is set.
+ */
+public class JavaFXProgressAdapter implements OptimizationListener {
+	
+	private ReadOnlyDoubleWrapper progress = new ReadOnlyDoubleWrapper(this, "GeneticOptimizerCalculationProgress", 0);
+	
+	private volatile double latestProgress;
+	private AtomicBoolean updateScheduled = new AtomicBoolean();
+	
+	/**
+	 * Create an adapter that observes the progress of the optimizer.
+	 */
+	public static JavaFXProgressAdapter observe(GeneticOptimizer optimizer) {
+		JavaFXProgressAdapter adapter = new JavaFXProgressAdapter();
+		optimizer.addListener(adapter);
+		return adapter;
+	}
+	
+	@Override
+	public void onEvent(OptimizationEvent event) {
+		latestProgress = event.getProgress();
+		//schedule at most one update at a time, that sets the latest progress
+		if (updateScheduled.compareAndSet(false, true)) {
+			Platform.runLater(() -> {
+				updateScheduled.set(false);
+				progress.set(latestProgress);
+			});
+		}
+	}
+	
+	/**
+	 * The progress of the optimization (from 0 to 1), that is only changed by the JavaFX application thread.
+	 */
+	public ReadOnlyDoubleProperty progressProperty() {
+		return progress.getReadOnlyProperty();
+	}
+	
+	public double getProgress() {
+		return progress.get();
+	}
+}
@@ -6,4 +6,23 @@ import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
 public interface Heredity {
 	
 	public DNA mixDNA(DNA father, DNA mother);
+	
+	/**
+	 * Mix the DNA of father and mother into an existing child DNA (in place), so no new DNA has to be allocated.
+	 * 
+	 * The default implementation creates a new child using {@link #mixDNA(DNA, DNA)} and copies it into the given child. Implementations should
+	 * override this method to write the genomes directly into the child (using the child's {@link DNA#getOffset()}).
+	 * 
+	 * @param father
+	 *        The father DNA.
+	 * 
+	 * @param mother
+	 *        The mother DNA.
+	 * 
+	 * @param child
+	 *        The DNA that the mixed genomes are written to (mussn't be the father or the mother).
+	 */
+	public default void mixDNA(DNA father, DNA mother, DNA child) {
+		mixDNA(father, mother).copyTo(child);
+	}
 }
\ No newline at end of file
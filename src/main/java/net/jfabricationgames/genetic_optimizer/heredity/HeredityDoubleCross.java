@@ -1,18 +1,26 @@
 package net.jfabricationgames.genetic_optimizer.heredity;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 import com.google.common.annotations.VisibleForTesting;
 
 import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.OptimizerRandom;
 
 public class HeredityDoubleCross implements Heredity {
 	
 	@Override
 	public DNA mixDNA(DNA father, DNA mother) {
+		DNA child = new DNA(father.getLength());
+		crossOver(father, mother, child);
+		return child;
+	}
+	
+	@Override
+	public void mixDNA(DNA father, DNA mother, DNA child) {
+		crossOver(father, mother, child);
+	}
+	
+	private void crossOver(DNA father, DNA mother, DNA child) {
 		int n = father.getLength();
-		DNA child = new DNA(n);
-		
 		int splitAt1 = (int) (getRandomNumber() * n);
 		int splitAt2 = (int) (getRandomNumber() * n);
 		
@@ -34,20 +42,19 @@ public class HeredityDoubleCross implements Heredity {
 			second = father;
 		}
 		
-		double[] childsDnaCode = child.getDNACode();
-		double[] firstDnaCode = first.getDNACode();
-		double[] secondDnaCode = second.getDNACode();
-		for (int i = 0; i < splitAt1; i++) {
-			childsDnaCode[i] = firstDnaCode[i];
-		}
-		for (int i = splitAt1; i < splitAt2; i++) {
-			childsDnaCode[i] = secondDnaCode[i];
-		}
-		for (int i = splitAt2; i < n; i++) {
-			childsDnaCode[i] = firstDnaCode[i];
+		if (splitAt1 == splitAt2) {
+			//the child is a copy of the first parent (so the fitness doesn't need to be calculated again)
+			first.copyTo(child);
+			return;
 		}
 		
-		return child;
+		double[] childsDnaCode = child.getDNACode();
+		double[] firstDnaCode = first.readDNACode();
+		double[] secondDnaCode = second.readDNACode();
+		int childsOffset = child.getOffset();
+		System.arraycopy(firstDnaCode, first.getOffset(), childsDnaCode, childsOffset, splitAt1);
+		System.arraycopy(secondDnaCode, second.getOffset() + splitAt1, childsDnaCode, childsOffset + splitAt1, splitAt2 - splitAt1);
+		System.arraycopy(firstDnaCode, first.getOffset() + splitAt2, childsDnaCode, childsOffset + splitAt2, n - splitAt2);
 	}
 	
 	@Override
@@ -57,6 +64,6 @@ public class HeredityDoubleCross implements Heredity {
 	
 	@VisibleForTesting
 	/*private*/ double getRandomNumber() {
-		return ThreadLocalRandom.current().nextDouble();
+		return OptimizerRandom.nextDouble();
 	}
 }
\ No newline at end of file
@@ -1,10 +1,9 @@
 package net.jfabricationgames.genetic_optimizer.heredity;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 import com.google.common.annotations.VisibleForTesting;
 
 import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.OptimizerRandom;
 
 public class HeredityRandom implements Heredity {
 	
@@ -23,20 +22,43 @@ public class HeredityRandom implements Heredity {
 	@Override
 	public DNA mixDNA(DNA father, DNA mother) {
 		DNA child = new DNA(father.getLength());
+		mix(father, mother, child);
+		return child;
+	}
+	
+	@Override
+	public void mixDNA(DNA father, DNA mother, DNA child) {
+		mix(father, mother, child);
+	}
+	
+	private void mix(DNA father, DNA mother, DNA child) {
 		double[] dnaCode = child.getDNACode();
-		double[] fathersCode = father.getDNACode();
-		double[] mothersCode = mother.getDNACode();
+		int childsOffset = child.getOffset();
+		double[] fathersCode = father.readDNACode();
+		double[] mothersCode = mother.readDNACode();
+		int fathersOffset = father.getOffset();
+		int mothersOffset = mother.getOffset();
 		
+		//draw the random numbers for all genomes at once (faster than single draws)
+		double[] randomNumbers = getRandomNumbers(father.getLength());
+		int fathersChromosomes = 0;
 		for (int i = 0; i < father.getLength(); i++) {
-			if (getRandomNumber() > probabilityFather) {
-				dnaCode[i] = mothersCode[i];
+			if (randomNumbers[i] > probabilityFather) {
+				dnaCode[childsOffset + i] = mothersCode[mothersOffset + i];
 			}
 			else {
-				dnaCode[i] = fathersCode[i];
+				dnaCode[childsOffset + i] = fathersCode[fathersOffset + i];
+				fathersChromosomes++;
 			}
 		}
 		
-		return child;
+		//if all chromosomes are taken from one parent the child is a copy of the parent (so the fitness doesn't need to be calculated again)
+		if (fathersChromosomes == father.getLength() && !father.isDirty()) {
+			child.setFitness(father.getFitness());
+		}
+		else if (fathersChromosomes == 0 && !mother.isDirty()) {
+			child.setFitness(mother.getFitness());
+		}
 	}
 	
 	@Override
@@ -44,9 +66,12 @@ public class HeredityRandom implements Heredity {
 		return "HeredityRandom [probabilityFather=" + probabilityFather + "]";
 	}
 	
+	/**
+	 * Get count uniformly distributed random numbers in the range [0, 1), that are stored at the indices [0, count) of a (reused) buffer.
+	 */
 	@VisibleForTesting
-	/*private*/ double getRandomNumber() {
-		return ThreadLocalRandom.current().nextDouble();
+	/*private*/ double[] getRandomNumbers(int count) {
+		return OptimizerRandom.nextDoubles(count);
 	}
 	
 	public double getProbabilityFather() {
@@ -1,10 +1,9 @@
 package net.jfabricationgames.genetic_optimizer.heredity;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 import com.google.common.annotations.VisibleForTesting;
 
 import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.OptimizerRandom;
 
 /**
  * Create a cross over heredity by shuffling the parent chromosomes, using a single cross heredity and un-shuffle the chromosomes.
@@ -13,6 +12,8 @@ import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
  */
 public class HeredityShuffleCross implements Heredity {
 	
+	private final ThreadLocal<int[]> indexBuffer = ThreadLocal.withInitial(() -> new int[0]);
+	
 	@Override
 	public DNA mixDNA(DNA father, DNA mother) {
 		int n = father.getLength();
@@ -24,8 +25,8 @@ public class HeredityShuffleCross implements Heredity {
 		//copy the arrays because it's faster than in place changes
 		fatherChromosomes = new double[n];
 		motherChromosomes = new double[n];
-		System.arraycopy(father.getDNACode(), 0, fatherChromosomes, 0, n);
-		System.arraycopy(mother.getDNACode(), 0, motherChromosomes, 0, n);
+		System.arraycopy(father.readDNACode(), father.getOffset(), fatherChromosomes, 0, n);
+		System.arraycopy(mother.readDNACode(), mother.getOffset(), motherChromosomes, 0, n);
 		
 		//generate the indices to shuffle the parent arrays
 		int[] shuffleIndices = generateShuffleIndices(n);
@@ -48,6 +49,39 @@ public class HeredityShuffleCross implements Heredity {
 		return new DNA(childChromosomes);
 	}
 	
+	/**
+	 * Create the child in place: The mother's chromosomes are copied to the child and a random subset of the positions (as big as the part of the
+	 * shuffled DNA that would be taken from the father) is chosen from the father's chromosomes using a partial fisher-yates shuffle on an index
+	 * buffer. That's equal to shuffling, crossing and un-shuffling the DNA, but doesn't allocate new arrays for every child.
+	 */
+	@Override
+	public void mixDNA(DNA father, DNA mother, DNA child) {
+		int n = father.getLength();
+		int[] indices = getIndexBuffer(n);
+		
+		//the child is a copy of the mother (including the fitness) if no chromosomes are taken from the father
+		mother.copyTo(child);
+		
+		int splitAt = (int) (getRandomNumber() * n);
+		if (splitAt == 0) {
+			return;
+		}
+		
+		double[] fatherChromosomes = father.readDNACode();
+		double[] childChromosomes = child.getDNACode();
+		int fatherOffset = father.getOffset();
+		int childOffset = child.getOffset();
+		for (int i = 0; i < splitAt; i++) {
+			//choose one of the not yet chosen positions (stored in indices[i, n))
+			int swapIndex = i + (int) (getRandomNumber() * (n - i));
+			int chosen = indices[swapIndex];
+			indices[swapIndex] = indices[i];
+			indices[i] = chosen;
+			
+			childChromosomes[childOffset + chosen] = fatherChromosomes[fatherOffset + chosen];
+		}
+	}
+	
 	@Override
 	public String toString() {
 		return "HeredityShuffleCross []";
@@ -96,8 +130,23 @@ public class HeredityShuffleCross implements Heredity {
 		}
 	}
 	
+	/**
+	 * Get a (thread local) buffer that contains a permutation of the indices [0, n).
+	 */
+	private int[] getIndexBuffer(int n) {
+		int[] indices = indexBuffer.get();
+		if (indices.length != n) {
+			indices = new int[n];
+			for (int i = 0; i < n; i++) {
+				indices[i] = i;
+			}
+			indexBuffer.set(indices);
+		}
+		return indices;
+	}
+	
 	@VisibleForTesting
 	/*private*/ double getRandomNumber() {
-		return ThreadLocalRandom.current().nextDouble();
+		return OptimizerRandom.nextDouble();
 	}
 }
\ No newline at end of file
@@ -1,18 +1,26 @@
 package net.jfabricationgames.genetic_optimizer.heredity;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 import com.google.common.annotations.VisibleForTesting;
 
 import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.OptimizerRandom;
 
 public class HereditySingleCross implements Heredity {
 	
 	@Override
 	public DNA mixDNA(DNA father, DNA mother) {
+		DNA child = new DNA(mother.getLength());
+		crossOver(father, mother, child);
+		return child;
+	}
+	
+	@Override
+	public void mixDNA(DNA father, DNA mother, DNA child) {
+		crossOver(father, mother, child);
+	}
+	
+	private void crossOver(DNA father, DNA mother, DNA child) {
 		int n = mother.getLength();
-		DNA child = new DNA(n);
-		
 		int splitAt = (int) (getRandomNumber() * n);
 		
 		DNA first;
@@ -26,17 +34,17 @@ public class HereditySingleCross implements Heredity {
 			second = father;
 		}
 		
-		double[] childsDnaCode = child.getDNACode();
-		double[] firstDnaCode = first.getDNACode();
-		double[] secondDnaCode = second.getDNACode();
-		for (int i = 0; i < splitAt; i++) {
-			childsDnaCode[i] = firstDnaCode[i];
-		}
-		for (int i = splitAt; i < n; i++) {
-			childsDnaCode[i] = secondDnaCode[i];
+		if (splitAt == 0) {
+			//the child is a copy of the second parent (so the fitness doesn't need to be calculated again)
+			second.copyTo(child);
+			return;
 		}
 		
-		return child;
+		double[] childsDnaCode = child.getDNACode();
+		double[] firstDnaCode = first.readDNACode();
+		double[] secondDnaCode = second.readDNACode();
+		System.arraycopy(firstDnaCode, first.getOffset(), childsDnaCode, child.getOffset(), splitAt);
+		System.arraycopy(secondDnaCode, second.getOffset() + splitAt, childsDnaCode, child.getOffset() + splitAt, n - splitAt);
 	}
 	
 	@Override
@@ -46,6 +54,6 @@ public class HereditySingleCross implements Heredity {
 	
 	@VisibleForTesting
 	/*private*/ double getRandomNumber() {
-		return ThreadLocalRandom.current().nextDouble();
+		return OptimizerRandom.nextDouble();
 	}
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package net.jfabricationgames.genetic_optimizer.island;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+
+/**
+ * A {@link MigrationTransport} for islands that are all located in the same process. The migrants are stored in a lock-free queue for every island.
+ */
+public class InProcessMigrationTransport implements MigrationTransport {
+	
+	private List<Queue<DNA>> inboxes;
+	
+	/**
+	 * @param islands
+	 *        The number of islands.
+	 */
+	public InProcessMigrationTransport(int islands) {
+		if (islands <= 0) {
+			throw new IllegalArgumentException("The number of islands has to be a positive value. Input was: " + islands);
+		}
+		inboxes = new ArrayList<Queue<DNA>>(islands);
+		for (int i = 0; i < islands; i++) {
+			inboxes.add(new ConcurrentLinkedQueue<DNA>());
+		}
+	}
+	
+	@Override
+	public int getIslandCount() {
+		return inboxes.size();
+	}
+	
+	@Override
+	public int getFirstLocalIsland() {
+		return 0;
+	}
+	
+	@Override
+	public int getLocalIslandCount() {
+		return inboxes.size();
+	}
+	
+	@Override
+	public void send(int island, DNA[] migrants) {
+		Queue<DNA> inbox = inboxes.get(island);
+		for (DNA migrant : migrants) {
+			inbox.add(migrant);
+		}
+	}
+	
+	@Override
+	public DNA poll(int island) {
+		return inboxes.get(island).poll();
+	}
+}
\ No newline at end of file
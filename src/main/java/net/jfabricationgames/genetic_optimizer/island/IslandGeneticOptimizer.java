@@ -0,0 +1,342 @@
+package net.jfabricationgames.genetic_optimizer.island;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import net.jfabricationgames.genetic_optimizer.abort_condition.AbortCondition;
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.GeneticOptimizer;
+
+/**
+ * An island model that optimizes some independent populations (islands) in parallel. Every island is a {@link GeneticOptimizer} that is optimized
+ * in it's own thread, so every island can use it's own selector, selection pressure, heredity, mutations, ...
+ * 
+ * Every few generations the best individuals of an island are sent to other islands (chosen by the {@link MigrationTopology}), where they replace
+ * the worst individuals. The islands don't wait for each other: the migrants are sent by a {@link MigrationTransport} and are received when the
+ * target island migrates the next time.
+ * 
+ * The islands can be distributed to different processes (or machines) by using a transport that connects the processes (like the
+ * {@link TcpMigrationTransport}). Every process runs an IslandGeneticOptimizer with it's local islands. The abort condition and the best DNA are
+ * local to every process.
+ */
+public class IslandGeneticOptimizer {
+	
+	private List<GeneticOptimizer> islands;
+	private AbortCondition abortCondition;
+	private MigrationTopology topology;
+	private int migrationInterval;
+	private int migrants;
+	private boolean minimize;
+	
+	private MigrationTransport transport;
+	private AtomicReference<DNA> bestDNA = new AtomicReference<DNA>();
+	private LongAdder receivedMigrants = new LongAdder();
+	
+	private volatile boolean aborted;
+	private long start;
+	
+	/**
+	 * Create an island model with all islands in this process (using an {@link InProcessMigrationTransport}).
+	 * 
+	 * @param islands
+	 *        The optimizers of the islands (at least 2). The abort conditions of the islands are not used.
+	 * 
+	 * @param abortCondition
+	 *        The condition to terminate the optimization of all islands. It's checked (with the global best DNA and the generation of the island)
+	 *        after every generation of every island.
+	 * 
+	 * @param topology
+	 *        The topology that determines to which islands the migrants are sent.
+	 * 
+	 * @param migrationInterval
+	 *        The number of generations between two migrations of an island.
+	 * 
+	 * @param migrants
+	 *        The number of (best) individuals that are sent to every target island on each migration.
+	 */
+	public IslandGeneticOptimizer(List<GeneticOptimizer> islands, AbortCondition abortCondition, MigrationTopology topology, int migrationInterval,
+			int migrants) throws IllegalArgumentException, NullPointerException {
+		this(islands, abortCondition, topology, migrationInterval, migrants,
+				new InProcessMigrationTransport(Objects.requireNonNull(islands, "The islands mussn't be null.").size()));
+	}
+	
+	/**
+	 * Create an island model, which's islands can be distributed to other processes.
+	 * 
+	 * @param islands
+	 *        The optimizers of the local islands (the number of islands has to match the local islands of the transport). The abort conditions of
+	 *        the islands are not used.
+	 * 
+	 * @param abortCondition
+	 *        The condition to terminate the optimization of all islands. It's checked (with the global best DNA and the generation of the island)
+	 *        after every generation of every island.
+	 * 
+	 * @param topology
+	 *        The topology that determines to which islands the migrants are sent.
+	 * 
+	 * @param migrationInterval
+	 *        The number of generations between two migrations of an island.
+	 * 
+	 * @param migrants
+	 *        The number of (best) individuals that are sent to every target island on each migration.
+	 * 
+	 * @param transport
+	 *        The transport that sends the migrants to the (local or remote) islands.
+	 */
+	public IslandGeneticOptimizer(List<GeneticOptimizer> islands, AbortCondition abortCondition, MigrationTopology topology, int migrationInterval,
+			int migrants, MigrationTransport transport) throws IllegalArgumentException, NullPointerException {
+		Objects.requireNonNull(islands, "The islands mussn't be null.");
+		Objects.requireNonNull(abortCondition, "The abort condition mussn't be null.");
+		Objects.requireNonNull(topology, "The topology mussn't be null.");
+		Objects.requireNonNull(transport, "The transport mussn't be null.");
+		if (transport.getIslandCount() < 2) {
+			throw new IllegalArgumentException("At least 2 islands have to be used. Input size was: " + transport.getIslandCount());
+		}
+		if (islands.size() != transport.getLocalIslandCount()) {
+			throw new IllegalArgumentException("The number of islands (" + islands.size() + ") doesn't match the local islands of the transport ("
+					+ transport.getLocalIslandCount() + ").");
+		}
+		if (migrationInterval <= 0) {
+			throw new IllegalArgumentException("The migration interval has to be a positive value. Input was: " + migrationInterval);
+		}
+		if (migrants < 0) {
+			throw new IllegalArgumentException("The number of migrants mussn't be negative. Input was: " + migrants);
+		}
+		minimize = islands.get(0).isMinimize();
+		for (GeneticOptimizer island : islands) {
+			if (island.isMinimize() != minimize) {
+				throw new IllegalArgumentException("All islands have to either minimize or maximize the fitness.");
+			}
+		}
+		
+		this.islands = islands;
+		this.abortCondition = abortCondition;
+		this.topology = topology;
+		this.migrationInterval = migrationInterval;
+		this.migrants = migrants;
+		this.transport = transport;
+	}
+	
+	public void optimize() {
+		start = System.nanoTime();
+		aborted = false;
+		bestDNA.set(null);
+		receivedMigrants.reset();
+		
+		ExecutorService executorService = Executors.newFixedThreadPool(islands.size());
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>(islands.size());
+			for (int i = 0; i < islands.size(); i++) {
+				final int island = i;
+				futures.add(executorService.submit(new Runnable() {
+					
+					@Override
+					public void run() {
+						optimizeIsland(island);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				}
+				catch (ExecutionException e) {
+					//stop the other islands
+					aborted = true;
+					throw new IllegalStateException("The optimization of an island failed.", e);
+				}
+			}
+		}
+		catch (InterruptedException ie) {
+			//catch the interrupted exception and set the interrupted state again to terminate directly
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			aborted = true;
+			executorService.shutdownNow();
+		}
+	}
+	
+	private void optimizeIsland(int index) {
+		GeneticOptimizer island = islands.get(index);
+		island.startOptimization();
+		updateBestDNA(island.getBestDNA());
+		checkAbortCondition(island.getGeneration());
+		
+		try {
+			while (!aborted && !Thread.currentThread().isInterrupted()) {
+				try {
+					island.optimizeNextGeneration();
+				}
+				catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+				
+				if (island.getGeneration() % migrationInterval == 0) {
+					migrate(index);
+				}
+				
+				updateBestDNA(island.getBestDNA());
+				checkAbortCondition(island.getGeneration());
+			}
+		}
+		finally {
+			//release the threads of the island (also if the optimization of the island failed)
+			island.finishOptimization();
+		}
+	}
+	
+	/**
+	 * Send the best individuals of a local island to the target islands and replace the worst individuals of the island by the received migrants (at
+	 * most half of the population is replaced in one migration, the remaining migrants are dropped).
+	 */
+	@VisibleForTesting
+	/*private*/ void migrate(int index) {
+		GeneticOptimizer island = islands.get(index);
+		DNA[] population = island.getPopulation();
+		int globalIndex = transport.getFirstLocalIsland() + index;
+		
+		//send copies of the best individuals (the individuals of the island are reused in the next generations)
+		int[] best = findBestIndices(population, Math.min(migrants, population.length));
+		DNA[] emigrants = new DNA[best.length];
+		for (int i = 0; i < best.length; i++) {
+			emigrants[i] = copy(population[best[i]]);
+		}
+		if (emigrants.length > 0) {
+			for (int target : topology.getTargets(globalIndex, transport.getIslandCount())) {
+				transport.send(target, emigrants);
+			}
+		}
+		
+		//receive the migrants from the other islands
+		int maxReceived = population.length / 2;
+		int received = 0;
+		DNA migrant;
+		while ((migrant = transport.poll(globalIndex)) != null) {
+			if (received < maxReceived) {
+				island.replaceIndividual(findWorstIndex(island.getPopulation()), migrant);
+				received++;
+			}
+		}
+		receivedMigrants.add(received);
+	}
+	
+	/**
+	 * Find the indices of the best individuals using a partial insertion sort.
+	 */
+	private int[] findBestIndices(DNA[] population, int count) {
+		int[] best = new int[count];
+		int found = 0;
+		for (int i = 0; i < population.length; i++) {
+			int j = found < count ? found++ : count;
+			//move the worse individuals back to insert the individual i at the right position
+			while (j > 0 && isBetterFitness(population[i].getFitness(), population[best[j - 1]].getFitness())) {
+				if (j < count) {
+					best[j] = best[j - 1];
+				}
+				j--;
+			}
+			if (j < count) {
+				best[j] = i;
+			}
+		}
+		return best;
+	}
+	
+	private int findWorstIndex(DNA[] population) {
+		int worst = 0;
+		for (int i = 1; i < population.length; i++) {
+			if (isBetterFitness(population[worst].getFitness(), population[i].getFitness())) {
+				worst = i;
+			}
+		}
+		return worst;
+	}
+	
+	private void updateBestDNA(DNA islandsBest) {
+		DNA best = bestDNA.get();
+		while (best == null || isBetterFitness(islandsBest.getFitness(), best.getFitness())) {
+			if (bestDNA.compareAndSet(best, copy(islandsBest))) {
+				return;
+			}
+			best = bestDNA.get();
+		}
+	}
+	
+	private void checkAbortCondition(int generation) {
+		//the abort condition is not expected to be thread safe
+		synchronized (abortCondition) {
+			if (!aborted && abortCondition.abort(bestDNA.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), generation)) {
+				aborted = true;
+			}
+		}
+	}
+	
+	private boolean isBetterFitness(double fitness, double comparedFitness) {
+		if (minimize) {
+			return fitness < comparedFitness;
+		}
+		else {
+			return fitness > comparedFitness;
+		}
+	}
+	
+	private DNA copy(DNA dna) {
+		DNA copy = new DNA(dna.getLength());
+		dna.copyTo(copy);
+		return copy;
+	}
+	
+	/**
+	 * The best DNA that was found on any island.
+	 */
+	public DNA getBestDNA() {
+		return bestDNA.get();
+	}
+	
+	/**
+	 * The number of migrants that were received by all islands.
+	 */
+	public long getReceivedMigrants() {
+		return receivedMigrants.sum();
+	}
+	
+	public List<GeneticOptimizer> getIslands() {
+		return islands;
+	}
+	
+	public AbortCondition getAbortCondition() {
+		return abortCondition;
+	}
+	
+	public MigrationTransport getTransport() {
+		return transport;
+	}
+	
+	public MigrationTopology getTopology() {
+		return topology;
+	}
+	
+	public int getMigrationInterval() {
+		return migrationInterval;
+	}
+	
+	public int getMigrants() {
+		return migrants;
+	}
+	
+	public boolean isMinimize() {
+		return minimize;
+	}
+}
\ No newline at end of file
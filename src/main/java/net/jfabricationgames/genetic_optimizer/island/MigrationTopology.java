@@ -0,0 +1,64 @@
+package net.jfabricationgames.genetic_optimizer.island;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.OptimizerRandom;
+
+/**
+ * The topology that determines to which islands the migrants of an island are sent.
+ */
+public enum MigrationTopology {
+	
+	/**
+	 * The migrants are sent to the next island (the last island sends it's migrants to the first one).
+	 */
+	RING {
+		
+		@Override
+		public int[] getTargets(int island, int islands) {
+			return new int[] {(island + 1) % islands};
+		}
+	},
+	/**
+	 * The migrants are sent to all other islands.
+	 */
+	FULLY_CONNECTED {
+		
+		@Override
+		public int[] getTargets(int island, int islands) {
+			int[] targets = new int[islands - 1];
+			for (int i = 0, j = 0; i < islands; i++) {
+				if (i != island) {
+					targets[j++] = i;
+				}
+			}
+			return targets;
+		}
+	},
+	/**
+	 * The migrants are sent to a randomly chosen other island (a new island is chosen for every migration).
+	 */
+	RANDOM {
+		
+		@Override
+		public int[] getTargets(int island, int islands) {
+			int target = OptimizerRandom.nextInt(islands - 1);
+			if (target >= island) {
+				//skip the island itself
+				target++;
+			}
+			return new int[] {target};
+		}
+	};
+	
+	/**
+	 * Get the islands to which the migrants of an island are sent.
+	 * 
+	 * @param island
+	 *        The index of the island that sends the migrants.
+	 * 
+	 * @param islands
+	 *        The number of islands (at least 2).
+	 * 
+	 * @return The indices of the islands that receive the migrants.
+	 */
+	public abstract int[] getTargets(int island, int islands);
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package net.jfabricationgames.genetic_optimizer.island;
+
+import java.io.Closeable;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+
+/**
+ * Transports the migrants between the islands of an {@link IslandGeneticOptimizer}, that can be located in the same process or in other processes
+ * (or other machines).
+ * 
+ * The islands are identified by a global index. The islands of one process (the local islands) have the indices [getFirstLocalIsland(),
+ * getFirstLocalIsland() + getLocalIslandCount()).
+ * 
+ * The methods of a transport are called by the threads of all local islands, so they have to be thread safe. Sending migrants mussn't block (e.g.
+ * because of the network latency), so the islands don't have to wait for the transport.
+ */
+public interface MigrationTransport extends Closeable {
+	
+	/**
+	 * The number of islands in all processes.
+	 */
+	public int getIslandCount();
+	
+	/**
+	 * The global index of the first island of this process.
+	 */
+	public int getFirstLocalIsland();
+	
+	/**
+	 * The number of islands in this process.
+	 */
+	public int getLocalIslandCount();
+	
+	/**
+	 * Send migrants to an island (asynchronously). The migrants mussn't be changed after they were sent.
+	 * 
+	 * @param island
+	 *        The global index of the island that receives the migrants.
+	 * 
+	 * @param migrants
+	 *        The migrants (including their fitness).
+	 */
+	public void send(int island, DNA[] migrants);
+	
+	/**
+	 * Receive the next migrant that was sent to a local island (without waiting).
+	 * 
+	 * @param island
+	 *        The global index of the local island.
+	 * 
+	 * @return The next migrant or null if no migrant is available.
+	 */
+	public DNA poll(int island);
+	
+	/**
+	 * Release the resources of the transport (the default implementation does nothing).
+	 */
+	@Override
+	public default void close() {}
+}
\ No newline at end of file
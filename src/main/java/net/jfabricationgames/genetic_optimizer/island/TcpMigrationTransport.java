@@ -0,0 +1,392 @@
+package net.jfabricationgames.genetic_optimizer.island;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+
+/**
+ * A {@link MigrationTransport} that sends the migrants to the islands of other processes using TCP connections.
+ * 
+ * Every process listens on a port for the migrants of the other processes (only on the loopback address by default, because the connections are
+ * not authenticated; see {@link #TcpMigrationTransport(InetAddress, int, int, int, int)} to accept connections of other hosts). The other
+ * processes (and the islands they host) are added using {@link #addRemoteNode(InetSocketAddress, int, int)}. Every remote node has a queue of
+ * outgoing messages that is sent by a background thread, so sending migrants never blocks the islands. If the queue is full or the connection
+ * fails the migrants are dropped (and counted, see {@link #getDroppedMessages()}).
+ * 
+ * A connection starts with a magic number, followed by the messages: the global index of the target island, the number of migrants and for every
+ * migrant it's length, it's fitness and it's genomes.
+ */
+public class TcpMigrationTransport implements MigrationTransport {
+	
+	private static final int MAGIC = 0x4A464749;//identifies a connection of a TcpMigrationTransport
+	private static final int MAX_PENDING_MESSAGES = 1024;//the maximum number of messages that are queued for a remote node
+	private static final int MAX_DNA_LENGTH = 1 << 24;//the maximum length of a received DNA (to detect broken messages)
+	private static final int CONNECT_TIMEOUT = 5000;//the timeout to connect to a remote node (in milliseconds)
+	private static final long MIN_ACCEPT_RETRY_DELAY = 10;//the time to wait after accepting a connection failed (in milliseconds)
+	private static final long MAX_ACCEPT_RETRY_DELAY = 1000;//the delay is doubled for every failure in a row, up to this maximum
+	
+	private int islandCount;
+	private int firstLocalIsland;
+	private List<Queue<DNA>> inboxes;
+	
+	private ServerSocket serverSocket;
+	private List<RemoteNode> remoteNodes = new CopyOnWriteArrayList<RemoteNode>();
+	private Set<Socket> connections = ConcurrentHashMap.newKeySet();
+	private LongAdder droppedMessages = new LongAdder();
+	private volatile boolean closed;
+	
+	/**
+	 * A message that is queued to be sent to a remote node.
+	 */
+	private static class Message {
+		
+		private final int island;
+		private final DNA[] migrants;
+		
+		private Message(int island, DNA[] migrants) {
+			this.island = island;
+			this.migrants = migrants;
+		}
+	}
+	
+	/**
+	 * Another process that hosts some of the islands. The queued messages are sent by a background thread, that (re-)connects to the node when
+	 * needed.
+	 */
+	private class RemoteNode implements Runnable {
+		
+		private final InetSocketAddress address;
+		private final int firstIsland;
+		private final int islands;
+		private final BlockingQueue<Message> outgoing = new ArrayBlockingQueue<Message>(MAX_PENDING_MESSAGES);
+		private final Thread sender;
+		
+		private Socket socket;
+		private DataOutputStream output;
+		
+		private RemoteNode(InetSocketAddress address, int firstIsland, int islands) {
+			this.address = address;
+			this.firstIsland = firstIsland;
+			this.islands = islands;
+			sender = new Thread(this, "TcpMigrationTransport-Sender-" + address);
+			sender.setDaemon(true);
+		}
+		
+		private boolean hosts(int island) {
+			return island >= firstIsland && island < firstIsland + islands;
+		}
+		
+		@Override
+		public void run() {
+			while (!closed) {
+				Message message;
+				try {
+					message = outgoing.take();
+				}
+				catch (InterruptedException ie) {
+					break;
+				}
+				try {
+					if (socket == null) {
+						connect();
+					}
+					write(output, message);
+					output.flush();
+				}
+				catch (IOException ioe) {
+					//drop the message and reconnect with the next message
+					droppedMessages.increment();
+					disconnect();
+				}
+			}
+			disconnect();
+		}
+		
+		private void connect() throws IOException {
+			socket = new Socket();
+			socket.setTcpNoDelay(true);
+			socket.connect(address, CONNECT_TIMEOUT);
+			output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			output.writeInt(MAGIC);
+		}
+		
+		private void disconnect() {
+			if (socket != null) {
+				closeQuietly(socket);
+				socket = null;
+				output = null;
+			}
+		}
+	}
+	
+	/**
+	 * Create a transport that listens on the given port of the loopback address for migrants of the other processes (that run on the same host).
+	 * 
+	 * @param port
+	 *        The port that is used to receive migrants (0 to choose a free port, see {@link #getLocalPort()}).
+	 * 
+	 * @param islandCount
+	 *        The number of islands in all processes.
+	 * 
+	 * @param firstLocalIsland
+	 *        The global index of the first island of this process.
+	 * 
+	 * @param localIslandCount
+	 *        The number of islands in this process.
+	 */
+	public TcpMigrationTransport(int port, int islandCount, int firstLocalIsland, int localIslandCount) throws IOException {
+		this(InetAddress.getLoopbackAddress(), port, islandCount, firstLocalIsland, localIslandCount);
+	}
+	/**
+	 * Create a transport that listens on the given address and port for migrants of the other processes.
+	 * 
+	 * @param bindAddress
+	 *        The local address that the server socket is bound to (null to accept connections on all addresses, which should only be used in a trusted
+	 *        network, because the connections are not authenticated).
+	 * 
+	 * @param port
+	 *        The port that is used to receive migrants (0 to choose a free port, see {@link #getLocalPort()}).
+	 * 
+	 * @param islandCount
+	 *        The number of islands in all processes.
+	 * 
+	 * @param firstLocalIsland
+	 *        The global index of the first island of this process.
+	 * 
+	 * @param localIslandCount
+	 *        The number of islands in this process.
+	 */
+	public TcpMigrationTransport(InetAddress bindAddress, int port, int islandCount, int firstLocalIsland, int localIslandCount) throws IOException {
+		if (localIslandCount <= 0 || firstLocalIsland < 0 || firstLocalIsland + localIslandCount > islandCount) {
+			throw new IllegalArgumentException("The local islands have to be a non-empty part of all islands. Input was: islandCount=" + islandCount
+					+ ", firstLocalIsland=" + firstLocalIsland + ", localIslandCount=" + localIslandCount);
+		}
+		this.islandCount = islandCount;
+		this.firstLocalIsland = firstLocalIsland;
+		inboxes = new ArrayList<Queue<DNA>>(localIslandCount);
+		for (int i = 0; i < localIslandCount; i++) {
+			inboxes.add(new ConcurrentLinkedQueue<DNA>());
+		}
+		
+		serverSocket = new ServerSocket(port, 0, bindAddress);
+		Thread acceptor = new Thread(new Runnable() {
+			
+			@Override
+			public void run() {
+				acceptConnections();
+			}
+		}, "TcpMigrationTransport-Acceptor-" + serverSocket.getLocalPort());
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+	
+	/**
+	 * Add another process that hosts the islands [firstIsland, firstIsland + islands).
+	 */
+	public void addRemoteNode(InetSocketAddress address, int firstIsland, int islands) {
+		if (firstIsland < 0 || islands <= 0 || firstIsland + islands > islandCount) {
+			throw new IllegalArgumentException("The islands of the remote node have to be a non-empty part of all islands. Input was: firstIsland="
+					+ firstIsland + ", islands=" + islands);
+		}
+		RemoteNode node = new RemoteNode(address, firstIsland, islands);
+		remoteNodes.add(node);
+		node.sender.start();
+	}
+	
+	@Override
+	public void send(int island, DNA[] migrants) {
+		if (isLocal(island)) {
+			Queue<DNA> inbox = inboxes.get(island - firstLocalIsland);
+			for (DNA migrant : migrants) {
+				inbox.add(migrant);
+			}
+			return;
+		}
+		for (RemoteNode node : remoteNodes) {
+			if (node.hosts(island)) {
+				if (!node.outgoing.offer(new Message(island, migrants))) {
+					//the node can't keep up (or is not reachable) -> drop the migrants instead of waiting
+					droppedMessages.increment();
+				}
+				return;
+			}
+		}
+		throw new IllegalArgumentException("The island " + island + " is not hosted by any node.");
+	}
+	
+	@Override
+	public DNA poll(int island) {
+		return inboxes.get(island - firstLocalIsland).poll();
+	}
+	
+	private boolean isLocal(int island) {
+		return island >= firstLocalIsland && island < firstLocalIsland + inboxes.size();
+	}
+	
+	private void acceptConnections() {
+		long retryDelay = MIN_ACCEPT_RETRY_DELAY;
+		while (!closed && !serverSocket.isClosed()) {
+			try {
+				Socket socket = serverSocket.accept();
+				retryDelay = MIN_ACCEPT_RETRY_DELAY;
+				connections.add(socket);
+				Thread receiver = new Thread(new Runnable() {
+					
+					@Override
+					public void run() {
+						receive(socket);
+					}
+				}, "TcpMigrationTransport-Receiver-" + socket.getRemoteSocketAddress());
+				receiver.setDaemon(true);
+				receiver.start();
+			}
+			catch (IOException ioe) {
+				if (closed || serverSocket.isClosed()) {
+					//the transport was closed
+					return;
+				}
+				//accepting failed (e.g. because there are too many open files) -> wait before trying again instead of spinning
+				try {
+					Thread.sleep(retryDelay);
+				}
+				catch (InterruptedException ie) {
+					return;
+				}
+				retryDelay = Math.min(2 * retryDelay, MAX_ACCEPT_RETRY_DELAY);
+			}
+		}
+	}
+	
+	private void receive(Socket socket) {
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+			if (input.readInt() != MAGIC) {
+				return;
+			}
+			while (!closed) {
+				int island = input.readInt();
+				int count = input.readInt();
+				for (int i = 0; i < count; i++) {
+					DNA migrant = readDNA(input);
+					if (isLocal(island)) {
+						inboxes.get(island - firstLocalIsland).add(migrant);
+					}
+				}
+			}
+		}
+		catch (IOException ioe) {
+			//the connection was closed
+		}
+		finally {
+			connections.remove(socket);
+			closeQuietly(socket);
+		}
+	}
+	
+	private static void write(DataOutputStream output, Message message) throws IOException {
+		output.writeInt(message.island);
+		output.writeInt(message.migrants.length);
+		for (DNA migrant : message.migrants) {
+			double[] dnaCode = migrant.readDNACode();
+			output.writeInt(migrant.getLength());
+			output.writeDouble(migrant.getFitness());
+			for (int i = migrant.getOffset(); i < migrant.getOffset() + migrant.getLength(); i++) {
+				output.writeDouble(dnaCode[i]);
+			}
+		}
+	}
+	
+	private static DNA readDNA(DataInputStream input) throws IOException {
+		int length = input.readInt();
+		if (length < 0 || length > MAX_DNA_LENGTH) {
+			throw new IOException("Invalid DNA length: " + length);
+		}
+		double fitness = input.readDouble();
+		double[] dnaCode = new double[length];
+		for (int i = 0; i < length; i++) {
+			dnaCode[i] = input.readDouble();
+		}
+		DNA dna = new DNA(dnaCode);
+		dna.setFitness(fitness);
+		return dna;
+	}
+	
+	private static void closeQuietly(Socket socket) {
+		try {
+			socket.close();
+		}
+		catch (IOException ioe) {
+			//ignore it, because the socket is not used anymore
+		}
+	}
+	
+	@Override
+	public void close() {
+		closed = true;
+		try {
+			serverSocket.close();
+		}
+		catch (IOException ioe) {
+			//ignore it, because the transport is not used anymore
+		}
+		for (Socket socket : connections) {
+			closeQuietly(socket);
+		}
+		for (RemoteNode node : remoteNodes) {
+			node.sender.interrupt();
+		}
+	}
+	
+	/**
+	 * The local address on which the migrants of the other processes are received.
+	 */
+	public InetAddress getLocalAddress() {
+		return serverSocket.getInetAddress();
+	}
+	
+	/**
+	 * The port on which the migrants of the other processes are received.
+	 */
+	public int getLocalPort() {
+		return serverSocket.getLocalPort();
+	}
+	
+	/**
+	 * The number of messages that were dropped because a remote node was not reachable or couldn't keep up.
+	 */
+	public long getDroppedMessages() {
+		return droppedMessages.sum();
+	}
+	
+	@Override
+	public int getIslandCount() {
+		return islandCount;
+	}
+	
+	@Override
+	public int getFirstLocalIsland() {
+		return firstLocalIsland;
+	}
+	
+	@Override
+	public int getLocalIslandCount() {
+		return inboxes.size();
+	}
+}
\ No newline at end of file
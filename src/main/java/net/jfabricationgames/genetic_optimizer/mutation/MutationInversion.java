@@ -1,10 +1,9 @@
 package net.jfabricationgames.genetic_optimizer.mutation;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 import com.google.common.annotations.VisibleForTesting;
 
 import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.OptimizerRandom;
 
 /**
  * Mutation by inversion: Choose a range within the sequence and invert it
@@ -32,7 +31,8 @@ public class MutationInversion implements Mutation {
 			}
 			
 			double[] dnaCode = dna.getDNACode();
-			for (int i = k1; i <= k2; i++) {
+			int offset = dna.getOffset();
+			for (int i = offset + k1; i <= offset + k2; i++) {
 				dnaCode[i] = getMaxValue() - dnaCode[i];
 			}
 		}
@@ -45,7 +45,7 @@ public class MutationInversion implements Mutation {
 	
 	@VisibleForTesting
 	/*private*/ double getRandomNumber() {
-		return ThreadLocalRandom.current().nextDouble();
+		return OptimizerRandom.nextDouble();
 	}
 	
 	@VisibleForTesting
@@ -1,10 +1,9 @@
 package net.jfabricationgames.genetic_optimizer.mutation;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 import com.google.common.annotations.VisibleForTesting;
 
 import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.OptimizerRandom;
 
 public class MutationNormalDistributed implements Mutation {
 	
@@ -33,21 +32,30 @@ public class MutationNormalDistributed implements Mutation {
 	@Override
 	public void mutate(DNA dna) {
 		if (getRandomNumber() < mutationRate) {
-			int mutatedFields = (int) (getRandomNumber() * getMaxMutatedFieldsPropotion() * dna.getLength());
+			int length = dna.getLength();
+			int mutatedFields = (int) (getRandomNumber() * getMaxMutatedFieldsPropotion() * length);
+			if (mutatedFields == 0) {
+				return;
+			}
+			
+			//draw the random numbers for all mutated fields at once (faster than single draws)
+			double[] fieldRandomNumbers = getRandomNumbers(mutatedFields);
+			double[] gaussianRandomNumbers = getGaussianRandomNumbers(mutatedFields);
+			
+			double expectedValue = getExpectedValue();
+			double standardDeviation = getStandardDeviation();
+			double minValue = getMinValue();
+			double maxValue = getMaxValue();
+			double[] dnaCode = dna.getDNACode();
+			int offset = dna.getOffset();
 			
 			//mutate a randomly chosen number of fields using a normal-distribution
 			for (int i = 0; i < mutatedFields; i++) {
 				//the index of the changed field
-				int fieldIndex = (int) (getRandomNumber() * dna.getLength());
-				//the change that is added onto the field
-				double change = getExpectedValue() + getGaussianRandomNumber() * getStandardDeviation();
-				
-				//add the change to the dna
-				double[] dnaCode = dna.getDNACode();
-				dnaCode[fieldIndex] += change;
-				
-				//check whether the new value is within the allowed range
-				dnaCode[fieldIndex] = Math.max(getMinValue(), Math.min(getMaxValue(), dnaCode[fieldIndex]));
+				int fieldIndex = offset + (int) (fieldRandomNumbers[i] * length);
+				//add the change to the dna and check whether the new value is within the allowed range
+				double mutated = dnaCode[fieldIndex] + expectedValue + gaussianRandomNumbers[i] * standardDeviation;
+				dnaCode[fieldIndex] = Math.max(minValue, Math.min(maxValue, mutated));
 			}
 		}
 	}
@@ -59,12 +67,23 @@ public class MutationNormalDistributed implements Mutation {
 	}
 	@VisibleForTesting
 	/*private*/ double getRandomNumber() {
-		return ThreadLocalRandom.current().nextDouble();
+		return OptimizerRandom.nextDouble();
+	}
+	
+	/**
+	 * Get count uniformly distributed random numbers in the range [0, 1), that are stored at the indices [0, count) of a (reused) buffer.
+	 */
+	@VisibleForTesting
+	/*private*/ double[] getRandomNumbers(int count) {
+		return OptimizerRandom.nextDoubles(count);
 	}
 	
+	/**
+	 * Get count normal distributed random numbers, that are stored at the indices [0, count) of a (reused) buffer.
+	 */
 	@VisibleForTesting
-	/*private*/ double getGaussianRandomNumber() {
-		return ThreadLocalRandom.current().nextGaussian();
+	/*private*/ double[] getGaussianRandomNumbers(int count) {
+		return OptimizerRandom.nextGaussians(count);
 	}
 	
 	@VisibleForTesting
@@ -1,10 +1,9 @@
 package net.jfabricationgames.genetic_optimizer.mutation;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 import com.google.common.annotations.VisibleForTesting;
 
 import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.OptimizerRandom;
 
 /**
  * Mutation by Reptation: Take some code sequences from the start of the DNA-Code and put them at the end
@@ -29,20 +28,36 @@ public class MutationReptation implements Mutation {
 			int n = dna.getLength();
 			int k = (int) (getRandomNumber() * (getReptationLengthMax() - getReptationLengthMin()) + getReptationLengthMin());
 			
+			if (k > n) {
+				throw new ArrayIndexOutOfBoundsException("The reptation length (" + k + ") is bigger than the DNA length (" + n + ")");
+			}
+			
 			double[] dnaCode = dna.getDNACode();
-			double[] tmp = new double[k];
+			int offset = dna.getOffset();
+			//rotate the DNA in place by reversing both parts and then the whole DNA (no temporary array needed)
 			if (getRandomNumber() < frontToBackProbability) {
 				//move k DNA-Parts from the front of the DNA to the back
-				System.arraycopy(dnaCode, 0, tmp, 0, k);
-				System.arraycopy(dnaCode, k, dnaCode, 0, n - k);
-				System.arraycopy(tmp, 0, dnaCode, n - k, k);
+				reverse(dnaCode, offset, offset + k);
+				reverse(dnaCode, offset + k, offset + n);
 			}
 			else {
 				//move k DNA-Parts from the back of the DNA to the front
-				System.arraycopy(dnaCode, n - k, tmp, 0, k);
-				System.arraycopy(dnaCode, 0, dnaCode, k, n - k);
-				System.arraycopy(tmp, 0, dnaCode, 0, k);
+				reverse(dnaCode, offset, offset + n - k);
+				reverse(dnaCode, offset + n - k, offset + n);
 			}
+			reverse(dnaCode, offset, offset + n);
+		}
+	}
+	
+	/**
+	 * Reverse the range [from, to) of the array in place.
+	 */
+	private void reverse(double[] dnaCode, int from, int to) {
+		double tmp;
+		for (int i = from, j = to - 1; i < j; i++, j--) {
+			tmp = dnaCode[i];
+			dnaCode[i] = dnaCode[j];
+			dnaCode[j] = tmp;
 		}
 	}
 	
@@ -54,7 +69,7 @@ public class MutationReptation implements Mutation {
 	
 	@VisibleForTesting
 	/*private*/ double getRandomNumber() {
-		return ThreadLocalRandom.current().nextDouble();
+		return OptimizerRandom.nextDouble();
 	}
 	
 	@VisibleForTesting
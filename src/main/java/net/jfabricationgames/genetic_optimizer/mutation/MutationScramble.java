@@ -1,10 +1,9 @@
 package net.jfabricationgames.genetic_optimizer.mutation;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 import com.google.common.annotations.VisibleForTesting;
 
 import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.OptimizerRandom;
 
 /**
  * Mutation by scramble: Take an interval in the DNA-Sequence and mix the entries in this interval stochastically.
@@ -29,7 +28,7 @@ public class MutationScramble implements Mutation {
 			int swaps = (int) (getRandomNumber() * getMaxSwaps());
 			
 			double[] dnaCode = dna.getDNACode();
-			int minK = Math.min(k1, k2);
+			int minK = Math.min(k1, k2) + dna.getOffset();
 			for (int i = 0; i < swaps; i++) {
 				int d1 = (int) (getRandomNumber() * dist) + minK;
 				int d2 = (int) (getRandomNumber() * dist) + minK;
@@ -48,7 +47,7 @@ public class MutationScramble implements Mutation {
 	
 	@VisibleForTesting
 	/*private*/ double getRandomNumber() {
-		return ThreadLocalRandom.current().nextDouble();
+		return OptimizerRandom.nextDouble();
 	}
 	
 	@VisibleForTesting
@@ -0,0 +1,26 @@
+package net.jfabricationgames.genetic_optimizer.mutation;
+
+/**
+ * A sparse mutation (see {@link SparseMutation}) for binary DNAs (genomes that are 0 or 1), that flips every mutated genome (values below 0.5 are
+ * set to 1, all other values to 0).
+ */
+public class MutationSparseBitFlip extends SparseMutation {
+	
+	/**
+	 * @param perGeneRate
+	 *        The probability of every genome to be flipped.
+	 */
+	public MutationSparseBitFlip(double perGeneRate) {
+		super(perGeneRate);
+	}
+	
+	@Override
+	protected double mutateGenome(double genome) {
+		return genome < 0.5 ? 1 : 0;
+	}
+	
+	@Override
+	public String toString() {
+		return "MutationSparseBitFlip [perGeneRate=" + getPerGeneRate() + "]";
+	}
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package net.jfabricationgames.genetic_optimizer.mutation;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.OptimizerRandom;
+
+/**
+ * A sparse mutation (see {@link SparseMutation}) that adds a normal distributed change to every mutated genome.
+ */
+public class MutationSparseGaussian extends SparseMutation {
+	
+	private double standardDeviation;
+	private double minValue;
+	private double maxValue;
+	
+	/**
+	 * @param perGeneRate
+	 *        The probability of every genome to be mutated.
+	 * 
+	 * @param standardDeviation
+	 *        The standard deviation of the change (the expected change is 0).
+	 * 
+	 * @param minValue
+	 *        The minimum value of a mutated genome.
+	 * 
+	 * @param maxValue
+	 *        The maximum value of a mutated genome.
+	 */
+	public MutationSparseGaussian(double perGeneRate, double standardDeviation, double minValue, double maxValue) {
+		super(perGeneRate);
+		this.standardDeviation = standardDeviation;
+		this.minValue = minValue;
+		this.maxValue = maxValue;
+	}
+	public MutationSparseGaussian(double perGeneRate, double standardDeviation) {
+		this(perGeneRate, standardDeviation, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+	}
+	
+	@Override
+	protected double mutateGenome(double genome) {
+		return Math.max(minValue, Math.min(maxValue, genome + getGaussianRandomNumber() * standardDeviation));
+	}
+	
+	@Override
+	public String toString() {
+		return "MutationSparseGaussian [perGeneRate=" + getPerGeneRate() + ", standardDeviation=" + standardDeviation + ", minValue=" + minValue
+				+ ", maxValue=" + maxValue + "]";
+	}
+	
+	@VisibleForTesting
+	/*private*/ double getGaussianRandomNumber() {
+		return OptimizerRandom.nextGaussian();
+	}
+	
+	public double getStandardDeviation() {
+		return standardDeviation;
+	}
+	
+	public double getMinValue() {
+		return minValue;
+	}
+	
+	public double getMaxValue() {
+		return maxValue;
+	}
+}
\ No newline at end of file
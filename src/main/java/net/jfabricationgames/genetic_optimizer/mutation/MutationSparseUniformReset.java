@@ -0,0 +1,49 @@
+package net.jfabricationgames.genetic_optimizer.mutation;
+
+/**
+ * A sparse mutation (see {@link SparseMutation}) that replaces every mutated genome by a uniformly distributed value in the range [minValue,
+ * maxValue).
+ */
+public class MutationSparseUniformReset extends SparseMutation {
+	
+	private double minValue;
+	private double maxValue;
+	
+	/**
+	 * @param perGeneRate
+	 *        The probability of every genome to be mutated.
+	 * 
+	 * @param minValue
+	 *        The minimum of the new values.
+	 * 
+	 * @param maxValue
+	 *        The maximum of the new values (exclusive).
+	 */
+	public MutationSparseUniformReset(double perGeneRate, double minValue, double maxValue) {
+		super(perGeneRate);
+		if (maxValue < minValue) {
+			throw new IllegalArgumentException("The maximum value mussn't be smaller than the minimum value. Input was: minValue=" + minValue
+					+ ", maxValue=" + maxValue);
+		}
+		this.minValue = minValue;
+		this.maxValue = maxValue;
+	}
+	
+	@Override
+	protected double mutateGenome(double genome) {
+		return minValue + getRandomNumber() * (maxValue - minValue);
+	}
+	
+	@Override
+	public String toString() {
+		return "MutationSparseUniformReset [perGeneRate=" + getPerGeneRate() + ", minValue=" + minValue + ", maxValue=" + maxValue + "]";
+	}
+	
+	public double getMinValue() {
+		return minValue;
+	}
+	
+	public double getMaxValue() {
+		return maxValue;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package net.jfabricationgames.genetic_optimizer.mutation;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.OptimizerRandom;
+
+/**
+ * A mutation that mutates every genome independently with a (usually small) per-gene rate.
+ * 
+ * Instead of drawing a random number for every genome, the number of genomes that are skipped till the next mutated genome is drawn from the
+ * geometric distribution. So the cost of the mutation is proportional to the number of mutated genomes (not to the length of the DNA), which makes a
+ * big difference for long DNAs and low rates (e.g. a length of 100000 and a rate of 0.001 leads to about 100 random draws instead of 100000).
+ */
+public abstract class SparseMutation implements Mutation {
+	
+	private double perGeneRate;
+	private double logOneMinusRate;
+	
+	/**
+	 * @param perGeneRate
+	 *        The probability of every genome to be mutated (in the range [0, 1]).
+	 */
+	protected SparseMutation(double perGeneRate) {
+		if (perGeneRate < 0 || perGeneRate > 1) {
+			throw new IllegalArgumentException("The per-gene rate has to be in the range [0, 1]. Input was: " + perGeneRate);
+		}
+		this.perGeneRate = perGeneRate;
+		logOneMinusRate = Math.log1p(-perGeneRate);
+	}
+	
+	@Override
+	public void mutate(DNA dna) {
+		if (perGeneRate == 0) {
+			return;
+		}
+		int length = dna.getLength();
+		long index = getSkippedGenomes();
+		if (index >= length) {
+			//no genome is mutated (the DNA doesn't need to be marked as dirty)
+			return;
+		}
+		
+		double[] dnaCode = dna.getDNACode();
+		int offset = dna.getOffset();
+		while (index < length) {
+			int position = offset + (int) index;
+			dnaCode[position] = mutateGenome(dnaCode[position]);
+			//jump directly to the next mutated genome
+			index += 1 + getSkippedGenomes();
+		}
+	}
+	
+	/**
+	 * The number of genomes till the next mutated genome (geometric distribution with the per-gene rate as probability of success).
+	 */
+	private long getSkippedGenomes() {
+		if (perGeneRate == 1) {
+			return 0;
+		}
+		//1 - random is in the range (0, 1], so the logarithm is defined
+		double skipped = Math.floor(Math.log(1 - getRandomNumber()) / logOneMinusRate);
+		//very large skips (that are beyond every DNA length) are limited to prevent an overflow
+		return (long) Math.min(skipped, Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Create the new value of a mutated genome.
+	 */
+	protected abstract double mutateGenome(double genome);
+	
+	@VisibleForTesting
+	/*private*/ double getRandomNumber() {
+		return OptimizerRandom.nextDouble();
+	}
+	
+	public double getPerGeneRate() {
+		return perGeneRate;
+	}
+}
\ No newline at end of file
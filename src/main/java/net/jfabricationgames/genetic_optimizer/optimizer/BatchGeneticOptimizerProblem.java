@@ -0,0 +1,40 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+/**
+ * A {@link GeneticOptimizerProblem} that can calculate the fitness of many DNAs in one call.
+ * 
+ * The optimizer hands the whole slice of the population, that is processed by one thread, to
+ * {@link #calculateFitness(DNA[], int, int, double[])}, so the setup cost of the fitness function only has to be paid once per slice.
+ */
+public interface BatchGeneticOptimizerProblem extends GeneticOptimizerProblem {
+	
+	/**
+	 * Calculate the fitness of the DNAs in the range [from, to) of the batch and store them in the same range of the fitness array.
+	 * 
+	 * The default implementation calculates the fitness of every DNA using {@link #calculateFitness(DNA)}.
+	 * 
+	 * @param batch
+	 *        The DNAs which's fitness is calculated.
+	 * 
+	 * @param from
+	 *        The first index of the range (inclusive).
+	 * 
+	 * @param to
+	 *        The last index of the range (exclusive).
+	 * 
+	 * @param fitness
+	 *        The array that the calculated fitness values are stored in (at the same indices as the DNAs).
+	 */
+	public default void calculateFitness(DNA[] batch, int from, int to, double[] fitness) {
+		for (int i = from; i < to; i++) {
+			fitness[i] = calculateFitness(batch[i]);
+		}
+	}
+	
+	/**
+	 * Calculate the fitness of all DNAs of the batch and store them in the fitness array.
+	 */
+	public default void calculateFitness(DNA[] batch, double[] fitness) {
+		calculateFitness(batch, 0, batch.length, fitness);
+	}
+}
\ No newline at end of file
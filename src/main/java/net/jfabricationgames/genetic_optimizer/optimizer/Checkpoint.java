@@ -0,0 +1,275 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A snapshot of a running optimization (the population with the fitness of every individual, the best DNA, the generation, the time used and the
+ * seed of the random numbers), that can be stored in a file to resume the optimization later (see
+ * {@link GeneticOptimizer#setResumeCheckpoint(Checkpoint)}).
+ * 
+ * The file starts with a magic number and the version of the format, followed by the population size, the DNA length, the generation and the time
+ * used. Since version 2 a flag (1 if a seed is used, otherwise 0) and the seed follow. After that the best DNA and every individual are stored as
+ * fitness followed by the genomes (all values in big endian byte order). Checkpoints of version 1 can still be read (they don't contain a seed).
+ */
+public class Checkpoint {
+	
+	public static final int MAGIC = 0x4A464743;
+	public static final int VERSION = 2;
+	
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final int HEADER_BYTES = 6 * Integer.BYTES + 2 * Long.BYTES;
+	private static final int HEADER_BYTES_VERSION_1 = 5 * Integer.BYTES + Long.BYTES;
+	
+	private int generation;
+	private long timeUsed;
+	private Long seed;
+	private int populationSize;
+	private int length;
+	
+	private double bestFitness;
+	private double[] bestGenomes;
+	private double[] fitness;
+	private double[] genomes;//the genomes of all individuals (one after another)
+	
+	/**
+	 * Create a checkpoint of an optimization that doesn't use seeded random numbers.
+	 * 
+	 * @see #Checkpoint(int, long, Long, DNA, DNA[])
+	 */
+	public Checkpoint(int generation, long timeUsed, DNA bestDNA, DNA[] population) {
+		this(generation, timeUsed, null, bestDNA, population);
+	}
+	/**
+	 * Create a checkpoint from copies of the given DNAs (so the DNAs can be changed after the checkpoint was created).
+	 * 
+	 * @param generation
+	 *        The generation of the population.
+	 * 
+	 * @param timeUsed
+	 *        The time that was used for the optimization (in milliseconds).
+	 * 
+	 * @param seed
+	 *        The seed of the random numbers (or null if the random numbers are not seeded). The random numbers of the optimization only depend on the
+	 *        seed, the generation and the individual (see {@link OptimizerRandom}), so the seed is the whole state of the random numbers.
+	 * 
+	 * @param bestDNA
+	 *        The best DNA that was found.
+	 * 
+	 * @param population
+	 *        The population (all DNAs need to have the same length as the best DNA and their fitness has to be calculated).
+	 */
+	public Checkpoint(int generation, long timeUsed, Long seed, DNA bestDNA, DNA[] population) {
+		this(generation, timeUsed, seed, population.length, bestDNA.getLength());
+		bestFitness = bestDNA.getFitness();
+		System.arraycopy(bestDNA.readDNACode(), bestDNA.getOffset(), bestGenomes, 0, length);
+		for (int i = 0; i < populationSize; i++) {
+			DNA dna = population[i];
+			if (dna.getLength() != length) {
+				throw new IllegalArgumentException("All DNAs need the same length. Expected " + length + " but was " + dna.getLength());
+			}
+			fitness[i] = dna.getFitness();
+			System.arraycopy(dna.readDNACode(), dna.getOffset(), genomes, i * length, length);
+		}
+	}
+	
+	private Checkpoint(int generation, long timeUsed, Long seed, int populationSize, int length) {
+		if ((long) populationSize * length > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("The population is too large for a checkpoint (populationSize=" + populationSize + ", length=" + length
+					+ ").");
+		}
+		this.generation = generation;
+		this.timeUsed = timeUsed;
+		this.seed = seed;
+		this.populationSize = populationSize;
+		this.length = length;
+		bestGenomes = new double[length];
+		fitness = new double[populationSize];
+		genomes = new double[populationSize * length];
+	}
+	
+	/**
+	 * Write the checkpoint to a file. The checkpoint is written to a temporary file first, that replaces the file when it's complete, so the file
+	 * always contains a complete checkpoint (even if the process dies while writing).
+	 */
+	public void write(Path path) throws IOException {
+		Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+			buffer.putInt(MAGIC);
+			buffer.putInt(VERSION);
+			buffer.putInt(populationSize);
+			buffer.putInt(length);
+			buffer.putInt(generation);
+			buffer.putLong(timeUsed);
+			buffer.putInt(seed != null ? 1 : 0);
+			buffer.putLong(seed != null ? seed : 0);
+			
+			writeDouble(channel, buffer, bestFitness);
+			writeDoubles(channel, buffer, bestGenomes, 0, length);
+			for (int i = 0; i < populationSize; i++) {
+				writeDouble(channel, buffer, fitness[i]);
+				writeDoubles(channel, buffer, genomes, i * length, length);
+			}
+			flush(channel, buffer);
+			//make sure the data is on the disk before the old checkpoint is replaced
+			channel.force(false);
+		}
+		
+		try {
+			Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (AtomicMoveNotSupportedException amnse) {
+			Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+	
+	private static void writeDouble(FileChannel channel, ByteBuffer buffer, double value) throws IOException {
+		if (buffer.remaining() < Double.BYTES) {
+			flush(channel, buffer);
+		}
+		buffer.putDouble(value);
+	}
+	
+	private static void writeDoubles(FileChannel channel, ByteBuffer buffer, double[] values, int offset, int length) throws IOException {
+		for (int i = offset; i < offset + length; i++) {
+			writeDouble(channel, buffer, values[i]);
+		}
+	}
+	
+	private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+	
+	/**
+	 * Read a checkpoint from a file.
+	 * 
+	 * @throws IOException
+	 *         If the file can't be read or doesn't contain a checkpoint (of a supported version).
+	 */
+	public static Checkpoint read(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+			buffer.flip();
+			fill(channel, buffer, 2 * Integer.BYTES);
+			if (buffer.getInt() != MAGIC) {
+				throw new IOException("The file " + path + " is not a checkpoint.");
+			}
+			int version = buffer.getInt();
+			if (version != VERSION && version != 1) {
+				throw new IOException("The version " + version + " of the checkpoint is not supported (supported versions: 1 to " + VERSION + ").");
+			}
+			int headerBytes = version == 1 ? HEADER_BYTES_VERSION_1 : HEADER_BYTES;
+			fill(channel, buffer, headerBytes - 2 * Integer.BYTES);
+			int populationSize = buffer.getInt();
+			int length = buffer.getInt();
+			int generation = buffer.getInt();
+			long timeUsed = buffer.getLong();
+			Long seed = null;
+			if (version >= 2) {
+				boolean seeded = buffer.getInt() != 0;
+				long seedValue = buffer.getLong();
+				seed = seeded ? seedValue : null;
+			}
+			long expectedSize = headerBytes + (populationSize + 1L) * (length + 1L) * Double.BYTES;
+			if (populationSize < 0 || length < 0 || channel.size() != expectedSize) {
+				throw new IOException("The checkpoint " + path + " is broken (populationSize=" + populationSize + ", length=" + length + ", size="
+						+ channel.size() + ").");
+			}
+			
+			Checkpoint checkpoint = new Checkpoint(generation, timeUsed, seed, populationSize, length);
+			checkpoint.bestFitness = readDouble(channel, buffer);
+			readDoubles(channel, buffer, checkpoint.bestGenomes, 0, length);
+			for (int i = 0; i < populationSize; i++) {
+				checkpoint.fitness[i] = readDouble(channel, buffer);
+				readDoubles(channel, buffer, checkpoint.genomes, i * length, length);
+			}
+			return checkpoint;
+		}
+	}
+	
+	private static double readDouble(FileChannel channel, ByteBuffer buffer) throws IOException {
+		fill(channel, buffer, Double.BYTES);
+		return buffer.getDouble();
+	}
+	
+	private static void readDoubles(FileChannel channel, ByteBuffer buffer, double[] values, int offset, int length) throws IOException {
+		for (int i = offset; i < offset + length; i++) {
+			values[i] = readDouble(channel, buffer);
+		}
+	}
+	
+	/**
+	 * Read from the channel till the buffer contains at least the given number of bytes.
+	 */
+	private static void fill(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+		if (buffer.remaining() >= bytes) {
+			return;
+		}
+		buffer.compact();
+		while (buffer.position() < bytes) {
+			if (channel.read(buffer) == -1) {
+				throw new EOFException("Unexpected end of the checkpoint.");
+			}
+		}
+		buffer.flip();
+	}
+	
+	public int getGeneration() {
+		return generation;
+	}
+	
+	/**
+	 * The time that was used for the optimization (in milliseconds).
+	 */
+	public long getTimeUsed() {
+		return timeUsed;
+	}
+	
+	/**
+	 * The seed of the random numbers of the optimization (or null if the random numbers were not seeded).
+	 */
+	public Long getSeed() {
+		return seed;
+	}
+	
+	public int getPopulationSize() {
+		return populationSize;
+	}
+	
+	public int getLength() {
+		return length;
+	}
+	
+	/**
+	 * A new DNA that contains the best DNA of the checkpoint (with it's fitness).
+	 */
+	public DNA getBestDNA() {
+		DNA bestDNA = new DNA(bestGenomes.clone());
+		bestDNA.setFitness(bestFitness);
+		return bestDNA;
+	}
+	
+	/**
+	 * Copy an individual of the checkpoint (with it's fitness) into a DNA.
+	 */
+	public void copyIndividualTo(int index, DNA dna) {
+		if (dna.getLength() != length) {
+			throw new IllegalArgumentException("The DNA length (" + dna.getLength() + ") doesn't match the checkpoint (" + length + ").");
+		}
+		System.arraycopy(genomes, index * length, dna.getDNACode(), dna.getOffset(), length);
+		dna.setFitness(fitness[index]);
+	}
+}
\ No newline at end of file
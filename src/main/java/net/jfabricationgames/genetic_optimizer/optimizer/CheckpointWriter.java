@@ -0,0 +1,109 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes {@link Checkpoint}s to a file in a background thread, so the optimization doesn't wait for the disk.
+ * 
+ * If a new checkpoint is created while the last one is still being written, only the newest waiting checkpoint is written (the older waiting
+ * checkpoints are skipped).
+ */
+public class CheckpointWriter implements Closeable {
+	
+	private Path path;
+	private ExecutorService executor;
+	private AtomicReference<Checkpoint> pending = new AtomicReference<Checkpoint>();
+	
+	private LongAdder writtenCheckpoints = new LongAdder();
+	private LongAdder skippedCheckpoints = new LongAdder();
+	private volatile IOException lastFailure;
+	
+	public CheckpointWriter(Path path) {
+		this.path = path;
+		executor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "CheckpointWriter");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	/**
+	 * Write the checkpoint in the background (without waiting).
+	 */
+	public void write(Checkpoint checkpoint) {
+		if (pending.getAndSet(checkpoint) == null) {
+			executor.execute(this::writePending);
+		}
+		else {
+			//the waiting checkpoint is replaced by the newer one
+			skippedCheckpoints.increment();
+		}
+	}
+	
+	private void writePending() {
+		Checkpoint checkpoint = pending.getAndSet(null);
+		if (checkpoint != null) {
+			try {
+				checkpoint.write(path);
+				writtenCheckpoints.increment();
+			}
+			catch (IOException ioe) {
+				//the next checkpoint is tried anyway; the failure can be read by the user
+				lastFailure = ioe;
+			}
+		}
+	}
+	
+	/**
+	 * Wait till all checkpoints, that were passed to {@link #write(Checkpoint)} before, are written.
+	 */
+	public void flush() throws InterruptedException {
+		try {
+			//the executor uses only one thread, so the task is executed after the waiting checkpoints
+			executor.submit(() -> {}).get();
+		}
+		catch (ExecutionException ee) {
+			throw new IllegalStateException("The checkpoint writer failed.", ee);
+		}
+	}
+	
+	/**
+	 * Stop the background thread (the waiting checkpoints are still written).
+	 */
+	@Override
+	public void close() {
+		executor.shutdown();
+	}
+	
+	public Path getPath() {
+		return path;
+	}
+	
+	/**
+	 * The number of checkpoints that were written to the file.
+	 */
+	public long getWrittenCheckpoints() {
+		return writtenCheckpoints.sum();
+	}
+	
+	/**
+	 * The number of checkpoints that were skipped, because a newer checkpoint was created before they were written.
+	 */
+	public long getSkippedCheckpoints() {
+		return skippedCheckpoints.sum();
+	}
+	
+	/**
+	 * The exception of the last checkpoint that couldn't be written (or null if all checkpoints were written).
+	 */
+	public IOException getLastFailure() {
+		return lastFailure;
+	}
+}
\ No newline at end of file
@@ -1,60 +1,129 @@
 package net.jfabricationgames.genetic_optimizer.optimizer;
 
 import java.util.Arrays;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * A (non-optimal) solution for the given Problem modeled as DNA stream.
+ * 
+ * A DNA either owns it's DNA code or is a view on a row of a {@link Population}. In the second case the array that is returned by
+ * {@link #getDNACode()} is the genome matrix of the whole population and the genomes of this DNA are stored in the range [getOffset(), getOffset() +
+ * getLength()).
+ * 
+ * A DNA is dirty (it's fitness has to be calculated) till a fitness is set. Every call to {@link #getDNACode()} marks the DNA as dirty again,
+ * because the genomes could be changed using the returned array. Code that only reads the genomes should use {@link #readDNACode()}.
  */
 public class DNA implements Comparable<DNA> {
 	
 	private double fitness;
 	private double[] dnaCode;
+	private int offset;
+	private int length;
+	private boolean dirty = true;
+	
+	private Population population;//the population that stores the fitness (if this DNA is a view on a population row)
+	private int row;
 	
 	public DNA(int length) {
-		this.dnaCode = new double[length];
+		this(new double[length]);
 	}
 	public DNA(double[] dnaCode) {
 		this.dnaCode = dnaCode;
+		this.offset = 0;
+		this.length = dnaCode.length;
+	}
+	/**
+	 * Create a view on a row of the population (used only by the {@link Population}).
+	 */
+	DNA(Population population, int row) {
+		this.population = population;
+		this.row = row;
+		this.dnaCode = population.getGenomes();
+		this.length = population.getLength();
+		this.offset = row * length;
 	}
 	
 	public static DNA generateRandomDNA(int length, double range) {
 		DNA random = new DNA(length);
 		for (int i = 0; i < length; i++) {
-			random.dnaCode[i] = ThreadLocalRandom.current().nextDouble() * range;
+			random.dnaCode[i] = OptimizerRandom.nextDouble() * range;
 		}
 		return random;
 	}
 	
 	@Override
 	public int compareTo(DNA dna) {
-		return Double.compare(fitness, dna.fitness);
+		return Double.compare(getFitness(), dna.getFitness());
 	}
 	
 	@Override
 	public String toString() {
-		return String.format("DNA[fitness: %.3f; " + Arrays.toString(dnaCode) + "]", fitness);
+		return String.format("DNA[fitness: %.3f; " + Arrays.toString(Arrays.copyOfRange(dnaCode, offset, offset + length)) + "]", getFitness());
 	}
 	
 	public void copyTo(DNA dna) {
-		dna.fitness = fitness;
-		for (int i = 0; i < dnaCode.length; i++) {
-			dna.dnaCode[i] = dnaCode[i];
-		}
+		dna.setFitness(getFitness());
+		System.arraycopy(dnaCode, offset, dna.dnaCode, dna.offset, length);
+		dna.dirty = dirty;
 	}
 	
 	public int getLength() {
-		return dnaCode.length;
+		return length;
 	}
 	
+	/**
+	 * The array that stores the genomes of this DNA (starting at {@link #getOffset()}). The DNA is marked as dirty, because the genomes can be changed
+	 * using the array.
+	 */
 	public double[] getDNACode() {
+		dirty = true;
 		return dnaCode;
 	}
 	
+	/**
+	 * The array that stores the genomes of this DNA (like {@link #getDNACode()}), without marking the DNA as dirty. The returned array mussn't be
+	 * changed.
+	 */
+	public double[] readDNACode() {
+		return dnaCode;
+	}
+	
+	/**
+	 * Whether the genomes of this DNA may have been changed since the fitness was set (so the fitness has to be calculated again).
+	 */
+	public boolean isDirty() {
+		return dirty;
+	}
+	/**
+	 * Mark the DNA as changed, so it's fitness is calculated again.
+	 */
+	public void markDirty() {
+		dirty = true;
+	}
+	
+	/**
+	 * The index of the first genome of this DNA in the array that is returned by {@link #getDNACode()} (always 0 if this DNA is not a view on a
+	 * {@link Population}).
+	 */
+	public int getOffset() {
+		return offset;
+	}
+	
 	public double getFitness() {
+		if (population != null) {
+			return population.getFitness(row);
+		}
 		return fitness;
 	}
+	/**
+	 * Set the fitness of this DNA (and mark it as not dirty).
+	 */
 	public void setFitness(double fitness) {
-		this.fitness = fitness;
+		if (population != null) {
+			population.setFitness(row, fitness);
+		}
+		else {
+			this.fitness = fitness;
+		}
+		dirty = false;
 	}
 }
\ No newline at end of file
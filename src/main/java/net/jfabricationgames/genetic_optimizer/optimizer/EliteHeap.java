@@ -0,0 +1,125 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+/**
+ * A bounded heap that finds the best individuals of a population (by index) in O(n * log(k)), where k is the number of individuals that are kept.
+ * 
+ * The worst of the kept individuals is the root of the heap, so a new individual only has to be compared to the root. Individuals with the same
+ * fitness are ordered by their index (the lower index is better), so the result doesn't depend on the order in which the individuals are offered
+ * (e.g. by multiple threads that process different parts of the population and are merged using {@link #offerAll(EliteHeap)}).
+ */
+final class EliteHeap {
+	
+	private int[] indices;
+	private double[] fitness;
+	private int size;
+	private boolean minimize;
+	
+	/**
+	 * @param capacity
+	 *        The number of individuals that are kept.
+	 */
+	EliteHeap(int capacity) {
+		indices = new int[capacity];
+		fitness = new double[capacity];
+	}
+	
+	/**
+	 * Remove all individuals from the heap (so it can be reused).
+	 */
+	void clear(boolean minimize) {
+		this.minimize = minimize;
+		size = 0;
+	}
+	
+	/**
+	 * Add an individual to the heap if it is one of the best individuals that were offered.
+	 */
+	void offer(int index, double fitness) {
+		if (size < indices.length) {
+			//add the individual as leaf and move it up while it's worse than it's parent
+			int position = size++;
+			while (position > 0) {
+				int parent = (position - 1) >>> 1;
+				if (!isBetter(this.indices[parent], this.fitness[parent], index, fitness)) {
+					break;
+				}
+				this.indices[position] = this.indices[parent];
+				this.fitness[position] = this.fitness[parent];
+				position = parent;
+			}
+			this.indices[position] = index;
+			this.fitness[position] = fitness;
+		}
+		else if (size > 0 && isBetter(index, fitness, this.indices[0], this.fitness[0])) {
+			//replace the worst individual (the root)
+			siftDown(index, fitness, size);
+		}
+	}
+	
+	/**
+	 * Offer all individuals of another heap to this heap.
+	 */
+	void offerAll(EliteHeap other) {
+		for (int i = 0; i < other.size; i++) {
+			offer(other.indices[i], other.fitness[i]);
+		}
+	}
+	
+	/**
+	 * Move the indices of the individuals to the target array (sorted from the best to the worst individual). The heap is empty afterwards.
+	 * 
+	 * @return The number of indices that were moved.
+	 */
+	int drainSortedTo(int[] target) {
+		int count = size;
+		//remove the worst individual and fill the target from the end
+		while (size > 0) {
+			target[size - 1] = indices[0];
+			size--;
+			if (size > 0) {
+				siftDown(indices[size], fitness[size], size);
+			}
+		}
+		return count;
+	}
+	
+	private void siftDown(int index, double fitness, int size) {
+		int position = 0;
+		while (true) {
+			int child = 2 * position + 1;
+			if (child >= size) {
+				break;
+			}
+			//move the worse child up
+			if (child + 1 < size && isBetter(this.indices[child], this.fitness[child], this.indices[child + 1], this.fitness[child + 1])) {
+				child++;
+			}
+			if (!isBetter(index, fitness, this.indices[child], this.fitness[child])) {
+				break;
+			}
+			this.indices[position] = this.indices[child];
+			this.fitness[position] = this.fitness[child];
+			position = child;
+		}
+		this.indices[position] = index;
+		this.fitness[position] = fitness;
+	}
+	
+	/**
+	 * Whether the first individual is better than the second one (by fitness, or by the lower index if the fitness is equal).
+	 */
+	private boolean isBetter(int index, double fitness, int comparedIndex, double comparedFitness) {
+		if (fitness == comparedFitness) {
+			return index < comparedIndex;
+		}
+		return minimize ? fitness < comparedFitness : fitness > comparedFitness;
+	}
+	
+	int getSize() {
+		return size;
+	}
+	
+	int getCapacity() {
+		return indices.length;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,218 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread safe cache that stores the fitness of already calculated DNAs, so the fitness of children, that are identical to an already
+ * evaluated DNA, doesn't have to be calculated again.
+ * 
+ * The DNAs are identified by a 64 bit hash of their genomes. The cache is organized in sets of {@value #WAYS} entries (chosen by the hash) and an
+ * entry is evicted from a full set using the CLOCK algorithm (an approximation of LRU). Every set is guarded by one of a fixed number of locks.
+ * Because a copy of the genomes is stored with every entry a hash collision can't lead to a wrong fitness.
+ * 
+ * A fitness of {@link Double#NaN} is never stored in the cache (NaN is used to indicate a cache miss).
+ */
+public class FitnessCache {
+	
+	/**
+	 * The number of entries in each set.
+	 */
+	public static final int WAYS = 8;
+	private static final int LOCKS = 64;
+	
+	private int capacity;
+	private int sets;
+	
+	private long[] hashes;
+	private double[][] genomes;//a copy of the genomes of each entry (null if the entry is not used)
+	private double[] fitness;
+	private boolean[] referenced;//the reference bits of the CLOCK algorithm
+	private int[] hands;//the clock hand of each set
+	
+	private Object[] locks;
+	
+	private LongAdder hits = new LongAdder();
+	private LongAdder misses = new LongAdder();
+	
+	/**
+	 * @param capacity
+	 *        The maximum number of DNAs that are stored in the cache (rounded up to a multiple of {@value #WAYS}).
+	 */
+	public FitnessCache(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("The capacity of the cache has to be a positive value. Input was: " + capacity);
+		}
+		sets = (int) Math.ceil(capacity / (double) WAYS);
+		this.capacity = sets * WAYS;
+		
+		hashes = new long[this.capacity];
+		genomes = new double[this.capacity][];
+		fitness = new double[this.capacity];
+		referenced = new boolean[this.capacity];
+		hands = new int[sets];
+		
+		locks = new Object[Math.min(LOCKS, sets)];
+		for (int i = 0; i < locks.length; i++) {
+			locks[i] = new Object();
+		}
+	}
+	
+	/**
+	 * Calculate a 64 bit hash of the genomes of a DNA.
+	 */
+	public static long hash(DNA dna) {
+		double[] dnaCode = dna.readDNACode();
+		long hash = 0x9E3779B97F4A7C15L;
+		for (int i = dna.getOffset(); i < dna.getOffset() + dna.getLength(); i++) {
+			hash = (hash ^ Double.doubleToLongBits(dnaCode[i])) * 0xBF58476D1CE4E5B9L;
+			hash ^= hash >>> 31;
+		}
+		//the finalizer of MurmurHash3 to spread the bits
+		hash ^= hash >>> 33;
+		hash *= 0xFF51AFD7ED558CCDL;
+		hash ^= hash >>> 33;
+		hash *= 0xC4CEB9FE1A85EC53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+	
+	/**
+	 * Get the cached fitness of a DNA.
+	 * 
+	 * @return The fitness of the DNA or {@link Double#NaN} if the DNA is not in the cache.
+	 */
+	public double get(DNA dna) {
+		long hash = hash(dna);
+		int set = getSet(hash);
+		synchronized (getLock(set)) {
+			int entry = find(set, hash, dna);
+			if (entry != -1) {
+				referenced[entry] = true;
+				hits.increment();
+				return fitness[entry];
+			}
+		}
+		misses.increment();
+		return Double.NaN;
+	}
+	
+	/**
+	 * Store the fitness of a DNA in the cache (evicting another entry if the cache is full).
+	 */
+	public void put(DNA dna, double fitness) {
+		if (Double.isNaN(fitness)) {
+			return;
+		}
+		long hash = hash(dna);
+		int set = getSet(hash);
+		synchronized (getLock(set)) {
+			int entry = find(set, hash, dna);
+			if (entry == -1) {
+				entry = findVictim(set);
+				hashes[entry] = hash;
+				if (genomes[entry] == null || genomes[entry].length != dna.getLength()) {
+					genomes[entry] = new double[dna.getLength()];
+				}
+				System.arraycopy(dna.readDNACode(), dna.getOffset(), genomes[entry], 0, dna.getLength());
+				//new entries are not referenced till they are hit, so entries that are never hit are evicted first
+				referenced[entry] = false;
+			}
+			this.fitness[entry] = fitness;
+		}
+	}
+	
+	/**
+	 * Remove all entries from the cache and reset the hit and miss counters.
+	 */
+	public void clear() {
+		for (int set = 0; set < sets; set++) {
+			synchronized (getLock(set)) {
+				for (int i = set * WAYS; i < (set + 1) * WAYS; i++) {
+					genomes[i] = null;
+					referenced[i] = false;
+				}
+				hands[set] = 0;
+			}
+		}
+		hits.reset();
+		misses.reset();
+	}
+	
+	private int getSet(long hash) {
+		return (int) ((hash >>> 1) % sets);
+	}
+	
+	private Object getLock(int set) {
+		return locks[set % locks.length];
+	}
+	
+	/**
+	 * Find the entry of a DNA in a set (the lock of the set must be held).
+	 * 
+	 * @return The index of the entry or -1 if the DNA is not in the set.
+	 */
+	private int find(int set, long hash, DNA dna) {
+		for (int i = set * WAYS; i < (set + 1) * WAYS; i++) {
+			if (genomes[i] != null && hashes[i] == hash && equalGenomes(genomes[i], dna)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Find an entry of a set that can be replaced using the CLOCK algorithm (the lock of the set must be held).
+	 */
+	private int findVictim(int set) {
+		while (true) {
+			int entry = set * WAYS + hands[set];
+			hands[set] = (hands[set] + 1) % WAYS;
+			if (genomes[entry] == null || !referenced[entry]) {
+				return entry;
+			}
+			//give the entry a second chance
+			referenced[entry] = false;
+		}
+	}
+	
+	private boolean equalGenomes(double[] genomes, DNA dna) {
+		if (genomes.length != dna.getLength()) {
+			return false;
+		}
+		double[] dnaCode = dna.readDNACode();
+		int offset = dna.getOffset();
+		for (int i = 0; i < genomes.length; i++) {
+			if (Double.doubleToLongBits(genomes[i]) != Double.doubleToLongBits(dnaCode[offset + i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * The number of DNAs which's fitness was found in the cache.
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+	
+	/**
+	 * The number of DNAs which's fitness was not found in the cache.
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+	
+	/**
+	 * The fraction of requests that were answered from the cache (or 0 if there were no requests).
+	 */
+	public double getHitRate() {
+		long hits = getHits();
+		long requests = hits + getMisses();
+		return requests == 0 ? 0 : hits / (double) requests;
+	}
+	
+	public int getCapacity() {
+		return capacity;
+	}
+}
\ No newline at end of file
@@ -1,6 +1,8 @@
 package net.jfabricationgames.genetic_optimizer.optimizer;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -9,16 +11,20 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.DoubleAdder;
 
 import com.google.common.annotations.VisibleForTesting;
 
-import javafx.beans.property.DoubleProperty;
-import javafx.beans.property.SimpleDoubleProperty;
 import net.jfabricationgames.genetic_optimizer.abort_condition.AbortCondition;
 import net.jfabricationgames.genetic_optimizer.abort_condition.TimedAbortCondition;
 import net.jfabricationgames.genetic_optimizer.heredity.Heredity;
 import net.jfabricationgames.genetic_optimizer.mutation.Mutation;
 import net.jfabricationgames.genetic_optimizer.selection.EquallyDistributedSelectionPressure;
+import net.jfabricationgames.genetic_optimizer.selection.FitnessStatistics;
+import net.jfabricationgames.genetic_optimizer.selection.PopulationSelector;
 import net.jfabricationgames.genetic_optimizer.selection.SelectionPressure;
 import net.jfabricationgames.genetic_optimizer.selection.Selector;
 import net.jfabricationgames.genetic_optimizer.selection.StochasticallyDistributedSelector;
@@ -28,6 +34,9 @@ import net.jfabricationgames.genetic_optimizer.selection.StochasticallyDistribut
  */
 public class GeneticOptimizer {
 	
+	private static final int CHUNKS_PER_THREAD = 4;//the number of chunks per thread if the chunk size is chosen automatically
+	private static final int MIN_INDIVIDUALS_PER_SCAN_THREAD = 1024;//the minimum slice size when scanning the population in multiple threads
+	
 	private GeneticOptimizerProblem problem;
 	private Heredity heredity;
 	private Selector selector;
@@ -40,9 +49,9 @@ public class GeneticOptimizer {
 	private int elites;//global used elites to not loose the best individuals (regardless of generation)
 	
 	private int usedThreads;//the number of threads used for the calculation
-	private ExecutorService executorService;//an executor service for multi-threading
+	private ExecutorService executorService;//an executor service for multi-threading (created when it's first used)
 	
-	private DoubleProperty progressProperty;//indicates the progress of the calculation (from 0 to 1)
+	private volatile double progress;//indicates the progress of the calculation (from 0 to 1)
 	
 	//private int simulations;
 	private int generation;
@@ -68,9 +77,111 @@ public class GeneticOptimizer {
 	 * The condition that has to be reached to stop the optimization.
 	 */
 	private AbortCondition abortCondition;
+	/**
+	 * Store the population in one contiguous array (see {@link Population}) instead of using one DNA object per individual.
+	 */
+	private boolean useContiguousPopulation;
+	/**
+	 * A cache for the fitness of already evaluated DNAs (or null if no cache is used).
+	 */
+	private FitnessCache fitnessCache;
+	/**
+	 * The way the individuals are distributed to the threads (or null to choose depending on the number of threads).
+	 */
+	private TaskScheduling taskScheduling;
+	/**
+	 * The number of individuals that a thread claims at once when using {@link TaskScheduling#DYNAMIC} (or 0 to choose automatically).
+	 */
+	private int chunkSize;
+	/**
+	 * Run the parallel phases in long-lived worker threads (see {@link WorkerPool}) instead of submitting them to the executor service.
+	 */
+	private boolean usePersistentWorkers;
+	private WorkerPool workerPool;
+	/**
+	 * Receives the durations of the phases of every generation (or null if no metrics are collected).
+	 */
+	private OptimizerMetrics metrics;
+	/**
+	 * Delivers the events of the optimization to the listeners (or null if no listener was added yet).
+	 */
+	private volatile OptimizationEventDispatcher eventDispatcher;
+	/**
+	 * Writes a checkpoint every {@link #checkpointInterval} generations (or null if no checkpoints are written).
+	 */
+	private CheckpointWriter checkpointWriter;
+	private int checkpointInterval;
+	/**
+	 * The checkpoint that the next optimization is resumed from (or null to start with a new population).
+	 */
+	private Checkpoint resumeCheckpoint;
+	/**
+	 * The seed of the random numbers (or null to use unseeded random numbers). See {@link OptimizerRandom}.
+	 */
+	private Long seed;
 	
 	private DNA bestDNA;
 	
+	private DNA[] population;
+	private DNA[] nextPopulation;//the population that is reused for the next generation
+	private long optimizationStart;
+	private long timeUsed;
+	
+	/**
+	 * The best individual that was created by the threads in the current generation. See {@link BestCandidate}.
+	 */
+	private final AtomicReference<BestCandidate> bestCandidate = new AtomicReference<BestCandidate>();
+	/**
+	 * The statistics of the current generation for the events (only collected by the threads if listeners are registered). See
+	 * {@link GenerationStatistics}.
+	 */
+	private final GenerationStatistics generationStatistics = new GenerationStatistics();
+	private boolean collectGenerationStatistics;
+	/**
+	 * The copy of the best DNA that was sent to the listeners (or null if the best DNA was changed since then).
+	 */
+	private DNA publishedBestDNA;
+	
+	private int[] eliteIndices;
+	/**
+	 * The population that the elite indices were found in (by {@link #findElites(DNA[])}) or null if they need to be found again.
+	 */
+	private DNA[] elitesOfPopulation;
+	private EliteHeap[] eliteHeaps;
+	private FitnessStatistics[] blockStatistics;
+	private final FitnessStatistics fitnessStatistics = new FitnessStatistics();
+	/**
+	 * The duration of the insertion of the elites in the current generation (only measured if metrics are collected).
+	 */
+	private long elitesNanos;
+	private double[] fitnessBuffer;
+	private double[] selectionProbabilityBuffer;
+	private double[] pendingFitness;
+	private int[] pendingIndices;
+	private DNA[] pendingDNAs;
+	
+	/**
+	 * The number of DNAs in the last generation which's fitness was not calculated, because their genomes didn't change.
+	 */
+	private AtomicInteger skippedEvaluations = new AtomicInteger();
+	
+	/**
+	 * The runnables of the threads, that take part in every parallel phase (see {@link #runPhase(int, int, RangeTask)}). They are created once (for
+	 * the number of used threads) and read the current phase from the fields below, so starting a phase doesn't allocate objects.
+	 */
+	private PhaseRunnable[] phaseRunnables;
+	private RangeTask phaseTask;
+	private int phaseTasks;
+	private int phaseChunkSize;//0 if every thread processes one slice of the tasks
+	private int[] phaseThreadTasks;
+	private final AtomicInteger phaseCursor = new AtomicInteger();
+	
+	//the tasks of the phases, that get the arguments of the current generation before the phase is started
+	private final InitialIndividualsTask initialIndividualsTask = new InitialIndividualsTask();
+	private final ChildrenTask childrenTask = new ChildrenTask();
+	private final FitnessStatisticsTask fitnessStatisticsTask = new FitnessStatisticsTask();
+	private final EliteScanTask eliteScanTask = new EliteScanTask();
+	
 	/**
 	 * @param problem
 	 *        A wrapper implementation for the problem that calculates the fitness of a DNA.
@@ -98,9 +209,7 @@ public class GeneticOptimizer {
 		
 		selectionPressure = new EquallyDistributedSelectionPressure();
 		selector = new StochasticallyDistributedSelector();
-		progressProperty = new SimpleDoubleProperty(0, "GeneticOptimizerCalculationProgress");
 		usedThreads = 1;//no multi-threading by default
-		executorService = Executors.newFixedThreadPool(usedThreads);
 	}
 	/**
 	 * @param problem
@@ -128,9 +237,7 @@ public class GeneticOptimizer {
 		
 		selectionPressure = new EquallyDistributedSelectionPressure();
 		selector = new StochasticallyDistributedSelector();
-		progressProperty = new SimpleDoubleProperty(0, "GeneticOptimizerCalculationProgress");
 		usedThreads = 1;//no multi-threading by default
-		executorService = Executors.newFixedThreadPool(usedThreads);
 	}
 	/**
 	 * @param problem
@@ -156,9 +263,7 @@ public class GeneticOptimizer {
 		this.heredity = heredity;
 		this.mutations = mutations;
 		this.abortCondition = abortCondition;
-		progressProperty = new SimpleDoubleProperty(0, "GeneticOptimizerCalculationProgress");
 		usedThreads = 1;//no multi-threading by default
-		executorService = Executors.newFixedThreadPool(usedThreads);
 	}
 	/**
 	 * Used only for the builder pattern.
@@ -189,7 +294,7 @@ public class GeneticOptimizer {
 	 * 
 	 * @param selector
 	 *        The selector that selects the individuals for reproduction (usually based on the probabilities that were calculated by the
-	 *        selectionPressure).
+	 *        selectionPressure; a {@link PopulationSelector} selects by the fitness, so the selectionPressure is not used).
 	 * 
 	 * @param fathersFraction
 	 *        A deprecated variable that isn't really used. Just for the backwards compatibility.
@@ -236,9 +341,6 @@ public class GeneticOptimizer {
 		this.elites = elites;
 		this.usedThreads = usedThreads;
 		
-		executorService = Executors.newFixedThreadPool(usedThreads);
-		progressProperty = new SimpleDoubleProperty(0, "GeneticOptimizerCalculationProgress");
-		
 		if (rootPopulation == null) {
 			rootPopulation = Collections.emptyList();
 		}
@@ -248,17 +350,88 @@ public class GeneticOptimizer {
 	}
 	
 	public void optimize() {
-		long start = System.nanoTime();
-		long timeUsed = 0;
+		startOptimization();
+		
+		while (!abortCondition.abort(bestDNA, timeUsed, generation) && !Thread.currentThread().isInterrupted()) {
+			try {
+				optimizeNextGeneration();
+			}
+			catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		
+		if (checkpointWriter != null) {
+			//write the final state (also if the optimization was interrupted, so it can be resumed)
+			checkpointWriter.write(createCheckpoint());
+			if (!Thread.currentThread().isInterrupted()) {
+				try {
+					checkpointWriter.flush();
+				}
+				catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+		
+		finishOptimization();
+	}
+	
+	/**
+	 * Update the progress and publish the end of the optimization to the listeners (as {@link OptimizationEvent.Type#OPTIMIZATION_ABORTED} if the
+	 * current thread was interrupted). The executor service, the persistent workers (see {@link #setUsePersistentWorkers(boolean)}) and the thread
+	 * that delivers the events terminate after the last phase and the last event. This is the last step of {@link #optimize()}, that has to be called when the optimization is
+	 * controlled from outside (see {@link #startOptimization()}).
+	 */
+	public void finishOptimization() {
+		//the threads are not needed till the next optimization
+		closeWorkerPool();
+		shutdownExecutorService();
+		
+		//update the progress
+		if (Thread.currentThread().isInterrupted()) {
+			//the execution stopped because of an interruption -> calculation is not complete
+			progress = 0;
+			publishEvent(OptimizationEvent.Type.OPTIMIZATION_ABORTED);
+		}
+		else {
+			progress = 1;
+			publishEvent(OptimizationEvent.Type.OPTIMIZATION_FINISHED);
+		}
+		
+		OptimizationEventDispatcher eventDispatcher = this.eventDispatcher;
+		if (eventDispatcher != null) {
+			eventDispatcher.finish();
+		}
+	}
+	
+	/**
+	 * Create the populations and the initial individuals (or load them from the checkpoint that was set using
+	 * {@link #setResumeCheckpoint(Checkpoint)}). This is the first step of {@link #optimize()}, that can be used together with
+	 * {@link #optimizeNextGeneration()} and {@link #finishOptimization()} to control the optimization from outside (e.g. by an island model). The
+	 * abort condition is not checked when the optimization is controlled this way.
+	 */
+	public void startOptimization() {
+		optimizationStart = System.nanoTime();
+		timeUsed = 0;
 		
-		progressProperty.set(0);
+		progress = 0;
 		
-		DNA[] population = new DNA[populationSize];
 		//DNA[] childs = new DNA[populationSize];
-		DNA[] nextPopulation = new DNA[populationSize];
+		if (useContiguousPopulation) {
+			//the DNAs are views on the rows of the populations, so the genomes are copied into the populations instead of replacing the DNAs
+			population = new Population(populationSize, problem.getLength()).getRows();
+			nextPopulation = new Population(populationSize, problem.getLength()).getRows();
+		}
+		else {
+			population = new DNA[populationSize];
+			nextPopulation = new DNA[populationSize];
+		}
 		
 		//create an empty best DNA
 		bestDNA = new DNA(problem.getLength());
+		publishedBestDNA = null;
 		if (minimize) {
 			bestDNA.setFitness(Double.POSITIVE_INFINITY);
 		}
@@ -266,150 +439,489 @@ public class GeneticOptimizer {
 			bestDNA.setFitness(Double.NEGATIVE_INFINITY);
 		}
 		
-		try {
-			createInitialPopulation(population);
-		}
-		catch (InterruptedException ie) {
-			//catch the interrupted exception and set the interrupted state again to terminate directly
-			Thread.currentThread().interrupt();
-		}
-		
-		generation = 0;
-		while (!abortCondition.abort(bestDNA, timeUsed, generation) && !Thread.currentThread().isInterrupted()) {
-			//update the progress property
-			progressProperty.set(abortCondition.getProgress(bestDNA, timeUsed, generation));
+		if (resumeCheckpoint != null) {
+			resume(resumeCheckpoint);
+			//the checkpoint is only used once (the next optimization starts with a new population)
+			resumeCheckpoint = null;
 			
-			//calculate the chance of each individual to be selected for reproduction
-			double[] reproductionProbabilities = selectionPressure.calculateSelectionProbability(population, generation, minimize, timeUsed);
-			//choose the individuals that are selected for reproduction
-			int[] selectedReproductionIndividuals = selector.select(reproductionProbabilities, populationSize - elites);
-			//create the next generation of individuals
+			//no threads scanned the loaded population, so the statistics are collected once here
+			resetGenerationStatistics();
+			if (collectGenerationStatistics) {
+				addGenerationStatistics(population, 0, populationSize);
+			}
+		}
+		else {
+			long start = System.nanoTime();
 			try {
-				generateNextPopulation(selectedReproductionIndividuals, population, nextPopulation);
+				createInitialPopulation(population);
 			}
 			catch (InterruptedException ie) {
+				//catch the interrupted exception and set the interrupted state again to terminate directly
 				Thread.currentThread().interrupt();
-				break;
 			}
 			
-			//swap the arrays to reuse the allocated space
-			DNA[] tmp = population;
-			population = nextPopulation;
-			nextPopulation = tmp;
-			
-			//check whether there is a new optimal DNA
-			for (int i = 0; i < populationSize; i++) {
-				if (isBestDNA(population[i])) {
-					population[i].copyTo(bestDNA);
-				}
+			generation = 0;
+			if (metrics != null) {
+				metrics.recordGeneration(generation, System.nanoTime() - start);
 			}
-			
-			generation++;
-			timeUsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
 		}
+		updateProgress();
+		publishGenerationEvents(true);
+	}
+	
+	/**
+	 * Create the next generation of the population (after the optimization was started using {@link #startOptimization()}).
+	 */
+	public void optimizeNextGeneration() throws InterruptedException {
+		long start = System.nanoTime();
 		
-		//update the progress
-		if (Thread.currentThread().isInterrupted()) {
-			//the execution stopped because of an interruption -> calculation is not complete
-			progressProperty.set(0d);
+		//the selection uses it's own stream (that is not used for an individual)
+		bindRandomStream(generation + 1, -1);
+		int[] selectedReproductionIndividuals;
+		long selectionPressureEnd;
+		if (selector instanceof PopulationSelector) {
+			//the selector reads the fitness directly from the population, so the selection probabilities are not needed
+			selectionPressureEnd = start;
+			selectedReproductionIndividuals = ((PopulationSelector) selector).select(population, minimize, populationSize - elites);
 		}
 		else {
-			progressProperty.set(1d);
+			//calculate the chance of each individual to be selected for reproduction (the statistics of the fitness are calculated in parallel)
+			FitnessStatistics statistics = selectionPressure.usesFitnessStatistics() ? calculateFitnessStatistics(population) : null;
+			double[] reproductionProbabilities = getSelectionProbabilityBuffer(population.length);
+			selectionPressure.calculateSelectionProbability(population, statistics, generation, minimize, timeUsed, reproductionProbabilities);
+			selectionPressureEnd = metrics != null ? System.nanoTime() : 0;
+			//choose the individuals that are selected for reproduction
+			selectedReproductionIndividuals = selector.select(reproductionProbabilities, populationSize - elites);
+		}
+		clearRandomStream();
+		if (metrics != null) {
+			metrics.recordPhase(OptimizationPhase.SELECTION_PRESSURE, selectionPressureEnd - start);
+			metrics.recordPhase(OptimizationPhase.SELECTION, System.nanoTime() - selectionPressureEnd);
+		}
+		//create the next generation of individuals
+		generateNextPopulation(selectedReproductionIndividuals, population, nextPopulation);
+		
+		//swap the arrays to reuse the allocated space
+		DNA[] tmp = population;
+		population = nextPopulation;
+		nextPopulation = tmp;
+		
+		//the threads found the best individual while creating the children; the elites of the new population are found for the next generation
+		long scanStart = metrics != null ? System.nanoTime() : 0;
+		boolean newBestDNA = publishBestCandidate(population);
+		long elitesStart = metrics != null ? System.nanoTime() : 0;
+		if (elites > 0) {
+			findElites(population);
+		}
+		
+		generation++;
+		if (metrics != null) {
+			long end = System.nanoTime();
+			metrics.recordPhase(OptimizationPhase.ELITES, elitesNanos + end - elitesStart);
+			metrics.recordPhase(OptimizationPhase.BEST_DNA_SCAN, elitesStart - scanStart);
+			metrics.recordGeneration(generation, end - start);
+		}
+		timeUsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - optimizationStart);
+		updateProgress();
+		publishGenerationEvents(newBestDNA);
+		
+		if (checkpointWriter != null && generation % checkpointInterval == 0) {
+			//the checkpoint is a copy of the population, that is written by the writer's thread
+			checkpointWriter.write(createCheckpoint());
 		}
 	}
 	
-	private boolean isBestDNA(DNA dna) {
-		if (minimize) {
-			return dna.getFitness() < bestDNA.getFitness();
+	/**
+	 * Load the population, the best DNA, the generation, the used time and the seed from a checkpoint (instead of creating an initial population).
+	 */
+	private void resume(Checkpoint checkpoint) {
+		for (int i = 0; i < populationSize; i++) {
+			if (!useContiguousPopulation) {
+				population[i] = new DNA(problem.getLength());
+			}
+			//the fitness of the individuals is known, so they are not evaluated again
+			checkpoint.copyIndividualTo(i, population[i]);
+		}
+		checkpoint.getBestDNA().copyTo(bestDNA);
+		publishedBestDNA = null;
+		
+		generation = checkpoint.getGeneration();
+		timeUsed = checkpoint.getTimeUsed();
+		if (checkpoint.getSeed() != null) {
+			//the random numbers only depend on the seed, the generation and the individual, so the optimization continues with the same random numbers
+			seed = checkpoint.getSeed();
+		}
+		//continue the time measurement, so a timed abort condition includes the time before the checkpoint
+		optimizationStart = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(timeUsed);
+	}
+	
+	/**
+	 * Create a checkpoint of the current population, that can be used to resume the optimization (see {@link #setResumeCheckpoint(Checkpoint)}).
+	 */
+	public Checkpoint createCheckpoint() {
+		return new Checkpoint(generation, timeUsed, seed, bestDNA, population);
+	}
+	
+	/**
+	 * Replace an individual of the current population by a copy of the given DNA (e.g. a migrant from another population). The fitness of the DNA
+	 * has to be set.
+	 */
+	public void replaceIndividual(int index, DNA dna) {
+		if (useContiguousPopulation) {
+			dna.copyTo(population[index]);
+		}
+		else {
+			//the DNA object could be used more than once in the population, so it's replaced instead of changed
+			DNA copy = new DNA(dna.getLength());
+			dna.copyTo(copy);
+			population[index] = copy;
+		}
+		if (isBestDNA(population[index])) {
+			population[index].copyTo(bestDNA);
+			publishedBestDNA = null;
+		}
+		//the elites need to be found again
+		elitesOfPopulation = null;
+	}
+	
+	/**
+	 * The current population (or null if the optimization was not started). The DNAs mussn't be changed (use
+	 * {@link #replaceIndividual(int, DNA)}).
+	 */
+	public DNA[] getPopulation() {
+		return population;
+	}
+	
+	private void updateProgress() {
+		if (abortCondition != null) {
+			progress = abortCondition.getProgress(bestDNA, timeUsed, generation);
+		}
+	}
+	
+	/**
+	 * Publish the events of a completed generation to the listeners (if there are listeners). The statistics of the population were collected by the
+	 * threads while they created the individuals, so publishing the events doesn't need a pass over the population.
+	 */
+	private void publishGenerationEvents(boolean newBestDNA) {
+		if (eventDispatcher == null || !eventDispatcher.hasListeners()) {
+			return;
+		}
+		//the listeners get a snapshot of the best DNA, because the best DNA is changed by the next generations
+		DNA bestDNACopy = getPublishedBestDNA();
+		if (newBestDNA) {
+			eventDispatcher.publish(new OptimizationEvent(OptimizationEvent.Type.NEW_BEST_DNA, generation, timeUsed, progress, bestDNACopy, Double.NaN,
+					Double.NaN, Double.NaN));
+		}
+		
+		if (collectGenerationStatistics) {
+			double bestFitness = minimize ? generationStatistics.getMin() : generationStatistics.getMax();
+			double worstFitness = minimize ? generationStatistics.getMax() : generationStatistics.getMin();
+			eventDispatcher.publish(new OptimizationEvent(OptimizationEvent.Type.GENERATION_COMPLETED, generation, timeUsed, progress, bestDNACopy,
+					bestFitness, generationStatistics.getSum() / populationSize, worstFitness));
 		}
 		else {
-			return dna.getFitness() > bestDNA.getFitness();
+			//the listener was added while the generation was created, so the statistics are unknown
+			eventDispatcher.publish(new OptimizationEvent(OptimizationEvent.Type.GENERATION_COMPLETED, generation, timeUsed, progress, bestDNACopy,
+					Double.NaN, Double.NaN, Double.NaN));
+		}
+	}
+	
+	private void publishEvent(OptimizationEvent.Type type) {
+		if (eventDispatcher != null && eventDispatcher.hasListeners()) {
+			eventDispatcher.publish(new OptimizationEvent(type, generation, timeUsed, progress, getPublishedBestDNA(), Double.NaN, Double.NaN,
+					Double.NaN));
+		}
+	}
+	
+	/**
+	 * A copy of the best DNA for the listeners. The copy is only created if the best DNA was changed since the last event, otherwise the events share
+	 * the last copy (that is never changed).
+	 */
+	private DNA getPublishedBestDNA() {
+		if (publishedBestDNA == null) {
+			publishedBestDNA = new DNA(bestDNA.getLength());
+			bestDNA.copyTo(publishedBestDNA);
 		}
+		return publishedBestDNA;
+	}
+	
+	private boolean isBestDNA(DNA dna) {
+		return isBetterFitness(dna.getFitness(), bestDNA.getFitness());
 	}
 	
 	@VisibleForTesting
 	/*private*/ void createInitialPopulation(DNA[] population) throws InterruptedException {
 		//create the initial population by the rootPopulation or generate a random population
-		int[] threadTasks = getThreadTasks(population.length, usedThreads);
-		Runnable[] runnables = new Runnable[usedThreads];
-		
-		for (int i = 0; i < usedThreads; i++) {
-			final int runnableIndex = i;
-			Runnable runnable = new Runnable() {
-				
-				@Override
-				public void run() {
-					for (int i = threadTasks[runnableIndex]; i < threadTasks[runnableIndex + 1]; i++) {
-						DNA dna;
-						if (i < rootPopulation.size()) {
-							dna = new DNA(problem.getLength());
-							rootPopulation.get(i).copyTo(dna);
-						}
-						else if (dnaGenerator != null) {
-							dna = dnaGenerator.generateRandomDNA(problem.getLength());
-						}
-						else {
-							dna = DNA.generateRandomDNA(problem.getLength(), randomDNARange);
-						}
-						
-						dna.setFitness(problem.calculateFitness(dna));
-						population[i] = dna;
-						
-						if (isBestDNA(dna)) {
-							dna.copyTo(bestDNA);
-						}
-					}
+		double[] fitness = getFitnessBuffer(population.length);
+		skippedEvaluations.set(0);
+		
+		resetBestCandidate();
+		resetGenerationStatistics();
+		initialIndividualsTask.population = population;
+		initialIndividualsTask.fitness = fitness;
+		runInThreads(population.length, initialIndividualsTask);
+		publishBestCandidate(population);
+	}
+	
+	private void createInitialIndividuals(DNA[] population, int from, int to, double[] fitness) {
+		if (metrics != null) {
+			//only the root DNAs of a contiguous population are used without creating a new DNA
+			int rootDNAs = useContiguousPopulation ? Math.max(0, Math.min(to, rootPopulation.size()) - from) : 0;
+			metrics.recordAllocations(to - from - rootDNAs);
+		}
+		for (int i = from; i < to; i++) {
+			bindRandomStream(0, i);
+			DNA dna;
+			if (i < rootPopulation.size()) {
+				if (useContiguousPopulation) {
+					dna = rootPopulation.get(i);
+				}
+				else {
+					dna = new DNA(problem.getLength());
+					rootPopulation.get(i).copyTo(dna);
 				}
-			};
-			runnables[i] = runnable;
+			}
+			else if (dnaGenerator != null) {
+				dna = dnaGenerator.generateRandomDNA(problem.getLength());
+			}
+			else {
+				dna = DNA.generateRandomDNA(problem.getLength(), randomDNARange);
+			}
+			
+			putIndividual(dna, population, i);
 		}
+		clearRandomStream();
 		
-		submitAndWait(runnables);
+		//calculate the fitness of all individuals of this range in one batch
+		calculateFitness(population, from, to, fitness);
+		
+		offerBestCandidate(population, from, to);
 	}
 	
 	@VisibleForTesting
 	/*private*/ void generateNextPopulation(int[] selectedReproductionIndividuals, DNA[] population, DNA[] nextPopulation)
 			throws InterruptedException {
+		double[] fitness = getFitnessBuffer(populationSize);
+		skippedEvaluations.set(0);
+		
 		//leave some spaces for the elites from the last population
-		int[] threadTasks = getThreadTasks(populationSize - elites, usedThreads);
-		Runnable[] runnables = new Runnable[usedThreads];
-		
-		for (int i = 0; i < usedThreads; i++) {
-			final int runnableIndex = i;
-			Runnable runnable = new Runnable() {
-				
-				@Override
-				public void run() {
-					for (int i = threadTasks[runnableIndex]; i < threadTasks[runnableIndex + 1]; i++) {
-						int fatherIndex = selectedReproductionIndividuals[2 * i];
-						int motherIndex = selectedReproductionIndividuals[2 * i + 1];
-						
-						DNA father = population[fatherIndex];
-						DNA mother = population[motherIndex];
-						
-						//create a child by mixing the DNA
-						DNA child = heredity.mixDNA(father, mother);
-						
-						for (Mutation mutation : mutations) {
-							//mutate the child to build new solutions
-							mutation.mutate(child);
-						}
-						
-						//calculate and set the fitness of the child
-						child.setFitness(problem.calculateFitness(child));
-						
-						//add the individual to the next population using the chosen settings
-						addIndividual(father, mother, child, nextPopulation, i);
-					}
+		resetBestCandidate();
+		resetGenerationStatistics();
+		childrenTask.selectedReproductionIndividuals = selectedReproductionIndividuals;
+		childrenTask.population = population;
+		childrenTask.nextPopulation = nextPopulation;
+		childrenTask.fitness = fitness;
+		runInThreads(populationSize - elites, childrenTask);
+		
+		//add the elites from the last population to the next population
+		long elitesStart = metrics != null ? System.nanoTime() : 0;
+		addElites(population, nextPopulation);
+		if (collectGenerationStatistics) {
+			addGenerationStatistics(nextPopulation, populationSize - elites, populationSize);
+		}
+		if (metrics != null) {
+			//the phase is recorded with the search for the elites of the new population (in optimizeNextGeneration)
+			elitesNanos = System.nanoTime() - elitesStart;
+		}
+	}
+	
+	private void createChildren(int[] selectedReproductionIndividuals, DNA[] population, DNA[] nextPopulation, int from, int to, double[] fitness) {
+		//the durations are only measured if metrics are collected
+		OptimizerMetrics metrics = this.metrics;
+		long heredityNanos = 0;
+		long mutationNanos = 0;
+		for (int i = from; i < to; i++) {
+			long heredityStart = metrics != null ? System.nanoTime() : 0;
+			//the children are created in the next generation
+			bindRandomStream(generation + 1, i);
+			int fatherIndex = selectedReproductionIndividuals[2 * i];
+			int motherIndex = selectedReproductionIndividuals[2 * i + 1];
+			
+			DNA father = population[fatherIndex];
+			DNA mother = population[motherIndex];
+			
+			//create a child by mixing the DNA
+			DNA child;
+			if (useContiguousPopulation) {
+				//write the child directly into the (recycled) row of the next population
+				child = nextPopulation[i];
+				heredity.mixDNA(father, mother, child);
+			}
+			else {
+				child = heredity.mixDNA(father, mother);
+			}
+			
+			long mutationStart = metrics != null ? System.nanoTime() : 0;
+			for (Mutation mutation : mutations) {
+				//mutate the child to build new solutions
+				mutation.mutate(child);
+			}
+			if (metrics != null) {
+				long mutationEnd = System.nanoTime();
+				heredityNanos += mutationStart - heredityStart;
+				mutationNanos += mutationEnd - mutationStart;
+			}
+			
+			//store the child in the next population till it's fitness is known
+			putIndividual(child, nextPopulation, i);
+		}
+		clearRandomStream();
+		
+		if (metrics != null) {
+			metrics.recordPhase(OptimizationPhase.HEREDITY, heredityNanos);
+			metrics.recordPhase(OptimizationPhase.MUTATION, mutationNanos);
+			if (!useContiguousPopulation) {
+				//every child is a new DNA
+				metrics.recordAllocations(to - from);
+			}
+		}
+		
+		//calculate and set the fitness of all children of this range in one batch
+		calculateFitness(nextPopulation, from, to, fitness);
+		
+		for (int i = from; i < to; i++) {
+			DNA father = population[selectedReproductionIndividuals[2 * i]];
+			DNA mother = population[selectedReproductionIndividuals[2 * i + 1]];
+			
+			//add the individual to the next population using the chosen settings
+			addIndividual(father, mother, nextPopulation[i], nextPopulation, i);
+		}
+		offerBestCandidate(nextPopulation, from, to);
+	}
+	
+	/**
+	 * Bind the random number stream of an individual to the current thread (if a seed is used), so the individual is created with the same random
+	 * numbers, independent of the thread that creates it.
+	 */
+	private void bindRandomStream(int generation, int index) {
+		if (seed != null) {
+			OptimizerRandom.setSeed(OptimizerRandom.deriveSeed(seed, generation, index));
+		}
+	}
+	private void clearRandomStream() {
+		if (seed != null) {
+			OptimizerRandom.clearSeed();
+		}
+	}
+	
+	/**
+	 * Calculate the fitness of the DNAs in the range [from, to) and set it to the DNAs. The fitness is only calculated for DNAs that are dirty (see
+	 * {@link DNA#isDirty()}) and (if a fitness cache is used) not found in the cache.
+	 * 
+	 * @param fitness
+	 *        A buffer for the calculated fitness values (only the range [from, to) is used).
+	 */
+	private void calculateFitness(DNA[] dnas, int from, int to, double[] fitness) {
+		long start = metrics != null ? System.nanoTime() : 0;
+		
+		//collect the DNAs which's fitness has to be calculated (in the same range of the buffers) to calculate their fitness in one batch
+		int pending = from;
+		int skipped = 0;
+		for (int i = from; i < to; i++) {
+			if (!dnas[i].isDirty()) {
+				//the genomes were not changed since the fitness was calculated
+				fitness[i] = dnas[i].getFitness();
+				skipped++;
+				continue;
+			}
+			if (fitnessCache != null) {
+				fitness[i] = fitnessCache.get(dnas[i]);
+				if (!Double.isNaN(fitness[i])) {
+					continue;
 				}
-			};
-			runnables[i] = runnable;
+			}
+			pendingIndices[pending] = i;
+			pendingDNAs[pending] = dnas[i];
+			pending++;
 		}
 		
-		submitAndWait(runnables);
+		evaluate(pendingDNAs, from, pending, pendingFitness);
+		for (int i = from; i < pending; i++) {
+			fitness[pendingIndices[i]] = pendingFitness[i];
+			if (fitnessCache != null) {
+				fitnessCache.put(pendingDNAs[i], pendingFitness[i]);
+			}
+		}
+		for (int i = from; i < to; i++) {
+			dnas[i].setFitness(fitness[i]);
+		}
+		skippedEvaluations.addAndGet(skipped);
 		
-		//add the elites from the last population to the next population
-		addElites(population, nextPopulation);
+		if (metrics != null) {
+			metrics.recordEvaluations(pending - from);
+			metrics.recordPhase(OptimizationPhase.FITNESS_CALCULATION, System.nanoTime() - start);
+		}
+	}
+	
+	/**
+	 * Calculate the fitness of the DNAs in the range [from, to) using the problem. If the problem is a {@link BatchGeneticOptimizerProblem} the
+	 * fitness of the whole range is calculated in one call.
+	 */
+	private void evaluate(DNA[] dnas, int from, int to, double[] fitness) {
+		if (problem instanceof BatchGeneticOptimizerProblem) {
+			((BatchGeneticOptimizerProblem) problem).calculateFitness(dnas, from, to, fitness);
+		}
+		else {
+			for (int i = from; i < to; i++) {
+				fitness[i] = problem.calculateFitness(dnas[i]);
+			}
+		}
+	}
+	
+	/**
+	 * Calculate the statistics of the fitness values of the population (in blocks that are claimed by the threads in a parallel phase).
+	 * 
+	 * @return The statistics, that are reused by the next call of this method (so they mussn't be stored).
+	 */
+	@VisibleForTesting
+	/*private*/ FitnessStatistics calculateFitnessStatistics(DNA[] population) throws InterruptedException {
+		int blocks = FitnessStatistics.getBlockCount(population.length);
+		if (blockStatistics == null || blockStatistics.length != blocks) {
+			blockStatistics = new FitnessStatistics[blocks];
+			for (int i = 0; i < blocks; i++) {
+				blockStatistics[i] = new FitnessStatistics();
+			}
+		}
+		
+		fitnessStatisticsTask.population = population;
+		if (usedThreads == 1 || blocks <= 1) {
+			fitnessStatisticsTask.run(0, blocks);
+		}
+		else {
+			runPhase(blocks, 1, fitnessStatisticsTask);
+		}
+		
+		//the blocks are merged in their order, so the result is the same for every number of threads
+		fitnessStatistics.clear();
+		for (FitnessStatistics block : blockStatistics) {
+			fitnessStatistics.merge(block);
+		}
+		return fitnessStatistics;
+	}
+	
+	/**
+	 * The array that the selection probabilities are written to (reused in every generation).
+	 */
+	private double[] getSelectionProbabilityBuffer(int size) {
+		//the selectors use the length of the array as population size, so it has to be exact
+		if (selectionProbabilityBuffer == null || selectionProbabilityBuffer.length != size) {
+			selectionProbabilityBuffer = new double[size];
+		}
+		return selectionProbabilityBuffer;
+	}
+	
+	/**
+	 * Get a buffer for the fitness values of (at least) the given size, that is reused in every generation (the buffers for the DNAs which's fitness
+	 * has to be calculated are created with the same size).
+	 */
+	private double[] getFitnessBuffer(int size) {
+		if (fitnessBuffer == null || fitnessBuffer.length < size) {
+			fitnessBuffer = new double[size];
+			pendingFitness = new double[size];
+			pendingIndices = new int[size];
+			pendingDNAs = new DNA[size];
+		}
+		return fitnessBuffer;
 	}
 	
 	@VisibleForTesting
@@ -419,91 +931,456 @@ public class GeneticOptimizer {
 			if (child.getFitness() > father.getFitness()) {
 				if (child.getFitness() > mother.getFitness()) {
 					//the child has the best fitness
-					nextPopulation[i] = child;
+					putIndividual(child, nextPopulation, i);
 				}
 				else {
 					//the mother has the best fitness
-					nextPopulation[i] = mother;
+					putIndividual(mother, nextPopulation, i);
 				}
 			}
 			else {
 				if (father.getFitness() > mother.getFitness()) {
 					//the father has the best fitness
-					nextPopulation[i] = father;
+					putIndividual(father, nextPopulation, i);
 				}
 				else {
 					//the mother has the best fitness
-					nextPopulation[i] = mother;
+					putIndividual(mother, nextPopulation, i);
 				}
 			}
 		}
 		else {
 			//no local elitism -> just add the child
-			nextPopulation[i] = child;
+			putIndividual(child, nextPopulation, i);
+		}
+	}
+	
+	/**
+	 * Add a DNA to the population at the given index (by reference or by copying the genomes when a contiguous population is used).
+	 */
+	private void putIndividual(DNA dna, DNA[] population, int i) {
+		if (useContiguousPopulation) {
+			if (population[i] != dna) {
+				dna.copyTo(population[i]);
+			}
+		}
+		else {
+			population[i] = dna;
 		}
 	}
 	
 	@VisibleForTesting
-	/*private*/ void addElites(DNA[] population, DNA[] nextPopulation) {
+	/*private*/ void addElites(DNA[] population, DNA[] nextPopulation) throws InterruptedException {
 		if (elites > 0) {
-			DNA[] eliteIndividuals = new DNA[elites];
-			if (minimize) {
-				//initialize with maximum
-				for (int i = 0; i < elites; i++) {
-					eliteIndividuals[i] = new DNA(0);
-					eliteIndividuals[i].setFitness(Double.POSITIVE_INFINITY);
-				}
-				
-				//find the best individuals from the last generation
-				for (int i = 0; i < population.length; i++) {
-					for (int j = 0; j < elites; j++) {
-						if (population[i].getFitness() < eliteIndividuals[j].getFitness()) {
-							for (int k = eliteIndividuals.length - 2; k >= 0; k--) {
-								eliteIndividuals[k + 1] = eliteIndividuals[k];
-							}
-							eliteIndividuals[j] = population[i];
-							break;
-						}
-					}
-				}
-			}
-			else {
-				//initialize with minimum
-				for (int i = 0; i < elites; i++) {
-					eliteIndividuals[i] = new DNA(0);
-					eliteIndividuals[i].setFitness(Double.NEGATIVE_INFINITY);
-				}
-				
-				//find the best individuals from the last generation
-				for (int i = 0; i < population.length; i++) {
-					for (int j = 0; j < elites; j++) {
-						if (population[i].getFitness() > eliteIndividuals[j].getFitness()) {
-							for (int k = eliteIndividuals.length - 2; k >= 0; k--) {
-								eliteIndividuals[k + 1] = eliteIndividuals[k];
-							}
-							eliteIndividuals[j] = population[i];
-							break;
-						}
-					}
-				}
+			if (elitesOfPopulation != population) {
+				//the elites were not found after the population was created (e.g. in the first generation)
+				findElites(population);
 			}
+			elitesOfPopulation = null;
 			
 			//add the elites to the next population (append on the end)
 			for (int i = 0; i < elites; i++) {
-				nextPopulation[i + populationSize - elites] = eliteIndividuals[i];
+				putIndividual(population[eliteIndices[i]], nextPopulation, i + populationSize - elites);
+			}
+		}
+	}
+	
+	/**
+	 * Find the elites (sorted from the best to the worst) of the population in one pass. Every thread scans a slice of the population using a bounded
+	 * heap (see {@link EliteHeap}) and the heaps of the slices are merged afterwards. Individuals with equal fitness are ordered by their index, so
+	 * the result doesn't depend on the number of threads.
+	 */
+	@VisibleForTesting
+	/*private*/ void findElites(DNA[] population) throws InterruptedException {
+		//small populations are scanned in the current thread
+		int threads = Math.max(1, Math.min(usedThreads, population.length / MIN_INDIVIDUALS_PER_SCAN_THREAD));
+		if (eliteHeaps == null || eliteHeaps.length < threads || eliteHeaps[0].getCapacity() != elites) {
+			eliteHeaps = new EliteHeap[Math.max(threads, usedThreads)];
+			for (int i = 0; i < eliteHeaps.length; i++) {
+				eliteHeaps[i] = new EliteHeap(elites);
+			}
+		}
+		
+		if (threads == 1) {
+			scanSlice(population, 0, population.length, eliteHeaps[0]);
+		}
+		else {
+			//the slices are claimed by the threads, so the heap of a slice doesn't depend on the thread that scans it
+			eliteScanTask.population = population;
+			if (eliteScanTask.sliceBounds == null || eliteScanTask.sliceBounds.length != threads + 1
+					|| eliteScanTask.sliceBounds[threads] != population.length) {
+				eliteScanTask.sliceBounds = getThreadTasks(population.length, threads);
+			}
+			runPhase(threads, 1, eliteScanTask);
+		}
+		
+		//merge the heaps of the slices
+		for (int i = 1; i < threads; i++) {
+			eliteHeaps[0].offerAll(eliteHeaps[i]);
+		}
+		if (eliteIndices == null || eliteIndices.length != elites) {
+			eliteIndices = new int[elites];
+		}
+		eliteHeaps[0].drainSortedTo(eliteIndices);
+		elitesOfPopulation = population;
+	}
+	
+	private void scanSlice(DNA[] population, int from, int to, EliteHeap eliteHeap) {
+		eliteHeap.clear(minimize);
+		for (int i = from; i < to; i++) {
+			eliteHeap.offer(i, population[i].getFitness());
+		}
+	}
+	
+	/**
+	 * Reset the statistics of the generation before the threads create new individuals (they are only collected if listeners are registered).
+	 */
+	private void resetGenerationStatistics() {
+		collectGenerationStatistics = eventDispatcher != null && eventDispatcher.hasListeners();
+		if (collectGenerationStatistics) {
+			generationStatistics.reset();
+		}
+	}
+	
+	private void addGenerationStatistics(DNA[] population, int from, int to) {
+		for (int i = from; i < to; i++) {
+			double fitness = population[i].getFitness();
+			generationStatistics.add(fitness, fitness, fitness);
+		}
+	}
+	
+	/**
+	 * Reset the best candidate to the current best DNA before the threads create new individuals.
+	 */
+	private void resetBestCandidate() {
+		//the best DNA is not yet created if the population is created without starting the optimization
+		double bestFitness = bestDNA != null ? bestDNA.getFitness() : (minimize ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY);
+		bestCandidate.set(new BestCandidate(-1, bestFitness));
+	}
+	
+	/**
+	 * Offer the best individual of a range (that was found by a thread) as new best candidate. The candidate is replaced using compare-and-swap, so
+	 * the threads don't need a lock.
+	 */
+	private void offerBestCandidate(DNA[] population, int from, int to) {
+		if (from >= to) {
+			return;
+		}
+		int bestIndex = from;
+		double bestFitness = population[from].getFitness();
+		//the statistics for the events are collected in the same pass
+		double min = bestFitness;
+		double max = bestFitness;
+		double sum = bestFitness;
+		for (int i = from + 1; i < to; i++) {
+			double fitness = population[i].getFitness();
+			if (isBetterFitness(fitness, bestFitness)) {
+				bestIndex = i;
+				bestFitness = fitness;
+			}
+			min = Math.min(min, fitness);
+			max = Math.max(max, fitness);
+			sum += fitness;
+		}
+		if (collectGenerationStatistics) {
+			generationStatistics.add(min, max, sum);
+		}
+		
+		BestCandidate candidate = null;
+		BestCandidate current = bestCandidate.get();
+		while (isBetterCandidate(bestIndex, bestFitness, current)) {
+			if (candidate == null) {
+				candidate = new BestCandidate(bestIndex, bestFitness);
+			}
+			if (bestCandidate.compareAndSet(current, candidate)) {
+				return;
+			}
+			//another thread changed the candidate; compare again
+			current = bestCandidate.get();
+		}
+	}
+	
+	/**
+	 * Whether an individual is better than the current candidate. Individuals with equal fitness are ordered by their index (and the current best DNA
+	 * has the index -1), so the result doesn't depend on the order in which the threads offer their individuals.
+	 */
+	private boolean isBetterCandidate(int index, double fitness, BestCandidate current) {
+		if (fitness == current.fitness) {
+			return index < current.index;
+		}
+		return isBetterFitness(fitness, current.fitness);
+	}
+	
+	/**
+	 * Copy the best candidate (if it's a new individual) of the population to the best DNA, after all threads have finished.
+	 * 
+	 * @return True if a new best DNA was found.
+	 */
+	private boolean publishBestCandidate(DNA[] population) {
+		BestCandidate candidate = bestCandidate.get();
+		if (candidate.index == -1) {
+			return false;
+		}
+		population[candidate.index].copyTo(bestDNA);
+		publishedBestDNA = null;
+		return true;
+	}
+	
+	private boolean isBetterFitness(double fitness, double comparedFitness) {
+		if (minimize) {
+			return fitness < comparedFitness;
+		}
+		else {
+			return fitness > comparedFitness;
+		}
+	}
+	
+	/**
+	 * An immutable snapshot of the best individual of a generation (the index in the population and the fitness), that is replaced by the threads
+	 * using compare-and-swap. The genome is copied to the best DNA after all threads have finished, so it can't be changed while it's copied.
+	 */
+	private static final class BestCandidate {
+		
+		private final int index;//-1 for the best DNA of the last generations
+		private final double fitness;
+		
+		private BestCandidate(int index, double fitness) {
+			this.index = index;
+			this.fitness = fitness;
+		}
+	}
+	
+	/**
+	 * The minimum, maximum and sum of the fitness values of a generation, that the threads add for their ranges of the population without a lock.
+	 */
+	private static final class GenerationStatistics {
+		
+		private final AtomicLong min = new AtomicLong();//the bits of the double values
+		private final AtomicLong max = new AtomicLong();
+		private final DoubleAdder sum = new DoubleAdder();
+		
+		private void reset() {
+			min.set(Double.doubleToLongBits(Double.POSITIVE_INFINITY));
+			max.set(Double.doubleToLongBits(Double.NEGATIVE_INFINITY));
+			sum.reset();
+		}
+		
+		private void add(double rangeMin, double rangeMax, double rangeSum) {
+			long current;
+			while (rangeMin < Double.longBitsToDouble(current = min.get()) && !min.compareAndSet(current, Double.doubleToLongBits(rangeMin))) {
+				//another thread changed the minimum; compare again
+			}
+			while (rangeMax > Double.longBitsToDouble(current = max.get()) && !max.compareAndSet(current, Double.doubleToLongBits(rangeMax))) {
+				//another thread changed the maximum; compare again
+			}
+			sum.add(rangeSum);
+		}
+		
+		private double getMin() {
+			return Double.longBitsToDouble(min.get());
+		}
+		
+		private double getMax() {
+			return Double.longBitsToDouble(max.get());
+		}
+		
+		private double getSum() {
+			return sum.sum();
+		}
+	}
+	
+	/**
+	 * A task that processes the individuals (or blocks or slices of individuals) in the range [from, to).
+	 */
+	@FunctionalInterface
+	private interface RangeTask {
+		
+		public void run(int from, int to);
+	}
+	
+	/**
+	 * The task of the phase that creates the initial individuals.
+	 */
+	private class InitialIndividualsTask implements RangeTask {
+		
+		private DNA[] population;
+		private double[] fitness;
+		
+		@Override
+		public void run(int from, int to) {
+			createInitialIndividuals(population, from, to, fitness);
+		}
+	}
+	
+	/**
+	 * The task of the phase that creates the children of a generation.
+	 */
+	private class ChildrenTask implements RangeTask {
+		
+		private int[] selectedReproductionIndividuals;
+		private DNA[] population;
+		private DNA[] nextPopulation;
+		private double[] fitness;
+		
+		@Override
+		public void run(int from, int to) {
+			createChildren(selectedReproductionIndividuals, population, nextPopulation, from, to, fitness);
+		}
+	}
+	
+	/**
+	 * The task of the phase that calculates the statistics of the blocks [from, to) of the population (see {@link FitnessStatistics}).
+	 */
+	private class FitnessStatisticsTask implements RangeTask {
+		
+		private DNA[] population;
+		
+		@Override
+		public void run(int from, int to) {
+			for (int block = from; block < to; block++) {
+				blockStatistics[block].clear();
+				blockStatistics[block].addBlock(population, block);
+			}
+		}
+	}
+	
+	/**
+	 * The task of the phase that scans the slices [from, to) of the population for the elites (every slice is scanned into it's own heap).
+	 */
+	private class EliteScanTask implements RangeTask {
+		
+		private DNA[] population;
+		private int[] sliceBounds;
+		
+		@Override
+		public void run(int from, int to) {
+			for (int slice = from; slice < to; slice++) {
+				scanSlice(population, sliceBounds[slice], sliceBounds[slice + 1], eliteHeaps[slice]);
+			}
+		}
+	}
+	
+	/**
+	 * The runnable of a thread, that takes part in every parallel phase. It processes the tasks of the current phase (claiming chunks of the tasks
+	 * using the cursor or processing the slice of it's thread) and measures the time it worked (if metrics are collected).
+	 */
+	private class PhaseRunnable implements Runnable {
+		
+		private final int thread;
+		private long busyNanos;
+		
+		private PhaseRunnable(int thread) {
+			this.thread = thread;
+		}
+		
+		@Override
+		public void run() {
+			long start = metrics != null ? System.nanoTime() : 0;
+			RangeTask task = phaseTask;
+			int tasks = phaseTasks;
+			int chunkSize = phaseChunkSize;
+			if (chunkSize > 0) {
+				//the threads claim chunks of the tasks till all tasks are processed
+				int from;
+				while ((from = phaseCursor.getAndAdd(chunkSize)) < tasks) {
+					task.run(from, Math.min(from + chunkSize, tasks));
+				}
+			}
+			else {
+				//every thread processes one slice of the tasks
+				task.run(phaseThreadTasks[thread], phaseThreadTasks[thread + 1]);
+			}
+			if (metrics != null) {
+				busyNanos = System.nanoTime() - start;
 			}
 		}
 	}
 	
 	/**
-	 * Submit the runnables to the executor and wait for all of them to finish.
+	 * Process the tasks [0, tasks) in the threads of the executor (using the chosen {@link TaskScheduling}) and wait for all of them to finish.
+	 */
+	private void runInThreads(int tasks, RangeTask task) throws InterruptedException {
+		if (getUsedTaskScheduling() == TaskScheduling.DYNAMIC) {
+			runPhase(tasks, getUsedChunkSize(tasks), task);
+		}
+		else {
+			if (phaseThreadTasks == null || phaseThreadTasks.length != usedThreads + 1 || phaseThreadTasks[usedThreads] != tasks) {
+				//the slices only change if the number of tasks changes (e.g. between the initial population and the next generations)
+				phaseThreadTasks = getThreadTasks(tasks, usedThreads);
+			}
+			runPhase(tasks, 0, task);
+		}
+	}
+	
+	/**
+	 * Run a parallel phase in all threads and wait for it to finish. If metrics are collected the time that every thread worked and the time it waited
+	 * for the other threads are reported.
+	 * 
+	 * @param chunkSize
+	 *        The number of tasks that a thread claims at once (or 0 if every thread processes one slice of the tasks).
+	 */
+	private void runPhase(int tasks, int chunkSize, RangeTask task) throws InterruptedException {
+		if (phaseRunnables == null || phaseRunnables.length != usedThreads) {
+			phaseRunnables = new PhaseRunnable[usedThreads];
+			for (int i = 0; i < usedThreads; i++) {
+				phaseRunnables[i] = new PhaseRunnable(i);
+			}
+		}
+		//the fields are published to the threads by the executor or the worker pool
+		phaseTask = task;
+		phaseTasks = tasks;
+		phaseChunkSize = chunkSize;
+		phaseCursor.set(0);
+		
+		long start = metrics != null ? System.nanoTime() : 0;
+		submitAndWait(phaseRunnables);
+		if (metrics != null) {
+			long duration = System.nanoTime() - start;
+			//the busy times are visible, because the phase was completed
+			for (int i = 0; i < phaseRunnables.length; i++) {
+				metrics.recordThreadTime(i, phaseRunnables[i].busyNanos, Math.max(0, duration - phaseRunnables[i].busyNanos));
+			}
+		}
+	}
+	
+	/**
+	 * The task scheduling that is used (if no task scheduling was chosen {@link TaskScheduling#DYNAMIC} is used for more than one thread).
+	 */
+	private TaskScheduling getUsedTaskScheduling() {
+		if (taskScheduling != null) {
+			return taskScheduling;
+		}
+		return usedThreads > 1 ? TaskScheduling.DYNAMIC : TaskScheduling.STATIC;
+	}
+	
+	/**
+	 * The number of tasks that are claimed at once when using {@link TaskScheduling#DYNAMIC} (if no chunk size was chosen every thread gets about
+	 * {@value #CHUNKS_PER_THREAD} chunks).
+	 */
+	@VisibleForTesting
+	/*private*/ int getUsedChunkSize(int tasks) {
+		if (chunkSize > 0) {
+			return chunkSize;
+		}
+		return Math.max(1, tasks / (usedThreads * CHUNKS_PER_THREAD));
+	}
+	
+	/**
+	 * Submit the runnables to the executor and wait for all of them to finish. If persistent workers are used the runnables are run by the worker pool
+	 * instead, which doesn't allocate futures.
 	 */
 	@VisibleForTesting
 	/*private*/ void submitAndWait(Runnable[] runnables) throws InterruptedException, IllegalStateException {
+		if (usePersistentWorkers && usedThreads > 1) {
+			//the workers are waiting for the next phase, so no futures are needed
+			getWorkerPool().run(runnables);
+			return;
+		}
+		
 		//submit all runnables and save the futures
 		List<Future<?>> futures = new ArrayList<Future<?>>(usedThreads);
 		for (Runnable runnable : runnables) {
-			futures.add(executorService.submit(runnable));
+			futures.add(getExecutorService().submit(runnable));
 		}
 		//wait for all threads to finish
 		for (Future<?> future : futures) {
@@ -517,6 +1394,48 @@ public class GeneticOptimizer {
 		}
 	}
 	
+	/**
+	 * The pool of persistent workers (that is created when it's first used or when the number of threads has changed).
+	 */
+	private WorkerPool getWorkerPool() {
+		if (workerPool == null || workerPool.isClosed() || workerPool.getThreads() != usedThreads) {
+			closeWorkerPool();
+			workerPool = new WorkerPool(usedThreads);
+		}
+		return workerPool;
+	}
+	
+	private void closeWorkerPool() {
+		if (workerPool != null) {
+			workerPool.close();
+			workerPool = null;
+		}
+	}
+	
+	/**
+	 * The executor service for the phases if no persistent workers are used (that is created when it's first used, so it's never created if the
+	 * persistent workers run the phases).
+	 */
+	private ExecutorService getExecutorService() {
+		if (executorService == null) {
+			executorService = Executors.newFixedThreadPool(usedThreads);
+		}
+		return executorService;
+	}
+	
+	private void shutdownExecutorService() {
+		if (executorService != null) {
+			//all phases are completed, so the threads are idle
+			executorService.shutdown();
+			executorService = null;
+		}
+	}
+	
+	@VisibleForTesting
+	/*private*/ ExecutorService getUsedExecutorService() {
+		return executorService;
+	}
+	
 	@VisibleForTesting
 	/*private*/ static int[] getThreadTasks(int tasks, int threads) {
 		int[] splitToThreads = splitToThreads(tasks, threads);
@@ -539,12 +1458,17 @@ public class GeneticOptimizer {
 		return tasksPerThread;
 	}
 	
+	/**
+	 * The best DNA that was found. The DNA is changed by the optimization when a better DNA is found, so it mussn't be read by another thread while
+	 * the optimization is running (use an {@link OptimizationListener} to observe the optimization from another thread).
+	 */
 	public DNA getBestDNA() {
 		return bestDNA;
 	}
 	@VisibleForTesting
 	void setBestDNA(DNA dna) {
 		bestDNA = dna;
+		publishedBestDNA = null;
 	}
 	
 	public boolean isMinimize() {
@@ -577,6 +1501,188 @@ public class GeneticOptimizer {
 		this.dnaGenerator = dnaGenerator;
 	}
 	
+	public boolean isUseContiguousPopulation() {
+		return useContiguousPopulation;
+	}
+	/**
+	 * Store the whole population in one contiguous array (see {@link Population}).
+	 * 
+	 * When a contiguous population is used the DNAs that are passed to the problem, the heredity and the mutations are views on a row of the
+	 * population, so the genomes start at {@link DNA#getOffset()} in the array that is returned by {@link DNA#getDNACode()}.
+	 * 
+	 * The children are created in place (using {@link Heredity#mixDNA(DNA, DNA, DNA)}) in the rows of the second population, that is reused in
+	 * every generation, so no DNAs are allocated while optimizing.
+	 */
+	public void setUseContiguousPopulation(boolean useContiguousPopulation) {
+		this.useContiguousPopulation = useContiguousPopulation;
+	}
+	
+	/**
+	 * The number of individuals of the last generation which's fitness was not calculated, because their genomes didn't change since their fitness
+	 * was calculated (e.g. parents that were chosen by the local elitism or children that were not changed by the mutations).
+	 */
+	public int getSkippedEvaluations() {
+		return skippedEvaluations.get();
+	}
+	
+	public TaskScheduling getTaskScheduling() {
+		return taskScheduling;
+	}
+	/**
+	 * Choose how the individuals of a generation are distributed to the threads. If null is chosen (default) {@link TaskScheduling#DYNAMIC} is used
+	 * when more than one thread is used, otherwise {@link TaskScheduling#STATIC}.
+	 */
+	public void setTaskScheduling(TaskScheduling taskScheduling) {
+		this.taskScheduling = taskScheduling;
+	}
+	
+	public int getChunkSize() {
+		return chunkSize;
+	}
+	/**
+	 * The number of individuals a thread claims at once when using {@link TaskScheduling#DYNAMIC}. Small chunks balance the work better, big chunks
+	 * lead to bigger batches (see {@link BatchGeneticOptimizerProblem}). A chunk size of 0 (default) chooses the size automatically.
+	 */
+	public void setChunkSize(int chunkSize) {
+		if (chunkSize < 0) {
+			throw new IllegalArgumentException("The chunk size mussn't be negative. Input was: " + chunkSize);
+		}
+		this.chunkSize = chunkSize;
+	}
+	
+	public boolean isUsePersistentWorkers() {
+		return usePersistentWorkers;
+	}
+	/**
+	 * Run the parallel phases of every generation (creating the children, the fitness statistics and finding the elites) in long-lived worker
+	 * threads that wait on a barrier between the phases, instead of submitting new tasks to the executor service in every phase. This reduces the
+	 * overhead of a generation, which makes a difference for small populations or fitness functions that are fast to calculate. The selection is
+	 * still done in the optimizer's thread (between the phases).
+	 * 
+	 * The workers are started when they are first used and terminated when the optimization is finished (see {@link #finishOptimization()}). Only used
+	 * if more than one thread is used.
+	 */
+	public void setUsePersistentWorkers(boolean usePersistentWorkers) {
+		this.usePersistentWorkers = usePersistentWorkers;
+		if (!usePersistentWorkers) {
+			closeWorkerPool();
+		}
+	}
+	
+	public FitnessCache getFitnessCache() {
+		return fitnessCache;
+	}
+	/**
+	 * Use a cache for the fitness of already evaluated DNAs, so the fitness of children that are identical to an already evaluated DNA is not
+	 * calculated again (or null to calculate the fitness of every child). The hit and miss counters can be read from the cache.
+	 * 
+	 * The cache can only be used if the fitness of a DNA depends only on it's genomes.
+	 */
+	public void setFitnessCache(FitnessCache fitnessCache) {
+		this.fitnessCache = fitnessCache;
+	}
+	
+	public OptimizerMetrics getMetrics() {
+		return metrics;
+	}
+	/**
+	 * Collect the durations of the phases of every generation, the number of fitness calculations, the busy and idle times of the threads and the
+	 * number of allocated DNAs (or null to not collect any metrics, which is the default). See {@link LongAdderOptimizerMetrics} for a default
+	 * implementation.
+	 */
+	public void setMetrics(OptimizerMetrics metrics) {
+		this.metrics = metrics;
+	}
+	
+	/**
+	 * Add a listener that receives the events of the optimization (new best DNAs, completed generations and the end of the optimization). The
+	 * events are delivered by a separate thread, so the listeners don't slow down the optimization.
+	 */
+	public synchronized void addListener(OptimizationListener listener) {
+		if (eventDispatcher == null) {
+			eventDispatcher = new OptimizationEventDispatcher();
+		}
+		eventDispatcher.addListener(listener);
+	}
+	public synchronized void removeListener(OptimizationListener listener) {
+		if (eventDispatcher != null) {
+			eventDispatcher.removeListener(listener);
+		}
+	}
+	
+	/**
+	 * The dispatcher that delivers the events to the listeners (or null if no listener was added).
+	 */
+	public OptimizationEventDispatcher getEventDispatcher() {
+		return eventDispatcher;
+	}
+	
+	public CheckpointWriter getCheckpointWriter() {
+		return checkpointWriter;
+	}
+	public int getCheckpointInterval() {
+		return checkpointInterval;
+	}
+	/**
+	 * Write a checkpoint of the optimization to a file every few generations and when the optimization ends (or pass null as path to not write
+	 * checkpoints). The checkpoints are written by a background thread (see {@link CheckpointWriter}), so the optimization doesn't wait for the
+	 * disk.
+	 * 
+	 * @param path
+	 *        The file that the checkpoints are written to (the last checkpoint is replaced).
+	 * 
+	 * @param interval
+	 *        The number of generations between two checkpoints.
+	 */
+	public void setCheckpoint(Path path, int interval) {
+		if (path != null && interval <= 0) {
+			throw new IllegalArgumentException("The checkpoint interval has to be a positive value. Input was: " + interval);
+		}
+		if (checkpointWriter != null) {
+			checkpointWriter.close();
+			checkpointWriter = null;
+		}
+		if (path != null) {
+			checkpointWriter = new CheckpointWriter(path);
+		}
+		checkpointInterval = interval;
+	}
+	
+	public Checkpoint getResumeCheckpoint() {
+		return resumeCheckpoint;
+	}
+	
+	/**
+	 * Resume the next optimization from a checkpoint (instead of creating an initial population). The population size and the DNA length of the
+	 * checkpoint have to match the optimizer.
+	 * 
+	 * If the checkpoint was created by a seeded optimization (see {@link #setSeed(Long)}) it's seed is used, so the resumed optimization creates
+	 * exactly the same generations as the optimization that wasn't stopped (as long as the operators and the problem don't use other random numbers
+	 * and the abort condition doesn't depend on the time). A checkpoint without a seed doesn't change the seed of the optimizer.
+	 */
+	public void setResumeCheckpoint(Checkpoint resumeCheckpoint) throws IllegalArgumentException {
+		if (resumeCheckpoint != null
+				&& (resumeCheckpoint.getPopulationSize() != populationSize || resumeCheckpoint.getLength() != problem.getLength())) {
+			throw new IllegalArgumentException("The checkpoint (populationSize=" + resumeCheckpoint.getPopulationSize() + ", length="
+					+ resumeCheckpoint.getLength() + ") doesn't match the optimizer (populationSize=" + populationSize + ", length="
+					+ problem.getLength() + ").");
+		}
+		this.resumeCheckpoint = resumeCheckpoint;
+	}
+	
+	public Long getSeed() {
+		return seed;
+	}
+	/**
+	 * Use seeded random numbers for the heredity, the mutations, the selection and the random DNAs of the initial population (or pass null to use
+	 * unseeded random numbers). Every individual is created using it's own random stream, that is derived from the seed, the generation and the
+	 * index of the individual (see {@link OptimizerRandom}), so optimizations with the same seed lead to the same results, independent of the number
+	 * of used threads (as long as the operators and the problem don't use other random numbers).
+	 */
+	public void setSeed(Long seed) {
+		this.seed = seed;
+	}
+	
 	@VisibleForTesting
 	void setElites(int elites) {
 		this.elites = elites;
@@ -605,7 +1711,11 @@ public class GeneticOptimizer {
 		return usedThreads > 1;
 	}
 	
-	public DoubleProperty getProgressProperty() {
-		return progressProperty;
+	/**
+	 * The progress of the optimization (from 0 to 1), that is estimated by the abort condition after every generation. The progress can be read by
+	 * any thread (or can be observed using an {@link OptimizationListener}).
+	 */
+	public double getProgress() {
+		return progress;
 	}
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package net.jfabricationgames.genetic_optimizer.optimizer;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -9,6 +12,7 @@ import net.jfabricationgames.genetic_optimizer.heredity.Heredity;
 import net.jfabricationgames.genetic_optimizer.mutation.Mutation;
 import net.jfabricationgames.genetic_optimizer.selection.SelectionPressure;
 import net.jfabricationgames.genetic_optimizer.selection.Selector;
+import net.jfabricationgames.genetic_optimizer.selection.TournamentSelector;
 
 public class GeneticOptimizerBuilder {
 	
@@ -27,6 +31,18 @@ public class GeneticOptimizerBuilder {
 	private boolean useLocalElitism;
 	private int elites;
 	private int usedThreads;
+	private boolean useContiguousPopulation;
+	private int fitnessCacheSize;
+	private TaskScheduling taskScheduling;
+	private int chunkSize;
+	private SteadyStateReplacement steadyStateReplacement;
+	private int replacementTournamentSize;
+	private OptimizerMetrics metrics;
+	private Path checkpointPath;
+	private int checkpointInterval;
+	private Path resumeCheckpointPath;
+	private Long seed;
+	private boolean usePersistentWorkers;
 	
 	public GeneticOptimizerBuilder() {
 		reset();
@@ -34,12 +50,64 @@ public class GeneticOptimizerBuilder {
 	
 	/**
 	 * Create a GeneticOptimizer that uses the given parameters.
-	 *
+	 * 
 	 * If the creation fails the constructors exceptions are thrown.
 	 */
 	public GeneticOptimizer build() throws IllegalArgumentException, NullPointerException {
 		GeneticOptimizer optimizer = new GeneticOptimizer(problem, populationSize, dnaGenerator, rootPopulation, heredity, mutations, abortCondition,
 				selectionPressure, selector, fathersFraction, minimize, useLocalElitism, elites, usedThreads);
+		optimizer.setUseContiguousPopulation(useContiguousPopulation);
+		optimizer.setTaskScheduling(taskScheduling);
+		optimizer.setChunkSize(chunkSize);
+		optimizer.setMetrics(metrics);
+		optimizer.setCheckpoint(checkpointPath, checkpointInterval);
+		optimizer.setSeed(seed);
+		optimizer.setUsePersistentWorkers(usePersistentWorkers);
+		if (resumeCheckpointPath != null) {
+			try {
+				optimizer.setResumeCheckpoint(Checkpoint.read(resumeCheckpointPath));
+			}
+			catch (IOException ioe) {
+				throw new UncheckedIOException("The checkpoint " + resumeCheckpointPath + " can't be read.", ioe);
+			}
+		}
+		if (fitnessCacheSize > 0) {
+			optimizer.setFitnessCache(new FitnessCache(fitnessCacheSize));
+		}
+		return optimizer;
+	}
+	
+	/**
+	 * Create a {@link SteadyStateGeneticOptimizer} that uses the given parameters (the parameters that are only used by the generational
+	 * {@link GeneticOptimizer} are ignored).
+	 * 
+	 * If the creation fails the constructors exceptions are thrown.
+	 */
+	public SteadyStateGeneticOptimizer buildSteadyState() throws IllegalArgumentException, NullPointerException {
+		SteadyStateGeneticOptimizer optimizer = new SteadyStateGeneticOptimizer(problem, populationSize, dnaGenerator, rootPopulation, heredity,
+				mutations, abortCondition, selectionPressure, selector, minimize, usedThreads);
+		optimizer.setReplacement(steadyStateReplacement);
+		optimizer.setReplacementTournamentSize(replacementTournamentSize);
+		return optimizer;
+	}
+	
+	/**
+	 * Create a {@link MappedGeneticOptimizer} that stores the population in memory-mapped files in the given directory (the parameters that are only
+	 * used by the heap based optimizers are ignored). The parents are always chosen by tournaments, that use the size of a {@link TournamentSelector}
+	 * if one was set.
+	 * 
+	 * If the creation fails the constructors exceptions are thrown.
+	 */
+	public MappedGeneticOptimizer buildMapped(Path directory) throws IllegalArgumentException, NullPointerException {
+		MappedGeneticOptimizer optimizer = new MappedGeneticOptimizer(problem, populationSize, dnaGenerator, rootPopulation, heredity, mutations,
+				abortCondition, minimize, usedThreads, directory);
+		if (selector instanceof TournamentSelector) {
+			optimizer.setTournamentSize(((TournamentSelector) selector).getTournamentSize());
+		}
+		if (chunkSize > 0) {
+			optimizer.setChunkSize(chunkSize);
+		}
+		optimizer.setSeed(seed);
 		return optimizer;
 	}
 	
@@ -56,6 +124,18 @@ public class GeneticOptimizerBuilder {
 		useLocalElitism = false;
 		elites = 0;
 		usedThreads = 1;
+		useContiguousPopulation = false;
+		fitnessCacheSize = 0;
+		taskScheduling = null;
+		chunkSize = 0;
+		steadyStateReplacement = SteadyStateReplacement.TOURNAMENT;
+		replacementTournamentSize = 2;
+		metrics = null;
+		checkpointPath = null;
+		checkpointInterval = 10;
+		resumeCheckpointPath = null;
+		seed = null;
+		usePersistentWorkers = false;
 	}
 	
 	public GeneticOptimizerProblem getProblem() {
@@ -113,7 +193,7 @@ public class GeneticOptimizerBuilder {
 			this.rootPopulation = Collections.emptyList();
 		}
 		else {
-			this.rootPopulation = rootPopulation;			
+			this.rootPopulation = rootPopulation;
 		}
 		return this;
 	}
@@ -196,4 +276,135 @@ public class GeneticOptimizerBuilder {
 		poolThreads = Math.max(1, poolThreads);
 		return setUsedThreads(poolThreads);
 	}
+	
+	public boolean isUseContiguousPopulation() {
+		return useContiguousPopulation;
+	}
+	public GeneticOptimizerBuilder setUseContiguousPopulation(boolean useContiguousPopulation) {
+		this.useContiguousPopulation = useContiguousPopulation;
+		return this;
+	}
+	
+	public int getFitnessCacheSize() {
+		return fitnessCacheSize;
+	}
+	/**
+	 * The maximum number of DNAs which's fitness is cached (see {@link FitnessCache}). A size of 0 (default) disables the cache.
+	 */
+	public GeneticOptimizerBuilder setFitnessCacheSize(int fitnessCacheSize) {
+		this.fitnessCacheSize = fitnessCacheSize;
+		return this;
+	}
+	
+	public TaskScheduling getTaskScheduling() {
+		return taskScheduling;
+	}
+	/**
+	 * The way the individuals are distributed to the threads. If no task scheduling is chosen (default) {@link TaskScheduling#DYNAMIC} is used when
+	 * more than one thread is used.
+	 */
+	public GeneticOptimizerBuilder setTaskScheduling(TaskScheduling taskScheduling) {
+		this.taskScheduling = taskScheduling;
+		return this;
+	}
+	
+	public int getChunkSize() {
+		return chunkSize;
+	}
+	/**
+	 * The number of individuals a thread claims at once when using {@link TaskScheduling#DYNAMIC} (0 to choose the size automatically).
+	 */
+	public GeneticOptimizerBuilder setChunkSize(int chunkSize) {
+		this.chunkSize = chunkSize;
+		return this;
+	}
+	
+	public SteadyStateReplacement getSteadyStateReplacement() {
+		return steadyStateReplacement;
+	}
+	/**
+	 * The replacement strategy of the {@link SteadyStateGeneticOptimizer} (default: {@link SteadyStateReplacement#TOURNAMENT}).
+	 */
+	public GeneticOptimizerBuilder setSteadyStateReplacement(SteadyStateReplacement steadyStateReplacement) {
+		this.steadyStateReplacement = steadyStateReplacement;
+		return this;
+	}
+	
+	public int getReplacementTournamentSize() {
+		return replacementTournamentSize;
+	}
+	/**
+	 * The tournament size of the {@link SteadyStateReplacement#TOURNAMENT} replacement (default: 2).
+	 */
+	public GeneticOptimizerBuilder setReplacementTournamentSize(int replacementTournamentSize) {
+		this.replacementTournamentSize = replacementTournamentSize;
+		return this;
+	}
+	
+	public OptimizerMetrics getMetrics() {
+		return metrics;
+	}
+	/**
+	 * Collect metrics of the optimization (see {@link GeneticOptimizer#setMetrics(OptimizerMetrics)}).
+	 */
+	public GeneticOptimizerBuilder setMetrics(OptimizerMetrics metrics) {
+		this.metrics = metrics;
+		return this;
+	}
+	
+	public Path getCheckpointPath() {
+		return checkpointPath;
+	}
+	/**
+	 * The file that checkpoints of the optimization are written to (see {@link GeneticOptimizer#setCheckpoint(Path, int)}).
+	 */
+	public GeneticOptimizerBuilder setCheckpointPath(Path checkpointPath) {
+		this.checkpointPath = checkpointPath;
+		return this;
+	}
+	
+	public int getCheckpointInterval() {
+		return checkpointInterval;
+	}
+	/**
+	 * The number of generations between two checkpoints (default: 10).
+	 */
+	public GeneticOptimizerBuilder setCheckpointInterval(int checkpointInterval) {
+		this.checkpointInterval = checkpointInterval;
+		return this;
+	}
+	
+	public Path getResumeCheckpointPath() {
+		return resumeCheckpointPath;
+	}
+	/**
+	 * Resume the optimization from a checkpoint file (see {@link GeneticOptimizer#setResumeCheckpoint(Checkpoint)}). The checkpoint is read when the
+	 * optimizer is built.
+	 */
+	public GeneticOptimizerBuilder setResumeCheckpointPath(Path resumeCheckpointPath) {
+		this.resumeCheckpointPath = resumeCheckpointPath;
+		return this;
+	}
+	
+	public Long getSeed() {
+		return seed;
+	}
+	/**
+	 * The seed of the random numbers, that makes the optimization reproducible (see {@link GeneticOptimizer#setSeed(Long)}).
+	 */
+	public GeneticOptimizerBuilder setSeed(Long seed) {
+		this.seed = seed;
+		return this;
+	}
+	
+	public boolean isUsePersistentWorkers() {
+		return usePersistentWorkers;
+	}
+	/**
+	 * Run the parallel phases of the generations in long-lived worker threads (see {@link GeneticOptimizer#setUsePersistentWorkers(boolean)}).
+	 */
+	public GeneticOptimizerBuilder setUsePersistentWorkers(boolean usePersistentWorkers) {
+		this.usePersistentWorkers = usePersistentWorkers;
+		return this;
+	}
 }
\ No newline at end of file
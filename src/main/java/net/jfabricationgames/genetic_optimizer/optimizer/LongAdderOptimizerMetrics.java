@@ -0,0 +1,237 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The default implementation of the {@link OptimizerMetrics}, that sums up the measurements in {@link LongAdder}s, so the threads of the optimizer
+ * don't contend when reporting.
+ * 
+ * The durations of the phases and of the generations are additionally collected in histograms with buckets of powers of two (in nanoseconds), to
+ * estimate percentiles (e.g. the duration of the slowest generations) without storing every measurement.
+ */
+public class LongAdderOptimizerMetrics implements OptimizerMetrics {
+	
+	private Histogram[] phases;
+	private Histogram generations = new Histogram();
+	private LongAdder evaluations = new LongAdder();
+	private LongAdder allocatedDNAs = new LongAdder();
+	private Map<Integer, ThreadTime> threadTimes = new ConcurrentHashMap<Integer, ThreadTime>();
+	
+	/**
+	 * A histogram of durations with a bucket for every power of two (bucket i contains the durations in [2^(i-1), 2^i) nanoseconds).
+	 */
+	private static class Histogram {
+		
+		private static final int BUCKETS = 64;
+		
+		private final LongAdder count = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final LongAdder[] buckets = new LongAdder[BUCKETS];
+		
+		private Histogram() {
+			for (int i = 0; i < BUCKETS; i++) {
+				buckets[i] = new LongAdder();
+			}
+		}
+		
+		private void record(long nanos) {
+			nanos = Math.max(0, nanos);
+			count.increment();
+			totalNanos.add(nanos);
+			buckets[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos))].increment();
+		}
+		
+		/**
+		 * An upper bound of the percentile (the upper end of the bucket that contains the percentile).
+		 */
+		private long getPercentile(double percentile) {
+			long count = this.count.sum();
+			if (count == 0) {
+				return 0;
+			}
+			long rank = (long) Math.ceil(percentile * count);
+			long seen = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				seen += buckets[i].sum();
+				if (seen >= rank) {
+					return i == 0 ? 0 : (1L << Math.min(62, i)) - 1;
+				}
+			}
+			return Long.MAX_VALUE;
+		}
+		
+		private void reset() {
+			count.reset();
+			totalNanos.reset();
+			for (LongAdder bucket : buckets) {
+				bucket.reset();
+			}
+		}
+	}
+	
+	/**
+	 * The busy and idle time of a thread.
+	 */
+	private static class ThreadTime {
+		
+		private final LongAdder busyNanos = new LongAdder();
+		private final LongAdder idleNanos = new LongAdder();
+	}
+	
+	public LongAdderOptimizerMetrics() {
+		phases = new Histogram[OptimizationPhase.values().length];
+		for (int i = 0; i < phases.length; i++) {
+			phases[i] = new Histogram();
+		}
+	}
+	
+	@Override
+	public void recordPhase(OptimizationPhase phase, long nanos) {
+		phases[phase.ordinal()].record(nanos);
+	}
+	
+	@Override
+	public void recordGeneration(int generation, long nanos) {
+		generations.record(nanos);
+	}
+	
+	@Override
+	public void recordEvaluations(int evaluations) {
+		this.evaluations.add(evaluations);
+	}
+	
+	@Override
+	public void recordThreadTime(int thread, long busyNanos, long idleNanos) {
+		ThreadTime threadTime = threadTimes.computeIfAbsent(thread, t -> new ThreadTime());
+		threadTime.busyNanos.add(busyNanos);
+		threadTime.idleNanos.add(idleNanos);
+	}
+	
+	@Override
+	public void recordAllocations(int allocatedDNAs) {
+		this.allocatedDNAs.add(allocatedDNAs);
+	}
+	
+	/**
+	 * Remove all measurements.
+	 */
+	public void reset() {
+		for (Histogram phase : phases) {
+			phase.reset();
+		}
+		generations.reset();
+		evaluations.reset();
+		allocatedDNAs.reset();
+		threadTimes.clear();
+	}
+	
+	/**
+	 * The summed up duration of a phase (in nanoseconds).
+	 */
+	public long getTotalTime(OptimizationPhase phase) {
+		return phases[phase.ordinal()].totalNanos.sum();
+	}
+	
+	/**
+	 * The number of times a phase was reported.
+	 */
+	public long getCount(OptimizationPhase phase) {
+		return phases[phase.ordinal()].count.sum();
+	}
+	
+	/**
+	 * The mean duration of a phase (in nanoseconds) or 0 if the phase was not reported.
+	 */
+	public double getMeanTime(OptimizationPhase phase) {
+		long count = getCount(phase);
+		return count == 0 ? 0 : getTotalTime(phase) / (double) count;
+	}
+	
+	/**
+	 * An upper bound of a percentile (from 0 to 1) of the durations of a phase (in nanoseconds). The bound is at most twice the real percentile.
+	 */
+	public long getPercentileTime(OptimizationPhase phase, double percentile) {
+		return phases[phase.ordinal()].getPercentile(percentile);
+	}
+	
+	/**
+	 * The number of reported generations (including the initial population).
+	 */
+	public long getGenerations() {
+		return generations.count.sum();
+	}
+	
+	/**
+	 * The summed up duration of all generations (in nanoseconds).
+	 */
+	public long getTotalGenerationTime() {
+		return generations.totalNanos.sum();
+	}
+	
+	/**
+	 * An upper bound of a percentile (from 0 to 1) of the durations of the generations (in nanoseconds). The bound is at most twice the real
+	 * percentile.
+	 */
+	public long getPercentileGenerationTime(double percentile) {
+		return generations.getPercentile(percentile);
+	}
+	
+	/**
+	 * The number of DNAs which's fitness was calculated by the problem.
+	 */
+	public long getEvaluations() {
+		return evaluations.sum();
+	}
+	
+	/**
+	 * The number of fitness calculations per second of the generations (or 0 if no generation was reported).
+	 */
+	public double getEvaluationsPerSecond() {
+		long nanos = getTotalGenerationTime();
+		return nanos == 0 ? 0 : getEvaluations() / (nanos / (double) TimeUnit.SECONDS.toNanos(1));
+	}
+	
+	/**
+	 * The number of DNA objects that were allocated for the individuals.
+	 */
+	public long getAllocatedDNAs() {
+		return allocatedDNAs.sum();
+	}
+	
+	/**
+	 * The number of threads which's time was reported.
+	 */
+	public int getThreads() {
+		return threadTimes.size();
+	}
+	
+	/**
+	 * The time a thread worked on the parallel tasks (in nanoseconds).
+	 */
+	public long getBusyTime(int thread) {
+		ThreadTime threadTime = threadTimes.get(thread);
+		return threadTime == null ? 0 : threadTime.busyNanos.sum();
+	}
+	
+	/**
+	 * The time a thread waited for the other threads (in nanoseconds).
+	 */
+	public long getIdleTime(int thread) {
+		ThreadTime threadTime = threadTimes.get(thread);
+		return threadTime == null ? 0 : threadTime.idleNanos.sum();
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("LongAdderOptimizerMetrics [generations=").append(getGenerations());
+		sb.append(", evaluationsPerSecond=").append(String.format("%.1f", getEvaluationsPerSecond()));
+		sb.append(", allocatedDNAs=").append(getAllocatedDNAs());
+		for (OptimizationPhase phase : OptimizationPhase.values()) {
+			sb.append(", ").append(phase).append("=").append(TimeUnit.NANOSECONDS.toMicros(getTotalTime(phase))).append("us");
+		}
+		return sb.append("]").toString();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,576 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.jfabricationgames.genetic_optimizer.abort_condition.AbortCondition;
+import net.jfabricationgames.genetic_optimizer.heredity.Heredity;
+import net.jfabricationgames.genetic_optimizer.mutation.Mutation;
+
+/**
+ * Solve an optimization problem with a population that is stored in memory-mapped files (see {@link MappedPopulation}), so the population can be
+ * larger than the heap (e.g. tens of millions of short genomes).
+ * 
+ * The optimizer uses two files in a directory: one contains the current generation and the next generation is written to the other one. So the file
+ * of the last complete generation is always a checkpoint of the optimization, that costs nothing additionally (see {@link #setResume(boolean)} and
+ * {@link MappedPopulation#toCheckpoint()}).
+ * 
+ * The parents are chosen by tournaments that read the fitness values directly from the mapped file. The threads claim chunks of the next generation,
+ * read the parents into the heap, create the children in the rows of a {@link Population} that holds one chunk, calculate their fitness (in one
+ * batch if the problem is a {@link BatchGeneticOptimizerProblem}) and write the chunk to the next file. So only one chunk per thread is stored on the
+ * heap. The best DNA is always kept in the first row of the next generation (one elite).
+ */
+public class MappedGeneticOptimizer {
+	
+	public static final int DEFAULT_CHUNK_SIZE = 1024;
+	
+	private static final String[] POPULATION_FILE_NAMES = new String[] {"population-0.mapped", "population-1.mapped"};
+	
+	private GeneticOptimizerProblem problem;
+	private Heredity heredity;
+	private List<Mutation> mutations;
+	private List<DNA> rootPopulation;
+	private int populationSize;
+	private InitialDNAGenerator dnaGenerator;
+	private AbortCondition abortCondition;
+	private boolean minimize;
+	private int usedThreads;
+	private Path directory;
+	/**
+	 * The range a DNA has when randomly initialized {@see DNA.generateRandomDNA(int lenght, double range)}.
+	 */
+	private double randomDNARange = 1;
+	
+	private int tournamentSize = 2;
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+	private Long seed;
+	private boolean resume;
+	
+	private MappedPopulation population;//the last complete generation
+	private MappedPopulation nextPopulation;
+	private Path populationPath;
+	private DNA bestDNA;
+	private int generation;
+	private long timeUsed;
+	private long optimizationStart;
+	
+	private ChunkWorker[] workers;
+	private final AtomicInteger nextChunk = new AtomicInteger();
+	private int createdGeneration;//the generation that is created by the workers
+	
+	/**
+	 * Creates the individuals of the chunks that it claims. The buffers of a worker are reused for all chunks and generations.
+	 */
+	private class ChunkWorker implements Runnable {
+		
+		//a chunk never contains more rows than the population
+		private final Population chunk = new Population(Math.min(chunkSize, populationSize), problem.getLength());
+		private final DNA father = new DNA(problem.getLength());
+		private final DNA mother = new DNA(problem.getLength());
+		private final DNA[] pendingDNAs = new DNA[chunk.getSize()];
+		private final double[] pendingFitness = new double[chunk.getSize()];
+		
+		private int bestRow;//the best row that this worker created in the current generation (or -1)
+		private double bestFitness;
+		
+		@Override
+		public void run() {
+			bestRow = -1;
+			//the first row of a new generation is the elite
+			int firstRow = createdGeneration > 0 ? 1 : 0;
+			int chunks = (populationSize - firstRow + chunkSize - 1) / chunkSize;
+			int claimed;
+			while ((claimed = nextChunk.getAndIncrement()) < chunks && !Thread.currentThread().isInterrupted()) {
+				int from = firstRow + claimed * chunkSize;
+				int to = Math.min(populationSize, from + chunkSize);
+				for (int row = from; row < to; row++) {
+					bindRandomStream(row);
+					if (createdGeneration > 0) {
+						createChild(chunk.get(row - from));
+					}
+					else {
+						createInitialIndividual(row, chunk.get(row - from));
+					}
+				}
+				clearRandomStream();
+				
+				calculateFitness(to - from);
+				for (int row = from; row < to; row++) {
+					DNA dna = chunk.get(row - from);
+					nextPopulation.set(row, dna);
+					//the chunks are claimed in ascending order, so the first of equal individuals is kept
+					if (bestRow == -1 || isBetterFitness(dna.getFitness(), bestFitness)) {
+						bestRow = row;
+						bestFitness = dna.getFitness();
+					}
+				}
+			}
+		}
+		
+		private void createInitialIndividual(int row, DNA dna) {
+			if (row < rootPopulation.size()) {
+				rootPopulation.get(row).copyTo(dna);
+			}
+			else if (dnaGenerator != null) {
+				dnaGenerator.generateRandomDNA(problem.getLength()).copyTo(dna);
+			}
+			else {
+				double[] dnaCode = dna.getDNACode();
+				for (int i = 0; i < dna.getLength(); i++) {
+					dnaCode[dna.getOffset() + i] = OptimizerRandom.nextDouble() * randomDNARange;
+				}
+			}
+		}
+		
+		private void createChild(DNA child) {
+			population.get(selectParent(), father);
+			population.get(selectParent(), mother);
+			heredity.mixDNA(father, mother, child);
+			for (Mutation mutation : mutations) {
+				//mutate the child to build new solutions
+				mutation.mutate(child);
+			}
+		}
+		
+		/**
+		 * Calculate the fitness of the dirty individuals in the first rows of the chunk.
+		 */
+		private void calculateFitness(int rows) {
+			int pending = 0;
+			for (int i = 0; i < rows; i++) {
+				DNA dna = chunk.get(i);
+				if (dna.isDirty()) {
+					pendingDNAs[pending] = dna;
+					pending++;
+				}
+			}
+			
+			if (problem instanceof BatchGeneticOptimizerProblem) {
+				((BatchGeneticOptimizerProblem) problem).calculateFitness(pendingDNAs, 0, pending, pendingFitness);
+			}
+			else {
+				for (int i = 0; i < pending; i++) {
+					pendingFitness[i] = problem.calculateFitness(pendingDNAs[i]);
+				}
+			}
+			for (int i = 0; i < pending; i++) {
+				pendingDNAs[i].setFitness(pendingFitness[i]);
+			}
+		}
+	}
+	
+	/**
+	 * @param problem
+	 *        A wrapper implementation for the problem that calculates the fitness of a DNA.
+	 * 
+	 * @param populationSize
+	 *        The size of the population (if it's not greater than 0 the size of the root population is used).
+	 * 
+	 * @param dnaGenerator
+	 *        A generator for the initial DNA (if no root population is used).
+	 * 
+	 * @param rootPopulation
+	 *        The root population that is used to start the optimization.
+	 * 
+	 * @param heredity
+	 *        The heredity method that is used to combine two individuals to a new individual.
+	 * 
+	 * @param mutations
+	 *        The mutations that are used to change the new individuals that are created using the heredity (all mutations are applied). The
+	 *        children are views on the rows of a {@link Population}, so the mutations have to use the offset of the DNA (see
+	 *        {@link DNA#getOffset()}).
+	 * 
+	 * @param abortCondition
+	 *        The condition to let the algorithm terminate (checked after every generation).
+	 * 
+	 * @param minimize
+	 *        Determines whether the fitness of the individuals should be minimized (true) or maximized (false).
+	 * 
+	 * @param usedThreads
+	 *        The number of threads that create children.
+	 * 
+	 * @param directory
+	 *        The directory that contains the files of the population (it's created if it doesn't exist).
+	 */
+	public MappedGeneticOptimizer(GeneticOptimizerProblem problem, int populationSize, InitialDNAGenerator dnaGenerator, List<DNA> rootPopulation,
+			Heredity heredity, List<Mutation> mutations, AbortCondition abortCondition, boolean minimize, int usedThreads, Path directory)
+			throws IllegalArgumentException, NullPointerException {
+		Objects.requireNonNull(problem, "The problem mussn't be null.");
+		Objects.requireNonNull(heredity, "Heredity mussn't be null.");
+		Objects.requireNonNull(mutations, "Mutations mussn't be null. Use an empty list if you don't want any mutations.");
+		Objects.requireNonNull(abortCondition, "The abort condition mussn't be null.");
+		Objects.requireNonNull(directory, "The directory mussn't be null.");
+		if (rootPopulation == null) {
+			rootPopulation = Collections.emptyList();
+		}
+		if (populationSize <= 0) {
+			populationSize = rootPopulation.size();
+		}
+		if (populationSize < 2) {
+			throw new IllegalArgumentException("The population of a mapped optimizer needs at least 2 individuals. Input size was: " + populationSize);
+		}
+		if (usedThreads <= 0) {
+			throw new IllegalArgumentException("At least 1 thread has to be used to calculate. Input size was: " + usedThreads);
+		}
+		
+		this.problem = problem;
+		this.populationSize = populationSize;
+		this.dnaGenerator = dnaGenerator;
+		this.rootPopulation = rootPopulation;
+		this.heredity = heredity;
+		this.mutations = mutations;
+		this.abortCondition = abortCondition;
+		this.minimize = minimize;
+		this.usedThreads = usedThreads;
+		this.directory = directory;
+	}
+	
+	/**
+	 * Run the optimization till the abort condition is met. Every generation is committed to it's file before the next generation is created.
+	 * 
+	 * @throws UncheckedIOException
+	 *         If the files of the population can't be created or opened.
+	 */
+	public void optimize() throws UncheckedIOException {
+		ExecutorService executorService = Executors.newFixedThreadPool(usedThreads);
+		try {
+			workers = new ChunkWorker[usedThreads];
+			for (int i = 0; i < usedThreads; i++) {
+				workers[i] = new ChunkWorker();
+			}
+			
+			if (!openPopulations()) {
+				createPopulation(executorService, 0);
+			}
+			while (!Thread.currentThread().isInterrupted() && !abortCondition.abort(bestDNA, timeUsed, generation)) {
+				createPopulation(executorService, generation + 1);
+			}
+		}
+		catch (IOException ioe) {
+			throw new UncheckedIOException("The population files in " + directory + " can't be used.", ioe);
+		}
+		catch (InterruptedException ie) {
+			//catch the interrupted exception and set the interrupted state again to terminate directly
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			executorService.shutdownNow();
+			closePopulations();
+		}
+	}
+	
+	/**
+	 * Open the files of the population (or resume from the last complete generation, see {@link #setResume(boolean)}).
+	 * 
+	 * @return True if the optimization is resumed from a stored generation. False if the initial population has to be created.
+	 */
+	private boolean openPopulations() throws IOException {
+		Files.createDirectories(directory);
+		Path[] paths = getPopulationPaths(directory);
+		Path lastComplete = resume ? getLastCompletePopulationPath(directory) : null;
+		if (lastComplete != null) {
+			population = MappedPopulation.open(lastComplete);
+			if (population.getSize() != populationSize || population.getLength() != problem.getLength()) {
+				throw new IllegalArgumentException("The stored population (size: " + population.getSize() + ", length: " + population.getLength()
+						+ ") doesn't match the optimization (size: " + populationSize + ", length: " + problem.getLength() + ").");
+			}
+			nextPopulation = MappedPopulation.create(lastComplete.equals(paths[0]) ? paths[1] : paths[0], populationSize, problem.getLength());
+			populationPath = lastComplete;
+			bestDNA = population.getBestDNA();
+			generation = population.getGeneration();
+			timeUsed = population.getTimeUsed();
+			if (population.getSeed() != null) {
+				//the random numbers only depend on the seed, the generation and the individual, so the optimization continues with the same random numbers
+				seed = population.getSeed();
+			}
+			//continue the time measurement, so a timed abort condition includes the time before the optimization was stopped
+			optimizationStart = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(timeUsed);
+			return true;
+		}
+		
+		//both files are replaced, so an old optimization can't be resumed by mistake
+		population = MappedPopulation.create(paths[1], populationSize, problem.getLength());
+		nextPopulation = MappedPopulation.create(paths[0], populationSize, problem.getLength());
+		populationPath = null;
+		bestDNA = null;
+		generation = 0;
+		timeUsed = 0;
+		optimizationStart = System.nanoTime();
+		return false;
+	}
+	
+	private void closePopulations() {
+		try {
+			if (population != null) {
+				population.close();
+			}
+			if (nextPopulation != null) {
+				nextPopulation.close();
+			}
+		}
+		catch (IOException ioe) {
+			throw new UncheckedIOException("The population files in " + directory + " can't be closed.", ioe);
+		}
+		finally {
+			population = null;
+			nextPopulation = null;
+		}
+	}
+	
+	/**
+	 * Create a generation in the next file and commit it, so the next file becomes the current population.
+	 */
+	private void createPopulation(ExecutorService executorService, int createdGeneration) throws InterruptedException {
+		this.createdGeneration = createdGeneration;
+		nextPopulation.markIncomplete();
+		if (createdGeneration > 0) {
+			nextPopulation.set(0, bestDNA);
+		}
+		nextChunk.set(0);
+		submitAndWait(executorService);
+		if (Thread.currentThread().isInterrupted()) {
+			//the generation is not complete, so the last complete generation stays the current one
+			return;
+		}
+		
+		updateBestDNA();
+		timeUsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - optimizationStart);
+		nextPopulation.setBestDNA(bestDNA);
+		nextPopulation.setSeed(seed);
+		nextPopulation.commit(createdGeneration, timeUsed);
+		
+		generation = createdGeneration;
+		MappedPopulation completed = nextPopulation;
+		nextPopulation = population;
+		population = completed;
+		populationPath = completed.getPath();
+	}
+	
+	/**
+	 * Run all workers in the executor and wait for all of them to finish.
+	 */
+	private void submitAndWait(ExecutorService executorService) throws InterruptedException, IllegalStateException {
+		List<Future<?>> futures = new ArrayList<Future<?>>(usedThreads);
+		for (ChunkWorker worker : workers) {
+			futures.add(executorService.submit(worker));
+		}
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			}
+			catch (ExecutionException e) {
+				throw new IllegalStateException("The execution of a thread failed.", e);
+			}
+		}
+	}
+	
+	/**
+	 * Take the best individual that the workers created (the first one if several individuals have the same fitness), if it's better than the best
+	 * DNA.
+	 */
+	private void updateBestDNA() {
+		int bestRow = -1;
+		double bestFitness = 0;
+		for (ChunkWorker worker : workers) {
+			if (worker.bestRow != -1 && (bestRow == -1 || isBetterFitness(worker.bestFitness, bestFitness)
+					|| (worker.bestFitness == bestFitness && worker.bestRow < bestRow))) {
+				bestRow = worker.bestRow;
+				bestFitness = worker.bestFitness;
+			}
+		}
+		if (bestDNA == null) {
+			bestDNA = nextPopulation.get(bestRow);
+		}
+		else if (bestRow != -1 && isBetterFitness(bestFitness, bestDNA.getFitness())) {
+			nextPopulation.get(bestRow, bestDNA);
+		}
+	}
+	
+	/**
+	 * Choose a parent by a tournament (with replacement) that reads the fitness values directly from the mapped file.
+	 */
+	private int selectParent() {
+		int winner = OptimizerRandom.nextInt(populationSize);
+		for (int i = 1; i < tournamentSize; i++) {
+			int participant = OptimizerRandom.nextInt(populationSize);
+			if (isBetterFitness(population.getFitness(participant), population.getFitness(winner))) {
+				winner = participant;
+			}
+		}
+		return winner;
+	}
+	
+	/**
+	 * Bind the random number stream of an individual to the current thread (if a seed is used), so the results don't depend on the number of threads.
+	 */
+	private void bindRandomStream(int row) {
+		if (seed != null) {
+			OptimizerRandom.setSeed(OptimizerRandom.deriveSeed(seed, createdGeneration, row));
+		}
+	}
+	private void clearRandomStream() {
+		if (seed != null) {
+			OptimizerRandom.clearSeed();
+		}
+	}
+	
+	private boolean isBetterFitness(double fitness, double comparedFitness) {
+		if (minimize) {
+			return fitness < comparedFitness;
+		}
+		else {
+			return fitness > comparedFitness;
+		}
+	}
+	
+	private static Path[] getPopulationPaths(Path directory) {
+		return new Path[] {directory.resolve(POPULATION_FILE_NAMES[0]), directory.resolve(POPULATION_FILE_NAMES[1])};
+	}
+	
+	/**
+	 * The file of the last complete generation that is stored in the directory of an optimization (or null if no complete generation was stored). The
+	 * file can be opened using {@link MappedPopulation#open(Path)}.
+	 */
+	public static Path getLastCompletePopulationPath(Path directory) {
+		Path lastComplete = null;
+		int lastGeneration = MappedPopulation.INCOMPLETE;
+		for (Path path : getPopulationPaths(directory)) {
+			if (Files.exists(path)) {
+				try (MappedPopulation population = MappedPopulation.open(path)) {
+					if (population.getGeneration() > lastGeneration) {
+						lastComplete = path;
+						lastGeneration = population.getGeneration();
+					}
+				}
+				catch (IOException ioe) {
+					//a broken file doesn't contain a complete generation
+				}
+			}
+		}
+		return lastComplete;
+	}
+	
+	/**
+	 * The best DNA that was found (or null if the optimization was not started). The DNA mussn't be changed.
+	 */
+	public DNA getBestDNA() {
+		return bestDNA;
+	}
+	
+	public int getGeneration() {
+		return generation;
+	}
+	
+	/**
+	 * The time that was used for the optimization (in milliseconds), including the time before the optimization was resumed.
+	 */
+	public long getTimeUsed() {
+		return timeUsed;
+	}
+	
+	/**
+	 * The file that contains the last complete generation (or null if no generation was completed).
+	 */
+	public Path getPopulationPath() {
+		return populationPath;
+	}
+	
+	public Path getDirectory() {
+		return directory;
+	}
+	
+	public boolean isResume() {
+		return resume;
+	}
+	/**
+	 * Resume the optimization from the last complete generation that is stored in the directory (if there is one), instead of creating a new
+	 * population.
+	 */
+	public void setResume(boolean resume) {
+		this.resume = resume;
+	}
+	
+	public int getTournamentSize() {
+		return tournamentSize;
+	}
+	/**
+	 * The number of randomly chosen individuals of which the best is selected as parent.
+	 */
+	public void setTournamentSize(int tournamentSize) {
+		if (tournamentSize <= 0) {
+			throw new IllegalArgumentException("The tournament size has to be a positive value. Input was: " + tournamentSize);
+		}
+		this.tournamentSize = tournamentSize;
+	}
+	
+	public int getChunkSize() {
+		return chunkSize;
+	}
+	/**
+	 * The number of individuals that a thread creates at once (and that are stored on the heap per thread).
+	 */
+	public void setChunkSize(int chunkSize) {
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("The chunk size has to be a positive value. Input was: " + chunkSize);
+		}
+		this.chunkSize = chunkSize;
+	}
+	
+	public Long getSeed() {
+		return seed;
+	}
+	/**
+	 * Seed the random numbers of the optimization, so it creates the same results for the same seed, independent of the number of threads (see
+	 * {@link OptimizerRandom}). Null to use random numbers that are not seeded.
+	 */
+	public void setSeed(Long seed) {
+		this.seed = seed;
+	}
+	
+	public double getRandomDNARange() {
+		return randomDNARange;
+	}
+	public void setRandomDNARange(double randomDNARange) {
+		this.randomDNARange = randomDNARange;
+	}
+	
+	public GeneticOptimizerProblem getProblem() {
+		return problem;
+	}
+	
+	public Heredity getHeredity() {
+		return heredity;
+	}
+	
+	public List<Mutation> getMutations() {
+		return mutations;
+	}
+	
+	public AbortCondition getAbortCondition() {
+		return abortCondition;
+	}
+	
+	public int getPopulationSize() {
+		return populationSize;
+	}
+	
+	public boolean isMinimize() {
+		return minimize;
+	}
+	
+	public int getUsedThreads() {
+		return usedThreads;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,382 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * A population that stores the genomes and the fitness values of all individuals in a memory-mapped file, so the population can be larger than the
+ * heap (the operating system loads and writes the pages of the file when they are used). Used by the {@link MappedGeneticOptimizer}.
+ * 
+ * The file is complete when a generation was committed (see {@link #commit(int, long)}). The generation is written after all other values were
+ * written to the disk, so a complete file can be used as a checkpoint without writing anything additionally (see {@link #toCheckpoint()}).
+ * 
+ * The file starts with a header (magic number, version, size, length, generation, time used, a flag that is 1 if a seed is used and the seed)
+ * followed by the best DNA (fitness and genomes), the fitness values of all individuals and the genomes of all individuals (row-major). All values
+ * are stored in big endian byte order. Files that are larger than 2 GB are mapped in multiple segments.
+ * 
+ * Different rows can be read and written by multiple threads at the same time.
+ */
+public class MappedPopulation implements Closeable {
+	
+	public static final int MAGIC = 0x4A46474D;
+	public static final int VERSION = 1;
+	
+	/**
+	 * The generation of a file, that was not committed (or that is overwritten by the next generation).
+	 */
+	public static final int INCOMPLETE = -1;
+	
+	private static final int HEADER_BYTES = 40;
+	private static final int GENERATION_POSITION = 16;
+	private static final int TIME_USED_POSITION = 20;
+	private static final int SEEDED_POSITION = 28;
+	private static final int SEED_POSITION = 32;
+	private static final long MAX_SEGMENT_BYTES = Integer.MAX_VALUE & ~7L;//a multiple of Double.BYTES
+	
+	private Path path;
+	private FileChannel channel;
+	private int size;
+	private int length;
+	private long maxSegmentBytes;
+	
+	private MappedByteBuffer header;
+	private DoubleBuffer best;//the fitness of the best DNA followed by it's genomes
+	private DoubleBuffer[] fitnessSegments;
+	private DoubleBuffer[] genomeSegments;
+	private MappedByteBuffer[] mappedBuffers;//all buffers except for the header
+	private int fitnessRowsPerSegment;
+	private int genomeRowsPerSegment;
+	
+	private MappedPopulation(Path path, FileChannel channel, int size, int length, long maxSegmentBytes) {
+		this.path = path;
+		this.channel = channel;
+		this.size = size;
+		this.length = length;
+		this.maxSegmentBytes = maxSegmentBytes;
+	}
+	
+	/**
+	 * Create a new file for a population (an existing file is replaced). All genomes and fitness values are 0 and the file is not complete.
+	 * 
+	 * @param path
+	 *        The file that stores the population.
+	 * 
+	 * @param size
+	 *        The number of individuals in the population.
+	 * 
+	 * @param length
+	 *        The length of the DNA of each individual.
+	 */
+	public static MappedPopulation create(Path path, int size, int length) throws IOException {
+		return create(path, size, length, MAX_SEGMENT_BYTES);
+	}
+	@VisibleForTesting
+	/*private*/ static MappedPopulation create(Path path, int size, int length, long maxSegmentBytes) throws IOException {
+		if (size < 0 || length < 0) {
+			throw new IllegalArgumentException(
+					"The size and length of a population mussn't be negative. Input was: size=" + size + ", length=" + length);
+		}
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		MappedPopulation population = new MappedPopulation(path, channel, size, length, maxSegmentBytes);
+		try {
+			population.map();
+		}
+		catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+		population.header.putInt(0, MAGIC);
+		population.header.putInt(4, VERSION);
+		population.header.putInt(8, size);
+		population.header.putInt(12, length);
+		population.header.putInt(GENERATION_POSITION, INCOMPLETE);
+		return population;
+	}
+	
+	/**
+	 * Open the file of a population that was created before (e.g. to resume an optimization from the stored population).
+	 * 
+	 * @throws IOException
+	 *         If the file can't be read or doesn't contain a population (of a supported version).
+	 */
+	public static MappedPopulation open(Path path) throws IOException {
+		return open(path, MAX_SEGMENT_BYTES);
+	}
+	@VisibleForTesting
+	/*private*/ static MappedPopulation open(Path path, long maxSegmentBytes) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+			while (header.hasRemaining()) {
+				if (channel.read(header, header.position()) == -1) {
+					throw new IOException("The file " + path + " is not a population file.");
+				}
+			}
+			if (header.getInt(0) != MAGIC) {
+				throw new IOException("The file " + path + " is not a population file.");
+			}
+			if (header.getInt(4) != VERSION) {
+				throw new IOException(
+						"The version " + header.getInt(4) + " of the population file is not supported (supported version: " + VERSION + ").");
+			}
+			int size = header.getInt(8);
+			int length = header.getInt(12);
+			if (size < 0 || length < 0 || channel.size() != getFileSize(size, length)) {
+				throw new IOException("The population file " + path + " is broken (size=" + size + ", length=" + length + ", file size="
+						+ channel.size() + ").");
+			}
+			MappedPopulation population = new MappedPopulation(path, channel, size, length, maxSegmentBytes);
+			population.map();
+			return population;
+		}
+		catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+	
+	private static long getFileSize(int size, int length) {
+		return HEADER_BYTES + (1L + length) * Double.BYTES + (long) size * Double.BYTES + (long) size * length * Double.BYTES;
+	}
+	
+	/**
+	 * Map the regions of the file (the file is extended to it's full size by mapping it).
+	 */
+	private void map() throws IOException {
+		if ((1L + length) * Double.BYTES > maxSegmentBytes) {
+			throw new IllegalArgumentException("The DNA length is too big to be mapped. Input was: " + length);
+		}
+		long position = 0;
+		header = channel.map(MapMode.READ_WRITE, position, HEADER_BYTES);
+		position += HEADER_BYTES;
+		
+		MappedByteBuffer bestBuffer = channel.map(MapMode.READ_WRITE, position, (1L + length) * Double.BYTES);
+		best = bestBuffer.asDoubleBuffer();
+		position += (1L + length) * Double.BYTES;
+		
+		fitnessRowsPerSegment = (int) Math.min(Integer.MAX_VALUE, maxSegmentBytes / Double.BYTES);
+		genomeRowsPerSegment = (int) Math.min(Integer.MAX_VALUE, maxSegmentBytes / Math.max(1L, (long) length * Double.BYTES));
+		int fitnessSegmentCount = getSegmentCount(fitnessRowsPerSegment);
+		int genomeSegmentCount = getSegmentCount(genomeRowsPerSegment);
+		fitnessSegments = new DoubleBuffer[fitnessSegmentCount];
+		genomeSegments = new DoubleBuffer[genomeSegmentCount];
+		mappedBuffers = new MappedByteBuffer[1 + fitnessSegmentCount + genomeSegmentCount];
+		mappedBuffers[0] = bestBuffer;
+		
+		for (int i = 0; i < fitnessSegmentCount; i++) {
+			long rows = Math.min(fitnessRowsPerSegment, size - (long) i * fitnessRowsPerSegment);
+			MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, position, rows * Double.BYTES);
+			fitnessSegments[i] = buffer.asDoubleBuffer();
+			mappedBuffers[1 + i] = buffer;
+			position += rows * Double.BYTES;
+		}
+		for (int i = 0; i < genomeSegmentCount; i++) {
+			long rows = Math.min(genomeRowsPerSegment, size - (long) i * genomeRowsPerSegment);
+			MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, position, rows * length * Double.BYTES);
+			genomeSegments[i] = buffer.asDoubleBuffer();
+			mappedBuffers[1 + fitnessSegmentCount + i] = buffer;
+			position += rows * length * Double.BYTES;
+		}
+	}
+	
+	private int getSegmentCount(int rowsPerSegment) {
+		return (int) ((size + (long) rowsPerSegment - 1) / rowsPerSegment);
+	}
+	
+	/**
+	 * Copy the genomes and the fitness of an individual into a DNA (the DNA is not dirty afterwards). The DNA can be a view on a row of a
+	 * {@link Population}.
+	 */
+	public void get(int row, DNA dna) {
+		checkLength(dna);
+		DoubleBuffer segment = genomeSegments[row / genomeRowsPerSegment];
+		int position = (row % genomeRowsPerSegment) * length;
+		double[] dnaCode = dna.getDNACode();
+		int offset = dna.getOffset();
+		for (int i = 0; i < length; i++) {
+			dnaCode[offset + i] = segment.get(position + i);
+		}
+		dna.setFitness(getFitness(row));
+	}
+	
+	/**
+	 * Create a new DNA that contains the genomes and the fitness of an individual.
+	 */
+	public DNA get(int row) {
+		DNA dna = new DNA(length);
+		get(row, dna);
+		return dna;
+	}
+	
+	/**
+	 * Copy the genomes and the fitness of a DNA into a row of the population.
+	 */
+	public void set(int row, DNA dna) {
+		checkLength(dna);
+		DoubleBuffer segment = genomeSegments[row / genomeRowsPerSegment];
+		int position = (row % genomeRowsPerSegment) * length;
+		double[] dnaCode = dna.readDNACode();
+		int offset = dna.getOffset();
+		for (int i = 0; i < length; i++) {
+			segment.put(position + i, dnaCode[offset + i]);
+		}
+		setFitness(row, dna.getFitness());
+	}
+	
+	private void checkLength(DNA dna) {
+		if (dna.getLength() != length) {
+			throw new IllegalArgumentException("The DNA length (" + dna.getLength() + ") doesn't match the population (" + length + ").");
+		}
+	}
+	
+	public double getFitness(int row) {
+		return fitnessSegments[row / fitnessRowsPerSegment].get(row % fitnessRowsPerSegment);
+	}
+	public void setFitness(int row, double fitness) {
+		fitnessSegments[row / fitnessRowsPerSegment].put(row % fitnessRowsPerSegment, fitness);
+	}
+	
+	/**
+	 * A new DNA that contains the best DNA that was stored (with it's fitness).
+	 */
+	public DNA getBestDNA() {
+		DNA bestDNA = new DNA(length);
+		double[] dnaCode = bestDNA.getDNACode();
+		for (int i = 0; i < length; i++) {
+			dnaCode[i] = best.get(1 + i);
+		}
+		bestDNA.setFitness(best.get(0));
+		return bestDNA;
+	}
+	public void setBestDNA(DNA bestDNA) {
+		checkLength(bestDNA);
+		double[] dnaCode = bestDNA.readDNACode();
+		int offset = bestDNA.getOffset();
+		for (int i = 0; i < length; i++) {
+			best.put(1 + i, dnaCode[offset + i]);
+		}
+		best.put(0, bestDNA.getFitness());
+	}
+	
+	/**
+	 * The seed of the random numbers (or null if the random numbers are not seeded).
+	 */
+	public Long getSeed() {
+		if (header.getInt(SEEDED_POSITION) == 0) {
+			return null;
+		}
+		return header.getLong(SEED_POSITION);
+	}
+	public void setSeed(Long seed) {
+		header.putInt(SEEDED_POSITION, seed != null ? 1 : 0);
+		header.putLong(SEED_POSITION, seed != null ? seed : 0);
+	}
+	
+	/**
+	 * The generation of the stored population (or {@value #INCOMPLETE} if the population was not committed).
+	 */
+	public int getGeneration() {
+		return header.getInt(GENERATION_POSITION);
+	}
+	/**
+	 * The time that was used for the optimization (in milliseconds) when the population was committed.
+	 */
+	public long getTimeUsed() {
+		return header.getLong(TIME_USED_POSITION);
+	}
+	
+	public boolean isComplete() {
+		return getGeneration() != INCOMPLETE;
+	}
+	
+	/**
+	 * Mark the file as incomplete (on the disk), before it's overwritten by a new generation. Otherwise a crash while the rows are written would leave
+	 * a file that looks complete, but contains individuals of two generations.
+	 */
+	public void markIncomplete() {
+		header.putInt(GENERATION_POSITION, INCOMPLETE);
+		header.force();
+	}
+	
+	/**
+	 * Write all rows and the best DNA to the disk and mark the file as complete afterwards, so the file contains a consistent state of the optimization
+	 * (even if the machine crashes while committing).
+	 * 
+	 * @param generation
+	 *        The generation of the stored population.
+	 * 
+	 * @param timeUsed
+	 *        The time that was used for the optimization (in milliseconds).
+	 */
+	public void commit(int generation, long timeUsed) {
+		if (generation < 0) {
+			throw new IllegalArgumentException("The generation mussn't be negative. Input was: " + generation);
+		}
+		force();
+		header.putLong(TIME_USED_POSITION, timeUsed);
+		header.putInt(GENERATION_POSITION, generation);
+		header.force();
+	}
+	
+	/**
+	 * Create a checkpoint from the stored population (e.g. to resume an optimization of a {@link GeneticOptimizer} using
+	 * {@link GeneticOptimizer#setResumeCheckpoint(Checkpoint)}). The checkpoint is stored on the heap, so the population has to fit into it.
+	 */
+	public Checkpoint toCheckpoint() {
+		if (!isComplete()) {
+			throw new IllegalStateException("The population file " + path + " is not complete.");
+		}
+		DNA[] population = new DNA[size];
+		for (int i = 0; i < size; i++) {
+			population[i] = get(i);
+		}
+		return new Checkpoint(getGeneration(), getTimeUsed(), getSeed(), getBestDNA(), population);
+	}
+	
+	/**
+	 * Write the changed pages of the rows and the best DNA to the disk (the operating system writes them anyway, but without this call they can be lost
+	 * if the machine crashes).
+	 */
+	public void force() {
+		for (MappedByteBuffer buffer : mappedBuffers) {
+			buffer.force();
+		}
+	}
+	
+	/**
+	 * Write the changes to the disk and close the file. The population mussn't be used after it was closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		force();
+		header.force();
+		channel.close();
+	}
+	
+	public Path getPath() {
+		return path;
+	}
+	
+	public int getSize() {
+		return size;
+	}
+	
+	public int getLength() {
+		return length;
+	}
+	
+	@VisibleForTesting
+	/*private*/ int getSegmentCount() {
+		return genomeSegments.length;
+	}
+}
\ No newline at end of file
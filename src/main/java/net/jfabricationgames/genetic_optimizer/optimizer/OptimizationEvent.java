@@ -0,0 +1,115 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+/**
+ * An (immutable) event of an optimization, that is sent to the {@link OptimizationListener}s.
+ */
+public class OptimizationEvent {
+	
+	/**
+	 * The kinds of events.
+	 */
+	public enum Type {
+		
+		/**
+		 * A better DNA was found (the best DNA of the event is the new best DNA).
+		 */
+		NEW_BEST_DNA,
+		/**
+		 * A generation was completed (the statistics of the event describe the population of this generation). The initial population is
+		 * generation 0.
+		 */
+		GENERATION_COMPLETED,
+		/**
+		 * The optimization was finished because the abort condition was reached.
+		 */
+		OPTIMIZATION_FINISHED,
+		/**
+		 * The optimization was stopped before the abort condition was reached (because the thread was interrupted).
+		 */
+		OPTIMIZATION_ABORTED;
+	}
+	
+	private final Type type;
+	private final int generation;
+	private final long timeUsed;
+	private final double progress;
+	private final DNA bestDNA;
+	private final double bestFitness;
+	private final double meanFitness;
+	private final double worstFitness;
+	
+	/**
+	 * @param progress
+	 *        The progress of the optimization (from 0 to 1).
+	 * 
+	 * @param bestDNA
+	 *        A copy of the best DNA, that is not changed anymore.
+	 * 
+	 * @param bestFitness
+	 *        The best fitness in the population of the generation (or NaN if the statistics are unknown).
+	 * 
+	 * @param meanFitness
+	 *        The mean fitness of the population of the generation (or NaN if the statistics are unknown).
+	 * 
+	 * @param worstFitness
+	 *        The worst fitness in the population of the generation (or NaN if the statistics are unknown).
+	 */
+	public OptimizationEvent(Type type, int generation, long timeUsed, double progress, DNA bestDNA, double bestFitness, double meanFitness,
+			double worstFitness) {
+		this.type = type;
+		this.generation = generation;
+		this.timeUsed = timeUsed;
+		this.progress = progress;
+		this.bestDNA = bestDNA;
+		this.bestFitness = bestFitness;
+		this.meanFitness = meanFitness;
+		this.worstFitness = worstFitness;
+	}
+	
+	@Override
+	public String toString() {
+		return "OptimizationEvent [type=" + type + ", generation=" + generation + ", timeUsed=" + timeUsed + ", progress=" + progress + ", bestDNA="
+				+ bestDNA + ", bestFitness=" + bestFitness + ", meanFitness=" + meanFitness + ", worstFitness=" + worstFitness + "]";
+	}
+	
+	public Type getType() {
+		return type;
+	}
+	
+	public int getGeneration() {
+		return generation;
+	}
+	
+	/**
+	 * The time since the optimization was started (in milliseconds).
+	 */
+	public long getTimeUsed() {
+		return timeUsed;
+	}
+	
+	/**
+	 * The progress of the optimization (from 0 to 1) at the time of the event (see {@link GeneticOptimizer#getProgress()}).
+	 */
+	public double getProgress() {
+		return progress;
+	}
+	
+	/**
+	 * A snapshot of the best DNA that was found till this event (the DNA mussn't be changed, because it's shared by all listeners).
+	 */
+	public DNA getBestDNA() {
+		return bestDNA;
+	}
+	
+	public double getBestFitness() {
+		return bestFitness;
+	}
+	
+	public double getMeanFitness() {
+		return meanFitness;
+	}
+	
+	public double getWorstFitness() {
+		return worstFitness;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,251 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Delivers the {@link OptimizationEvent}s of an optimization to the {@link OptimizationListener}s in a separate (daemon) thread.
+ * 
+ * The events are stored in a bounded lock-free ring buffer (every slot has a sequence number that tells whether the slot can be written or read),
+ * so publishing an event never blocks the optimization. If the listeners can't keep up and the buffer is full, new events are dropped (and counted,
+ * see {@link #getDroppedEvents()}).
+ * 
+ * The delivering thread is started when an event is published and ends after {@link #finish()} was called and all events were delivered (e.g.
+ * when the optimization ends), so an unused dispatcher doesn't keep a thread alive.
+ */
+public class OptimizationEventDispatcher implements Closeable {
+	
+	public static final int DEFAULT_CAPACITY = 1024;
+	private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);//the maximum time the consumer sleeps before looking for new events
+	
+	private final AtomicReferenceArray<OptimizationEvent> events;
+	private final AtomicLongArray sequences;
+	private final int mask;
+	private final AtomicLong tail = new AtomicLong();//the position of the next published event
+	private long head;//the position of the next delivered event (only used by the consumer)
+	
+	private final List<OptimizationListener> listeners = new CopyOnWriteArrayList<OptimizationListener>();
+	private final LongAdder droppedEvents = new LongAdder();
+	private final LongAdder failedDeliveries = new LongAdder();
+	
+	private volatile Thread consumer;//the thread that delivers the events (or null if no thread is running)
+	private volatile boolean waiting;
+	private volatile boolean finishing;
+	private volatile boolean closed;
+	
+	public OptimizationEventDispatcher() {
+		this(DEFAULT_CAPACITY);
+	}
+	/**
+	 * @param capacity
+	 *        The maximum number of events that wait for their delivery (rounded up to a power of two).
+	 */
+	public OptimizationEventDispatcher(int capacity) {
+		if (capacity <= 0 || capacity > 1 << 30) {
+			throw new IllegalArgumentException("The capacity has to be a positive value (at most 2^30). Input was: " + capacity);
+		}
+		int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+		events = new AtomicReferenceArray<OptimizationEvent>(size);
+		sequences = new AtomicLongArray(size);
+		for (int i = 0; i < size; i++) {
+			sequences.set(i, i);
+		}
+		mask = size - 1;
+	}
+	
+	public void addListener(OptimizationListener listener) {
+		listeners.add(listener);
+	}
+	public void removeListener(OptimizationListener listener) {
+		listeners.remove(listener);
+	}
+	public boolean hasListeners() {
+		return !listeners.isEmpty();
+	}
+	
+	/**
+	 * Publish an event without waiting (can be called by any thread).
+	 * 
+	 * @return True if the event was published or false if it was dropped because the buffer is full.
+	 */
+	public boolean publish(OptimizationEvent event) {
+		long position = tail.get();
+		int index;
+		while (true) {
+			index = (int) (position & mask);
+			long difference = sequences.get(index) - position;
+			if (difference == 0) {
+				//the slot is free -> claim the position
+				if (tail.compareAndSet(position, position + 1)) {
+					break;
+				}
+				position = tail.get();
+			}
+			else if (difference < 0) {
+				//the slot still contains an event that was not delivered -> the buffer is full
+				droppedEvents.increment();
+				return false;
+			}
+			else {
+				//another thread claimed the position
+				position = tail.get();
+			}
+		}
+		events.set(index, event);
+		//mark the slot as readable (a volatile write, so a finishing consumer either sees the event or is already removed, see stopConsumer)
+		sequences.set(index, position + 1);
+		
+		Thread consumer = this.consumer;
+		if (consumer == null) {
+			startConsumer();
+		}
+		else if (waiting) {
+			LockSupport.unpark(consumer);
+		}
+		return true;
+	}
+	
+	private synchronized void startConsumer() {
+		if (consumer == null && !closed) {
+			finishing = false;
+			consumer = new Thread(this::deliverEvents, "OptimizationEventDispatcher");
+			consumer.setDaemon(true);
+			consumer.start();
+		}
+	}
+	
+	/**
+	 * Remove the consumer thread after all events were delivered (only called by the consumer thread).
+	 * 
+	 * @return True if the thread can terminate. False if an event was published while removing the thread, so the thread has to deliver it.
+	 */
+	private boolean stopConsumer() {
+		synchronized (this) {
+			consumer = null;
+		}
+		//an event that was published before the consumer was removed didn't start a new consumer, so it's delivered by this thread
+		if (!hasEvents()) {
+			return true;
+		}
+		synchronized (this) {
+			if (consumer == null) {
+				consumer = Thread.currentThread();
+				return false;
+			}
+		}
+		//a new consumer was started by the publisher
+		return true;
+	}
+	
+	private boolean hasEvents() {
+		return sequences.get((int) (head & mask)) == head + 1;
+	}
+	
+	/**
+	 * Take the next event from the buffer (only called by the consumer thread).
+	 * 
+	 * @return The next event or null if there are no events.
+	 */
+	private OptimizationEvent poll() {
+		int index = (int) (head & mask);
+		if (sequences.get(index) != head + 1) {
+			return null;
+		}
+		OptimizationEvent event = events.get(index);
+		events.set(index, null);
+		//mark the slot as writable for the next round
+		sequences.lazySet(index, head + mask + 1);
+		head++;
+		return event;
+	}
+	
+	private void deliverEvents() {
+		while (!closed) {
+			OptimizationEvent event = poll();
+			if (event == null) {
+				if (finishing && stopConsumer()) {
+					return;
+				}
+				waiting = true;
+				//look again after announcing the waiting, so an event that was published in the meantime isn't missed
+				event = poll();
+				if (event == null && !finishing) {
+					LockSupport.parkNanos(this, PARK_NANOS);
+				}
+				waiting = false;
+				if (event == null) {
+					continue;
+				}
+			}
+			for (OptimizationListener listener : listeners) {
+				try {
+					listener.onEvent(event);
+				}
+				catch (RuntimeException re) {
+					//a failing listener mussn't stop the delivery to the other listeners
+					failedDeliveries.increment();
+				}
+			}
+		}
+		synchronized (this) {
+			consumer = null;
+		}
+	}
+	
+	/**
+	 * Deliver the events that were published and terminate the delivering thread afterwards (without waiting for it). The thread is started again
+	 * when the next event is published.
+	 */
+	public void finish() {
+		finishing = true;
+		Thread consumer = this.consumer;
+		if (consumer != null) {
+			LockSupport.unpark(consumer);
+		}
+	}
+	
+	/**
+	 * Stop the delivery of the events (the events that were not yet delivered are dropped).
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		Thread consumer = this.consumer;
+		if (consumer != null) {
+			LockSupport.unpark(consumer);
+		}
+	}
+	
+	/**
+	 * Whether a thread is currently delivering the events (the thread terminates after {@link #finish()} was called).
+	 */
+	public boolean isDelivering() {
+		Thread consumer = this.consumer;
+		return consumer != null && consumer.isAlive();
+	}
+	
+	/**
+	 * The number of events that were dropped because the buffer was full.
+	 */
+	public long getDroppedEvents() {
+		return droppedEvents.sum();
+	}
+	
+	/**
+	 * The number of deliveries that failed because a listener threw an exception.
+	 */
+	public long getFailedDeliveries() {
+		return failedDeliveries.sum();
+	}
+	
+	public int getCapacity() {
+		return mask + 1;
+	}
+}
\ No newline at end of file
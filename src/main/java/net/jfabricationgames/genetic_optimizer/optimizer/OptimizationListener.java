@@ -0,0 +1,16 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+/**
+ * A listener that observes an optimization (e.g. to update a dashboard or to log the progress).
+ * 
+ * The events are delivered by a separate thread (see {@link OptimizationEventDispatcher}), so the listener doesn't slow down the optimization, but
+ * the events are delivered with a small delay.
+ */
+@FunctionalInterface
+public interface OptimizationListener {
+	
+	/**
+	 * Called (by the thread of the event dispatcher) for every event of the optimization, in the order of the events.
+	 */
+	public void onEvent(OptimizationEvent event);
+}
\ No newline at end of file
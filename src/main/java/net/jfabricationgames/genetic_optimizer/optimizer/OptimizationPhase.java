@@ -0,0 +1,36 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+/**
+ * The phases of a generation of the {@link GeneticOptimizer}, which's durations are reported to the {@link OptimizerMetrics}.
+ */
+public enum OptimizationPhase {
+	
+	/**
+	 * The calculation of the selection probabilities by the selection pressure.
+	 */
+	SELECTION_PRESSURE,
+	/**
+	 * The selection of the parents by the selector.
+	 */
+	SELECTION,
+	/**
+	 * The creation of the children by the heredity (reported by every thread).
+	 */
+	HEREDITY,
+	/**
+	 * The mutation of the children (reported by every thread).
+	 */
+	MUTATION,
+	/**
+	 * The calculation of the fitness, including the lookups in the fitness cache (reported by every thread).
+	 */
+	FITNESS_CALCULATION,
+	/**
+	 * The insertion of the elites in the next population and the search for the elites of the new population (for the next generation).
+	 */
+	ELITES,
+	/**
+	 * The search for a new best DNA in the next population.
+	 */
+	BEST_DNA_SCAN;
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+/**
+ * Receives timing and throughput measurements from a {@link GeneticOptimizer} (see {@link LongAdderOptimizerMetrics} for a default
+ * implementation).
+ * 
+ * The methods are called by the threads of the optimizer, so they have to be thread safe and should be cheap, because they are called in every
+ * generation. The phases that are processed by more than one thread ({@link OptimizationPhase#HEREDITY}, {@link OptimizationPhase#MUTATION} and
+ * {@link OptimizationPhase#FITNESS_CALCULATION}) are reported by every thread (for every processed range of individuals), so their durations add
+ * up to the time used by all threads.
+ */
+public interface OptimizerMetrics {
+	
+	/**
+	 * Report the duration of a phase.
+	 * 
+	 * @param phase
+	 *        The phase that was executed.
+	 * 
+	 * @param nanos
+	 *        The duration of the phase in nanoseconds.
+	 */
+	public void recordPhase(OptimizationPhase phase, long nanos);
+	
+	/**
+	 * Report the duration of a generation.
+	 * 
+	 * @param generation
+	 *        The generation that was created (0 for the initial population).
+	 * 
+	 * @param nanos
+	 *        The duration of the generation in nanoseconds.
+	 */
+	public void recordGeneration(int generation, long nanos);
+	
+	/**
+	 * Report the number of DNAs which's fitness was calculated by the problem (without the DNAs which's fitness was known before or was found in the
+	 * fitness cache).
+	 */
+	public void recordEvaluations(int evaluations);
+	
+	/**
+	 * Report the time that a thread of the optimizer worked on a parallel task of a generation and the time that it waited for the other threads.
+	 * 
+	 * @param thread
+	 *        The index of the thread (from 0 to the number of used threads - 1).
+	 * 
+	 * @param busyNanos
+	 *        The time the thread worked on the task in nanoseconds.
+	 * 
+	 * @param idleNanos
+	 *        The time the thread waited for the other threads (or for being started) in nanoseconds.
+	 */
+	public void recordThreadTime(int thread, long busyNanos, long idleNanos);
+	
+	/**
+	 * Report the number of DNA objects that were allocated for the individuals.
+	 */
+	public void recordAllocations(int allocatedDNAs);
+}
\ No newline at end of file
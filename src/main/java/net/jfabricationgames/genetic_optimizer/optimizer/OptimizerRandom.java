@@ -0,0 +1,133 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The random numbers for the operators of the optimization (heredities, mutations, selectors and the generation of random DNAs).
+ * 
+ * Every thread uses it's own xoshiro256** generator (see {@link XoshiroRandom}), so there is no contention on a shared generator. By default the
+ * generator of a thread is seeded randomly. If the optimizer uses a seed (see {@link GeneticOptimizer#setSeed(Long)}) it re-seeds the generator of
+ * the current thread before an individual is created. The seed is derived from the seed of the optimizer, the generation and the index of the
+ * individual, so the results don't depend on the thread that creates the individual (or on the number of threads that are used).
+ * 
+ * Operators that need many random numbers (e.g. one per genome) should use the bulk methods {@link #nextDoubles(int)} and
+ * {@link #nextGaussians(int)}, that are much faster than single calls.
+ */
+public final class OptimizerRandom {
+	
+	private static final ThreadLocal<Stream> STREAM = ThreadLocal.withInitial(Stream::new);
+	
+	/**
+	 * The random number generator of a thread (with the buffers for the bulk methods).
+	 */
+	private static class Stream {
+		
+		private XoshiroRandom random = new XoshiroRandom(ThreadLocalRandom.current().nextLong());
+		
+		private double[] uniformBuffer = new double[0];
+		private double[] gaussianBuffer = new double[0];
+	}
+	
+	private OptimizerRandom() {}
+	
+	/**
+	 * Re-seed the generator of the current thread, so it creates the same random numbers for the same seed (till {@link #clearSeed()} is called).
+	 */
+	public static void setSeed(long seed) {
+		STREAM.get().random.setSeed(seed);
+	}
+	
+	/**
+	 * Seed the generator of the current thread randomly again.
+	 */
+	public static void clearSeed() {
+		STREAM.get().random.setSeed(ThreadLocalRandom.current().nextLong());
+	}
+	
+	/**
+	 * Derive the seed of a stream from the seed of the optimization, so that every (generation, index) pair gets an independent stream.
+	 * 
+	 * @param seed
+	 *        The seed of the optimization.
+	 * 
+	 * @param generation
+	 *        The generation in which the stream is used.
+	 * 
+	 * @param index
+	 *        The index of the individual that is created using the stream (or a negative value for streams that are not used for an individual).
+	 */
+	public static long deriveSeed(long seed, long generation, long index) {
+		return XoshiroRandom.splitMix(XoshiroRandom.splitMix(seed + 0x9E3779B97F4A7C15L * (generation + 1)) + 0xC2B2AE3D27D4EB4FL * (index + 1));
+	}
+	
+	/**
+	 * A uniformly distributed random number in the range [0, 1).
+	 */
+	public static double nextDouble() {
+		return STREAM.get().random.nextDouble();
+	}
+	
+	/**
+	 * A uniformly distributed random number in the range [0, bound).
+	 */
+	public static int nextInt(int bound) {
+		return STREAM.get().random.nextInt(bound);
+	}
+	
+	/**
+	 * A normal distributed random number (with mean 0 and standard deviation 1).
+	 */
+	public static double nextGaussian() {
+		return STREAM.get().random.nextGaussian();
+	}
+	
+	/**
+	 * Create uniformly distributed random numbers in the range [0, 1).
+	 * 
+	 * @param count
+	 *        The number of random numbers.
+	 * 
+	 * @return A buffer of the current thread, that contains the count random numbers at the indices [0, count) (the buffer may be longer). The
+	 *         buffer is reused by the next call of this method in the same thread, so it mussn't be stored.
+	 */
+	public static double[] nextDoubles(int count) {
+		Stream stream = STREAM.get();
+		if (stream.uniformBuffer.length < count) {
+			stream.uniformBuffer = new double[count];
+		}
+		stream.random.nextDoubles(stream.uniformBuffer, 0, count);
+		return stream.uniformBuffer;
+	}
+	
+	/**
+	 * Create normal distributed random numbers (with mean 0 and standard deviation 1).
+	 * 
+	 * @param count
+	 *        The number of random numbers.
+	 * 
+	 * @return A buffer of the current thread, that contains the count random numbers at the indices [0, count) (the buffer may be longer). The
+	 *         buffer is reused by the next call of this method in the same thread (but not by {@link #nextDoubles(int)}), so it mussn't be stored.
+	 */
+	public static double[] nextGaussians(int count) {
+		Stream stream = STREAM.get();
+		if (stream.gaussianBuffer.length < count) {
+			stream.gaussianBuffer = new double[count];
+		}
+		stream.random.nextGaussians(stream.gaussianBuffer, 0, count);
+		return stream.gaussianBuffer;
+	}
+	
+	/**
+	 * Fill the range [from, to) of an array with uniformly distributed random numbers in the range [0, 1).
+	 */
+	public static void nextDoubles(double[] values, int from, int to) {
+		STREAM.get().random.nextDoubles(values, from, to);
+	}
+	
+	/**
+	 * Fill the range [from, to) of an array with normal distributed random numbers (with mean 0 and standard deviation 1).
+	 */
+	public static void nextGaussians(double[] values, int from, int to) {
+		STREAM.get().random.nextGaussians(values, from, to);
+	}
+}
\ No newline at end of file
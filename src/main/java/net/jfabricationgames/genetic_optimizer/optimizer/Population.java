@@ -0,0 +1,94 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+/**
+ * A population that stores the genomes of all individuals in one contiguous (row-major) array and the fitness values in a parallel array.
+ * 
+ * The individuals can be accessed as {@link DNA} objects that are views on a row of the population. The views are created once and reused, so
+ * iterating over the population doesn't allocate any objects.
+ */
+public class Population {
+	
+	private int size;
+	private int length;
+	
+	private double[] genomes;//the genomes of all individuals (row-major: individual i is stored in [i * length, (i + 1) * length))
+	private double[] fitness;
+	private DNA[] rows;
+	
+	/**
+	 * @param size
+	 *        The number of individuals in the population.
+	 * 
+	 * @param length
+	 *        The length of the DNA of each individual.
+	 */
+	public Population(int size, int length) {
+		if (size < 0 || length < 0) {
+			throw new IllegalArgumentException(
+					"The size and length of a population mussn't be negative. Input was: size=" + size + ", length=" + length);
+		}
+		if ((long) size * length > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("The population is too big to be stored in one array (size * length > Integer.MAX_VALUE)");
+		}
+		this.size = size;
+		this.length = length;
+		
+		genomes = new double[size * length];
+		fitness = new double[size];
+		rows = new DNA[size];
+		for (int i = 0; i < size; i++) {
+			rows[i] = new DNA(this, i);
+		}
+	}
+	
+	/**
+	 * Get a view on the individual in the given row.
+	 */
+	public DNA get(int row) {
+		return rows[row];
+	}
+	
+	/**
+	 * Copy the genomes and the fitness of a DNA into a row of this population.
+	 */
+	public void set(int row, DNA dna) {
+		dna.copyTo(rows[row]);
+	}
+	
+	/**
+	 * Copy a row of this population (genomes and fitness) into a row of another population (or the same population).
+	 */
+	public void copyRow(int row, Population target, int targetRow) {
+		rows[row].copyTo(target.rows[targetRow]);
+	}
+	
+	/**
+	 * The views on all rows of the population (the returned array mussn't be changed).
+	 */
+	public DNA[] getRows() {
+		return rows;
+	}
+	
+	public double[] getGenomes() {
+		return genomes;
+	}
+	
+	public double[] getFitness() {
+		return fitness;
+	}
+	
+	public double getFitness(int row) {
+		return fitness[row];
+	}
+	public void setFitness(int row, double fitness) {
+		this.fitness[row] = fitness;
+	}
+	
+	public int getSize() {
+		return size;
+	}
+	
+	public int getLength() {
+		return length;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,488 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import net.jfabricationgames.genetic_optimizer.abort_condition.AbortCondition;
+import net.jfabricationgames.genetic_optimizer.heredity.Heredity;
+import net.jfabricationgames.genetic_optimizer.mutation.Mutation;
+import net.jfabricationgames.genetic_optimizer.selection.EquallyDistributedSelectionPressure;
+import net.jfabricationgames.genetic_optimizer.selection.PopulationSelector;
+import net.jfabricationgames.genetic_optimizer.selection.SelectionPressure;
+import net.jfabricationgames.genetic_optimizer.selection.Selector;
+import net.jfabricationgames.genetic_optimizer.selection.StochasticallyDistributedSelector;
+
+/**
+ * Solve an optimization problem using a steady-state genetic search algorithm, that doesn't use generations.
+ * 
+ * Every thread continuously chooses two parents, creates and evaluates a child and inserts it into the shared population (replacing a worse
+ * individual, see {@link SteadyStateReplacement}). The threads never wait for each other, so a slow fitness calculation doesn't keep the other
+ * threads idle.
+ * 
+ * The individuals are not changed after they were inserted into the population and the individuals are replaced using compare-and-set operations,
+ * so inserting a child doesn't need a lock. The parents are chosen by the {@link Selector} (based on the probabilities of the
+ * {@link SelectionPressure}) on a snapshot of the population, that is taken once for every populationSize children. This number of children is
+ * used as a generation for the selection pressure and the abort condition.
+ */
+public class SteadyStateGeneticOptimizer {
+	
+	private static final int ABORT_CHECK_INTERVAL = 16;//the number of children that are created between two checks of the abort condition
+	
+	private GeneticOptimizerProblem problem;
+	private Heredity heredity;
+	private Selector selector;
+	private SelectionPressure selectionPressure;
+	private List<Mutation> mutations;
+	private List<DNA> rootPopulation;
+	private int populationSize;
+	private InitialDNAGenerator dnaGenerator;
+	private AbortCondition abortCondition;
+	private boolean minimize;
+	private int usedThreads;
+	/**
+	 * The range a DNA has when randomly initialized {@see DNA.generateRandomDNA(int lenght, double range)}.
+	 */
+	private double randomDNARange = 1;
+	
+	private SteadyStateReplacement replacement = SteadyStateReplacement.TOURNAMENT;
+	private int replacementTournamentSize = 2;
+	
+	private AtomicReferenceArray<DNA> population;
+	private AtomicReference<DNA> bestDNA = new AtomicReference<DNA>();
+	private AtomicLong createdChildren = new AtomicLong();
+	
+	private volatile Selection selection;
+	private final Object selectionLock = new Object();
+	
+	private volatile boolean aborted;
+	private long start;
+	
+	/**
+	 * The parents that were chosen by the selector on a snapshot of the population. The threads take the pairs one after another till all pairs are
+	 * used and a new selection is created.
+	 */
+	private static class Selection {
+		
+		private final DNA[] snapshot;
+		private final int[] pairs;
+		private final AtomicInteger nextPair = new AtomicInteger();
+		
+		private Selection(DNA[] snapshot, int[] pairs) {
+			this.snapshot = snapshot;
+			this.pairs = pairs;
+		}
+	}
+	
+	/**
+	 * @param problem
+	 *        A wrapper implementation for the problem that calculates the fitness of a DNA.
+	 * 
+	 * @param populationSize
+	 *        The size of the population (if it's not greater than 0 the size of the root population is used).
+	 * 
+	 * @param dnaGenerator
+	 *        A generator for the initial DNA (if no root population is used).
+	 * 
+	 * @param rootPopulation
+	 *        The root population that is used to start the optimization.
+	 * 
+	 * @param heredity
+	 *        The heredity method that is used to combine two individuals to a new individual.
+	 * 
+	 * @param mutations
+	 *        The mutations that are used to change the new individuals that are created using the heredity (all mutations are applied).
+	 * 
+	 * @param abortCondition
+	 *        The condition to let the algorithm terminate (it's checked after every {@value #ABORT_CHECK_INTERVAL} children, so the optimization can
+	 *        create some more children after the condition is met).
+	 * 
+	 * @param selectionPressure
+	 *        A selection pressure to calculate the probability to be selected for reproduction based on the fitness.
+	 * 
+	 * @param selector
+	 *        The selector that selects the individuals for reproduction (a {@link PopulationSelector} selects by the fitness, so the selectionPressure
+	 *        is not used).
+	 * 
+	 * @param minimize
+	 *        Determines whether the fitness of the individuals should be minimized (true) or maximized (false).
+	 * 
+	 * @param usedThreads
+	 *        The number of threads that create children.
+	 */
+	public SteadyStateGeneticOptimizer(GeneticOptimizerProblem problem, int populationSize, InitialDNAGenerator dnaGenerator,
+			List<DNA> rootPopulation, Heredity heredity, List<Mutation> mutations, AbortCondition abortCondition, SelectionPressure selectionPressure,
+			Selector selector, boolean minimize, int usedThreads) throws IllegalArgumentException, NullPointerException {
+		Objects.requireNonNull(problem, "The problem mussn't be null.");
+		Objects.requireNonNull(heredity, "Heredity mussn't be null.");
+		Objects.requireNonNull(mutations, "Mutations mussn't be null. Use an empty list if you don't want any mutations.");
+		Objects.requireNonNull(abortCondition, "The abort condition mussn't be null.");
+		if (rootPopulation == null) {
+			rootPopulation = Collections.emptyList();
+		}
+		if (populationSize <= 0) {
+			populationSize = rootPopulation.size();
+		}
+		if (populationSize < 2) {
+			throw new IllegalArgumentException("The population of a steady-state optimizer needs at least 2 individuals. Input size was: "
+					+ populationSize);
+		}
+		if (usedThreads <= 0) {
+			throw new IllegalArgumentException("At least 1 thread has to be used to calculate. Input size was: " + usedThreads);
+		}
+		
+		this.problem = problem;
+		this.populationSize = populationSize;
+		this.dnaGenerator = dnaGenerator;
+		this.rootPopulation = rootPopulation;
+		this.heredity = heredity;
+		this.mutations = mutations;
+		this.abortCondition = abortCondition;
+		this.selectionPressure = selectionPressure != null ? selectionPressure : new EquallyDistributedSelectionPressure();
+		this.selector = selector != null ? selector : new StochasticallyDistributedSelector();
+		this.minimize = minimize;
+		this.usedThreads = usedThreads;
+	}
+	
+	public void optimize() {
+		start = System.nanoTime();
+		aborted = false;
+		createdChildren.set(0);
+		selection = null;
+		bestDNA.set(null);
+		population = new AtomicReferenceArray<DNA>(populationSize);
+		
+		ExecutorService executorService = Executors.newFixedThreadPool(usedThreads);
+		try {
+			//create the initial population (the threads claim the individuals one after another)
+			AtomicInteger nextIndividual = new AtomicInteger();
+			submitAndWait(executorService, new Runnable() {
+				
+				@Override
+				public void run() {
+					int i;
+					while ((i = nextIndividual.getAndIncrement()) < populationSize && !aborted) {
+						DNA dna = createInitialIndividual(i);
+						population.set(i, dna);
+						updateBestDNA(dna);
+					}
+				}
+			});
+			
+			checkAbortCondition();
+			
+			//create children till the abort condition is met
+			submitAndWait(executorService, new Runnable() {
+				
+				@Override
+				public void run() {
+					while (!aborted && !Thread.currentThread().isInterrupted()) {
+						if (createChild() && createdChildren.incrementAndGet() % ABORT_CHECK_INTERVAL == 0) {
+							//only the thread that completes an interval checks the abort condition, so the threads rarely wait for the lock
+							checkAbortCondition();
+						}
+					}
+				}
+			});
+		}
+		catch (InterruptedException ie) {
+			//catch the interrupted exception and set the interrupted state again to terminate directly
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			aborted = true;
+			executorService.shutdownNow();
+		}
+	}
+	
+	/**
+	 * Run the runnable in every thread of the executor and wait for all of them to finish.
+	 */
+	private void submitAndWait(ExecutorService executorService, Runnable runnable) throws InterruptedException, IllegalStateException {
+		List<Future<?>> futures = new ArrayList<Future<?>>(usedThreads);
+		for (int i = 0; i < usedThreads; i++) {
+			futures.add(executorService.submit(runnable));
+		}
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			}
+			catch (ExecutionException e) {
+				//stop the other threads
+				aborted = true;
+				throw new IllegalStateException("The execution of a thread failed.", e);
+			}
+		}
+	}
+	
+	private DNA createInitialIndividual(int i) {
+		DNA dna;
+		if (i < rootPopulation.size()) {
+			dna = new DNA(problem.getLength());
+			rootPopulation.get(i).copyTo(dna);
+		}
+		else if (dnaGenerator != null) {
+			dna = dnaGenerator.generateRandomDNA(problem.getLength());
+		}
+		else {
+			dna = DNA.generateRandomDNA(problem.getLength(), randomDNARange);
+		}
+		
+		if (dna.isDirty()) {
+			dna.setFitness(problem.calculateFitness(dna));
+		}
+		return dna;
+	}
+	
+	/**
+	 * Create a child of two selected parents, calculate it's fitness and insert it into the population.
+	 * 
+	 * @return True if a child was created. False if all pairs of the selection were already used by other threads.
+	 */
+	private boolean createChild() {
+		Selection selection = getSelection();
+		int pair = selection.nextPair.getAndIncrement();
+		if (pair >= populationSize) {
+			return false;
+		}
+		DNA father = selection.snapshot[selection.pairs[2 * pair]];
+		DNA mother = selection.snapshot[selection.pairs[2 * pair + 1]];
+		
+		DNA child = heredity.mixDNA(father, mother);
+		if (child == father || child == mother) {
+			//the individuals in the population mussn't be changed, so the child has to be a copy
+			DNA copy = new DNA(child.getLength());
+			child.copyTo(copy);
+			child = copy;
+		}
+		
+		for (Mutation mutation : mutations) {
+			//mutate the child to build new solutions
+			mutation.mutate(child);
+		}
+		
+		if (child.isDirty()) {
+			child.setFitness(problem.calculateFitness(child));
+		}
+		
+		if (insert(child)) {
+			updateBestDNA(child);
+		}
+		return true;
+	}
+	
+	/**
+	 * Get the current selection or create a new one if all pairs of the current selection were used.
+	 */
+	private Selection getSelection() {
+		Selection current = selection;
+		if (current != null && current.nextPair.get() < populationSize) {
+			return current;
+		}
+		synchronized (selectionLock) {
+			//another thread could have created a new selection while waiting for the lock
+			if (selection == current) {
+				DNA[] snapshot = getPopulation();
+				if (selector instanceof PopulationSelector) {
+					selection = new Selection(snapshot, ((PopulationSelector) selector).select(snapshot, minimize, populationSize));
+				}
+				else {
+					double[] probabilities = selectionPressure.calculateSelectionProbability(snapshot, getGeneration(), minimize, getTimeUsed());
+					selection = new Selection(snapshot, selector.select(probabilities, populationSize));
+				}
+			}
+			return selection;
+		}
+	}
+	
+	/**
+	 * Insert a child into the population using the chosen replacement strategy.
+	 * 
+	 * @return True if the child was inserted. False if the child is not better than the individual it would replace.
+	 */
+	private boolean insert(DNA child) {
+		while (true) {
+			int index;
+			if (replacement == SteadyStateReplacement.TOURNAMENT) {
+				index = chooseReplacedIndexByTournament();
+			}
+			else {
+				index = findWorstIndex();
+			}
+			
+			DNA replaced = population.get(index);
+			if (!isBetterFitness(child.getFitness(), replaced.getFitness())) {
+				return false;
+			}
+			if (population.compareAndSet(index, replaced, child)) {
+				return true;
+			}
+			//the individual was replaced by another thread in the meantime -> choose again
+		}
+	}
+	
+	/**
+	 * Find the worst individual of the population (O(populationSize) for every inserted child, see {@link SteadyStateReplacement#REPLACE_WORST}).
+	 */
+	private int findWorstIndex() {
+		int worst = 0;
+		for (int i = 1; i < populationSize; i++) {
+			if (isBetterFitness(population.get(worst).getFitness(), population.get(i).getFitness())) {
+				worst = i;
+			}
+		}
+		return worst;
+	}
+	
+	private int chooseReplacedIndexByTournament() {
+		int worst = OptimizerRandom.nextInt(populationSize);
+		for (int i = 1; i < replacementTournamentSize; i++) {
+			int index = OptimizerRandom.nextInt(populationSize);
+			if (isBetterFitness(population.get(worst).getFitness(), population.get(index).getFitness())) {
+				worst = index;
+			}
+		}
+		return worst;
+	}
+	
+	private void updateBestDNA(DNA dna) {
+		DNA best;
+		do {
+			best = bestDNA.get();
+			if (best != null && !isBetterFitness(dna.getFitness(), best.getFitness())) {
+				return;
+			}
+		} while (!bestDNA.compareAndSet(best, dna));
+	}
+	
+	private void checkAbortCondition() {
+		//the abort condition is not expected to be thread safe
+		synchronized (abortCondition) {
+			if (!aborted && abortCondition.abort(bestDNA.get(), getTimeUsed(), getGeneration())) {
+				aborted = true;
+			}
+		}
+	}
+	
+	private boolean isBetterFitness(double fitness, double comparedFitness) {
+		if (minimize) {
+			return fitness < comparedFitness;
+		}
+		else {
+			return fitness > comparedFitness;
+		}
+	}
+	
+	private long getTimeUsed() {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+	}
+	
+	/**
+	 * The number of created children divided by the population size (the steady-state optimizer doesn't use real generations).
+	 */
+	public int getGeneration() {
+		return (int) Math.min(Integer.MAX_VALUE, createdChildren.get() / populationSize);
+	}
+	
+	/**
+	 * The number of children that were created (and evaluated) since the optimization was started.
+	 */
+	public long getCreatedChildren() {
+		return createdChildren.get();
+	}
+	
+	/**
+	 * A snapshot of the current population (or null if the optimization was not started).
+	 */
+	public DNA[] getPopulation() {
+		if (population == null) {
+			return null;
+		}
+		DNA[] snapshot = new DNA[populationSize];
+		for (int i = 0; i < populationSize; i++) {
+			snapshot[i] = population.get(i);
+		}
+		return snapshot;
+	}
+	
+	/**
+	 * The best DNA that was found (the DNA mussn't be changed).
+	 */
+	public DNA getBestDNA() {
+		return bestDNA.get();
+	}
+	
+	public SteadyStateReplacement getReplacement() {
+		return replacement;
+	}
+	public void setReplacement(SteadyStateReplacement replacement) {
+		Objects.requireNonNull(replacement, "The replacement mussn't be null.");
+		this.replacement = replacement;
+	}
+	
+	public int getReplacementTournamentSize() {
+		return replacementTournamentSize;
+	}
+	/**
+	 * The number of randomly chosen individuals of which the worst is replaced when using {@link SteadyStateReplacement#TOURNAMENT}.
+	 */
+	public void setReplacementTournamentSize(int replacementTournamentSize) {
+		if (replacementTournamentSize <= 0) {
+			throw new IllegalArgumentException("The tournament size has to be a positive value. Input was: " + replacementTournamentSize);
+		}
+		this.replacementTournamentSize = replacementTournamentSize;
+	}
+	
+	public double getRandomDNARange() {
+		return randomDNARange;
+	}
+	public void setRandomDNARange(double randomDNARange) {
+		this.randomDNARange = randomDNARange;
+	}
+	
+	public GeneticOptimizerProblem getProblem() {
+		return problem;
+	}
+	
+	public Heredity getHeredity() {
+		return heredity;
+	}
+	
+	public List<Mutation> getMutations() {
+		return mutations;
+	}
+	
+	public AbortCondition getAbortCondition() {
+		return abortCondition;
+	}
+	
+	public SelectionPressure getSelectionPressure() {
+		return selectionPressure;
+	}
+	
+	public Selector getSelector() {
+		return selector;
+	}
+	
+	public int getPopulationSize() {
+		return populationSize;
+	}
+	
+	public boolean isMinimize() {
+		return minimize;
+	}
+	
+	public int getUsedThreads() {
+		return usedThreads;
+	}
+}
\ No newline at end of file
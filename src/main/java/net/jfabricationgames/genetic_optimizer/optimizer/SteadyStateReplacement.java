@@ -0,0 +1,22 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+/**
+ * The strategy that the {@link SteadyStateGeneticOptimizer} uses to choose the individual that is replaced by a new child.
+ */
+public enum SteadyStateReplacement {
+	
+	/**
+	 * The child replaces the worst individual of the population (if the child is better).
+	 * 
+	 * The worst individual is searched in the whole population for every child, so inserting a child takes O(populationSize) and the threads
+	 * compete for the same individual. Use {@link #TOURNAMENT} (default) for big populations or many threads.
+	 */
+	REPLACE_WORST,
+	/**
+	 * The child replaces the worst of some randomly chosen individuals (if the child is better). The number of chosen individuals can be set using
+	 * {@link SteadyStateGeneticOptimizer#setReplacementTournamentSize(int)}.
+	 * 
+	 * Inserting a child only compares the chosen individuals, so the threads don't need to scan the population.
+	 */
+	TOURNAMENT;
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+/**
+ * The way the individuals of a generation are distributed to the threads of the {@link GeneticOptimizer}.
+ */
+public enum TaskScheduling {
+	
+	/**
+	 * The population is split into equal contiguous slices (one for each thread).
+	 */
+	STATIC,
+	/**
+	 * The threads claim small chunks of the population (using an atomic cursor) till all individuals are processed, so threads that finish their
+	 * chunks early take over the work of slower threads.
+	 */
+	DYNAMIC;
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Long-lived worker threads that run the parallel phases of a generation in lockstep with the optimizer's thread (see
+ * {@link GeneticOptimizer#setUsePersistentWorkers(boolean)}).
+ * 
+ * The workers wait on a {@link Phaser} between the phases (the phaser spins for a short time before parking the thread), so starting a phase
+ * doesn't need to allocate futures or to queue tasks in an executor. The thread that calls {@link #run(Runnable[])} takes part in the phase and runs
+ * the first runnable itself.
+ * 
+ * Every phase uses two barriers: the first one publishes the runnables to the workers, the second one waits till all runnables are finished. The
+ * phaser guarantees that the actions before an arrival happen-before the actions after the advance of the phase, so the results of the workers are
+ * visible to the calling thread.
+ */
+final class WorkerPool {
+	
+	private final Phaser phaser;
+	private final Thread[] workers;
+	
+	private volatile Runnable[] runnables;
+	private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+	
+	/**
+	 * @param threads
+	 *        The number of threads that run a phase (including the calling thread, so threads - 1 workers are started).
+	 */
+	WorkerPool(int threads) {
+		if (threads <= 0) {
+			throw new IllegalArgumentException("The number of threads has to be a positive value. Input was: " + threads);
+		}
+		phaser = new Phaser(threads);
+		workers = new Thread[threads - 1];
+		for (int i = 0; i < workers.length; i++) {
+			final int runnableIndex = i + 1;
+			workers[i] = new Thread(() -> work(runnableIndex), "genetic-optimizer-worker-" + runnableIndex);
+			workers[i].setDaemon(true);
+			workers[i].start();
+		}
+	}
+	
+	private void work(int runnableIndex) {
+		while (true) {
+			//wait for the next phase (a negative phase means that the pool was closed)
+			if (phaser.arriveAndAwaitAdvance() < 0) {
+				return;
+			}
+			Runnable[] runnables = this.runnables;
+			if (runnableIndex < runnables.length) {
+				try {
+					runnables[runnableIndex].run();
+				}
+				catch (Throwable t) {
+					failure.compareAndSet(null, t);
+				}
+			}
+			//signal the end of the runnable
+			if (phaser.arriveAndAwaitAdvance() < 0) {
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * Run the runnables in the threads of the pool (the first runnable is run in the calling thread) and wait for all of them to finish.
+	 * 
+	 * @param runnables
+	 *        The runnables of the phase (at most one for every thread of the pool).
+	 */
+	void run(Runnable[] runnables) throws InterruptedException, IllegalStateException {
+		if (runnables.length > workers.length + 1) {
+			throw new IllegalArgumentException(
+					"The pool can't run more runnables than it has threads. Input was: " + runnables.length + " (threads: " + (workers.length + 1) + ")");
+		}
+		if (isClosed()) {
+			throw new IllegalStateException("The worker pool was already closed.");
+		}
+		
+		this.runnables = runnables;
+		failure.set(null);
+		try {
+			//start the phase
+			phaser.awaitAdvanceInterruptibly(phaser.arrive());
+			if (runnables.length > 0) {
+				try {
+					runnables[0].run();
+				}
+				catch (Throwable t) {
+					failure.compareAndSet(null, t);
+				}
+			}
+			//wait for the workers to finish
+			phaser.awaitAdvanceInterruptibly(phaser.arrive());
+		}
+		catch (InterruptedException ie) {
+			//the workers can't be synchronized anymore, so the pool is closed
+			close();
+			throw ie;
+		}
+		
+		Throwable t = failure.get();
+		if (t != null) {
+			throw new IllegalStateException("The execution of a thread failed.", t);
+		}
+	}
+	
+	/**
+	 * Terminate the workers (the runnables that are currently executed are finished).
+	 */
+	void close() {
+		phaser.forceTermination();
+	}
+	
+	boolean isClosed() {
+		return phaser.isTerminated();
+	}
+	
+	int getThreads() {
+		return workers.length + 1;
+	}
+}
\ No newline at end of file
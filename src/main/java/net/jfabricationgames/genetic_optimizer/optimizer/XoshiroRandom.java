@@ -0,0 +1,224 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+/**
+ * A fast (not thread safe) random number generator that uses the xoshiro256** algorithm of Blackman and Vigna and creates normal distributed numbers
+ * using the ziggurat method of Marsaglia and Tsang (with 128 layers).
+ * 
+ * The generator is used by {@link OptimizerRandom} (one generator per thread). The bulk methods ({@link #nextDoubles(double[], int, int)} and
+ * {@link #nextGaussians(double[], int, int)}) keep the state in local variables (the Gaussian loop only writes it back for the rare draws outside
+ * of the ziggurat's rectangles), so they are faster than single calls. Both create the same numbers as the corresponding single calls.
+ */
+final class XoshiroRandom {
+	
+	private static final double DOUBLE_UNIT = 0x1.0p-53;
+	
+	private static final int ZIGGURAT_LAYERS = 128;
+	private static final double ZIGGURAT_R = 3.442619855899;//the start of the tail
+	private static final double ZIGGURAT_V = 9.91256303526217e-3;//the area of every layer
+	private static final long[] ZIGGURAT_K = new long[ZIGGURAT_LAYERS];
+	private static final double[] ZIGGURAT_W = new double[ZIGGURAT_LAYERS];
+	private static final double[] ZIGGURAT_F = new double[ZIGGURAT_LAYERS];
+	
+	static {
+		//StrictMath is used to get the same tables (and random numbers) on every platform
+		double m = 2147483648.0;
+		double dn = ZIGGURAT_R;
+		double tn = dn;
+		double q = ZIGGURAT_V / StrictMath.exp(-0.5 * dn * dn);
+		ZIGGURAT_K[0] = (long) ((dn / q) * m);
+		ZIGGURAT_K[1] = 0;
+		ZIGGURAT_W[0] = q / m;
+		ZIGGURAT_W[ZIGGURAT_LAYERS - 1] = dn / m;
+		ZIGGURAT_F[0] = 1;
+		ZIGGURAT_F[ZIGGURAT_LAYERS - 1] = StrictMath.exp(-0.5 * dn * dn);
+		for (int i = ZIGGURAT_LAYERS - 2; i >= 1; i--) {
+			dn = StrictMath.sqrt(-2 * StrictMath.log(ZIGGURAT_V / dn + StrictMath.exp(-0.5 * dn * dn)));
+			ZIGGURAT_K[i + 1] = (long) ((dn / tn) * m);
+			tn = dn;
+			ZIGGURAT_F[i] = StrictMath.exp(-0.5 * dn * dn);
+			ZIGGURAT_W[i] = dn / m;
+		}
+	}
+	
+	private long s0;
+	private long s1;
+	private long s2;
+	private long s3;
+	
+	XoshiroRandom(long seed) {
+		setSeed(seed);
+	}
+	
+	/**
+	 * Reset the state of the generator (the state is created from the seed using SplitMix64, so similar seeds lead to different states).
+	 */
+	void setSeed(long seed) {
+		s0 = splitMix(seed += 0x9E3779B97F4A7C15L);
+		s1 = splitMix(seed += 0x9E3779B97F4A7C15L);
+		s2 = splitMix(seed += 0x9E3779B97F4A7C15L);
+		s3 = splitMix(seed + 0x9E3779B97F4A7C15L);
+	}
+	
+	/**
+	 * The mixing function of SplitMix64.
+	 */
+	static long splitMix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+	
+	long nextLong() {
+		long result = Long.rotateLeft(s1 * 5, 7) * 9;
+		long t = s1 << 17;
+		s2 ^= s0;
+		s3 ^= s1;
+		s1 ^= s2;
+		s0 ^= s3;
+		s2 ^= t;
+		s3 = Long.rotateLeft(s3, 45);
+		return result;
+	}
+	
+	/**
+	 * A uniformly distributed random number in the range [0, 1).
+	 */
+	double nextDouble() {
+		return (nextLong() >>> 11) * DOUBLE_UNIT;
+	}
+	
+	/**
+	 * A uniformly distributed random number in the range [0, bound) (using Lemire's method without a division in most cases).
+	 */
+	int nextInt(int bound) {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("The bound has to be a positive value. Input was: " + bound);
+		}
+		long product = (nextLong() >>> 32) * bound;
+		long low = product & 0xFFFFFFFFL;
+		if (low < bound) {
+			//reject the values that would make the distribution uneven
+			long threshold = (0x100000000L - bound) % bound;
+			while (low < threshold) {
+				product = (nextLong() >>> 32) * bound;
+				low = product & 0xFFFFFFFFL;
+			}
+		}
+		return (int) (product >>> 32);
+	}
+	
+	/**
+	 * A normal distributed random number (with mean 0 and standard deviation 1).
+	 */
+	double nextGaussian() {
+		long bits = nextLong();
+		//the sign and value are taken from the upper bits, the layer from the lower bits (so they are independent)
+		int hz = (int) (bits >>> 32);
+		int iz = (int) bits & (ZIGGURAT_LAYERS - 1);
+		if (Math.abs((long) hz) < ZIGGURAT_K[iz]) {
+			//the point is inside the rectangle of the layer (about 99% of the cases)
+			return hz * ZIGGURAT_W[iz];
+		}
+		return nextGaussianOutsideRectangle(hz, iz);
+	}
+	
+	private double nextGaussianOutsideRectangle(int hz, int iz) {
+		while (true) {
+			double x = hz * ZIGGURAT_W[iz];
+			if (iz == 0) {
+				//the point is in the tail of the distribution
+				double y;
+				do {
+					x = -StrictMath.log(nextOpenDouble()) / ZIGGURAT_R;
+					y = -StrictMath.log(nextOpenDouble());
+				} while (y + y < x * x);
+				return hz > 0 ? ZIGGURAT_R + x : -ZIGGURAT_R - x;
+			}
+			if (ZIGGURAT_F[iz] + nextDouble() * (ZIGGURAT_F[iz - 1] - ZIGGURAT_F[iz]) < StrictMath.exp(-0.5 * x * x)) {
+				//the point is below the curve
+				return x;
+			}
+			
+			long bits = nextLong();
+			hz = (int) (bits >>> 32);
+			iz = (int) bits & (ZIGGURAT_LAYERS - 1);
+			if (Math.abs((long) hz) < ZIGGURAT_K[iz]) {
+				return hz * ZIGGURAT_W[iz];
+			}
+		}
+	}
+	
+	/**
+	 * A uniformly distributed random number in the range (0, 1) (that can be used as parameter of a logarithm).
+	 */
+	private double nextOpenDouble() {
+		return ((nextLong() >>> 11) + 0.5) * DOUBLE_UNIT;
+	}
+	
+	/**
+	 * Fill the range [from, to) of the array with uniformly distributed random numbers in the range [0, 1).
+	 */
+	void nextDoubles(double[] values, int from, int to) {
+		long s0 = this.s0;
+		long s1 = this.s1;
+		long s2 = this.s2;
+		long s3 = this.s3;
+		for (int i = from; i < to; i++) {
+			long result = Long.rotateLeft(s1 * 5, 7) * 9;
+			long t = s1 << 17;
+			s2 ^= s0;
+			s3 ^= s1;
+			s1 ^= s2;
+			s0 ^= s3;
+			s2 ^= t;
+			s3 = Long.rotateLeft(s3, 45);
+			values[i] = (result >>> 11) * DOUBLE_UNIT;
+		}
+		this.s0 = s0;
+		this.s1 = s1;
+		this.s2 = s2;
+		this.s3 = s3;
+	}
+	
+	/**
+	 * Fill the range [from, to) of the array with normal distributed random numbers (with mean 0 and standard deviation 1).
+	 */
+	void nextGaussians(double[] values, int from, int to) {
+		long s0 = this.s0;
+		long s1 = this.s1;
+		long s2 = this.s2;
+		long s3 = this.s3;
+		for (int i = from; i < to; i++) {
+			long bits = Long.rotateLeft(s1 * 5, 7) * 9;
+			long t = s1 << 17;
+			s2 ^= s0;
+			s3 ^= s1;
+			s1 ^= s2;
+			s0 ^= s3;
+			s2 ^= t;
+			s3 = Long.rotateLeft(s3, 45);
+			
+			int hz = (int) (bits >>> 32);
+			int iz = (int) bits & (ZIGGURAT_LAYERS - 1);
+			if (Math.abs((long) hz) < ZIGGURAT_K[iz]) {
+				values[i] = hz * ZIGGURAT_W[iz];
+			}
+			else {
+				//the rare slow path uses the fields, so the state is written back before and read again after it
+				this.s0 = s0;
+				this.s1 = s1;
+				this.s2 = s2;
+				this.s3 = s3;
+				values[i] = nextGaussianOutsideRectangle(hz, iz);
+				s0 = this.s0;
+				s1 = this.s1;
+				s2 = this.s2;
+				s3 = this.s3;
+			}
+		}
+		this.s0 = s0;
+		this.s1 = s1;
+		this.s2 = s2;
+		this.s3 = s3;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package net.jfabricationgames.genetic_optimizer.remote;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * The binary protocol between a {@link RemoteGeneticOptimizerProblem} and it's {@link RemoteFitnessWorker}s.
+ * 
+ * The worker starts with a magic number (to detect processes that don't speak the protocol). After that the client sends requests and the worker
+ * answers every request (in the order of the requests):
+ * <ul>
+ * <li>Request: the request id, the number of DNAs, the length of the DNAs and the genomes of all DNAs</li>
+ * <li>Response: the request id, the number of DNAs and the fitness of all DNAs</li>
+ * </ul>
+ * All values are encoded in big endian byte order (ints with 4 bytes and doubles with 8 bytes).
+ */
+final class RemoteFitnessProtocol {
+	
+	static final int MAGIC = 0x4A464757;
+	static final int HEADER_BYTES = 3 * Integer.BYTES;
+	static final int MAX_VALUES_PER_MESSAGE = 1 << 26;//the maximum number of doubles in a message (to detect broken messages)
+	
+	private RemoteFitnessProtocol() {}
+	
+	/**
+	 * Get a buffer with at least the given capacity (reusing the given buffer if it's large enough). The buffer is cleared.
+	 */
+	static ByteBuffer ensureCapacity(ByteBuffer buffer, int capacity) {
+		if (buffer == null || buffer.capacity() < capacity) {
+			return ByteBuffer.allocate(Math.max(capacity, buffer == null ? 0 : 2 * buffer.capacity()));
+		}
+		buffer.clear();
+		return buffer;
+	}
+	
+	/**
+	 * Read the values of a message into the buffer.
+	 * 
+	 * @return The buffer (that might be replaced by a larger buffer) that contains the values.
+	 */
+	static ByteBuffer readValues(DataInputStream input, ByteBuffer buffer, long values) throws IOException {
+		if (values < 0 || values > MAX_VALUES_PER_MESSAGE) {
+			throw new IOException("Invalid number of values in a message: " + values);
+		}
+		int bytes = (int) values * Double.BYTES;
+		buffer = ensureCapacity(buffer, bytes);
+		input.readFully(buffer.array(), 0, bytes);
+		buffer.limit(bytes);
+		return buffer;
+	}
+	
+	static void write(OutputStream output, ByteBuffer buffer) throws IOException {
+		output.write(buffer.array(), 0, buffer.position());
+		output.flush();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package net.jfabricationgames.genetic_optimizer.remote;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.BatchGeneticOptimizerProblem;
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.GeneticOptimizerProblem;
+
+/**
+ * The worker process of a {@link RemoteGeneticOptimizerProblem}. The worker reads the requests from stdin, calculates the fitness of the DNAs using a
+ * {@link GeneticOptimizerProblem} and writes the responses to stdout (see {@link RemoteFitnessProtocol}).
+ * 
+ * The worker is started with the class name of the problem, that needs a public constructor without parameters:
+ * 
+ * <pre>
+ * java -cp &lt;classpath&gt; net.jfabricationgames.genetic_optimizer.remote.RemoteFitnessWorker &lt;problem class&gt;
+ * </pre>
+ * 
+ * Everything that the problem writes to System.out is redirected to System.err, so it can't break the responses.
+ */
+public class RemoteFitnessWorker {
+	
+	private GeneticOptimizerProblem problem;
+	
+	private ByteBuffer requestBuffer;
+	private ByteBuffer responseBuffer;
+	private DNA[] dnas = new DNA[0];
+	private double[] fitness = new double[0];
+	
+	public static void main(String[] args) throws Exception {
+		if (args.length != 1) {
+			System.err.println("Usage: RemoteFitnessWorker <problem class>");
+			System.exit(1);
+		}
+		GeneticOptimizerProblem problem = (GeneticOptimizerProblem) Class.forName(args[0]).getConstructor().newInstance();
+		
+		//use stdout only for the responses
+		OutputStream output = new FileOutputStream(FileDescriptor.out);
+		System.setOut(System.err);
+		
+		new RemoteFitnessWorker(problem).serve(System.in, output);
+	}
+	
+	public RemoteFitnessWorker(GeneticOptimizerProblem problem) {
+		this.problem = problem;
+	}
+	
+	/**
+	 * Answer the requests till the input stream ends.
+	 */
+	public void serve(InputStream in, OutputStream out) throws IOException {
+		DataInputStream input = new DataInputStream(new BufferedInputStream(in));
+		OutputStream output = new BufferedOutputStream(out);
+		
+		responseBuffer = RemoteFitnessProtocol.ensureCapacity(responseBuffer, Integer.BYTES);
+		responseBuffer.putInt(RemoteFitnessProtocol.MAGIC);
+		RemoteFitnessProtocol.write(output, responseBuffer);
+		
+		while (true) {
+			int id;
+			try {
+				id = input.readInt();
+			}
+			catch (EOFException eofe) {
+				//the client closed the connection
+				return;
+			}
+			int count = input.readInt();
+			int length = input.readInt();
+			if (count < 0 || length < 0) {
+				throw new IOException("Invalid request: count=" + count + ", length=" + length);
+			}
+			requestBuffer = RemoteFitnessProtocol.readValues(input, requestBuffer, (long) count * length);
+			
+			calculateFitness(requestBuffer.asDoubleBuffer(), count, length);
+			
+			responseBuffer = RemoteFitnessProtocol.ensureCapacity(responseBuffer, 2 * Integer.BYTES + count * Double.BYTES);
+			responseBuffer.putInt(id);
+			responseBuffer.putInt(count);
+			responseBuffer.asDoubleBuffer().put(fitness, 0, count);
+			responseBuffer.position(2 * Integer.BYTES + count * Double.BYTES);
+			RemoteFitnessProtocol.write(output, responseBuffer);
+		}
+	}
+	
+	private void calculateFitness(DoubleBuffer genomes, int count, int length) {
+		if (dnas.length < count) {
+			dnas = new DNA[count];
+			fitness = new double[count];
+		}
+		for (int i = 0; i < count; i++) {
+			double[] dnaCode = new double[length];
+			genomes.get(dnaCode);
+			dnas[i] = new DNA(dnaCode);
+		}
+		
+		if (problem instanceof BatchGeneticOptimizerProblem) {
+			((BatchGeneticOptimizerProblem) problem).calculateFitness(dnas, 0, count, fitness);
+		}
+		else {
+			for (int i = 0; i < count; i++) {
+				fitness[i] = problem.calculateFitness(dnas[i]);
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,479 @@
+package net.jfabricationgames.genetic_optimizer.remote;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.BatchGeneticOptimizerProblem;
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.GeneticOptimizerProblem;
+
+/**
+ * A {@link GeneticOptimizerProblem} that calculates the fitness in a pool of worker processes (see {@link RemoteFitnessWorker}), to isolate crashes
+ * of the fitness function and to use more memory than one JVM can use.
+ * 
+ * The DNAs of a batch are split into requests of {@link #getBatchSize()} DNAs, that are sent to the workers without waiting for the responses of
+ * the previous requests (at most {@link #getMaxBatchesInFlight()} requests per worker). So a worker can read the next request while it calculates
+ * the current one. The responses are written to the positions of their requests, so the fitness values are in the order of the DNAs.
+ * 
+ * If a worker process dies it's requests are sent to the other workers again and the worker is restarted (at most {@value #MAX_RESTARTS} times,
+ * afterwards it's excluded). A request is sent at most {@value #MAX_ATTEMPTS} times (so a DNA that crashes the workers can't kill all of them). If
+ * a request can't be calculated or all workers are excluded the fitness calculation fails with an {@link IllegalStateException}.
+ */
+public class RemoteGeneticOptimizerProblem implements BatchGeneticOptimizerProblem, Closeable {
+	
+	public static final int DEFAULT_BATCH_SIZE = 32;
+	public static final int DEFAULT_MAX_BATCHES_IN_FLIGHT = 4;
+	private static final long SHUTDOWN_TIMEOUT = 5000;//the time (in milliseconds) that the workers have to terminate when the problem is closed
+	private static final int MAX_RESTARTS = 3;//the number of times a died worker process is restarted (before it's excluded)
+	private static final int MAX_ATTEMPTS = 3;//the number of times a request is sent to a worker (if the workers die while calculating it)
+	
+	private int length;
+	private int batchSize;
+	private int maxBatchesInFlight;
+	
+	private ProcessBuilder processBuilder;
+	private AtomicReferenceArray<Worker> workers;
+	private AtomicInteger nextWorker = new AtomicInteger();
+	private AtomicInteger nextRequestId = new AtomicInteger();
+	private AtomicInteger restarts = new AtomicInteger();
+	private volatile boolean closed;
+	
+	/**
+	 * One call of {@link RemoteGeneticOptimizerProblem#calculateFitness(DNA[], int, int, double[])}, that waits for all of it's requests.
+	 */
+	private static class Call {
+		
+		private final CountDownLatch pendingRequests;
+		private volatile IOException failure;
+		private boolean cancelled;//guarded by the call itself
+		
+		private Call(int requests) {
+			pendingRequests = new CountDownLatch(requests);
+		}
+		
+		private void fail(IOException failure) {
+			this.failure = failure;
+			//don't wait for the other requests
+			while (pendingRequests.getCount() > 0) {
+				pendingRequests.countDown();
+			}
+		}
+	}
+	
+	/**
+	 * A range of DNAs that is sent to a worker.
+	 */
+	private static class Request {
+		
+		private final Call call;
+		private final DNA[] batch;
+		private final double[] fitness;
+		private final int from;
+		private final int to;
+		private int attempts;//only changed by the thread that sends the request
+		
+		private Request(Call call, DNA[] batch, double[] fitness, int from, int to) {
+			this.call = call;
+			this.batch = batch;
+			this.fitness = fitness;
+			this.from = from;
+			this.to = to;
+		}
+	}
+	
+	/**
+	 * A worker process. The requests are written by the calling threads and the responses are read by a background thread.
+	 */
+	private class Worker implements Runnable {
+		
+		private final int index;//the index in the workers array
+		private final int restarts;//the number of times the process of this index was restarted
+		private final Process process;
+		private final OutputStream output;
+		private final Semaphore inFlight = new Semaphore(maxBatchesInFlight);
+		private final Map<Integer, Request> pending = new ConcurrentHashMap<Integer, Request>();
+		private ByteBuffer requestBuffer;//guarded by output
+		
+		private volatile IOException failure;
+		
+		private Worker(int index, int restarts, Process process) {
+			this.index = index;
+			this.restarts = restarts;
+			this.process = process;
+			output = new BufferedOutputStream(process.getOutputStream());
+			Thread reader = new Thread(this, "RemoteGeneticOptimizerProblem-Reader");
+			reader.setDaemon(true);
+			reader.start();
+		}
+		
+		/**
+		 * Send a request to the worker (the caller has to acquire a permit of the in flight semaphore before).
+		 * 
+		 * @return True if the request was sent (or is sent again by the reader, because the worker died). False if the worker has died before the
+		 *         request was sent, so it has to be sent to another worker.
+		 */
+		private boolean send(Request request) {
+			int id = nextRequestId.getAndIncrement();
+			pending.put(id, request);
+			try {
+				if (failure != null) {
+					throw failure;
+				}
+				DNA[] batch = request.batch;
+				int count = request.to - request.from;
+				synchronized (output) {
+					requestBuffer = RemoteFitnessProtocol.ensureCapacity(requestBuffer,
+							RemoteFitnessProtocol.HEADER_BYTES + count * length * Double.BYTES);
+					requestBuffer.putInt(id);
+					requestBuffer.putInt(count);
+					requestBuffer.putInt(length);
+					DoubleBuffer genomes = requestBuffer.asDoubleBuffer();
+					for (int i = request.from; i < request.to; i++) {
+						genomes.put(batch[i].readDNACode(), batch[i].getOffset(), length);
+					}
+					requestBuffer.position(RemoteFitnessProtocol.HEADER_BYTES + count * length * Double.BYTES);
+					RemoteFitnessProtocol.write(output, requestBuffer);
+				}
+				return true;
+			}
+			catch (IOException ioe) {
+				if (failure == null) {
+					//the process can't be used anymore; the reader restarts it when the output of the process ends
+					failure = ioe;
+					process.destroyForcibly();
+				}
+				if (pending.remove(id) != null) {
+					inFlight.release();
+					return false;
+				}
+				//the reader has already taken the request to send it again
+				return true;
+			}
+		}
+		
+		@Override
+		public void run() {
+			try (DataInputStream input = new DataInputStream(new BufferedInputStream(process.getInputStream()))) {
+				if (input.readInt() != RemoteFitnessProtocol.MAGIC) {
+					throw new IOException("The worker process doesn't use the protocol of a RemoteFitnessWorker.");
+				}
+				ByteBuffer responseBuffer = null;
+				while (true) {
+					int id = input.readInt();
+					int count = input.readInt();
+					responseBuffer = RemoteFitnessProtocol.readValues(input, responseBuffer, count);
+					Request request = pending.remove(id);
+					if (request == null || count != request.to - request.from) {
+						throw new IOException("Unexpected response of the worker process: id=" + id + ", count=" + count);
+					}
+					synchronized (request.call) {
+						//a cancelled call mussn't write to the fitness array anymore, because the array might be reused by the caller
+						if (!request.call.cancelled) {
+							responseBuffer.asDoubleBuffer().get(request.fitness, request.from, count);
+						}
+					}
+					inFlight.release();
+					request.call.pendingRequests.countDown();
+				}
+			}
+			catch (IOException ioe) {
+				//the worker process died (or was closed) -> no more requests are sent to this worker
+				failure = ioe;
+				restart(this);
+				for (Integer id : pending.keySet()) {
+					Request request = pending.remove(id);
+					if (request != null) {
+						inFlight.release();
+						resend(request, ioe);
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Start worker processes using the default batch size and the default number of batches in flight.
+	 * 
+	 * @see #RemoteGeneticOptimizerProblem(int, List, int, int, int)
+	 */
+	public RemoteGeneticOptimizerProblem(int length, List<String> workerCommand, int workers) throws IOException {
+		this(length, workerCommand, workers, DEFAULT_BATCH_SIZE, DEFAULT_MAX_BATCHES_IN_FLIGHT);
+	}
+	
+	/**
+	 * Start worker processes that calculate the fitness.
+	 * 
+	 * @param length
+	 *        The length of the problem (the length of the DNAs).
+	 * 
+	 * @param workerCommand
+	 *        The command that starts a worker process (see {@link #createJavaWorkerCommand(Class)}).
+	 * 
+	 * @param workers
+	 *        The number of worker processes.
+	 * 
+	 * @param batchSize
+	 *        The (maximum) number of DNAs that are sent to a worker in one request.
+	 * 
+	 * @param maxBatchesInFlight
+	 *        The maximum number of requests that are sent to a worker before it has answered them.
+	 */
+	public RemoteGeneticOptimizerProblem(int length, List<String> workerCommand, int workers, int batchSize, int maxBatchesInFlight)
+			throws IOException, IllegalArgumentException, NullPointerException {
+		Objects.requireNonNull(workerCommand, "The worker command mussn't be null.");
+		if (length <= 0) {
+			throw new IllegalArgumentException("The length has to be a positive value. Input was: " + length);
+		}
+		if (workers <= 0) {
+			throw new IllegalArgumentException("The number of workers has to be a positive value. Input was: " + workers);
+		}
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("The batch size has to be a positive value. Input was: " + batchSize);
+		}
+		if (maxBatchesInFlight <= 0) {
+			throw new IllegalArgumentException("The maximum number of batches in flight has to be a positive value. Input was: " + maxBatchesInFlight);
+		}
+		this.length = length;
+		this.batchSize = batchSize;
+		this.maxBatchesInFlight = maxBatchesInFlight;
+		
+		processBuilder = new ProcessBuilder(workerCommand).redirectError(Redirect.INHERIT);
+		this.workers = new AtomicReferenceArray<Worker>(workers);
+		try {
+			for (int i = 0; i < workers; i++) {
+				this.workers.set(i, new Worker(i, 0, processBuilder.start()));
+			}
+		}
+		catch (IOException ioe) {
+			close();
+			throw ioe;
+		}
+	}
+	
+	/**
+	 * Create the command that starts a {@link RemoteFitnessWorker} for a problem, using the java installation and the class path of this process.
+	 */
+	public static List<String> createJavaWorkerCommand(Class<? extends GeneticOptimizerProblem> problemClass) {
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		return new ArrayList<String>(Arrays.asList(java, "-cp", System.getProperty("java.class.path"), RemoteFitnessWorker.class.getName(),
+				problemClass.getName()));
+	}
+	
+	@Override
+	public int getLength() {
+		return length;
+	}
+	
+	@Override
+	public double calculateFitness(DNA dna) {
+		double[] fitness = new double[1];
+		calculateFitness(new DNA[] {dna}, 0, 1, fitness);
+		return fitness[0];
+	}
+	
+	/**
+	 * Calculate the fitness of the DNAs in the worker processes. The call blocks till all fitness values are calculated.
+	 * 
+	 * @throws IllegalStateException
+	 *         If the workers died too often while calculating a request, all workers were excluded or the calling thread was interrupted.
+	 */
+	@Override
+	public void calculateFitness(DNA[] batch, int from, int to, double[] fitness) throws IllegalStateException {
+		if (from >= to) {
+			return;
+		}
+		for (int i = from; i < to; i++) {
+			if (batch[i].getLength() != length) {
+				throw new IllegalArgumentException("The DNA length (" + batch[i].getLength() + ") doesn't match the problem length (" + length + ").");
+			}
+		}
+		
+		Call call = new Call((to - from + batchSize - 1) / batchSize);
+		try {
+			for (int start = from; start < to && call.failure == null; start += batchSize) {
+				send(new Request(call, batch, fitness, start, Math.min(start + batchSize, to)));
+			}
+			call.pendingRequests.await();
+		}
+		catch (InterruptedException ie) {
+			synchronized (call) {
+				call.cancelled = true;
+			}
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("The thread was interrupted while waiting for the worker processes.", ie);
+		}
+		
+		if (call.failure != null) {
+			synchronized (call) {
+				//the requests that were sent to the other workers mussn't write to the fitness array anymore
+				call.cancelled = true;
+			}
+			throw new IllegalStateException("The fitness calculation of a worker process failed.", call.failure);
+		}
+	}
+	
+	/**
+	 * Send a request to the next worker that is alive (and to another worker if the chosen worker died before the request was sent).
+	 */
+	private void send(Request request) throws InterruptedException {
+		request.attempts++;
+		while (true) {
+			Worker worker = acquireWorker();
+			if (worker == null) {
+				request.call.fail(new IOException("All worker processes died (and were restarted " + MAX_RESTARTS + " times)."));
+				return;
+			}
+			if (worker.send(request)) {
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * Send a request again, after the worker that calculated it died (called by the reader thread of the died worker).
+	 */
+	private void resend(Request request, IOException failure) {
+		synchronized (request.call) {
+			if (request.call.cancelled || request.call.failure != null) {
+				//no one is waiting for the result anymore
+				return;
+			}
+		}
+		if (closed) {
+			request.call.fail(failure);
+		}
+		else if (request.attempts >= MAX_ATTEMPTS) {
+			request.call.fail(new IOException("The worker processes died " + MAX_ATTEMPTS + " times while calculating the request.", failure));
+		}
+		else {
+			try {
+				send(request);
+			}
+			catch (InterruptedException ie) {
+				request.call.fail(failure);
+			}
+		}
+	}
+	
+	/**
+	 * Start a new process for a worker that died (if the worker was not restarted too often and the problem is not closed). Otherwise the worker is
+	 * excluded, because it's failure stays set.
+	 */
+	private synchronized void restart(Worker worker) {
+		if (closed || worker.restarts >= MAX_RESTARTS || workers.get(worker.index) != worker) {
+			return;
+		}
+		try {
+			workers.set(worker.index, new Worker(worker.index, worker.restarts + 1, processBuilder.start()));
+			restarts.incrementAndGet();
+		}
+		catch (IOException ioe) {
+			//the worker stays excluded
+		}
+	}
+	
+	/**
+	 * Choose the next worker (round robin) that is alive and can take another request. If all workers have the maximum number of requests in flight
+	 * the next worker is awaited.
+	 * 
+	 * @return The worker or null if all workers died and can't be restarted.
+	 */
+	private Worker acquireWorker() throws InterruptedException {
+		int workerCount = workers.length();
+		int first = Math.floorMod(nextWorker.getAndIncrement(), workerCount);
+		Worker firstAlive = null;
+		for (int i = 0; i < workerCount; i++) {
+			Worker worker = workers.get((first + i) % workerCount);
+			if (worker == null || worker.failure != null) {
+				continue;
+			}
+			if (worker.inFlight.tryAcquire()) {
+				return worker;
+			}
+			if (firstAlive == null) {
+				firstAlive = worker;
+			}
+		}
+		if (firstAlive != null) {
+			//if the worker dies while waiting, it's requests are released and the next send fails, so another worker is chosen
+			firstAlive.inFlight.acquire();
+		}
+		return firstAlive;
+	}
+	
+	/**
+	 * Terminate the worker processes (the workers terminate when their input is closed, or are destroyed if they don't terminate in time).
+	 */
+	@Override
+	public void close() {
+		synchronized (this) {
+			//no more workers are restarted
+			closed = true;
+		}
+		for (int i = 0; i < workers.length(); i++) {
+			Worker worker = workers.get(i);
+			if (worker != null) {
+				try {
+					synchronized (worker.output) {
+						worker.output.close();
+					}
+				}
+				catch (IOException ioe) {
+					//ignore it, because the worker is terminated anyway
+				}
+			}
+		}
+		for (int i = 0; i < workers.length(); i++) {
+			Worker worker = workers.get(i);
+			if (worker != null) {
+				try {
+					if (!worker.process.waitFor(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+						worker.process.destroyForcibly();
+					}
+				}
+				catch (InterruptedException ie) {
+					worker.process.destroyForcibly();
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+	}
+	
+	public int getWorkers() {
+		return workers.length();
+	}
+	
+	/**
+	 * The number of worker processes that were restarted, because they died.
+	 */
+	public int getRestarts() {
+		return restarts.get();
+	}
+	
+	public int getBatchSize() {
+		return batchSize;
+	}
+	
+	public int getMaxBatchesInFlight() {
+		return maxBatchesInFlight;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+package net.jfabricationgames.genetic_optimizer.selection;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.OptimizerRandom;
+
+/**
+ * A selector that randomly chooses pairs to be selected for reproduction based on their probability to be selected (like the
+ * {@link FitnessProportionalSelector}), but uses an alias table (Vose's alias method) instead of a bisection search on the summed probabilities.
+ * 
+ * The alias table is built in O(n) and every individual is selected in O(1) (instead of O(log(n)) for the bisection search), which makes a
+ * difference for big populations. The buffers of the table are reused in every selection, so an instance of this selector mussn't be used by
+ * multiple threads at the same time (e.g. by islands that are optimized in parallel).
+ */
+public class AliasTableSelector implements Selector {
+	
+	/**
+	 * The probability to select the index itself (instead of it's alias) if the index is chosen.
+	 */
+	private double[] probabilities = new double[0];
+	/**
+	 * The index that is selected if the index is chosen, but not selected itself.
+	 */
+	private int[] aliases = new int[0];
+	/**
+	 * The indices with a (scaled) probability below 1 (from the start) and above 1 (from the end) while the table is built.
+	 */
+	private int[] worklist = new int[0];
+	
+	/**
+	 * Select pairs of parents (by index) that are combined to build the next generation.
+	 * 
+	 * @param selectionProbability
+	 *        The probability to be selected for every DNA in the current population (sums up to 1).
+	 * 
+	 * @param numPairs
+	 *        The number of pairs needed (or the number of individuals needed in the next generation).
+	 * 
+	 * @return Returns an int-array of size [numPairs * 2] including the pairs that are to be combined to create the next population (a pair is on
+	 *         position [i, i+1] for i % 2 = 0).
+	 */
+	@Override
+	public int[] select(double[] selectionProbability, int numPairs) {
+		int size = selectionProbability.length;
+		buildAliasTable(selectionProbability);
+		
+		int[] selectionPairs = new int[numPairs * 2];
+		double[] randomNumbers = getRandomNumbers(numPairs * 2);
+		for (int i = 0; i < numPairs * 2; i++) {
+			//the integer part of the scaled random number chooses the index, the fractional part decides between the index and it's alias
+			double scaled = randomNumbers[i] * size;
+			int index = Math.min((int) scaled, size - 1);
+			selectionPairs[i] = scaled - index < probabilities[index] ? index : aliases[index];
+		}
+		
+		return selectionPairs;
+	}
+	
+	/**
+	 * Build the alias table of the probabilities in O(n) (using Vose's alias method).
+	 */
+	@VisibleForTesting
+	/*private*/ void buildAliasTable(double[] selectionProbability) {
+		int size = selectionProbability.length;
+		if (probabilities.length < size) {
+			probabilities = new double[size];
+			aliases = new int[size];
+			worklist = new int[size];
+		}
+		
+		double sum = 0;
+		for (int i = 0; i < size; i++) {
+			sum += selectionProbability[i];
+		}
+		//the probabilities are scaled so that the average is 1 (the sum is used instead of 1 to compensate rounding errors)
+		double scale = sum > 0 ? size / sum : 0;
+		
+		int small = 0;
+		int large = size;
+		for (int i = 0; i < size; i++) {
+			probabilities[i] = sum > 0 ? selectionProbability[i] * scale : 1;
+			aliases[i] = i;
+			if (probabilities[i] < 1) {
+				worklist[small++] = i;
+			}
+			else {
+				worklist[--large] = i;
+			}
+		}
+		
+		while (small > 0 && large < size) {
+			int less = worklist[--small];
+			int more = worklist[large++];
+			//the rest of the less probable index is filled by the more probable index
+			aliases[less] = more;
+			probabilities[more] = (probabilities[more] + probabilities[less]) - 1;
+			if (probabilities[more] < 1) {
+				worklist[small++] = more;
+			}
+			else {
+				worklist[--large] = more;
+			}
+		}
+		
+		//the remaining indices are (up to rounding errors) exactly 1, so they always select themselves
+		while (small > 0) {
+			probabilities[worklist[--small]] = 1;
+		}
+		while (large < size) {
+			probabilities[worklist[large++]] = 1;
+		}
+	}
+	
+	@Override
+	public String toString() {
+		return "AliasTableSelector []";
+	}
+	
+	/**
+	 * Get count uniformly distributed random numbers in the range [0, 1), that are stored at the indices [0, count) of a (reused) buffer.
+	 */
+	@VisibleForTesting
+	/*private*/ double[] getRandomNumbers(int count) {
+		return OptimizerRandom.nextDoubles(count);
+	}
+	
+	@VisibleForTesting
+	/*private*/ double[] getProbabilities() {
+		return probabilities;
+	}
+	
+	@VisibleForTesting
+	/*private*/ int[] getAliases() {
+		return aliases;
+	}
+}
\ No newline at end of file
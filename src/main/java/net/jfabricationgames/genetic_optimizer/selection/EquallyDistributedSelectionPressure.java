@@ -1,5 +1,7 @@
 package net.jfabricationgames.genetic_optimizer.selection;
 
+import java.util.Arrays;
+
 import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
 
 /**
@@ -17,6 +19,12 @@ public class EquallyDistributedSelectionPressure implements SelectionPressure {
 		return probabilities;
 	}
 	
+	@Override
+	public void calculateSelectionProbability(DNA[] population, FitnessStatistics statistics, int generation, boolean minimize, long timeUsed,
+			double[] probabilities) {
+		Arrays.fill(probabilities, 0, population.length, 1d / population.length);
+	}
+	
 	@Override
 	public String toString() {
 		return "EquallyDistributedSelectionPressure []";
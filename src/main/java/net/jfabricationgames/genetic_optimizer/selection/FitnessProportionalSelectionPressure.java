@@ -24,31 +24,38 @@ public class FitnessProportionalSelectionPressure implements SelectionPressure {
 	@Override
 	public double[] calculateSelectionProbability(DNA[] population, int generation, boolean minimize, long timeUsed) {
 		double[] probabilities = new double[population.length];
+		calculateSelectionProbability(population, FitnessStatistics.of(population), generation, minimize, timeUsed, probabilities);
+		return probabilities;
+	}
+	
+	@Override
+	public void calculateSelectionProbability(DNA[] population, FitnessStatistics statistics, int generation, boolean minimize, long timeUsed,
+			double[] probabilities) {
+		//the total fitness (relative to the default fitness)
+		double totalFitness;
+		if (minimize) {
+			totalFitness = population.length * defaultFitness - statistics.getSum();
+		}
+		else {
+			totalFitness = statistics.getSum() - population.length * defaultFitness;
+		}
 		
-		//add the absolute fitness values of each individual to the probabilities array
+		//divide all fitness values by the total fitness to get the probabilities
 		if (minimize) {
 			for (int i = 0; i < population.length; i++) {
-				probabilities[i] = defaultFitness - population[i].getFitness();
+				probabilities[i] = (defaultFitness - population[i].getFitness()) / totalFitness;
 			}
 		}
 		else {
 			for (int i = 0; i < population.length; i++) {
-				probabilities[i] = population[i].getFitness() - defaultFitness;
+				probabilities[i] = (population[i].getFitness() - defaultFitness) / totalFitness;
 			}
 		}
-		
-		//sum up the total fitness
-		double totalFitness = 0;
-		for (int i = 0; i < probabilities.length; i++) {
-			totalFitness += probabilities[i];
-		}
-		
-		//divide all fitness values by the total fitness to get the probabilities
-		for (int i = 0; i < probabilities.length; i++) {
-			probabilities[i] /= totalFitness;
-		}
-		
-		return probabilities;
+	}
+	
+	@Override
+	public boolean usesFitnessStatistics() {
+		return true;
 	}
 	
 	@Override
@@ -1,9 +1,9 @@
 package net.jfabricationgames.genetic_optimizer.selection;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 import com.google.common.annotations.VisibleForTesting;
 
+import net.jfabricationgames.genetic_optimizer.optimizer.OptimizerRandom;
+
 /**
  * A selector that randomly chooses pairs to be selected for reproduction based on their probability to be selected.
  */
@@ -42,6 +42,6 @@ public class FitnessProportionalSelector implements Selector {
 	
 	@VisibleForTesting
 	/*private*/ double getRandomNumber() {
-		return ThreadLocalRandom.current().nextDouble();
+		return OptimizerRandom.nextDouble();
 	}
 }
\ No newline at end of file
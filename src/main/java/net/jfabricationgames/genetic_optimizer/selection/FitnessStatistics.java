@@ -0,0 +1,155 @@
+package net.jfabricationgames.genetic_optimizer.selection;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+
+/**
+ * The statistics of the fitness values of a population (minimum, maximum, sum, mean and the sum of the squared deviations from the mean), that are
+ * calculated in a single pass over the population (using Welford's algorithm for the mean and the squared deviations).
+ * 
+ * The population is processed in blocks of {@value #BLOCK_SIZE} individuals, that are merged in the order of the blocks (using the parallel
+ * algorithm of Chan et al.). So the blocks can be calculated in parallel (see {@link #ofBlock(DNA[], int)} and {@link #merge(FitnessStatistics[])})
+ * and the result doesn't depend on the number of threads.
+ */
+public class FitnessStatistics {
+	
+	public static final int BLOCK_SIZE = 4096;
+	
+	private int count;
+	private double min = Double.POSITIVE_INFINITY;
+	private double max = Double.NEGATIVE_INFINITY;
+	private double sum;
+	private double mean;
+	private double squaredDeviations;
+	
+	/**
+	 * Calculate the statistics of the fitness values of a population.
+	 */
+	public static FitnessStatistics of(DNA[] population) {
+		FitnessStatistics statistics = new FitnessStatistics();
+		for (int block = 0; block < getBlockCount(population.length); block++) {
+			statistics.merge(ofBlock(population, block));
+		}
+		return statistics;
+	}
+	
+	/**
+	 * Merge the statistics of all blocks (in the order of the blocks).
+	 */
+	public static FitnessStatistics merge(FitnessStatistics[] blocks) {
+		FitnessStatistics statistics = new FitnessStatistics();
+		for (FitnessStatistics block : blocks) {
+			statistics.merge(block);
+		}
+		return statistics;
+	}
+	
+	/**
+	 * The number of blocks of a population of the given size.
+	 */
+	public static int getBlockCount(int populationSize) {
+		return (populationSize + BLOCK_SIZE - 1) / BLOCK_SIZE;
+	}
+	
+	/**
+	 * Calculate the statistics of one block of a population.
+	 */
+	public static FitnessStatistics ofBlock(DNA[] population, int block) {
+		FitnessStatistics statistics = new FitnessStatistics();
+		statistics.addBlock(population, block);
+		return statistics;
+	}
+	
+	/**
+	 * Add the fitness values of one block of a population to the statistics.
+	 */
+	public void addBlock(DNA[] population, int block) {
+		int to = Math.min(population.length, (block + 1) * BLOCK_SIZE);
+		for (int i = block * BLOCK_SIZE; i < to; i++) {
+			add(population[i].getFitness());
+		}
+	}
+	
+	/**
+	 * Add a fitness value to the statistics.
+	 */
+	public void add(double fitness) {
+		count++;
+		min = Math.min(min, fitness);
+		max = Math.max(max, fitness);
+		sum += fitness;
+		double delta = fitness - mean;
+		mean += delta / count;
+		squaredDeviations += delta * (fitness - mean);
+	}
+	
+	/**
+	 * Remove all fitness values from the statistics (so it can be reused).
+	 */
+	public void clear() {
+		count = 0;
+		min = Double.POSITIVE_INFINITY;
+		max = Double.NEGATIVE_INFINITY;
+		sum = 0;
+		mean = 0;
+		squaredDeviations = 0;
+	}
+	
+	/**
+	 * Add the statistics of other fitness values to this statistics.
+	 */
+	public void merge(FitnessStatistics other) {
+		if (other.count == 0) {
+			return;
+		}
+		if (count == 0) {
+			count = other.count;
+			min = other.min;
+			max = other.max;
+			sum = other.sum;
+			mean = other.mean;
+			squaredDeviations = other.squaredDeviations;
+			return;
+		}
+		int mergedCount = count + other.count;
+		double delta = other.mean - mean;
+		mean += delta * other.count / mergedCount;
+		squaredDeviations += other.squaredDeviations + delta * delta * ((double) count * other.count / mergedCount);
+		count = mergedCount;
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+		sum += other.sum;
+	}
+	
+	@Override
+	public String toString() {
+		return "FitnessStatistics [count=" + count + ", min=" + min + ", max=" + max + ", sum=" + sum + ", mean=" + mean + ", squaredDeviations="
+				+ squaredDeviations + "]";
+	}
+	
+	public int getCount() {
+		return count;
+	}
+	
+	public double getMin() {
+		return min;
+	}
+	
+	public double getMax() {
+		return max;
+	}
+	
+	public double getSum() {
+		return sum;
+	}
+	
+	public double getMean() {
+		return mean;
+	}
+	
+	/**
+	 * The sum of the squared deviations of the fitness values from the mean.
+	 */
+	public double getSquaredDeviations() {
+		return squaredDeviations;
+	}
+}
\ No newline at end of file
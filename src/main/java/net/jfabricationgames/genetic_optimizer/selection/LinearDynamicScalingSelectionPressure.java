@@ -61,44 +61,34 @@ public class LinearDynamicScalingSelectionPressure implements SelectionPressure
 	@Override
 	public double[] calculateSelectionProbability(DNA[] population, int generation, boolean minimize, long timeUsed) {
 		double[] probabilities = new double[population.length];
-		
+		calculateSelectionProbability(population, FitnessStatistics.of(population), generation, minimize, timeUsed, probabilities);
+		return probabilities;
+	}
+	
+	@Override
+	public void calculateSelectionProbability(DNA[] population, FitnessStatistics statistics, int generation, boolean minimize, long timeUsed,
+			double[] probabilities) {
 		if (alphaFunction != null) {
 			alpha = alphaFunction.getParameterValue(generation, timeUsed);
 			beta = betaFunction.getParameterValue(generation, timeUsed);
 		}
 		
-		//copy the fitness values to the probabilities array and find the minimum
-		double minFitness = Double.MAX_VALUE;
-		if (minimize) {
-			for (int i = 0; i < population.length; i++) {
-				probabilities[i] = -population[i].getFitness();
-				minFitness = Math.min(minFitness, probabilities[i]);
-			}
-		}
-		else {
-			for (int i = 0; i < population.length; i++) {
-				probabilities[i] = population[i].getFitness();
-				minFitness = Math.min(minFitness, probabilities[i]);
-			}
-		}
-		
-		//apply the linear dynamic scaling function
-		for (int i = 0; i < probabilities.length; i++) {
-			probabilities[i] = (alpha * probabilities[i]) - minFitness + beta;
-		}
-		
-		//sum up the probabilities
-		double totalProbability = 0;
-		for (int i = 0; i < probabilities.length; i++) {
-			totalProbability += probabilities[i];
-		}
+		//the minimum and the sum of the (negated) fitness values
+		double minFitness = minimize ? -statistics.getMax() : statistics.getMin();
+		double fitnessSum = minimize ? -statistics.getSum() : statistics.getSum();
+		//the sum of the scaled values, so the probabilities can be normalized while they are calculated
+		double totalProbability = alpha * fitnessSum + population.length * (beta - minFitness);
 		
-		//divide all probability values by the total probability to get the correct probability values
-		for (int i = 0; i < probabilities.length; i++) {
-			probabilities[i] /= totalProbability;
+		//apply the linear dynamic scaling function and divide by the total probability to get the correct probability values
+		double sign = minimize ? -1 : 1;
+		for (int i = 0; i < population.length; i++) {
+			probabilities[i] = ((alpha * sign * population[i].getFitness()) - minFitness + beta) / totalProbability;
 		}
-		
-		return probabilities;
+	}
+	
+	@Override
+	public boolean usesFitnessStatistics() {
+		return true;
 	}
 	
 	@Override
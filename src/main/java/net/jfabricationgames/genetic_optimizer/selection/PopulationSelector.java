@@ -0,0 +1,29 @@
+package net.jfabricationgames.genetic_optimizer.selection;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+
+/**
+ * A selector that selects the individuals directly by their fitness (e.g. tournament or truncation selection), so it doesn't need the selection
+ * probabilities of a {@link SelectionPressure}.
+ * 
+ * If the optimizer uses a population selector the selection pressure is not used (so the probabilities are not calculated in every generation).
+ */
+public interface PopulationSelector extends Selector {
+	
+	/**
+	 * Select pairs of parents (by index) that are combined to build the next generation.
+	 * 
+	 * @param population
+	 *        The current population of the genetic optimizer (the fitness of all individuals is calculated).
+	 * 
+	 * @param minimize
+	 *        Indicates whether the optimum that is searched is a minimum (true) or a maximum (false).
+	 * 
+	 * @param numPairs
+	 *        The number of pairs needed (or the number of individuals needed in the next generation).
+	 * 
+	 * @return Returns an int-array of size [numPairs * 2] including the pairs that are to be combined to create the next population (a pair is on
+	 *         position [i, i+1] for i % 2 = 0).
+	 */
+	public int[] select(DNA[] population, boolean minimize, int numPairs);
+}
\ No newline at end of file
@@ -29,4 +29,40 @@ public interface SelectionPressure {
 	 * @return A double-array (of size [population.length]) including the probabilities of every individual to be selected (that sums up to 1).
 	 */
 	public double[] calculateSelectionProbability(DNA[] population, int generation, boolean minimize, long timeUsed);
+	
+	/**
+	 * Calculate the probability to be selected for every individual (like {@link #calculateSelectionProbability(DNA[], int, boolean, long)}), but
+	 * write the probabilities into a reusable array and use the statistics of the fitness values, that were calculated before (e.g. in parallel by
+	 * the optimizer).
+	 * 
+	 * @param population
+	 *        The current population of the genetic optimizer.
+	 * 
+	 * @param statistics
+	 *        The statistics of the fitness values of the population (or null if {@link #usesFitnessStatistics()} is false).
+	 * 
+	 * @param generation
+	 *        The current generation number.
+	 * 
+	 * @param minimize
+	 *        Indicates whether the optimum that is searched is a minimum (true) or a maximum (false).
+	 * 
+	 * @param timeUsed
+	 *        The time that was used since the optimization was started.
+	 * 
+	 * @param probabilities
+	 *        The array (of size [population.length]) that the probabilities are written to.
+	 */
+	public default void calculateSelectionProbability(DNA[] population, FitnessStatistics statistics, int generation, boolean minimize,
+			long timeUsed, double[] probabilities) {
+		double[] calculated = calculateSelectionProbability(population, generation, minimize, timeUsed);
+		System.arraycopy(calculated, 0, probabilities, 0, population.length);
+	}
+	
+	/**
+	 * Whether the selection pressure uses the {@link FitnessStatistics} of the population. If not, the optimizer doesn't calculate them.
+	 */
+	public default boolean usesFitnessStatistics() {
+		return false;
+	}
 }
\ No newline at end of file
@@ -46,57 +46,48 @@ public class SigmaScalingSelectionPressure implements SelectionPressure {
 	@Override
 	public double[] calculateSelectionProbability(DNA[] population, int generation, boolean minimize, long timeUsed) {
 		double[] probabilities = new double[population.length];
-		
+		calculateSelectionProbability(population, FitnessStatistics.of(population), generation, minimize, timeUsed, probabilities);
+		return probabilities;
+	}
+	
+	@Override
+	public void calculateSelectionProbability(DNA[] population, FitnessStatistics statistics, int generation, boolean minimize, long timeUsed,
+			double[] probabilities) {
 		if (betaFunction != null) {
 			beta = betaFunction.getParameterValue(generation, timeUsed);
 		}
 		
-		//copy the fitness values to the probabilities array and find the expected value mu
-		double mu = 0;
+		//the expected value mu of the (inverted) fitness values; the squared deviations are the same for the inverted values
+		double mu = minimize ? statistics.getMax() - statistics.getMean() : statistics.getMean();
+		//the standard deviation sigma
+		double sigma = Math.sqrt((1d / (mu - 1)) * statistics.getSquaredDeviations());
+		double offset = mu - beta * sigma;
+		
+		//apply the sigma scaling function (probabilities lower than 0 are set to 0) and sum up the probabilities
+		double totalProbability = 0;
 		if (minimize) {
-			double maxValue = -Double.MAX_VALUE;
-			for (int i = 0; i < population.length; i++) {
-				maxValue = Math.max(maxValue, population[i].getFitness());
-			}
+			double maxValue = statistics.getMax();
 			for (int i = 0; i < population.length; i++) {
-				probabilities[i] = maxValue - population[i].getFitness();
-				mu += probabilities[i];
+				probabilities[i] = Math.max(maxValue - population[i].getFitness() - offset, 0);
+				totalProbability += probabilities[i];
 			}
 		}
 		else {
 			for (int i = 0; i < population.length; i++) {
-				probabilities[i] = population[i].getFitness();
-				mu += probabilities[i];
+				probabilities[i] = Math.max(population[i].getFitness() - offset, 0);
+				totalProbability += probabilities[i];
 			}
 		}
-		mu /= probabilities.length;
-		
-		//calculate the standard deviation sigma
-		double sigma = 0;
-		for (int i = 0; i < population.length; i++) {
-			sigma += (probabilities[i] - mu) * (probabilities[i] - mu);
-		}
-		sigma = Math.sqrt((1d / (mu - 1)) * sigma);
-		
-		//apply the sigma scaling function
-		for (int i = 0; i < probabilities.length; i++) {
-			probabilities[i] = probabilities[i] - (mu - beta * sigma);
-			//probabilities lower than 0 are set to 0
-			probabilities[i] = Math.max(probabilities[i], 0);
-		}
-		
-		//sum up the probabilities
-		double totalProbability = 0;
-		for (int i = 0; i < probabilities.length; i++) {
-			totalProbability += probabilities[i];
-		}
 		
 		//divide all probability values by the total probability to get the correct probability values
-		for (int i = 0; i < probabilities.length; i++) {
+		for (int i = 0; i < population.length; i++) {
 			probabilities[i] /= totalProbability;
 		}
-		
-		return probabilities;
+	}
+	
+	@Override
+	public boolean usesFitnessStatistics() {
+		return true;
 	}
 	
 	@Override
@@ -1,9 +1,9 @@
 package net.jfabricationgames.genetic_optimizer.selection;
 
-import java.util.concurrent.ThreadLocalRandom;
-
 import com.google.common.annotations.VisibleForTesting;
 
+import net.jfabricationgames.genetic_optimizer.optimizer.OptimizerRandom;
+
 /**
  * A selector that chooses the pairs to be reproduced by a stochastically distributed selection method.
  * 
@@ -61,7 +61,7 @@ public class StochasticallyDistributedSelector implements Selector {
 	
 	@VisibleForTesting
 	/*private*/ double getRandomNumber() {
-		return ThreadLocalRandom.current().nextDouble();
+		return OptimizerRandom.nextDouble();
 	}
 	
 	@Override
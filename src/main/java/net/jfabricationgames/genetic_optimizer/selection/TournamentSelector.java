@@ -0,0 +1,152 @@
+package net.jfabricationgames.genetic_optimizer.selection;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.OptimizerRandom;
+
+/**
+ * A selector that chooses every parent by a tournament: a number of random individuals is chosen and the best of them is selected.
+ * 
+ * The selector reads the fitness directly from the population (see {@link PopulationSelector}), so the selection pressure is not used. The
+ * selection pressure of the tournament is controlled by it's size (bigger tournaments select the better individuals more often). When used with
+ * selection probabilities (see {@link Selector#select(double[], int)}) the individuals with the higher probabilities win the tournaments.
+ * 
+ * The buffers of the selector are reused in every selection, so an instance mussn't be used by multiple threads at the same time.
+ */
+public class TournamentSelector implements PopulationSelector {
+	
+	private int tournamentSize;
+	private boolean withReplacement;
+	
+	/**
+	 * The keys of the individuals (lower keys are better).
+	 */
+	private double[] keys = new double[0];
+	/**
+	 * A permutation of the indices, that is used to choose the participants of a tournament without replacement.
+	 */
+	private int[] indices = new int[0];
+	private int indexedSize;
+	
+	/**
+	 * @param tournamentSize
+	 *        The number of individuals that take part in every tournament.
+	 * 
+	 * @param withReplacement
+	 *        Whether an individual can take part in a tournament more than once (true) or every participant is a different individual (false).
+	 */
+	public TournamentSelector(int tournamentSize, boolean withReplacement) {
+		if (tournamentSize <= 0) {
+			throw new IllegalArgumentException("The tournament size has to be a positive value. Input was: " + tournamentSize);
+		}
+		this.tournamentSize = tournamentSize;
+		this.withReplacement = withReplacement;
+	}
+	
+	/**
+	 * A selector with binary tournaments (with replacement).
+	 */
+	public TournamentSelector() {
+		this(2, true);
+	}
+	
+	@Override
+	public int[] select(DNA[] population, boolean minimize, int numPairs) {
+		double[] keys = getKeys(population.length);
+		for (int i = 0; i < population.length; i++) {
+			keys[i] = minimize ? population[i].getFitness() : -population[i].getFitness();
+		}
+		return selectByKeys(population.length, numPairs);
+	}
+	
+	@Override
+	public int[] select(double[] selectionProbability, int numPairs) {
+		double[] keys = getKeys(selectionProbability.length);
+		for (int i = 0; i < selectionProbability.length; i++) {
+			keys[i] = -selectionProbability[i];
+		}
+		return selectByKeys(selectionProbability.length, numPairs);
+	}
+	
+	private double[] getKeys(int size) {
+		if (keys.length < size) {
+			keys = new double[size];
+		}
+		return keys;
+	}
+	
+	private int[] selectByKeys(int size, int numPairs) {
+		int[] selectionPairs = new int[numPairs * 2];
+		if (withReplacement) {
+			for (int i = 0; i < numPairs * 2; i++) {
+				selectionPairs[i] = tournamentWithReplacement(size);
+			}
+		}
+		else {
+			if (indexedSize != size) {
+				if (indices.length < size) {
+					indices = new int[size];
+				}
+				for (int i = 0; i < size; i++) {
+					indices[i] = i;
+				}
+				indexedSize = size;
+			}
+			for (int i = 0; i < numPairs * 2; i++) {
+				selectionPairs[i] = tournamentWithoutReplacement(size);
+			}
+		}
+		return selectionPairs;
+	}
+	
+	private int tournamentWithReplacement(int size) {
+		int winner = getRandomIndex(size);
+		for (int i = 1; i < tournamentSize; i++) {
+			int participant = getRandomIndex(size);
+			if (keys[participant] < keys[winner]) {
+				winner = participant;
+			}
+		}
+		return winner;
+	}
+	
+	private int tournamentWithoutReplacement(int size) {
+		//the participants are the first entries of a partial Fisher-Yates shuffle (the indices stay a permutation, so they don't need to be reset)
+		int participants = Math.min(tournamentSize, size);
+		int winner = -1;
+		for (int i = 0; i < participants; i++) {
+			int swapIndex = i + getRandomIndex(size - i);
+			int participant = indices[swapIndex];
+			indices[swapIndex] = indices[i];
+			indices[i] = participant;
+			
+			if (winner == -1 || keys[participant] < keys[winner]) {
+				winner = participant;
+			}
+		}
+		return winner;
+	}
+	
+	private int getRandomIndex(int bound) {
+		return Math.min((int) (getRandomNumber() * bound), bound - 1);
+	}
+	
+	@Override
+	public String toString() {
+		return "TournamentSelector [tournamentSize=" + tournamentSize + ", withReplacement=" + withReplacement + "]";
+	}
+	
+	@VisibleForTesting
+	/*private*/ double getRandomNumber() {
+		return OptimizerRandom.nextDouble();
+	}
+	
+	public int getTournamentSize() {
+		return tournamentSize;
+	}
+	
+	public boolean isWithReplacement() {
+		return withReplacement;
+	}
+}
\ No newline at end of file
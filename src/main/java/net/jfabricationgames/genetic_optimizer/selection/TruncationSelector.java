@@ -0,0 +1,138 @@
+package net.jfabricationgames.genetic_optimizer.selection;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.OptimizerRandom;
+
+/**
+ * A selector that only selects the best individuals of the population (a fraction of the population size). Every parent is chosen equally
+ * distributed from the best individuals.
+ * 
+ * The selector reads the fitness directly from the population (see {@link PopulationSelector}), so the selection pressure is not used. The best
+ * individuals are found using a quickselect (in O(n)), so the population doesn't need to be sorted. When used with selection probabilities (see
+ * {@link Selector#select(double[], int)}) the individuals with the highest probabilities are selected.
+ * 
+ * The buffers of the selector are reused in every selection, so an instance mussn't be used by multiple threads at the same time.
+ */
+public class TruncationSelector implements PopulationSelector {
+	
+	private double truncationFraction;
+	
+	/**
+	 * The keys of the individuals (lower keys are better).
+	 */
+	private double[] keys = new double[0];
+	private int[] indices = new int[0];
+	
+	/**
+	 * @param truncationFraction
+	 *        The fraction of the population that is selected (in the range (0, 1]). At least one individual is selected.
+	 */
+	public TruncationSelector(double truncationFraction) {
+		if (truncationFraction <= 0 || truncationFraction > 1) {
+			throw new IllegalArgumentException("The truncation fraction has to be in the range (0, 1]. Input was: " + truncationFraction);
+		}
+		this.truncationFraction = truncationFraction;
+	}
+	
+	@Override
+	public int[] select(DNA[] population, boolean minimize, int numPairs) {
+		double[] keys = getKeys(population.length);
+		for (int i = 0; i < population.length; i++) {
+			keys[i] = minimize ? population[i].getFitness() : -population[i].getFitness();
+		}
+		return selectByKeys(population.length, numPairs);
+	}
+	
+	@Override
+	public int[] select(double[] selectionProbability, int numPairs) {
+		double[] keys = getKeys(selectionProbability.length);
+		for (int i = 0; i < selectionProbability.length; i++) {
+			keys[i] = -selectionProbability[i];
+		}
+		return selectByKeys(selectionProbability.length, numPairs);
+	}
+	
+	private double[] getKeys(int size) {
+		if (keys.length < size) {
+			keys = new double[size];
+			indices = new int[size];
+		}
+		return keys;
+	}
+	
+	private int[] selectByKeys(int size, int numPairs) {
+		int selected = Math.max(1, Math.min(size, (int) Math.ceil(size * truncationFraction)));
+		for (int i = 0; i < size; i++) {
+			indices[i] = i;
+		}
+		selectBest(size, selected);
+		
+		int[] selectionPairs = new int[numPairs * 2];
+		for (int i = 0; i < numPairs * 2; i++) {
+			selectionPairs[i] = indices[Math.min((int) (getRandomNumber() * selected), selected - 1)];
+		}
+		return selectionPairs;
+	}
+	
+	/**
+	 * Move the indices of the best individuals to the range [0, count) of the indices (using a quickselect with Hoare's partition scheme).
+	 */
+	@VisibleForTesting
+	/*private*/ void selectBest(int size, int count) {
+		int left = 0;
+		int right = size - 1;
+		int target = count - 1;
+		while (left < right) {
+			double pivot = keys[indices[(left + right) >>> 1]];
+			int i = left;
+			int j = right;
+			while (i <= j) {
+				while (keys[indices[i]] < pivot) {
+					i++;
+				}
+				while (keys[indices[j]] > pivot) {
+					j--;
+				}
+				if (i <= j) {
+					int tmp = indices[i];
+					indices[i] = indices[j];
+					indices[j] = tmp;
+					i++;
+					j--;
+				}
+			}
+			
+			//[left, j] contains the keys <= pivot and [i, right] the keys >= pivot
+			if (target <= j) {
+				right = j;
+			}
+			else if (target >= i) {
+				left = i;
+			}
+			else {
+				break;
+			}
+		}
+	}
+	
+	@Override
+	public String toString() {
+		return "TruncationSelector [truncationFraction=" + truncationFraction + "]";
+	}
+	
+	@VisibleForTesting
+	/*private*/ double getRandomNumber() {
+		return OptimizerRandom.nextDouble();
+	}
+	
+	@VisibleForTesting
+	/*private*/ int[] getIndices() {
+		return indices;
+	}
+	
+	public double getTruncationFraction() {
+		return truncationFraction;
+	}
+}
\ No newline at end of file
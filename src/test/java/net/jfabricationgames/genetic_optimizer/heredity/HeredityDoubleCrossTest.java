@@ -2,6 +2,7 @@ package net.jfabricationgames.genetic_optimizer.heredity;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -10,6 +11,7 @@ import java.util.Arrays;
 import org.junit.jupiter.api.Test;
 
 import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.Population;
 
 class HeredityDoubleCrossTest {
 	
@@ -90,4 +92,26 @@ class HeredityDoubleCrossTest {
 		assertArrayEquals(mothersMiddlePartCode, childsSecondPartCode, 1e-8);
 		assertArrayEquals(fathersLastPartCode, childsLastPartCode, 1e-8);
 	}
+	
+	@Test
+	public void testMixDNAInPlace_combinationOfFatherAndMother() {
+		//father, mother and child are rows of a population, so the genomes have to be read and written using the offsets
+		Population population = new Population(3, 10);
+		DNA father = population.get(2);
+		DNA mother = population.get(0);
+		DNA child = population.get(1);
+		for (int i = 0; i < 10; i++) {
+			father.getDNACode()[father.getOffset() + i] = 1;
+			mother.getDNACode()[mother.getOffset() + i] = 2;
+		}
+		
+		HeredityDoubleCross heredity = mock(HeredityDoubleCross.class);
+		doCallRealMethod().when(heredity).mixDNA(any(DNA.class), any(DNA.class), any(DNA.class));
+		when(heredity.getRandomNumber()).thenReturn(0.4, 0.8, 0d);//first two are split positions, last is father first
+		
+		heredity.mixDNA(father, mother, child);
+		
+		double[] childsCode = Arrays.copyOfRange(population.getGenomes(), child.getOffset(), child.getOffset() + 10);
+		assertArrayEquals(new double[] {1, 1, 1, 1, 2, 2, 2, 2, 1, 1}, childsCode, 1e-8);
+	}
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ import java.util.Arrays;
 import org.junit.jupiter.api.Test;
 
 import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.Population;
 
 class HeredityRandomTest {
 	
@@ -48,7 +49,7 @@ class HeredityRandomTest {
 		HeredityRandom heredity = mock(HeredityRandom.class);
 		when(heredity.mixDNA(any(DNA.class), any(DNA.class))).thenCallRealMethod();
 		//return 0 for 5 times to use the fathers chromosome in the first 5 cases; then return 1 for mothers chromosome
-		when(heredity.getRandomNumber()).thenReturn(0d, 0d, 0d, 0d, 0d, 1d);
+		when(heredity.getRandomNumbers(10)).thenReturn(new double[] {0, 0, 0, 0, 0, 1, 1, 1, 1, 1});
 		
 		DNA child = heredity.mixDNA(father, mother);
 		
@@ -61,4 +62,22 @@ class HeredityRandomTest {
 		assertArrayEquals(childsFirstHalfCode, fathersFirstHalfCode, 1e-8);
 		assertArrayEquals(childsLastHalfCode, mothersLastHalfCode, 1e-8);
 	}
+	
+	@Test
+	public void testMixDNAInPlace_onlyFather() {
+		Population population = new Population(3, 10);
+		DNA father = population.get(1);
+		DNA mother = population.get(2);
+		DNA child = population.get(0);
+		for (int i = 0; i < 10; i++) {
+			father.getDNACode()[father.getOffset() + i] = i;
+			mother.getDNACode()[mother.getOffset() + i] = -1;
+		}
+		
+		Heredity heredityFatherOnly = new HeredityRandom(1);
+		
+		heredityFatherOnly.mixDNA(father, mother, child);
+		
+		assertArrayEquals(new double[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, Arrays.copyOfRange(population.getGenomes(), 0, 10), 1e-8);
+	}
 }
\ No newline at end of file
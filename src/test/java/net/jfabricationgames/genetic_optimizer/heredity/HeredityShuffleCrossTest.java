@@ -1,6 +1,7 @@
 package net.jfabricationgames.genetic_optimizer.heredity;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -15,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 
 import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.Population;
 
 class HeredityShuffleCrossTest {
 	
@@ -127,4 +129,30 @@ class HeredityShuffleCrossTest {
 		
 		assertArrayEquals(new double[] {0, 2, 3}, child.getDNACode(), 1e-5);
 	}
+	
+	@Test
+	public void testMixDNAInPlace_shouldTakeOneRandomPartOfTheFathersChromosomes() {
+		HeredityShuffleCross heredity = new HeredityShuffleCross();
+		
+		int len = 100;
+		Population population = new Population(3, len);
+		DNA father = population.get(0);
+		DNA mother = population.get(1);
+		DNA child = population.get(2);
+		for (int i = 0; i < len; i++) {
+			father.getDNACode()[father.getOffset() + i] = 1;
+		}
+		
+		for (int generation = 0; generation < 10; generation++) {
+			heredity.mixDNA(father, mother, child);
+			
+			//every chromosome is taken from the father (1) or the mother (0) and the parents are not changed
+			for (int i = 0; i < len; i++) {
+				double chromosome = child.getDNACode()[child.getOffset() + i];
+				assertTrue(chromosome == 0 || chromosome == 1);
+				assertEquals(1, father.getDNACode()[father.getOffset() + i], 1e-8);
+				assertEquals(0, mother.getDNACode()[mother.getOffset() + i], 1e-8);
+			}
+		}
+	}
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package net.jfabricationgames.genetic_optimizer.heredity;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -10,6 +13,7 @@ import java.util.Arrays;
 import org.junit.jupiter.api.Test;
 
 import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.Population;
 
 class HereditySingleCrossTest {
 	
@@ -27,6 +31,24 @@ class HereditySingleCrossTest {
 		assertArrayEquals(father.getDNACode(), child.getDNACode(), 1e-8);
 	}
 	
+	@Test
+	public void testOnlyMother_shouldCopyTheFitness() {
+		DNA father = DNA.generateRandomDNA(10, 1);
+		DNA mother = DNA.generateRandomDNA(10, 1);
+		mother.setFitness(42);
+		
+		HereditySingleCross heredity = mock(HereditySingleCross.class);
+		when(heredity.mixDNA(any(DNA.class), any(DNA.class))).thenCallRealMethod();
+		when(heredity.getRandomNumber()).thenReturn(0d, 0d);//first is split position, second is father first
+		
+		DNA child = heredity.mixDNA(father, mother);
+		
+		//the child is a copy of the mother, so the fitness doesn't need to be calculated again
+		assertFalse(child.isDirty());
+		assertEquals(42, child.getFitness(), 1e-8);
+		assertArrayEquals(mother.readDNACode(), child.readDNACode(), 1e-8);
+	}
+	
 	@Test
 	public void testHalfFatherHalfMother() {
 		DNA father = DNA.generateRandomDNA(10, 1);
@@ -68,4 +90,26 @@ class HereditySingleCrossTest {
 		assertArrayEquals(childsFirstHalfCode, mothersFirstHalfCode, 1e-8);
 		assertArrayEquals(childsLastHalfCode, fathersLastHalfCode, 1e-8);
 	}
+	
+	@Test
+	public void testMixDNAInPlace_halfFatherHalfMother() {
+		//father, mother and child are rows of a population, so the genomes have to be read and written using the offsets
+		Population population = new Population(3, 10);
+		DNA father = population.get(0);
+		DNA mother = population.get(1);
+		DNA child = population.get(2);
+		for (int i = 0; i < 10; i++) {
+			father.getDNACode()[father.getOffset() + i] = 1;
+			mother.getDNACode()[mother.getOffset() + i] = 2;
+		}
+		
+		HereditySingleCross heredity = mock(HereditySingleCross.class);
+		doCallRealMethod().when(heredity).mixDNA(any(DNA.class), any(DNA.class), any(DNA.class));
+		when(heredity.getRandomNumber()).thenReturn(0.5, 0d);//first is split position, second is father first
+		
+		heredity.mixDNA(father, mother, child);
+		
+		double[] childsCode = Arrays.copyOfRange(population.getGenomes(), child.getOffset(), child.getOffset() + 10);
+		assertArrayEquals(new double[] {1, 1, 1, 1, 1, 2, 2, 2, 2, 2}, childsCode, 1e-8);
+	}
 }
\ No newline at end of file
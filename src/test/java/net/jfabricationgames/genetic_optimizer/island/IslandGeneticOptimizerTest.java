@@ -0,0 +1,141 @@
+package net.jfabricationgames.genetic_optimizer.island;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.jfabricationgames.genetic_optimizer.abort_condition.AbortCondition;
+import net.jfabricationgames.genetic_optimizer.abort_condition.TimedAbortCondition;
+import net.jfabricationgames.genetic_optimizer.heredity.HeredityRandom;
+import net.jfabricationgames.genetic_optimizer.mutation.Mutation;
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.GeneticOptimizer;
+import net.jfabricationgames.genetic_optimizer.optimizer.GeneticOptimizerBuilder;
+import net.jfabricationgames.genetic_optimizer.optimizer.GeneticOptimizerProblem;
+import net.jfabricationgames.genetic_optimizer.selection.FitnessProportionalSelectionPressure;
+import net.jfabricationgames.genetic_optimizer.selection.FitnessProportionalSelector;
+import net.jfabricationgames.genetic_optimizer.selection.SigmaScalingSelectionPressure;
+
+class IslandGeneticOptimizerTest {
+	
+	@Test
+	public void testOptimize_shouldFindTheOptimalFitnessOfZero() {
+		List<GeneticOptimizer> islands = Arrays.asList(generateDefaultBuilder().build(), generateDefaultBuilder().build(),
+				generateDefaultBuilder().setSelectionPressure(new SigmaScalingSelectionPressure(1)).build());
+		//abort when the optimum is found (or after a long time to not block the tests)
+		AbortCondition abortCondition = (bestDNA, timeUsed, generation) -> bestDNA.getFitness() == 0 || timeUsed > 5000;
+		IslandGeneticOptimizer optimizer = new IslandGeneticOptimizer(islands, abortCondition, MigrationTopology.RING, 2, 1);
+		
+		optimizer.optimize();
+		
+		assertEquals(0, optimizer.getBestDNA().getFitness(), 1e-8, "The optimal fitness of 0 should be found by the mutations");
+	}
+	
+	@Test
+	public void testOptimize_shouldFindTheOptimalFitnessWithIslandsInDifferentNodes() throws IOException, InterruptedException {
+		//abort when the optimum is found (or after a long time to not block the tests)
+		AbortCondition abortCondition = (bestDNA, timeUsed, generation) -> bestDNA.getFitness() == 0 || timeUsed > 5000;
+		try (TcpMigrationTransport transport1 = new TcpMigrationTransport(0, 2, 0, 1);
+				TcpMigrationTransport transport2 = new TcpMigrationTransport(0, 2, 1, 1)) {
+			transport1.addRemoteNode(new InetSocketAddress("localhost", transport2.getLocalPort()), 1, 1);
+			transport2.addRemoteNode(new InetSocketAddress("localhost", transport1.getLocalPort()), 0, 1);
+			IslandGeneticOptimizer node1 = new IslandGeneticOptimizer(Collections.singletonList(generateDefaultBuilder().build()), abortCondition,
+					MigrationTopology.RING, 2, 1, transport1);
+			IslandGeneticOptimizer node2 = new IslandGeneticOptimizer(Collections.singletonList(generateDefaultBuilder().build()), abortCondition,
+					MigrationTopology.RING, 2, 1, transport2);
+			
+			Thread thread = new Thread(() -> node2.optimize());
+			thread.start();
+			node1.optimize();
+			thread.join();
+			
+			assertEquals(0, node1.getBestDNA().getFitness(), 1e-8, "The optimal fitness of 0 should be found by the mutations");
+			assertEquals(0, node2.getBestDNA().getFitness(), 1e-8, "The optimal fitness of 0 should be found by the mutations");
+		}
+	}
+	
+	@Test
+	public void testMigrate_shouldReplaceTheWorstIndividualsByTheBestIndividualsOfTheOtherIsland() {
+		GeneticOptimizer island1 = generateDefaultBuilder().setMutations(new ArrayList<Mutation>(0)).build();
+		GeneticOptimizer island2 = generateDefaultBuilder().setMutations(new ArrayList<Mutation>(0)).build();
+		IslandGeneticOptimizer optimizer = new IslandGeneticOptimizer(Arrays.asList(island1, island2), new TimedAbortCondition(1),
+				MigrationTopology.RING, 1, 2);
+		island1.startOptimization();
+		island2.startOptimization();
+		DNA[] best = sortedCopy(island1.getPopulation());
+		
+		optimizer.migrate(0);//island 1 sends it's migrants
+		optimizer.migrate(1);//island 2 receives the migrants
+		
+		List<Double> fitness = new ArrayList<Double>();
+		for (DNA dna : island2.getPopulation()) {
+			fitness.add(dna.getFitness());
+		}
+		assertEquals(2, optimizer.getReceivedMigrants());
+		assertEquals(true, fitness.contains(best[0].getFitness()), "The best individual of island 1 should have migrated to island 2");
+		assertEquals(true, fitness.contains(best[1].getFitness()), "The second best individual of island 1 should have migrated to island 2");
+	}
+	
+	@Test
+	public void testInitialization() {
+		List<GeneticOptimizer> islands = Arrays.asList(generateDefaultBuilder().build(), generateDefaultBuilder().build());
+		AbortCondition abortCondition = new TimedAbortCondition(1);
+		
+		assertThrows(IllegalArgumentException.class, () -> new IslandGeneticOptimizer(islands.subList(0, 1), abortCondition, MigrationTopology.RING, 1, 1));
+		assertThrows(IllegalArgumentException.class, () -> new IslandGeneticOptimizer(islands, abortCondition, MigrationTopology.RING, 0, 1));
+		assertThrows(IllegalArgumentException.class, () -> new IslandGeneticOptimizer(islands, abortCondition, MigrationTopology.RING, 1, -1));
+		assertThrows(IllegalArgumentException.class, () -> new IslandGeneticOptimizer(
+				Arrays.asList(generateDefaultBuilder().build(), generateDefaultBuilder().setMinimize(false).build()), abortCondition,
+				MigrationTopology.RING, 1, 1));
+		assertThrows(NullPointerException.class, () -> new IslandGeneticOptimizer(islands, null, MigrationTopology.RING, 1, 1));
+		assertThrows(IllegalArgumentException.class,
+				() -> new IslandGeneticOptimizer(islands, abortCondition, MigrationTopology.RING, 1, 1, new InProcessMigrationTransport(3)));
+		assertThrows(NullPointerException.class, () -> new IslandGeneticOptimizer(islands, abortCondition, MigrationTopology.RING, 1, 1, null));
+	}
+	
+	private DNA[] sortedCopy(DNA[] population) {
+		DNA[] sorted = Arrays.copyOf(population, population.length);
+		Arrays.sort(sorted);
+		return sorted;
+	}
+	
+	private GeneticOptimizerBuilder generateDefaultBuilder() {
+		GeneticOptimizerProblem problem = new GeneticOptimizerProblem() {
+			
+			@Override
+			public int getLength() {
+				return 5;
+			}
+			
+			@Override
+			public double calculateFitness(DNA dna) {
+				double sum = 0;
+				for (int i = 0; i < dna.getLength(); i++) {
+					sum += dna.readDNACode()[dna.getOffset() + i];
+				}
+				return sum;
+			}
+		};
+		Mutation mutation = (dna) -> {
+			for (int i = 0; i < dna.getLength(); i++) {
+				if (Math.random() < 0.05) {//5% chance of lowering the current genome to 0
+					dna.getDNACode()[i] = 0;
+				}
+			}
+		};
+		
+		GeneticOptimizerBuilder builder = new GeneticOptimizerBuilder();
+		builder.setProblem(problem).setHeredity(new HeredityRandom(0.5)).setMutations(new ArrayList<Mutation>(Collections.singletonList(mutation)))
+				.setPopulationSize(20).setElites(2).setAbortCondition(new TimedAbortCondition(1))
+				.setSelectionPressure(new FitnessProportionalSelectionPressure()).setSelector(new FitnessProportionalSelector());
+		return builder;
+	}
+}
\ No newline at end of file
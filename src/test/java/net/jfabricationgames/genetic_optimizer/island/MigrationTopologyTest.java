@@ -0,0 +1,30 @@
+package net.jfabricationgames.genetic_optimizer.island;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+
+class MigrationTopologyTest {
+	
+	@Test
+	public void testRing() {
+		assertArrayEquals(new int[] {1}, MigrationTopology.RING.getTargets(0, 3));
+		assertArrayEquals(new int[] {0}, MigrationTopology.RING.getTargets(2, 3));
+	}
+	
+	@Test
+	public void testFullyConnected() {
+		assertArrayEquals(new int[] {0, 2, 3}, MigrationTopology.FULLY_CONNECTED.getTargets(1, 4));
+	}
+	
+	@Test
+	public void testRandom() {
+		for (int i = 0; i < 100; i++) {
+			int[] targets = MigrationTopology.RANDOM.getTargets(1, 3);
+			assertEquals(1, targets.length);
+			assertNotEquals(1, targets[0], "The island mussn't send migrants to itself");
+		}
+	}
+}
\ No newline at end of file
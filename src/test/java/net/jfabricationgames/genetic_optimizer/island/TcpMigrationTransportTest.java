@@ -0,0 +1,102 @@
+package net.jfabricationgames.genetic_optimizer.island;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+import org.junit.jupiter.api.Test;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+
+class TcpMigrationTransportTest {
+	
+	@Test
+	public void testSend_shouldTransportTheMigrantsToTheRemoteIsland() throws IOException, InterruptedException {
+		try (TcpMigrationTransport node1 = new TcpMigrationTransport(0, 3, 0, 2);
+				TcpMigrationTransport node2 = new TcpMigrationTransport(0, 3, 2, 1)) {
+			node1.addRemoteNode(new InetSocketAddress(InetAddress.getLoopbackAddress(), node2.getLocalPort()), 2, 1);
+			node2.addRemoteNode(new InetSocketAddress(InetAddress.getLoopbackAddress(), node1.getLocalPort()), 0, 2);
+			
+			DNA migrant = new DNA(new double[] {1, 2.5, -3});
+			migrant.setFitness(42);
+			node1.send(2, new DNA[] {migrant});
+			DNA received = poll(node2, 2);
+			
+			assertNotNull(received, "The migrant should be received by the remote node");
+			assertArrayEquals(new double[] {1, 2.5, -3}, received.readDNACode(), 1e-12);
+			assertEquals(42, received.getFitness(), 1e-12);
+			
+			//the other direction
+			node2.send(1, new DNA[] {migrant, migrant});
+			assertNotNull(poll(node1, 1));
+			assertNotNull(poll(node1, 1));
+			assertNull(node1.poll(0), "No migrants were sent to island 0");
+		}
+	}
+	
+	@Test
+	public void testSend_shouldUseTheInboxForLocalIslands() throws IOException {
+		try (TcpMigrationTransport node = new TcpMigrationTransport(0, 2, 0, 2)) {
+			DNA migrant = new DNA(new double[] {1, 2});
+			node.send(1, new DNA[] {migrant});
+			
+			assertEquals(migrant, node.poll(1));
+			assertNull(node.poll(1));
+			assertThrows(IllegalArgumentException.class, () -> node.send(3, new DNA[] {migrant}), "The island is not hosted by any node");
+		}
+	}
+	
+	@Test
+	public void testSend_shouldDropTheMigrantsIfTheRemoteNodeIsNotReachable() throws IOException, InterruptedException {
+		int unusedPort;
+		try (TcpMigrationTransport unused = new TcpMigrationTransport(0, 2, 1, 1)) {
+			unusedPort = unused.getLocalPort();
+		}
+		try (TcpMigrationTransport node = new TcpMigrationTransport(0, 2, 0, 1)) {
+			node.addRemoteNode(new InetSocketAddress(InetAddress.getLoopbackAddress(), unusedPort), 1, 1);
+			node.send(1, new DNA[] {new DNA(new double[] {1})});
+			
+			for (int i = 0; i < 500 && node.getDroppedMessages() == 0; i++) {
+				Thread.sleep(10);
+			}
+			assertEquals(1, node.getDroppedMessages());
+		}
+	}
+	
+	@Test
+	public void testConstructor_shouldOnlyListenOnTheLoopbackAddressByDefault() throws IOException {
+		try (TcpMigrationTransport node = new TcpMigrationTransport(0, 2, 0, 1);
+				TcpMigrationTransport wildcardNode = new TcpMigrationTransport(null, 0, 2, 1, 1)) {
+			assertTrue(node.getLocalAddress().isLoopbackAddress());
+			assertTrue(wildcardNode.getLocalAddress().isAnyLocalAddress());
+		}
+	}
+	
+	@Test
+	public void testInitialization() throws IOException {
+		assertThrows(IllegalArgumentException.class, () -> new TcpMigrationTransport(0, 2, 1, 2));
+		assertThrows(IllegalArgumentException.class, () -> new TcpMigrationTransport(0, 2, 0, 0));
+		try (TcpMigrationTransport node = new TcpMigrationTransport(0, 2, 0, 1)) {
+			assertThrows(IllegalArgumentException.class, () -> node.addRemoteNode(new InetSocketAddress(InetAddress.getLoopbackAddress(), 1), 1, 2));
+		}
+	}
+	
+	private DNA poll(MigrationTransport transport, int island) throws InterruptedException {
+		//wait for the migrant (or for a long time to not block the tests)
+		for (int i = 0; i < 500; i++) {
+			DNA migrant = transport.poll(island);
+			if (migrant != null) {
+				return migrant;
+			}
+			Thread.sleep(10);
+		}
+		return null;
+	}
+}
\ No newline at end of file
@@ -26,9 +26,10 @@ class MutationNormalDistributedTest {
 		when(mutation.getMaxValue()).thenReturn(2d);
 		when(mutation.getMinValue()).thenReturn(0d);
 		
-		//random answers to mutationRate, mutatedFields, mutatedFieldIndex
-		when(mutation.getRandomNumber()).thenReturn(-1d, 1d, 0d);
-		when(mutation.getGaussianRandomNumber()).thenCallRealMethod();
+		//random answers to mutationRate and mutatedFields; mutatedFieldIndex
+		when(mutation.getRandomNumber()).thenReturn(-1d, 1d);
+		when(mutation.getRandomNumbers(1)).thenReturn(new double[] {0});
+		when(mutation.getGaussianRandomNumbers(1)).thenCallRealMethod();
 		doCallRealMethod().when(mutation).mutate(any(DNA.class));
 		
 		mutation.mutate(dna);
@@ -48,9 +49,10 @@ class MutationNormalDistributedTest {
 		when(mutation.getMaxValue()).thenReturn(2d);
 		when(mutation.getMinValue()).thenReturn(0d);
 		
-		//random answers to mutationRate, mutatedFields, 3 x mutatedFieldIndices
-		when(mutation.getRandomNumber()).thenReturn(-1d, 1d, 0d, 0.35, 0.7);
-		when(mutation.getGaussianRandomNumber()).thenReturn(0.5, -0.5, 0d);
+		//random answers to mutationRate and mutatedFields; 3 x mutatedFieldIndices and changes
+		when(mutation.getRandomNumber()).thenReturn(-1d, 1d);
+		when(mutation.getRandomNumbers(3)).thenReturn(new double[] {0, 0.35, 0.7});
+		when(mutation.getGaussianRandomNumbers(3)).thenReturn(new double[] {0.5, -0.5, 0});
 		doCallRealMethod().when(mutation).mutate(any(DNA.class));
 		
 		mutation.mutate(dna);
@@ -70,9 +72,10 @@ class MutationNormalDistributedTest {
 		when(mutation.getMaxValue()).thenReturn(2d);//upper limit 2
 		when(mutation.getMinValue()).thenReturn(0d);//lower limit 0
 		
-		//random answers to mutationRate, mutatedFields, 3 x mutatedFieldIndices
-		when(mutation.getRandomNumber()).thenReturn(-1d, 1d, 0d, 0.35, 0.7);
-		when(mutation.getGaussianRandomNumber()).thenReturn(1.5, -1.5, 0d);
+		//random answers to mutationRate and mutatedFields; 3 x mutatedFieldIndices and changes
+		when(mutation.getRandomNumber()).thenReturn(-1d, 1d);
+		when(mutation.getRandomNumbers(3)).thenReturn(new double[] {0, 0.35, 0.7});
+		when(mutation.getGaussianRandomNumbers(3)).thenReturn(new double[] {1.5, -1.5, 0});
 		doCallRealMethod().when(mutation).mutate(any(DNA.class));
 		
 		mutation.mutate(dna);
@@ -9,9 +9,12 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+
 import org.junit.jupiter.api.Test;
 
 import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.Population;
 
 class MutationReptationTest {
 	
@@ -23,7 +26,7 @@ class MutationReptationTest {
 		when(mutation.getReptationLengthMax()).thenReturn(5);
 		when(mutation.getReptationLengthMin()).thenReturn(3);
 		
-		//first is for mutation chance (which is 0 so the returned value has to be out of range); 
+		//first is for mutation chance (which is 0 so the returned value has to be out of range);
 		//second is for reptation length (from minimum (0) to maximum (1));
 		//third is for front to back probability (which is 0 so the returned value may has to be out of range)
 		when(mutation.getRandomNumber()).thenReturn(-1d, 0d, -1d);
@@ -44,7 +47,7 @@ class MutationReptationTest {
 		when(mutation.getReptationLengthMax()).thenReturn(10);
 		when(mutation.getReptationLengthMin()).thenReturn(3);
 		
-		//first is for mutation chance (which is 0 so the returned value has to be out of range); 
+		//first is for mutation chance (which is 0 so the returned value has to be out of range);
 		//second is for reptation length (from minimum (0) to maximum (1));
 		//third is for front to back probability (which is 0 so the returned value may has to be out of range)
 		when(mutation.getRandomNumber()).thenReturn(-1d, 0d, 1d);
@@ -65,7 +68,7 @@ class MutationReptationTest {
 		when(mutation.getReptationLengthMax()).thenReturn(10);
 		when(mutation.getReptationLengthMin()).thenReturn(10);
 		
-		//first is for mutation chance (which is 0 so the returned value has to be out of range); 
+		//first is for mutation chance (which is 0 so the returned value has to be out of range);
 		//second is for reptation length (from minimum (0) to maximum (1));
 		//third is for front to back probability (which is 0 so the returned value may has to be out of range)
 		when(mutation.getRandomNumber()).thenReturn(-1d, 1d, 1d);
@@ -86,7 +89,7 @@ class MutationReptationTest {
 		when(mutation.getReptationLengthMax()).thenReturn(5);
 		when(mutation.getReptationLengthMin()).thenReturn(3);
 		
-		//first is for mutation chance (which is 0 so the returned value has to be out of range); 
+		//first is for mutation chance (which is 0 so the returned value has to be out of range);
 		//second is for reptation length (from minimum (0) to maximum (1));
 		//third is for front to back probability (which is 0 so the returned value may has to be out of range)
 		when(mutation.getRandomNumber()).thenReturn(1d, 0d, 0d);
@@ -108,7 +111,7 @@ class MutationReptationTest {
 		when(mutation.getReptationLengthMax()).thenReturn(42);
 		when(mutation.getReptationLengthMin()).thenReturn(5);
 		
-		//first is for mutation chance (which is 0 so the returned value has to be out of range); 
+		//first is for mutation chance (which is 0 so the returned value has to be out of range);
 		//second is for reptation length (from minimum (0) to maximum (1));
 		//third is for front to back probability (which is 0 so the returned value may has to be out of range)
 		when(mutation.getRandomNumber()).thenReturn(-1d, 1d, -1d);//use length of 42 (second parameter)
@@ -117,6 +120,27 @@ class MutationReptationTest {
 		assertThrows(ArrayIndexOutOfBoundsException.class, () -> mutation.mutate(dna));
 	}
 	
+	@Test
+	public void testMoveSomeElementsFromFrontToBackInPopulationRow_shouldNotChangeTheOtherRows() {
+		Population population = new Population(3, 10);
+		DNA dna = population.get(1);
+		for (int i = 0; i < 10; i++) {
+			dna.getDNACode()[dna.getOffset() + i] = i;
+		}
+		
+		MutationReptation mutation = mock(MutationReptation.class);
+		when(mutation.getReptationLengthMax()).thenReturn(5);
+		when(mutation.getReptationLengthMin()).thenReturn(3);
+		when(mutation.getRandomNumber()).thenReturn(-1d, 0d, -1d);
+		doCallRealMethod().when(mutation).mutate(any(DNA.class));
+		
+		mutation.mutate(dna);
+		
+		assertArrayEquals(new double[] {3, 4, 5, 6, 7, 8, 9, 0, 1, 2}, Arrays.copyOfRange(population.getGenomes(), 10, 20), 1e-8);
+		assertArrayEquals(new double[10], Arrays.copyOfRange(population.getGenomes(), 0, 10), 1e-8);
+		assertArrayEquals(new double[10], Arrays.copyOfRange(population.getGenomes(), 20, 30), 1e-8);
+	}
+	
 	private DNA getIndexInitializedDNA() {
 		DNA dna = new DNA(10);
 		
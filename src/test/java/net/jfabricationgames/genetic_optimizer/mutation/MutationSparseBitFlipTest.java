@@ -0,0 +1,101 @@
+package net.jfabricationgames.genetic_optimizer.mutation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.Test;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.Population;
+
+class MutationSparseBitFlipTest {
+	
+	@Test
+	public void testMutate_shouldSkipToTheNextMutatedGenome() {
+		DNA dna = new DNA(10);
+		
+		MutationSparseBitFlip mutation = spy(new MutationSparseBitFlip(0.5));
+		//with a rate of 0.5 the random numbers 0, 0.5 and 0.75 lead to 0, 1 and 2 skipped genomes; 0.999 skips over the end of the DNA
+		doReturn(0d, 0.5, 0.75, 0d, 0.999).when(mutation).getRandomNumber();
+		
+		mutation.mutate(dna);
+		
+		double[] expected = new double[] {1, 0, 1, 0, 0, 1, 1, 0, 0, 0};
+		assertArrayEquals(expected, dna.getDNACode(), 1e-8);
+		verify(mutation, times(5)).getRandomNumber();
+	}
+	
+	@Test
+	public void testMutate_shouldOnlyMutateTheRowOfAPopulation() {
+		Population population = new Population(3, 4);
+		DNA dna = population.get(1);
+		
+		MutationSparseBitFlip mutation = spy(new MutationSparseBitFlip(0.5));
+		doReturn(0.5, 0.5, 0.999).when(mutation).getRandomNumber();
+		
+		mutation.mutate(dna);
+		
+		double[] expected = new double[] {0, 0, 0, 0, 0, 1, 0, 1, 0, 0, 0, 0};
+		assertArrayEquals(expected, population.getGenomes(), 1e-8);
+	}
+	
+	@Test
+	public void testMutate_withoutMutatedGenomes_shouldNotChangeTheDNA() {
+		DNA dna = new DNA(5);
+		dna.setFitness(42);
+		
+		MutationSparseBitFlip mutation = spy(new MutationSparseBitFlip(0.5));
+		doReturn(0.99).when(mutation).getRandomNumber();
+		MutationSparseBitFlip noMutation = spy(new MutationSparseBitFlip(0));
+		
+		mutation.mutate(dna);
+		noMutation.mutate(dna);
+		
+		assertFalse(dna.isDirty());
+		assertEquals(42, dna.getFitness(), 1e-8);
+		verify(noMutation, never()).getRandomNumber();
+	}
+	
+	@Test
+	public void testMutate_withRateOne_shouldFlipEveryGenome() {
+		DNA dna = new DNA(new double[] {0, 1, 1, 0});
+		
+		MutationSparseBitFlip mutation = spy(new MutationSparseBitFlip(1));
+		mutation.mutate(dna);
+		
+		assertArrayEquals(new double[] {1, 0, 0, 1}, dna.getDNACode(), 1e-8);
+		verify(mutation, never()).getRandomNumber();
+	}
+	
+	@Test
+	public void testMutate_shouldMutateTheExpectedNumberOfGenomes() {
+		DNA dna = new DNA(100000);
+		
+		MutationSparseBitFlip mutation = new MutationSparseBitFlip(0.001);
+		int mutated = 0;
+		for (int i = 0; i < 100; i++) {
+			mutation.mutate(dna);
+		}
+		for (double genome : dna.readDNACode()) {
+			if (genome != 0) {
+				mutated++;
+			}
+		}
+		
+		//about 10000 flips, but only the genomes that are flipped an odd number of times are 1: 100000 * (1 - e^(-0.2)) / 2 = 9063
+		assertEquals(9063, mutated, 400);
+	}
+	
+	@Test
+	public void testConstructor_shouldFailForRatesOutsideTheRange() {
+		assertThrows(IllegalArgumentException.class, () -> new MutationSparseBitFlip(-0.1));
+		assertThrows(IllegalArgumentException.class, () -> new MutationSparseBitFlip(1.1));
+	}
+}
\ No newline at end of file
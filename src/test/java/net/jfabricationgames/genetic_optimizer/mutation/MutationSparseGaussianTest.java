@@ -0,0 +1,45 @@
+package net.jfabricationgames.genetic_optimizer.mutation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+import org.junit.jupiter.api.Test;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+
+class MutationSparseGaussianTest {
+	
+	@Test
+	public void testMutate_shouldAddTheScaledGaussianToTheMutatedGenomes() {
+		DNA dna = new DNA(new double[] {1, 1, 1, 1, 1});
+		
+		MutationSparseGaussian mutation = spy(new MutationSparseGaussian(0.5, 2, 0, 4));
+		//mutate the genomes 1 and 3
+		doReturn(0.5, 0.5, 0.999).when(mutation).getRandomNumber();
+		//the second change is cut at the minimum value
+		doReturn(0.5, -1d).when(mutation).getGaussianRandomNumber();
+		
+		mutation.mutate(dna);
+		
+		assertArrayEquals(new double[] {1, 2, 1, 0, 1}, dna.getDNACode(), 1e-8);
+	}
+	
+	@Test
+	public void testMutate_shouldKeepTheGenomesInRange() {
+		DNA dna = new DNA(1000);
+		
+		MutationSparseGaussian mutation = new MutationSparseGaussian(0.1, 5, -1, 1);
+		for (int i = 0; i < 10; i++) {
+			mutation.mutate(dna);
+		}
+		
+		boolean mutated = false;
+		for (double genome : dna.readDNACode()) {
+			assertTrue(genome >= -1 && genome <= 1);
+			mutated |= genome != 0;
+		}
+		assertTrue(mutated);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package net.jfabricationgames.genetic_optimizer.mutation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+import org.junit.jupiter.api.Test;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+
+class MutationSparseUniformResetTest {
+	
+	@Test
+	public void testMutate_shouldResetTheMutatedGenomesInTheRange() {
+		DNA dna = new DNA(new double[] {1, 1, 1, 1});
+		
+		MutationSparseUniformReset mutation = spy(new MutationSparseUniformReset(0.5, -2, 2));
+		//skip one genome, reset to 0.25 * 4 - 2; skip no genome, reset to 0.875 * 4 - 2; skip over the end
+		doReturn(0.5, 0.25, 0d, 0.875, 0.999).when(mutation).getRandomNumber();
+		
+		mutation.mutate(dna);
+		
+		assertArrayEquals(new double[] {1, -1, 1.5, 1}, dna.getDNACode(), 1e-8);
+	}
+	
+	@Test
+	public void testConstructor_shouldFailForAnInvalidRange() {
+		assertThrows(IllegalArgumentException.class, () -> new MutationSparseUniformReset(0.1, 2, 1));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,157 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class CheckpointTest {
+	
+	private DNA createDNA(double fitness, double... dnaCode) {
+		DNA dna = new DNA(dnaCode);
+		dna.setFitness(fitness);
+		return dna;
+	}
+	
+	@Test
+	public void testWriteAndRead_shouldRestoreTheCheckpoint() throws IOException {
+		Path path = Files.createTempDirectory("checkpoint").resolve("optimization.checkpoint");
+		DNA[] population = new DNA[] {createDNA(6, 1, 2, 3), createDNA(15, 4, 5, 6)};
+		Checkpoint checkpoint = new Checkpoint(7, 1234, createDNA(-1, 0, 0, -1), population);
+		//the checkpoint is a copy, so changing the population doesn't change the checkpoint
+		population[0].getDNACode()[0] = 42;
+		
+		checkpoint.write(path);
+		Checkpoint read = Checkpoint.read(path);
+		
+		assertEquals(7, read.getGeneration());
+		assertEquals(1234, read.getTimeUsed());
+		assertNull(read.getSeed());
+		assertEquals(2, read.getPopulationSize());
+		assertEquals(3, read.getLength());
+		assertArrayEquals(new double[] {0, 0, -1}, read.getBestDNA().getDNACode(), 1e-8);
+		assertEquals(-1, read.getBestDNA().getFitness(), 1e-8);
+		
+		DNA dna = new DNA(3);
+		read.copyIndividualTo(0, dna);
+		assertArrayEquals(new double[] {1, 2, 3}, dna.readDNACode(), 1e-8);
+		assertEquals(6, dna.getFitness(), 1e-8);
+		//the fitness is known, so the DNA doesn't need to be evaluated
+		assertFalse(dna.isDirty());
+		read.copyIndividualTo(1, dna);
+		assertArrayEquals(new double[] {4, 5, 6}, dna.readDNACode(), 1e-8);
+		assertEquals(15, dna.getFitness(), 1e-8);
+		
+		//the temporary file was replaced
+		assertFalse(Files.exists(path.resolveSibling("optimization.checkpoint.tmp")));
+	}
+	
+	@Test
+	public void testWriteAndRead_shouldSupportViewsOnAPopulation() throws IOException {
+		Path path = Files.createTempDirectory("checkpoint").resolve("optimization.checkpoint");
+		Population population = new Population(3, 2);
+		for (int i = 0; i < 3; i++) {
+			population.set(i, createDNA(i, i, 2 * i));
+		}
+		
+		new Checkpoint(1, 0, population.get(2), population.getRows()).write(path);
+		Population target = new Population(3, 2);
+		Checkpoint read = Checkpoint.read(path);
+		for (int i = 0; i < 3; i++) {
+			read.copyIndividualTo(i, target.get(i));
+		}
+		
+		assertArrayEquals(population.getGenomes(), target.getGenomes(), 1e-8);
+		assertArrayEquals(new double[] {0, 1, 2}, target.getFitness(), 1e-8);
+	}
+	
+	@Test
+	public void testWriteAndRead_shouldRestoreTheSeed() throws IOException {
+		Path path = Files.createTempDirectory("checkpoint").resolve("optimization.checkpoint");
+		DNA dna = createDNA(1, 1, 2);
+		
+		new Checkpoint(3, 0, -42L, dna, new DNA[] {dna}).write(path);
+		Checkpoint read = Checkpoint.read(path);
+		
+		assertEquals(-42L, read.getSeed().longValue());
+		assertEquals(3, read.getGeneration());
+		assertArrayEquals(new double[] {1, 2}, read.getBestDNA().readDNACode(), 1e-8);
+	}
+	
+	@Test
+	public void testRead_shouldReadCheckpointsOfVersion1() throws IOException {
+		Path path = Files.createTempDirectory("checkpoint").resolve("optimization.checkpoint");
+		ByteBuffer buffer = ByteBuffer.allocate(5 * Integer.BYTES + Long.BYTES + 4 * Double.BYTES);
+		buffer.putInt(Checkpoint.MAGIC).putInt(1).putInt(1).putInt(1).putInt(5).putLong(100);
+		buffer.putDouble(2).putDouble(3);//best DNA
+		buffer.putDouble(4).putDouble(5);//population
+		Files.write(path, buffer.array());
+		
+		Checkpoint read = Checkpoint.read(path);
+		
+		assertNull(read.getSeed());
+		assertEquals(5, read.getGeneration());
+		assertEquals(100, read.getTimeUsed());
+		assertEquals(2, read.getBestDNA().getFitness(), 1e-8);
+		DNA dna = new DNA(1);
+		read.copyIndividualTo(0, dna);
+		assertArrayEquals(new double[] {5}, dna.readDNACode(), 1e-8);
+		assertEquals(4, dna.getFitness(), 1e-8);
+	}
+	
+	@Test
+	public void testWrite_shouldReplaceTheLastCheckpoint() throws IOException {
+		Path path = Files.createTempDirectory("checkpoint").resolve("optimization.checkpoint");
+		DNA dna = createDNA(1, 1);
+		
+		new Checkpoint(1, 0, dna, new DNA[] {dna, dna}).write(path);
+		new Checkpoint(2, 0, dna, new DNA[] {dna}).write(path);
+		
+		Checkpoint read = Checkpoint.read(path);
+		assertEquals(2, read.getGeneration());
+		assertEquals(1, read.getPopulationSize());
+	}
+	
+	@Test
+	public void testRead_shouldFailForFilesThatAreNoValidCheckpoints() throws IOException {
+		Path directory = Files.createTempDirectory("checkpoint");
+		Path noCheckpoint = directory.resolve("no.checkpoint");
+		Files.write(noCheckpoint, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28});
+		Path truncated = directory.resolve("truncated.checkpoint");
+		DNA dna = createDNA(1, 1, 2);
+		new Checkpoint(1, 0, dna, new DNA[] {dna, dna}).write(truncated);
+		byte[] bytes = Files.readAllBytes(truncated);
+		Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 1));
+		
+		assertThrows(IOException.class, () -> Checkpoint.read(noCheckpoint));
+		assertThrows(IOException.class, () -> Checkpoint.read(truncated));
+		assertThrows(IOException.class, () -> Checkpoint.read(directory.resolve("missing.checkpoint")));
+	}
+	
+	@Test
+	public void testCheckpointWriter_shouldWriteTheCheckpointsInTheBackground() throws IOException, InterruptedException {
+		Path path = Files.createTempDirectory("checkpoint").resolve("optimization.checkpoint");
+		DNA dna = createDNA(1, 1);
+		
+		try (CheckpointWriter writer = new CheckpointWriter(path)) {
+			for (int i = 1; i <= 10; i++) {
+				writer.write(new Checkpoint(i, 0, dna, new DNA[] {dna}));
+			}
+			writer.flush();
+			
+			//the last checkpoint is always written; older checkpoints can be skipped
+			assertEquals(10, Checkpoint.read(path).getGeneration());
+			assertEquals(10, writer.getWrittenCheckpoints() + writer.getSkippedCheckpoints());
+			assertNull(writer.getLastFailure());
+		}
+	}
+}
\ No newline at end of file
@@ -30,4 +30,22 @@ class DNATest {
 		dna.copyTo(dna2);
 		assertArrayEquals(dna.getDNACode(), dna2.getDNACode(), 1e-8);
 	}
+	
+	@Test
+	void testDirtyTracking() {
+		DNA dna = new DNA(3);
+		DNA copy = new DNA(3);
+		assertTrue(dna.isDirty());
+		
+		dna.setFitness(42);
+		dna.readDNACode();
+		dna.copyTo(copy);
+		assertFalse(dna.isDirty());
+		assertFalse(copy.isDirty());
+		
+		dna.getDNACode();
+		dna.copyTo(copy);
+		assertTrue(dna.isDirty());
+		assertTrue(copy.isDirty());
+	}
 }
\ No newline at end of file
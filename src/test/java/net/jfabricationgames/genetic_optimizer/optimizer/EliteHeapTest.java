@@ -0,0 +1,72 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class EliteHeapTest {
+	
+	@Test
+	public void testDrainSortedTo_shouldContainTheBestIndividualsSorted() {
+		EliteHeap heap = new EliteHeap(3);
+		heap.clear(true);
+		double[] fitness = new double[] {5, 1, 4, 1, 3, 9, 0};
+		for (int i = 0; i < fitness.length; i++) {
+			heap.offer(i, fitness[i]);
+		}
+		
+		int[] elites = new int[3];
+		assertEquals(3, heap.drainSortedTo(elites));
+		
+		//equal fitness values are ordered by the index
+		assertArrayEquals(new int[] {6, 1, 3}, elites);
+		assertEquals(0, heap.getSize());
+	}
+	
+	@Test
+	public void testOfferAll_shouldFindTheSameElitesAsSorting() {
+		Random random = new Random(42);
+		double[] fitness = new double[10000];
+		for (int i = 0; i < fitness.length; i++) {
+			//many equal values
+			fitness[i] = random.nextInt(500);
+		}
+		for (boolean minimize : new boolean[] {true, false}) {
+			//split the individuals to 3 heaps (like the threads of the optimizer)
+			EliteHeap[] heaps = new EliteHeap[] {new EliteHeap(100), new EliteHeap(100), new EliteHeap(100)};
+			for (EliteHeap heap : heaps) {
+				heap.clear(minimize);
+			}
+			for (int i = 0; i < fitness.length; i++) {
+				heaps[i % 3].offer(i, fitness[i]);
+			}
+			heaps[0].offerAll(heaps[2]);
+			heaps[0].offerAll(heaps[1]);
+			int[] elites = new int[100];
+			heaps[0].drainSortedTo(elites);
+			
+			Comparator<Integer> byFitness = Comparator.comparingDouble(i -> minimize ? fitness[i] : -fitness[i]);
+			int[] expected = IntStream.range(0, fitness.length).boxed().sorted(byFitness.thenComparing(Comparator.naturalOrder())).limit(100)
+					.mapToInt(Integer::intValue).toArray();
+			assertArrayEquals(expected, elites, "minimize: " + minimize + ", elites: " + Arrays.toString(elites));
+		}
+	}
+	
+	@Test
+	public void testOffer_withLessIndividualsThanCapacity() {
+		EliteHeap heap = new EliteHeap(5);
+		heap.clear(false);
+		heap.offer(0, 1);
+		heap.offer(1, 2);
+		
+		int[] elites = new int[5];
+		assertEquals(2, heap.drainSortedTo(elites));
+		assertArrayEquals(new int[] {1, 0, 0, 0, 0}, elites);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class FitnessCacheTest {
+	
+	@Test
+	public void testGetAndPut() {
+		FitnessCache cache = new FitnessCache(16);
+		DNA dna = new DNA(new double[] {1, 2, 3});
+		
+		assertTrue(Double.isNaN(cache.get(dna)));
+		cache.put(dna, 42);
+		
+		//an identical DNA (also as a view on a population) is found in the cache
+		Population population = new Population(2, 3);
+		population.set(1, new DNA(new double[] {1, 2, 3}));
+		assertEquals(42, cache.get(new DNA(new double[] {1, 2, 3})), 1e-8);
+		assertEquals(42, cache.get(population.get(1)), 1e-8);
+		assertTrue(Double.isNaN(cache.get(population.get(0))));
+		
+		assertEquals(2, cache.getHits());
+		assertEquals(2, cache.getMisses());
+		assertEquals(0.5, cache.getHitRate(), 1e-8);
+	}
+	
+	@Test
+	public void testHash() {
+		assertEquals(FitnessCache.hash(new DNA(new double[] {1, 2, 3})), FitnessCache.hash(new DNA(new double[] {1, 2, 3})));
+		assertNotEquals(FitnessCache.hash(new DNA(new double[] {1, 2, 3})), FitnessCache.hash(new DNA(new double[] {3, 2, 1})));
+	}
+	
+	@Test
+	public void testCapacityIsBounded() {
+		FitnessCache cache = new FitnessCache(10);
+		assertEquals(16, cache.getCapacity());
+		
+		for (int i = 0; i < 1000; i++) {
+			cache.put(new DNA(new double[] {i}), i);
+		}
+		
+		int cached = 0;
+		for (int i = 0; i < 1000; i++) {
+			double fitness = cache.get(new DNA(new double[] {i}));
+			if (!Double.isNaN(fitness)) {
+				assertEquals(i, fitness, 1e-8);
+				cached++;
+			}
+		}
+		assertTrue(cached <= cache.getCapacity(), "Not more than " + cache.getCapacity() + " DNAs should be cached, but " + cached + " were found");
+	}
+	
+	@Test
+	public void testClockEvictionKeepsReferencedEntries() {
+		FitnessCache cache = new FitnessCache(FitnessCache.WAYS);//only one set
+		DNA referenced = new DNA(new double[] {-1});
+		cache.put(referenced, -1);
+		
+		for (int i = 0; i < 100; i++) {
+			//the entry is referenced before every insertion, so it gets a second chance every time
+			assertEquals(-1, cache.get(referenced), 1e-8);
+			cache.put(new DNA(new double[] {i}), i);
+		}
+	}
+	
+	@Test
+	public void testInitialization() {
+		assertThrows(IllegalArgumentException.class, () -> new FitnessCache(0));
+	}
+}
\ No newline at end of file
@@ -2,32 +2,58 @@ package net.jfabricationgames.genetic_optimizer.optimizer;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
+import net.jfabricationgames.genetic_optimizer.abort_condition.AbortCondition;
+import net.jfabricationgames.genetic_optimizer.abort_condition.GenerationCountAbortCondition;
 import net.jfabricationgames.genetic_optimizer.abort_condition.TimedAbortCondition;
 import net.jfabricationgames.genetic_optimizer.heredity.Heredity;
+import net.jfabricationgames.genetic_optimizer.heredity.HeredityRandom;
 import net.jfabricationgames.genetic_optimizer.mutation.Mutation;
+import net.jfabricationgames.genetic_optimizer.mutation.MutationNormalDistributed;
+import net.jfabricationgames.genetic_optimizer.selection.EquallyDistributedSelectionPressure;
 import net.jfabricationgames.genetic_optimizer.selection.FitnessProportionalSelectionPressure;
 import net.jfabricationgames.genetic_optimizer.selection.FitnessProportionalSelector;
+import net.jfabricationgames.genetic_optimizer.selection.FitnessStatistics;
+import net.jfabricationgames.genetic_optimizer.selection.SelectionPressure;
+import net.jfabricationgames.genetic_optimizer.selection.StochasticallyDistributedSelector;
+import net.jfabricationgames.genetic_optimizer.selection.TournamentSelector;
 
 class GeneticOptimizerTest {
 	
+	private static final int MAX_GENERATIONS = 10000;
+	
 	@Test
 	public void testOptimizeWithFitnessAsSumOfGenomes_shouldMinimizeTheBestDNAToFitnessOfZero() {
 		//ARRANGE
@@ -55,10 +81,11 @@ class GeneticOptimizerTest {
 			}
 		};
 		mutations.add(mutation);
-		int time = 50;//50 ms
+		AbortCondition abortCondition = generateAbortConditionForOptimalFitnessOfZero();
 		
-		GeneticOptimizer optimizer = new GeneticOptimizer(problem, 5, heredity, mutations, time);
-		optimizer.setDnaGenerator(generator);
+		GeneticOptimizer optimizer = new GeneticOptimizerBuilder().setProblem(problem).setPopulationSize(5).setHeredity(heredity)
+				.setMutations(mutations).setAbortCondition(abortCondition).setSelectionPressure(new EquallyDistributedSelectionPressure())
+				.setSelector(new StochasticallyDistributedSelector()).setDnaGenerator(generator).build();
 		
 		//ACT
 		optimizer.optimize();
@@ -106,12 +133,11 @@ class GeneticOptimizerTest {
 			}
 		};
 		mutations.add(mutation);
-		int time = 50;//50 ms
+		AbortCondition abortCondition = generateAbortConditionForOptimalFitnessOfZero();
 		
-		GeneticOptimizer optimizer = new GeneticOptimizer(maximizationProblem, 5, heredity, mutations, time);
-		optimizer.setDnaGenerator(generator);
-		optimizer.setMinimize(false);
-		optimizer.setElites(2);
+		GeneticOptimizer optimizer = new GeneticOptimizerBuilder().setProblem(maximizationProblem).setPopulationSize(5).setHeredity(heredity)
+				.setMutations(mutations).setAbortCondition(abortCondition).setSelectionPressure(new EquallyDistributedSelectionPressure())
+				.setSelector(new StochasticallyDistributedSelector()).setDnaGenerator(generator).setMinimize(false).setElites(2).build();
 		
 		//ACT
 		optimizer.optimize();
@@ -144,10 +170,35 @@ class GeneticOptimizerTest {
 			}
 		};
 		mutations.add(mutation);
-		int time = 50;//50 ms
+		AbortCondition abortCondition = generateAbortConditionForOptimalFitnessOfZero();
 		
-		GeneticOptimizer optimizer = new GeneticOptimizer(problem, 5, heredity, mutations, time);
-		optimizer.setDnaGenerator(generator);
+		GeneticOptimizer optimizer = new GeneticOptimizerBuilder().setProblem(problem).setPopulationSize(5).setHeredity(heredity)
+				.setMutations(mutations).setAbortCondition(abortCondition).setSelectionPressure(new EquallyDistributedSelectionPressure())
+				.setSelector(new StochasticallyDistributedSelector()).setDnaGenerator(generator).build();
+		
+		//ACT
+		optimizer.optimize();
+		
+		//ASSERT
+		assertEquals(0, optimizer.getBestDNA().getFitness(), 1e-8, "The optimal fitness of 0 should be found by the mutations");
+	}
+	
+	@Test
+	public void testOptimizeUsingContiguousPopulation_shouldFindAnOptimalSolution() {
+		//ARRANGE
+		GeneticOptimizerProblem problem = generateProblemWithFitnessAsSumOfViewGenomes(5);
+		Mutation mutation = (dna) -> {
+			for (int i = dna.getOffset(); i < dna.getOffset() + dna.getLength(); i++) {
+				if (Math.random() < 0.05) {//5% chance of lowering the current genome to 0
+					dna.getDNACode()[i] = 0;
+				}
+			}
+		};
+		
+		GeneticOptimizerBuilder builder = generateDefaultBuilder();
+		builder.setProblem(problem).setHeredity(new HeredityRandom(0.5)).addMutation(mutation).setPopulationSize(20).setRootPopulation(null)
+				.setElites(2).setAbortCondition(generateAbortConditionForOptimalFitnessOfZero()).setUseContiguousPopulation(true);
+		GeneticOptimizer optimizer = builder.build();
 		
 		//ACT
 		optimizer.optimize();
@@ -156,6 +207,480 @@ class GeneticOptimizerTest {
 		assertEquals(0, optimizer.getBestDNA().getFitness(), 1e-8, "The optimal fitness of 0 should be found by the mutations");
 	}
 	
+	@Test
+	public void testGenerateNextPopulationUsingContiguousPopulation_shouldCopyTheIndividualsIntoTheNextPopulation() throws InterruptedException {
+		//ARRANGE
+		GeneticOptimizerBuilder builder = generateDefaultBuilder();
+		//the children are written into the rows of the next population by the default implementation of the in-place heredity
+		Heredity heredity = (father, mother) -> father;
+		builder.setProblem(generateProblemWithFitnessAsSumOfViewGenomes(5)).setHeredity(heredity).setElites(1).setUseContiguousPopulation(true);
+		GeneticOptimizer optimizer = builder.build();
+		
+		Population population = new Population(5, 5);
+		Population nextPopulation = new Population(5, 5);
+		for (int i = 0; i < population.getSize(); i++) {
+			population.get(i).getDNACode()[population.get(i).getOffset()] = i + 1;
+			population.setFitness(i, i + 1);
+		}
+		DNA[] rows = nextPopulation.getRows();
+		
+		//ACT
+		optimizer.generateNextPopulation(new int[] {4, 0, 3, 0, 2, 0, 1, 0}, population.getRows(), rows);
+		
+		//ASSERT
+		//the DNA objects are not replaced, but the genomes are copied into the rows of the next population
+		assertSame(rows, nextPopulation.getRows());
+		for (int i = 0; i < rows.length; i++) {
+			assertSame(nextPopulation.get(i), rows[i]);
+		}
+		//the children are the fathers and the elite (individual 0 with fitness 1) is added to the end
+		assertArrayEquals(new double[] {5, 4, 3, 2, 1}, nextPopulation.getFitness(), 1e-8);
+		assertEquals(5, nextPopulation.getGenomes()[0], 1e-8);
+		assertEquals(1, nextPopulation.getGenomes()[20], 1e-8);
+	}
+	
+	@Test
+	public void testGenerateNextPopulationUsingBatchProblem_shouldCalculateTheFitnessOfEachThreadInOneBatch() throws InterruptedException {
+		//ARRANGE
+		List<int[]> batches = Collections.synchronizedList(new ArrayList<int[]>());
+		BatchGeneticOptimizerProblem problem = new BatchGeneticOptimizerProblem() {
+			
+			@Override
+			public int getLength() {
+				return 5;
+			}
+			
+			@Override
+			public double calculateFitness(DNA dna) {
+				fail("The fitness should only be calculated in batches");
+				return 0;
+			}
+			
+			@Override
+			public void calculateFitness(DNA[] batch, int from, int to, double[] fitness) {
+				batches.add(new int[] {from, to});
+				for (int i = from; i < to; i++) {
+					fitness[i] = 42;
+				}
+			}
+		};
+		GeneticOptimizerBuilder builder = generateDefaultBuilder();
+		builder.setProblem(problem).setPopulationSize(10).setElites(0).setUsedThreads(2).setRootPopulation(generateInitialPopulation(10, 5))
+				.setTaskScheduling(TaskScheduling.STATIC);
+		GeneticOptimizer optimizer = builder.build();
+		
+		DNA[] population = generateInitialPopulation(10, 5).toArray(new DNA[10]);
+		DNA[] nextPopulation = new DNA[10];
+		
+		//every child is a copy of a different father
+		int[] selectedReproductionIndividuals = new int[20];
+		for (int i = 0; i < selectedReproductionIndividuals.length; i++) {
+			selectedReproductionIndividuals[i] = i / 2;
+		}
+		
+		//ACT
+		optimizer.generateNextPopulation(selectedReproductionIndividuals, population, nextPopulation);
+		
+		//ASSERT
+		assertEquals(2, batches.size(), "Each of the two threads should calculate the fitness of it's slice in one batch");
+		batches.sort((b1, b2) -> Integer.compare(b1[0], b2[0]));
+		assertArrayEquals(new int[] {0, 5}, batches.get(0));
+		assertArrayEquals(new int[] {5, 10}, batches.get(1));
+		for (DNA dna : nextPopulation) {
+			assertEquals(42, dna.getFitness(), 1e-8);
+		}
+	}
+	
+	@Test
+	public void testGenerateNextPopulationUsingFitnessCache_shouldNotCalculateTheFitnessOfCachedDNAsAgain() throws InterruptedException {
+		//ARRANGE
+		GeneticOptimizerProblem problem = generateProblemWithFitnessAsSumOfGenomes();
+		when(problem.getLength()).thenReturn(5);
+		GeneticOptimizerBuilder builder = generateDefaultBuilder();
+		builder.setProblem(problem).setFitnessCacheSize(100);
+		GeneticOptimizer optimizer = builder.build();
+		
+		DNA[] population = generateInitialPopulation(5, 5).toArray(new DNA[5]);
+		population[1].getDNACode()[0] = 1;
+		DNA[] nextPopulation = new DNA[5];
+		
+		//ACT
+		//the fathers are copied as children (all children are the DNA at index 0 and 1)
+		optimizer.generateNextPopulation(new int[] {0, 1, 1, 0, 0, 1, 1, 0, 0, 1}, population, nextPopulation);
+		//mark the DNAs as changed (like a mutation that doesn't change the values would do), so they are not skipped because they're not dirty
+		population[0].markDirty();
+		population[1].markDirty();
+		optimizer.generateNextPopulation(new int[] {0, 1, 1, 0, 0, 1, 1, 0, 0, 1}, population, nextPopulation);
+		
+		//ASSERT
+		//the fitness of all children of the first generation is calculated (in one batch), the second generation is found in the cache
+		verify(problem, times(5)).calculateFitness(any(DNA.class));
+		assertEquals(5, optimizer.getFitnessCache().getHits());
+		assertEquals(5, optimizer.getFitnessCache().getMisses());
+		for (DNA dna : nextPopulation) {
+			assertEquals(dna.getDNACode()[0], dna.getFitness(), 1e-8);
+		}
+	}
+	
+	@Test
+	public void testGenerateNextPopulationWithUnchangedChildren_shouldSkipTheFitnessCalculation() throws InterruptedException {
+		//ARRANGE
+		GeneticOptimizerProblem problem = generateProblemWithFitnessAsSumOfGenomes(5);
+		GeneticOptimizerBuilder builder = generateDefaultBuilder();
+		builder.setProblem(problem);
+		GeneticOptimizer optimizer = builder.build();
+		
+		DNA[] population = generateInitialPopulation(5, 5).toArray(new DNA[5]);
+		for (int i = 0; i < population.length; i++) {
+			population[i].setFitness(i);
+		}
+		DNA[] nextPopulation = new DNA[5];
+		
+		//ACT
+		//the children are the (unchanged) fathers
+		optimizer.generateNextPopulation(new int[] {0, 1, 1, 0, 2, 1, 3, 0, 4, 1}, population, nextPopulation);
+		
+		//ASSERT
+		verify(problem, times(0)).calculateFitness(any(DNA.class));
+		assertEquals(5, optimizer.getSkippedEvaluations());
+		for (int i = 0; i < nextPopulation.length; i++) {
+			assertEquals(i, nextPopulation[i].getFitness(), 1e-8);
+		}
+	}
+	
+	@Test
+	public void testGenerateNextPopulationUsingDynamicTaskScheduling_shouldCalculateEveryChildOnce() throws InterruptedException {
+		//ARRANGE
+		List<int[]> batches = Collections.synchronizedList(new ArrayList<int[]>());
+		BatchGeneticOptimizerProblem problem = new BatchGeneticOptimizerProblem() {
+			
+			@Override
+			public int getLength() {
+				return 5;
+			}
+			
+			@Override
+			public double calculateFitness(DNA dna) {
+				return dna.readDNACode()[0];
+			}
+			
+			@Override
+			public void calculateFitness(DNA[] batch, int from, int to, double[] fitness) {
+				batches.add(new int[] {from, to});
+				BatchGeneticOptimizerProblem.super.calculateFitness(batch, from, to, fitness);
+			}
+		};
+		GeneticOptimizerBuilder builder = generateDefaultBuilder();
+		builder.setProblem(problem).setPopulationSize(100).setElites(0).setUsedThreads(4).setRootPopulation(generateInitialPopulation(100, 5))
+				.setChunkSize(3);
+		GeneticOptimizer optimizer = builder.build();
+		
+		DNA[] population = generateInitialPopulation(100, 5).toArray(new DNA[100]);
+		int[] selectedReproductionIndividuals = new int[200];
+		for (int i = 0; i < population.length; i++) {
+			population[i].getDNACode()[0] = i;
+			selectedReproductionIndividuals[2 * i] = i;
+		}
+		DNA[] nextPopulation = new DNA[100];
+		
+		//ACT
+		optimizer.generateNextPopulation(selectedReproductionIndividuals, population, nextPopulation);
+		
+		//ASSERT
+		//the children are calculated in chunks of 3 individuals (the last chunk contains only one individual)
+		assertEquals(34, batches.size());
+		int calculated = 0;
+		for (int[] batch : batches) {
+			assertTrue(batch[1] - batch[0] <= 3);
+			calculated += batch[1] - batch[0];
+		}
+		assertEquals(100, calculated);
+		for (int i = 0; i < nextPopulation.length; i++) {
+			assertEquals(i, nextPopulation[i].getFitness(), 1e-8);
+		}
+	}
+	
+	@Test
+	public void testOptimizeWithMetrics_shouldReportEveryPhaseOfEveryGeneration() {
+		//ARRANGE
+		LongAdderOptimizerMetrics metrics = new LongAdderOptimizerMetrics();
+		GeneticOptimizer optimizer = generateDefaultBuilder().setProblem(generateProblemWithFitnessAsSumOfGenomes(5))
+				.setRootPopulation(generateInitialPopulation(20, 5)).setPopulationSize(20).setElites(1).setUsedThreads(2)
+				.setAbortCondition(new GenerationCountAbortCondition(5)).setMetrics(metrics).build();
+		
+		//ACT
+		optimizer.optimize();
+		
+		//ASSERT
+		//the initial population and 5 generations
+		assertEquals(6, metrics.getGenerations());
+		for (OptimizationPhase phase : new OptimizationPhase[] {OptimizationPhase.SELECTION_PRESSURE, OptimizationPhase.SELECTION,
+				OptimizationPhase.ELITES, OptimizationPhase.BEST_DNA_SCAN}) {
+			assertEquals(5, metrics.getCount(phase), "Unexpected count of phase " + phase);
+		}
+		for (OptimizationPhase phase : new OptimizationPhase[] {OptimizationPhase.HEREDITY, OptimizationPhase.MUTATION,
+				OptimizationPhase.FITNESS_CALCULATION}) {
+			assertTrue(metrics.getCount(phase) >= 5, "Unexpected count of phase " + phase);
+		}
+		//the children are the unchanged fathers (with a known fitness), so only the initial population is evaluated
+		assertEquals(20, metrics.getEvaluations());
+		//the copies of the root population and 19 children in every generation
+		assertEquals(20 + 5 * 19, metrics.getAllocatedDNAs());
+		assertEquals(2, metrics.getThreads());
+		assertTrue(metrics.getBusyTime(0) > 0);
+		assertTrue(metrics.getTotalGenerationTime() > 0);
+	}
+	
+	@Test
+	public void testOptimizeWithListener_shouldDeliverTheEventsOfTheOptimization() throws InterruptedException {
+		//ARRANGE
+		List<DNA> rootPopulation = generateInitialPopulation(10, 5);
+		for (int i = 0; i < rootPopulation.size(); i++) {
+			rootPopulation.get(i).getDNACode()[0] = i;
+		}
+		GeneticOptimizer optimizer = generateDefaultBuilder().setProblem(generateProblemWithFitnessAsSumOfGenomes(5)).setRootPopulation(rootPopulation)
+				.setPopulationSize(10).setAbortCondition(new GenerationCountAbortCondition(3)).build();
+		List<OptimizationEvent> events = Collections.synchronizedList(new ArrayList<OptimizationEvent>());
+		CountDownLatch finished = new CountDownLatch(1);
+		optimizer.addListener(event -> {
+			events.add(event);
+			if (event.getType() == OptimizationEvent.Type.OPTIMIZATION_FINISHED) {
+				finished.countDown();
+			}
+		});
+		
+		//ACT
+		optimizer.optimize();
+		
+		//ASSERT
+		assertTrue(finished.await(5, TimeUnit.SECONDS), "The end of the optimization should be delivered");
+		//a new best DNA in the initial population and 4 completed generations (including the initial population)
+		assertEquals(6, events.size());
+		assertEquals(OptimizationEvent.Type.NEW_BEST_DNA, events.get(0).getType());
+		assertEquals(0, events.get(0).getBestDNA().getFitness(), 1e-8);
+		for (int i = 0; i <= 3; i++) {
+			OptimizationEvent event = events.get(i + 1);
+			assertEquals(OptimizationEvent.Type.GENERATION_COMPLETED, event.getType());
+			assertEquals(i, event.getGeneration());
+			assertTrue(event.getBestFitness() <= event.getMeanFitness() && event.getMeanFitness() <= event.getWorstFitness());
+			//the best DNA of the optimization is kept, even if it's not part of the current population anymore
+			assertEquals(0, event.getBestDNA().getFitness(), 1e-8);
+		}
+		assertEquals(0, events.get(1).getBestFitness(), 1e-8);
+		assertEquals(4.5, events.get(1).getMeanFitness(), 1e-8);
+		assertEquals(9, events.get(1).getWorstFitness(), 1e-8);
+		//the events contain snapshots of the best DNA, that are only copied again if a new best DNA was found
+		assertTrue(events.get(0).getBestDNA() != optimizer.getBestDNA());
+		for (OptimizationEvent event : events) {
+			assertSame(events.get(0).getBestDNA(), event.getBestDNA());
+		}
+		assertEquals(OptimizationEvent.Type.OPTIMIZATION_FINISHED, events.get(5).getType());
+		assertEquals(1, events.get(5).getProgress(), 1e-8);
+		assertEquals(1, optimizer.getProgress(), 1e-8);
+		assertTrue(events.get(2).getProgress() <= events.get(3).getProgress(), "The progress should increase with the generations");
+		//the thread that delivers the events terminates after the end of the optimization
+		for (int i = 0; i < 500 && optimizer.getEventDispatcher().isDelivering(); i++) {
+			Thread.sleep(10);
+		}
+		assertFalse(optimizer.getEventDispatcher().isDelivering());
+	}
+	
+	@Test
+	public void testOptimizeWithCheckpoint_shouldResumeTheOptimizationFromTheCheckpoint() throws IOException, InterruptedException {
+		//ARRANGE
+		Path checkpointPath = Files.createTempDirectory("checkpoint").resolve("optimization.checkpoint");
+		List<DNA> rootPopulation = generateInitialPopulation(10, 5);
+		for (int i = 0; i < rootPopulation.size(); i++) {
+			rootPopulation.get(i).getDNACode()[0] = i;
+		}
+		GeneticOptimizer optimizer = generateDefaultBuilder().setProblem(generateProblemWithFitnessAsSumOfGenomes(5)).setRootPopulation(rootPopulation)
+				.setPopulationSize(10).setAbortCondition(new GenerationCountAbortCondition(3)).setCheckpointPath(checkpointPath).setCheckpointInterval(2)
+				.build();
+		
+		//ACT
+		optimizer.optimize();
+		Checkpoint checkpoint = Checkpoint.read(checkpointPath);
+		
+		GeneticOptimizerProblem resumedProblem = generateProblemWithFitnessAsSumOfGenomes(5);
+		GeneticOptimizer resumedOptimizer = generateDefaultBuilder().setProblem(resumedProblem).setPopulationSize(10)
+				.setAbortCondition(new GenerationCountAbortCondition(5)).setResumeCheckpointPath(checkpointPath).build();
+		resumedOptimizer.startOptimization();
+		
+		//ASSERT
+		//the final state of the optimization is written when the optimization ends
+		assertEquals(3, checkpoint.getGeneration());
+		assertEquals(10, checkpoint.getPopulationSize());
+		assertEquals(5, checkpoint.getLength());
+		assertEquals(0, checkpoint.getBestDNA().getFitness(), 1e-8);
+		
+		assertEquals(3, resumedOptimizer.getGeneration());
+		assertEquals(0, resumedOptimizer.getBestDNA().getFitness(), 1e-8);
+		for (int i = 0; i < 10; i++) {
+			assertArrayEquals(optimizer.getPopulation()[i].readDNACode(), resumedOptimizer.getPopulation()[i].readDNACode(), 1e-8);
+			assertEquals(optimizer.getPopulation()[i].getFitness(), resumedOptimizer.getPopulation()[i].getFitness(), 1e-8);
+		}
+		//the fitness of the resumed population is not calculated again
+		verify(resumedProblem, times(0)).calculateFitness(any(DNA.class));
+		
+		//the resumed optimization continues with the next generation
+		resumedOptimizer.optimizeNextGeneration();
+		assertEquals(4, resumedOptimizer.getGeneration());
+		assertEquals(0, resumedOptimizer.getBestDNA().getFitness(), 1e-8);
+	}
+	
+	@Test
+	public void testOptimizeWithCheckpointAndSeed_shouldResumeExactlyTheSameOptimization() throws IOException {
+		//ARRANGE
+		Path checkpointPath = Files.createTempDirectory("checkpoint").resolve("optimization.checkpoint");
+		GeneticOptimizerBuilder builder = generateDefaultBuilder().setProblem(generateProblemWithFitnessAsSumOfGenomes(5))
+				.setRootPopulation(new ArrayList<DNA>(0)).setPopulationSize(20).setElites(2).setHeredity(new HeredityRandom(0.5))
+				.addMutation(new MutationNormalDistributed(0.5, 0.5, 0, 1)).setSelector(new StochasticallyDistributedSelector());
+		GeneticOptimizer optimizer = builder.setAbortCondition(new GenerationCountAbortCondition(6)).setSeed(42L).build();
+		GeneticOptimizer stoppedOptimizer = builder.setAbortCondition(new GenerationCountAbortCondition(3)).setCheckpointPath(checkpointPath)
+				.setCheckpointInterval(10).build();
+		
+		//ACT
+		optimizer.optimize();
+		stoppedOptimizer.optimize();
+		//the resumed optimizer doesn't know the seed (it's restored from the checkpoint)
+		GeneticOptimizer resumedOptimizer = builder.setAbortCondition(new GenerationCountAbortCondition(6)).setSeed(null).setCheckpointPath(null)
+				.setResumeCheckpointPath(checkpointPath).build();
+		resumedOptimizer.optimize();
+		
+		//ASSERT
+		assertEquals(42L, Checkpoint.read(checkpointPath).getSeed().longValue());
+		assertEquals(42L, resumedOptimizer.getSeed().longValue());
+		assertEquals(6, resumedOptimizer.getGeneration());
+		for (int i = 0; i < 20; i++) {
+			//the results are bit-identical
+			assertArrayEquals(optimizer.getPopulation()[i].readDNACode(), resumedOptimizer.getPopulation()[i].readDNACode());
+		}
+		assertArrayEquals(optimizer.getBestDNA().readDNACode(), resumedOptimizer.getBestDNA().readDNACode());
+	}
+	
+	@Test
+	public void testSetResumeCheckpoint_shouldRejectCheckpointsThatDontMatchTheOptimizer() {
+		GeneticOptimizer optimizer = generateDefaultBuilder().setProblem(generateProblemWithFitnessAsSumOfGenomes(5)).setPopulationSize(10).build();
+		DNA dna = new DNA(5);
+		DNA shortDNA = new DNA(4);
+		DNA[] shortPopulation = Collections.nCopies(10, shortDNA).toArray(new DNA[10]);
+		
+		assertThrows(IllegalArgumentException.class, () -> optimizer.setResumeCheckpoint(new Checkpoint(1, 0, dna, new DNA[] {dna})));
+		assertThrows(IllegalArgumentException.class, () -> optimizer.setResumeCheckpoint(new Checkpoint(1, 0, shortDNA, shortPopulation)));
+		assertThrows(IllegalArgumentException.class, () -> optimizer.setCheckpoint(Paths.get("optimization.checkpoint"), 0));
+	}
+	
+	@Test
+	public void testOptimizeWithSeed_shouldCreateTheSameResultsIndependentOfTheUsedThreads() {
+		double[][] genomes = new double[3][];
+		int[] usedThreads = new int[] {1, 4, 4};
+		for (int run = 0; run < 3; run++) {
+			GeneticOptimizer optimizer = generateDefaultBuilder().setProblem(generateProblemWithFitnessAsSumOfGenomes(5))
+					.setRootPopulation(new ArrayList<DNA>(0)).setPopulationSize(40).setHeredity(new HeredityRandom(0.5))
+					.addMutation(new MutationNormalDistributed(0.5, 0.5, 0, 1)).setSelector(new StochasticallyDistributedSelector())
+					.setAbortCondition(new GenerationCountAbortCondition(10)).setUsedThreads(usedThreads[run]).setChunkSize(3).setSeed(42L).build();
+			
+			optimizer.optimize();
+			
+			genomes[run] = new double[40 * 5];
+			for (int i = 0; i < 40; i++) {
+				System.arraycopy(optimizer.getPopulation()[i].readDNACode(), 0, genomes[run], i * 5, 5);
+			}
+		}
+		
+		//the results are bit-identical (not only within a tolerance)
+		assertArrayEquals(genomes[0], genomes[1]);
+		assertArrayEquals(genomes[0], genomes[2]);
+	}
+	
+	@Test
+	public void testOptimizeWithPersistentWorkers_shouldCreateTheSameResultsAsTheExecutor() {
+		double[][] genomes = new double[2][];
+		for (int run = 0; run < 2; run++) {
+			GeneticOptimizer optimizer = generateDefaultBuilder().setProblem(generateProblemWithFitnessAsSumOfGenomes(5))
+					.setRootPopulation(new ArrayList<DNA>(0)).setPopulationSize(40).setElites(3).setHeredity(new HeredityRandom(0.5))
+					.addMutation(new MutationNormalDistributed(0.5, 0.5, 0, 1)).setSelector(new StochasticallyDistributedSelector())
+					.setAbortCondition(new GenerationCountAbortCondition(10)).setUsedThreads(4).setChunkSize(3).setSeed(42L)
+					.setUsePersistentWorkers(run == 1).build();
+			
+			optimizer.optimize();
+			
+			genomes[run] = new double[40 * 5];
+			for (int i = 0; i < 40; i++) {
+				System.arraycopy(optimizer.getPopulation()[i].readDNACode(), 0, genomes[run], i * 5, 5);
+			}
+			assertEquals(10, optimizer.getGeneration());
+		}
+		
+		assertArrayEquals(genomes[0], genomes[1]);
+	}
+	
+	@Test
+	public void testFinishOptimizationWithPersistentWorkers_shouldTerminateTheWorkers() throws InterruptedException {
+		//ARRANGE
+		GeneticOptimizer optimizer = generateDefaultBuilder().setProblem(generateProblemWithFitnessAsSumOfGenomes(5))
+				.setRootPopulation(new ArrayList<DNA>(0)).setPopulationSize(40).setElites(3).setHeredity(new HeredityRandom(0.5))
+				.setSelector(new StochasticallyDistributedSelector()).setUsedThreads(4).setUsePersistentWorkers(true).build();
+		List<Thread> workersBefore = getWorkerThreads();
+		
+		//ACT
+		//the optimization is controlled from outside (like the islands of an island model)
+		optimizer.startOptimization();
+		optimizer.optimizeNextGeneration();
+		optimizer.optimizeNextGeneration();
+		List<Thread> workers = getWorkerThreads();
+		workers.removeAll(workersBefore);
+		optimizer.finishOptimization();
+		
+		//ASSERT
+		assertEquals(3, workers.size());
+		for (Thread worker : workers) {
+			worker.join(1000);
+			assertFalse(worker.isAlive());
+		}
+		//the executor service is not needed if the persistent workers run the phases
+		assertNull(optimizer.getUsedExecutorService());
+	}
+	
+	@Test
+	public void testFinishOptimization_shouldShutdownTheExecutorService() throws InterruptedException {
+		//ARRANGE
+		GeneticOptimizer optimizer = generateDefaultBuilder().setProblem(generateProblemWithFitnessAsSumOfGenomes(5))
+				.setRootPopulation(new ArrayList<DNA>(0)).setPopulationSize(40).setHeredity(new HeredityRandom(0.5))
+				.setSelector(new StochasticallyDistributedSelector()).setUsedThreads(4).build();
+		
+		//ACT
+		optimizer.startOptimization();
+		optimizer.optimizeNextGeneration();
+		ExecutorService executorService = optimizer.getUsedExecutorService();
+		optimizer.finishOptimization();
+		
+		//ASSERT
+		assertNotNull(executorService);
+		assertTrue(executorService.isShutdown());
+		assertNull(optimizer.getUsedExecutorService());
+	}
+	
+	private List<Thread> getWorkerThreads() {
+		List<Thread> workers = new ArrayList<Thread>();
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (thread.getName().startsWith("genetic-optimizer-worker-") && thread.isAlive()) {
+				workers.add(thread);
+			}
+		}
+		return workers;
+	}
+	
+	@Test
+	public void testGetUsedChunkSize() {
+		GeneticOptimizer optimizer = generateDefaultBuilder().setUsedThreads(4).build();
+		
+		assertEquals(6, optimizer.getUsedChunkSize(100));
+		assertEquals(1, optimizer.getUsedChunkSize(10));
+		optimizer.setChunkSize(20);
+		assertEquals(20, optimizer.getUsedChunkSize(100));
+	}
+	
 	@Test
 	public void testCreateInitialPopulationFromRootPopulation_shouldCreateAnInitialPopulationFromTheRootPopulation() throws InterruptedException {
 		//ARRANGE
@@ -589,7 +1114,47 @@ class GeneticOptimizerTest {
 	}
 	
 	@Test
-	public void testAddElites() {
+	public void testOptimizeWithPopulationSelector_shouldNotUseTheSelectionPressure() throws InterruptedException {
+		//ARRANGE
+		SelectionPressure selectionPressure = mock(SelectionPressure.class);
+		GeneticOptimizer optimizer = generateDefaultBuilder().setProblem(generateProblemWithFitnessAsSumOfGenomes(5)).setPopulationSize(10)
+				.setSelectionPressure(selectionPressure).setSelector(new TournamentSelector(3, false)).build();
+		
+		//ACT
+		optimizer.startOptimization();
+		optimizer.optimizeNextGeneration();
+		optimizer.optimizeNextGeneration();
+		
+		//ASSERT
+		verify(selectionPressure, never()).calculateSelectionProbability(any(DNA[].class), anyInt(), anyBoolean(), anyLong());
+		assertEquals(2, optimizer.getGeneration());
+	}
+	
+	@Test
+	public void testCalculateFitnessStatistics_shouldBeIndependentOfTheNumberOfThreads() throws InterruptedException {
+		//ARRANGE
+		DNA[] population = new DNA[3 * FitnessStatistics.BLOCK_SIZE + 42];
+		for (int i = 0; i < population.length; i++) {
+			population[i] = new DNA(0);
+			population[i].setFitness(Math.sin(i) * 1000 + i * 1e-3);
+		}
+		GeneticOptimizer optimizer = generateDefaultBuilder().setUsedThreads(4).build();
+		
+		//ACT
+		FitnessStatistics parallelStatistics = optimizer.calculateFitnessStatistics(population);
+		FitnessStatistics statistics = FitnessStatistics.of(population);
+		
+		//ASSERT
+		assertEquals(population.length, parallelStatistics.getCount());
+		assertEquals(statistics.getMin(), parallelStatistics.getMin());
+		assertEquals(statistics.getMax(), parallelStatistics.getMax());
+		assertEquals(statistics.getSum(), parallelStatistics.getSum());
+		assertEquals(statistics.getMean(), parallelStatistics.getMean());
+		assertEquals(statistics.getSquaredDeviations(), parallelStatistics.getSquaredDeviations());
+	}
+	
+	@Test
+	public void testAddElites() throws InterruptedException {
 		int populationSize = 5;
 		int dnaLength = 5;
 		int elites = 1;
@@ -624,6 +1189,77 @@ class GeneticOptimizerTest {
 		assertArrayEquals(expectedNextPopulation, nextPopulation);
 	}
 	
+	@Test
+	public void testAddElites_shouldAddTheBestIndividualsSorted() throws InterruptedException {
+		GeneticOptimizer optimizer = generateDefaultBuilder().setElites(3).setPopulationSize(6).setMinimize(true).build();
+		
+		double[] fitness = new double[] {4, 2, 5, 0, 3, 1};
+		DNA[] population = new DNA[fitness.length];
+		for (int i = 0; i < population.length; i++) {
+			population[i] = new DNA(1);
+			population[i].setFitness(fitness[i]);
+		}
+		DNA[] nextPopulation = new DNA[6];
+		
+		optimizer.addElites(population, nextPopulation);
+		
+		assertArrayEquals(new DNA[] {null, null, null, population[3], population[5], population[1]}, nextPopulation);
+	}
+	
+	@Test
+	public void testFindElites_shouldBeIndependentOfTheNumberOfThreads() throws InterruptedException {
+		//ARRANGE
+		DNA[] population = new DNA[10000];
+		for (int i = 0; i < population.length; i++) {
+			population[i] = new DNA(1);
+			//many individuals with equal fitness
+			population[i].setFitness((i * 7919) % 1000);
+		}
+		GeneticOptimizer optimizer = generateDefaultBuilder().setElites(50).setPopulationSize(population.length).setUsedThreads(1).build();
+		GeneticOptimizer parallelOptimizer = generateDefaultBuilder().setElites(50).setPopulationSize(population.length).setUsedThreads(4).build();
+		DNA[] nextPopulation = new DNA[population.length];
+		DNA[] parallelNextPopulation = new DNA[population.length];
+		
+		//ACT
+		optimizer.findElites(population);
+		parallelOptimizer.findElites(population);
+		optimizer.addElites(population, nextPopulation);
+		parallelOptimizer.addElites(population, parallelNextPopulation);
+		
+		//ASSERT
+		//the first individual with fitness 0 is the best one
+		assertSame(population[0], nextPopulation[population.length - 50]);
+		assertArrayEquals(nextPopulation, parallelNextPopulation);
+		for (int i = population.length - 50 + 1; i < population.length; i++) {
+			assertTrue(nextPopulation[i - 1].getFitness() <= nextPopulation[i].getFitness());
+		}
+	}
+	
+	@Test
+	public void testStartOptimizationInThreads_shouldChooseTheFirstOfEqualBestDNAs() throws InterruptedException {
+		//ARRANGE
+		List<DNA> rootPopulation = new ArrayList<DNA>();
+		for (int i = 0; i < 4000; i++) {
+			rootPopulation.add(new DNA(new double[] {1 + i % 7, 1}));
+		}
+		//two individuals with the best fitness of 1 (in different ranges of the threads)
+		rootPopulation.set(3000, new DNA(new double[] {0, 1}));
+		rootPopulation.set(1500, new DNA(new double[] {1, 0}));
+		
+		for (int threads : new int[] {1, 4}) {
+			GeneticOptimizer optimizer = generateDefaultBuilder().setProblem(generateProblemWithFitnessAsSumOfGenomes(2)).setRootPopulation(rootPopulation)
+					.setPopulationSize(rootPopulation.size()).setUsedThreads(threads).setChunkSize(100).build();
+			
+			//ACT
+			optimizer.startOptimization();
+			optimizer.optimizeNextGeneration();
+			
+			//ASSERT
+			assertEquals(1, optimizer.getBestDNA().getFitness(), 1e-8);
+			assertArrayEquals(new double[] {1, 0}, optimizer.getBestDNA().getDNACode(), 1e-8);
+		}
+	}
+	
 	@Test
 	public void testInterruptThread() {
 		GeneticOptimizerBuilder builder = generateDefaultBuilder();
@@ -642,7 +1278,7 @@ class GeneticOptimizerTest {
 		thread.start();
 		long startingTime = System.currentTimeMillis();
 		
-		//interrupting the thread should lead to the interrupting of the calculation 
+		//interrupting the thread should lead to the interrupting of the calculation
 		thread.interrupt();
 		try {
 			//wait for the calculation thread to join
@@ -721,6 +1357,20 @@ class GeneticOptimizerTest {
 		assertArrayEquals(new int[] {0, 1, 2, 2}, threadTasks4);
 	}
 	
+	/**
+	 * An abort condition that stops the optimization when the optimal fitness of 0 is found or after a maximum number of generations. The
+	 * optimization is bound by the generations (not by the time), so the result doesn't depend on the speed of the machine.
+	 */
+	private AbortCondition generateAbortConditionForOptimalFitnessOfZero() {
+		return new GenerationCountAbortCondition(MAX_GENERATIONS) {
+			
+			@Override
+			public boolean abort(DNA bestDna, long timeUsed, int generation) {
+				return bestDna.getFitness() == 0 || super.abort(bestDna, timeUsed, generation);
+			}
+		};
+	}
+	
 	private GeneticOptimizerBuilder generateDefaultBuilder() {
 		GeneticOptimizerBuilder builder = new GeneticOptimizerBuilder();
 		builder.setProblem(generateProblemWithFitnessAsSumOfGenomes()).setHeredity(generateHeredityThatReturnsFatherCromosome())
@@ -767,6 +1417,28 @@ class GeneticOptimizerTest {
 		return problem;
 	}
 	
+	/**
+	 * A problem that calculates the fitness as sum of the genomes, that can handle DNAs that are views on a {@link Population}.
+	 */
+	private GeneticOptimizerProblem generateProblemWithFitnessAsSumOfViewGenomes(int dnaSize) {
+		return new GeneticOptimizerProblem() {
+			
+			@Override
+			public int getLength() {
+				return dnaSize;
+			}
+			
+			@Override
+			public double calculateFitness(DNA dna) {
+				double sum = 0;
+				for (int i = dna.getOffset(); i < dna.getOffset() + dna.getLength(); i++) {
+					sum += dna.getDNACode()[i];
+				}
+				return sum;
+			}
+		};
+	}
+	
 	private Heredity generateHeredityThatReturnsFatherCromosome() {
 		Heredity heredity = mock(Heredity.class);
 		when(heredity.mixDNA(any(DNA.class), any(DNA.class))).thenAnswer(new Answer<DNA>() {
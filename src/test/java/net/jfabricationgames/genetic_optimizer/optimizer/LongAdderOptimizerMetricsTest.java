@@ -0,0 +1,79 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class LongAdderOptimizerMetricsTest {
+	
+	@Test
+	public void testRecordPhase() {
+		LongAdderOptimizerMetrics metrics = new LongAdderOptimizerMetrics();
+		for (int i = 1; i <= 100; i++) {
+			metrics.recordPhase(OptimizationPhase.SELECTION, i * 1000);
+		}
+		metrics.recordPhase(OptimizationPhase.MUTATION, 5);
+		
+		assertEquals(100, metrics.getCount(OptimizationPhase.SELECTION));
+		assertEquals(5050 * 1000, metrics.getTotalTime(OptimizationPhase.SELECTION));
+		assertEquals(50500, metrics.getMeanTime(OptimizationPhase.SELECTION), 1e-8);
+		assertEquals(1, metrics.getCount(OptimizationPhase.MUTATION));
+		assertEquals(0, metrics.getCount(OptimizationPhase.HEREDITY));
+		assertEquals(0, metrics.getMeanTime(OptimizationPhase.HEREDITY), 1e-8);
+	}
+	
+	@Test
+	public void testGetPercentileTime_shouldReturnTheUpperBoundOfTheBucket() {
+		LongAdderOptimizerMetrics metrics = new LongAdderOptimizerMetrics();
+		for (int i = 0; i < 90; i++) {
+			metrics.recordPhase(OptimizationPhase.SELECTION, 100);//in [64, 128)
+		}
+		for (int i = 0; i < 10; i++) {
+			metrics.recordPhase(OptimizationPhase.SELECTION, 5000);//in [4096, 8192)
+		}
+		
+		assertEquals(127, metrics.getPercentileTime(OptimizationPhase.SELECTION, 0.5));
+		assertEquals(127, metrics.getPercentileTime(OptimizationPhase.SELECTION, 0.9));
+		assertEquals(8191, metrics.getPercentileTime(OptimizationPhase.SELECTION, 0.99));
+		assertEquals(0, metrics.getPercentileTime(OptimizationPhase.MUTATION, 0.5));
+	}
+	
+	@Test
+	public void testGetEvaluationsPerSecond() {
+		LongAdderOptimizerMetrics metrics = new LongAdderOptimizerMetrics();
+		assertEquals(0, metrics.getEvaluationsPerSecond(), 1e-8);
+		
+		metrics.recordGeneration(0, TimeUnit.MILLISECONDS.toNanos(500));
+		metrics.recordGeneration(1, TimeUnit.MILLISECONDS.toNanos(1500));
+		metrics.recordEvaluations(300);
+		metrics.recordEvaluations(100);
+		
+		assertEquals(2, metrics.getGenerations());
+		assertEquals(400, metrics.getEvaluations());
+		assertEquals(200, metrics.getEvaluationsPerSecond(), 1e-8);
+	}
+	
+	@Test
+	public void testRecordThreadTimeAndReset() {
+		LongAdderOptimizerMetrics metrics = new LongAdderOptimizerMetrics();
+		metrics.recordThreadTime(0, 100, 10);
+		metrics.recordThreadTime(1, 50, 60);
+		metrics.recordThreadTime(0, 100, 10);
+		metrics.recordAllocations(42);
+		
+		assertEquals(2, metrics.getThreads());
+		assertEquals(200, metrics.getBusyTime(0));
+		assertEquals(20, metrics.getIdleTime(0));
+		assertEquals(60, metrics.getIdleTime(1));
+		assertEquals(0, metrics.getBusyTime(2));
+		assertEquals(42, metrics.getAllocatedDNAs());
+		
+		metrics.reset();
+		
+		assertEquals(0, metrics.getThreads());
+		assertEquals(0, metrics.getAllocatedDNAs());
+		assertEquals(0, metrics.getBusyTime(0));
+	}
+}
\ No newline at end of file
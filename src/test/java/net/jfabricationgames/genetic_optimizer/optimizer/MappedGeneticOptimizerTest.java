@@ -0,0 +1,159 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.jfabricationgames.genetic_optimizer.abort_condition.AbortCondition;
+import net.jfabricationgames.genetic_optimizer.abort_condition.GenerationCountAbortCondition;
+import net.jfabricationgames.genetic_optimizer.heredity.HeredityRandom;
+import net.jfabricationgames.genetic_optimizer.mutation.Mutation;
+
+class MappedGeneticOptimizerTest {
+	
+	@Test
+	public void testOptimize_shouldFindTheOptimalFitnessOfZero() throws IOException {
+		MappedGeneticOptimizer optimizer = generateDefaultBuilder().buildMapped(Files.createTempDirectory("mapped"));
+		
+		optimizer.optimize();
+		
+		assertEquals(0, optimizer.getBestDNA().getFitness(), 1e-8, "The optimal fitness of 0 should be found by the mutations");
+		try (MappedPopulation population = MappedPopulation.open(optimizer.getPopulationPath())) {
+			assertEquals(optimizer.getGeneration(), population.getGeneration());
+			assertEquals(0, population.getBestDNA().getFitness(), 1e-8);
+			double bestFitness = Double.POSITIVE_INFINITY;
+			for (int i = 0; i < population.getSize(); i++) {
+				bestFitness = Math.min(bestFitness, population.getFitness(i));
+				assertEquals(sum(population.get(i)), population.getFitness(i), 1e-8);
+			}
+			//the best DNA is never lost, because it's kept in the first row of the next generation
+			assertEquals(0, bestFitness, 1e-8);
+		}
+	}
+	
+	@Test
+	public void testOptimizeWithSeed_shouldCreateTheSameResultsIndependentOfTheUsedThreads() throws IOException {
+		double[][] genomes = new double[2][];
+		int[] usedThreads = new int[] {1, 4};
+		for (int run = 0; run < 2; run++) {
+			MappedGeneticOptimizer optimizer = generateDefaultBuilder().setAbortCondition(new GenerationCountAbortCondition(5))
+					.setUsedThreads(usedThreads[run]).setChunkSize(7).setSeed(42L).buildMapped(Files.createTempDirectory("mapped"));
+			
+			optimizer.optimize();
+			
+			assertEquals(5, optimizer.getGeneration());
+			genomes[run] = readGenomes(optimizer.getPopulationPath());
+		}
+		
+		//the results are bit-identical (not only within a tolerance)
+		assertArrayEquals(genomes[0], genomes[1]);
+	}
+	
+	@Test
+	public void testOptimizeWithResume_shouldContinueFromTheLastCompleteGeneration() throws IOException {
+		Path directory = Files.createTempDirectory("mapped");
+		MappedGeneticOptimizer stopped = generateDefaultBuilder().setAbortCondition(new GenerationCountAbortCondition(3)).setSeed(42L)
+				.buildMapped(directory);
+		MappedGeneticOptimizer resumed = generateDefaultBuilder().setAbortCondition(new GenerationCountAbortCondition(6)).buildMapped(directory);
+		resumed.setResume(true);
+		MappedGeneticOptimizer uninterrupted = generateDefaultBuilder().setAbortCondition(new GenerationCountAbortCondition(6)).setSeed(42L)
+				.buildMapped(Files.createTempDirectory("mapped"));
+		
+		stopped.optimize();
+		assertEquals(directory.resolve("population-1.mapped"), MappedGeneticOptimizer.getLastCompletePopulationPath(directory));
+		resumed.optimize();
+		uninterrupted.optimize();
+		
+		assertEquals(6, resumed.getGeneration());
+		//the seed is stored in the file, so the resumed optimization continues with the same random numbers
+		assertEquals(Long.valueOf(42), resumed.getSeed());
+		assertEquals(directory, resumed.getPopulationPath().getParent());
+		assertArrayEquals(readGenomes(uninterrupted.getPopulationPath()), readGenomes(resumed.getPopulationPath()));
+		assertEquals(uninterrupted.getBestDNA().getFitness(), resumed.getBestDNA().getFitness());
+	}
+	
+	@Test
+	public void testGetLastCompletePopulationPath_shouldIgnoreIncompleteFiles() throws IOException {
+		Path directory = Files.createTempDirectory("mapped");
+		assertNull(MappedGeneticOptimizer.getLastCompletePopulationPath(directory));
+		
+		try (MappedPopulation first = MappedPopulation.create(directory.resolve("population-0.mapped"), 2, 1);
+				MappedPopulation second = MappedPopulation.create(directory.resolve("population-1.mapped"), 2, 1)) {
+			first.commit(4, 0);
+			second.commit(5, 0);
+			//the optimization crashed while writing the next generation
+			second.markIncomplete();
+		}
+		
+		assertEquals(directory.resolve("population-0.mapped"), MappedGeneticOptimizer.getLastCompletePopulationPath(directory));
+	}
+	
+	@Test
+	public void testInitialization() throws IOException {
+		Path directory = Files.createTempDirectory("mapped");
+		assertThrows(IllegalArgumentException.class, () -> generateDefaultBuilder().setPopulationSize(1).buildMapped(directory));
+		assertThrows(IllegalArgumentException.class, () -> generateDefaultBuilder().setUsedThreads(0).buildMapped(directory));
+		assertThrows(IllegalArgumentException.class, () -> generateDefaultBuilder().buildMapped(directory).setChunkSize(0));
+		assertThrows(IllegalArgumentException.class, () -> generateDefaultBuilder().buildMapped(directory).setTournamentSize(0));
+		assertThrows(NullPointerException.class, () -> generateDefaultBuilder().buildMapped(null));
+	}
+	
+	private double[] readGenomes(Path path) throws IOException {
+		try (MappedPopulation population = MappedPopulation.open(path)) {
+			double[] genomes = new double[population.getSize() * population.getLength()];
+			for (int i = 0; i < population.getSize(); i++) {
+				System.arraycopy(population.get(i).readDNACode(), 0, genomes, i * population.getLength(), population.getLength());
+			}
+			return genomes;
+		}
+	}
+	
+	private GeneticOptimizerBuilder generateDefaultBuilder() {
+		GeneticOptimizerProblem problem = new GeneticOptimizerProblem() {
+			
+			@Override
+			public int getLength() {
+				return 5;
+			}
+			
+			@Override
+			public double calculateFitness(DNA dna) {
+				return sum(dna);
+			}
+		};
+		//the children are views on the rows of a chunk, so the mutation uses the offset
+		Mutation mutation = (dna) -> {
+			for (int i = 0; i < dna.getLength(); i++) {
+				if (OptimizerRandom.nextDouble() < 0.05) {//5% chance of lowering the current genome to 0
+					dna.getDNACode()[dna.getOffset() + i] = 0;
+				}
+			}
+		};
+		List<Mutation> mutations = new ArrayList<Mutation>(Collections.singletonList(mutation));
+		//abort when the optimum is found (or after many generations to not block the tests)
+		AbortCondition abortCondition = (bestDNA, timeUsed, generation) -> bestDNA.getFitness() == 0 || generation >= 10000;
+		
+		GeneticOptimizerBuilder builder = new GeneticOptimizerBuilder();
+		builder.setProblem(problem).setHeredity(new HeredityRandom(0.5)).setMutations(mutations).setPopulationSize(50)
+				.setAbortCondition(abortCondition).setUsedThreads(4).setChunkSize(8);
+		return builder;
+	}
+	
+	private static double sum(DNA dna) {
+		double sum = 0;
+		for (int i = 0; i < dna.getLength(); i++) {
+			sum += dna.readDNACode()[dna.getOffset() + i];
+		}
+		return sum;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,129 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class MappedPopulationTest {
+	
+	private DNA createDNA(double fitness, double... dnaCode) {
+		DNA dna = new DNA(dnaCode);
+		dna.setFitness(fitness);
+		return dna;
+	}
+	
+	@Test
+	public void testSetAndGet_shouldStoreTheIndividualsInTheFile() throws IOException {
+		Path path = Files.createTempDirectory("population").resolve("population.mapped");
+		
+		try (MappedPopulation population = MappedPopulation.create(path, 3, 2)) {
+			population.set(1, createDNA(42, 1, 2));
+			population.setFitness(2, 5);
+			
+			DNA dna = new DNA(2);
+			population.get(1, dna);
+			assertArrayEquals(new double[] {1, 2}, dna.readDNACode(), 1e-8);
+			assertEquals(42, dna.getFitness(), 1e-8);
+			assertFalse(dna.isDirty());
+			assertArrayEquals(new double[] {0, 0}, population.get(0).readDNACode(), 1e-8);
+			assertEquals(5, population.getFitness(2), 1e-8);
+			assertEquals(MappedPopulation.INCOMPLETE, population.getGeneration());
+			assertFalse(population.isComplete());
+		}
+		//header (40), best DNA (3 * 8), fitness (3 * 8) and genomes (6 * 8)
+		assertEquals(40 + 24 + 24 + 48, Files.size(path));
+	}
+	
+	@Test
+	public void testOpen_shouldRestoreTheStoredPopulationAndState() throws IOException {
+		Path path = Files.createTempDirectory("population").resolve("population.mapped");
+		try (MappedPopulation population = MappedPopulation.create(path, 2, 3)) {
+			population.set(0, createDNA(6, 1, 2, 3));
+			population.set(1, createDNA(15, 4, 5, 6));
+			population.setBestDNA(createDNA(-1, 0, 0, -1));
+			population.setSeed(42L);
+			population.commit(7, 1234);
+		}
+		
+		try (MappedPopulation population = MappedPopulation.open(path)) {
+			Checkpoint checkpoint = population.toCheckpoint();
+			
+			assertEquals(2, population.getSize());
+			assertEquals(3, population.getLength());
+			assertEquals(7, checkpoint.getGeneration());
+			assertEquals(1234, checkpoint.getTimeUsed());
+			assertEquals(Long.valueOf(42), checkpoint.getSeed());
+			assertArrayEquals(new double[] {0, 0, -1}, checkpoint.getBestDNA().readDNACode(), 1e-8);
+			assertEquals(-1, checkpoint.getBestDNA().getFitness(), 1e-8);
+			DNA dna = new DNA(3);
+			checkpoint.copyIndividualTo(1, dna);
+			assertArrayEquals(new double[] {4, 5, 6}, dna.readDNACode(), 1e-8);
+			assertEquals(15, dna.getFitness(), 1e-8);
+		}
+	}
+	
+	@Test
+	public void testMarkIncomplete_shouldPreventTheFileFromBeingUsedAsCheckpoint() throws IOException {
+		Path path = Files.createTempDirectory("population").resolve("population.mapped");
+		try (MappedPopulation population = MappedPopulation.create(path, 2, 1)) {
+			assertThrows(IllegalStateException.class, () -> population.toCheckpoint());
+			population.commit(3, 10);
+			assertTrue(population.isComplete());
+			assertNull(population.toCheckpoint().getSeed());
+			
+			//the next generation is written to the file
+			population.markIncomplete();
+		}
+		
+		try (MappedPopulation population = MappedPopulation.open(path)) {
+			assertFalse(population.isComplete());
+			assertThrows(IllegalStateException.class, () -> population.toCheckpoint());
+			assertThrows(IllegalArgumentException.class, () -> population.commit(-1, 0));
+		}
+	}
+	
+	@Test
+	public void testSegments_shouldMapLargePopulationsInMultipleSegments() throws IOException {
+		Path path = Files.createTempDirectory("population").resolve("population.mapped");
+		//segments of 64 bytes contain 4 rows with 2 genomes
+		try (MappedPopulation population = MappedPopulation.create(path, 10, 2, 64)) {
+			for (int i = 0; i < 10; i++) {
+				population.set(i, createDNA(i, i, -i));
+			}
+			assertEquals(3, population.getSegmentCount());
+		}
+		
+		try (MappedPopulation population = MappedPopulation.open(path, 64)) {
+			for (int i = 0; i < 10; i++) {
+				DNA dna = population.get(i);
+				assertArrayEquals(new double[] {i, -i}, dna.readDNACode(), 1e-8);
+				assertEquals(i, dna.getFitness(), 1e-8);
+			}
+		}
+	}
+	
+	@Test
+	public void testOpen_shouldFailForFilesThatAreNoPopulations() throws IOException {
+		Path directory = Files.createTempDirectory("population");
+		Path noPopulation = directory.resolve("no.mapped");
+		Files.write(noPopulation, new byte[64]);
+		Path truncated = directory.resolve("truncated.mapped");
+		MappedPopulation.create(truncated, 2, 2).close();
+		byte[] bytes = Files.readAllBytes(truncated);
+		Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 8));
+		
+		assertThrows(IOException.class, () -> MappedPopulation.open(noPopulation));
+		assertThrows(IOException.class, () -> MappedPopulation.open(truncated));
+		assertThrows(IllegalArgumentException.class, () -> MappedPopulation.create(directory.resolve("negative.mapped"), -1, 2));
+	}
+}
\ No newline at end of file
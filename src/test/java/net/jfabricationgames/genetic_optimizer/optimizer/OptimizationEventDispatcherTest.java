@@ -0,0 +1,121 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class OptimizationEventDispatcherTest {
+	
+	@Test
+	public void testPublish_shouldDeliverTheEventsInOrder() throws InterruptedException {
+		try (OptimizationEventDispatcher dispatcher = new OptimizationEventDispatcher(4)) {
+			List<Integer> generations = Collections.synchronizedList(new ArrayList<Integer>());
+			CountDownLatch delivered = new CountDownLatch(100);
+			dispatcher.addListener(event -> {
+				generations.add(event.getGeneration());
+				delivered.countDown();
+			});
+			
+			for (int i = 0; i < 100; i++) {
+				//wait for the consumer if the (small) buffer is full
+				while (!dispatcher.publish(createEvent(i))) {
+					Thread.yield();
+				}
+			}
+			
+			assertTrue(delivered.await(5, TimeUnit.SECONDS), "All events should be delivered");
+			for (int i = 0; i < 100; i++) {
+				assertEquals(i, generations.get(i).intValue());
+			}
+		}
+	}
+	
+	@Test
+	public void testPublish_shouldDropTheEventsIfTheBufferIsFull() throws InterruptedException {
+		try (OptimizationEventDispatcher dispatcher = new OptimizationEventDispatcher(2)) {
+			CountDownLatch blocked = new CountDownLatch(1);
+			CountDownLatch release = new CountDownLatch(1);
+			dispatcher.addListener(event -> {
+				blocked.countDown();
+				try {
+					release.await();
+				}
+				catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			
+			assertTrue(dispatcher.publish(createEvent(0)));
+			//the consumer is blocked by the first event, so the buffer can take two more events
+			assertTrue(blocked.await(5, TimeUnit.SECONDS));
+			assertTrue(dispatcher.publish(createEvent(1)));
+			assertTrue(dispatcher.publish(createEvent(2)));
+			assertFalse(dispatcher.publish(createEvent(3)));
+			assertEquals(1, dispatcher.getDroppedEvents());
+			release.countDown();
+		}
+	}
+	
+	@Test
+	public void testPublish_shouldDeliverToTheOtherListenersIfAListenerFails() throws InterruptedException {
+		try (OptimizationEventDispatcher dispatcher = new OptimizationEventDispatcher()) {
+			CountDownLatch delivered = new CountDownLatch(2);
+			dispatcher.addListener(event -> {
+				throw new IllegalStateException("failing listener");
+			});
+			dispatcher.addListener(event -> delivered.countDown());
+			
+			dispatcher.publish(createEvent(0));
+			dispatcher.publish(createEvent(1));
+			
+			assertTrue(delivered.await(5, TimeUnit.SECONDS));
+			assertEquals(2, dispatcher.getFailedDeliveries());
+		}
+	}
+	
+	@Test
+	public void testFinish_shouldTerminateTheThreadAfterDeliveringTheEvents() throws InterruptedException {
+		try (OptimizationEventDispatcher dispatcher = new OptimizationEventDispatcher()) {
+			CountDownLatch delivered = new CountDownLatch(11);
+			dispatcher.addListener(event -> delivered.countDown());
+			assertFalse(dispatcher.isDelivering(), "The thread is only started when an event is published");
+			
+			for (int i = 0; i < 10; i++) {
+				dispatcher.publish(createEvent(i));
+			}
+			dispatcher.finish();
+			
+			for (int i = 0; i < 500 && dispatcher.isDelivering(); i++) {
+				Thread.sleep(10);
+			}
+			assertFalse(dispatcher.isDelivering(), "The thread should terminate after the events were delivered");
+			assertEquals(1, delivered.getCount(), "All events should be delivered before the thread terminates");
+			
+			//the next event starts the thread again
+			dispatcher.publish(createEvent(10));
+			assertTrue(delivered.await(5, TimeUnit.SECONDS));
+		}
+	}
+	
+	@Test
+	public void testInitialization() {
+		try (OptimizationEventDispatcher dispatcher = new OptimizationEventDispatcher(100)) {
+			assertEquals(128, dispatcher.getCapacity());
+			assertFalse(dispatcher.hasListeners());
+		}
+		assertThrows(IllegalArgumentException.class, () -> new OptimizationEventDispatcher(0));
+	}
+	
+	private OptimizationEvent createEvent(int generation) {
+		return new OptimizationEvent(OptimizationEvent.Type.GENERATION_COMPLETED, generation, 0, 0, new DNA(1), 0, 0, 0);
+	}
+}
\ No newline at end of file
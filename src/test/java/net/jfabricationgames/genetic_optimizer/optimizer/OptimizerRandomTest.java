@@ -0,0 +1,88 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class OptimizerRandomTest {
+	
+	@AfterEach
+	public void clearSeed() {
+		OptimizerRandom.clearSeed();
+	}
+	
+	private double[] createRandomNumbers() {
+		double[] randomNumbers = new double[30];
+		for (int i = 0; i < 10; i++) {
+			randomNumbers[3 * i] = OptimizerRandom.nextDouble();
+			randomNumbers[3 * i + 1] = OptimizerRandom.nextInt(100);
+			randomNumbers[3 * i + 2] = OptimizerRandom.nextGaussian();
+		}
+		return randomNumbers;
+	}
+	
+	@Test
+	public void testSetSeed_shouldRepeatTheRandomNumbersOfASeed() {
+		OptimizerRandom.setSeed(42);
+		double[] randomNumbers = createRandomNumbers();
+		OptimizerRandom.setSeed(42);
+		double[] repeatedRandomNumbers = createRandomNumbers();
+		OptimizerRandom.setSeed(43);
+		double[] otherRandomNumbers = createRandomNumbers();
+		
+		assertArrayEquals(randomNumbers, repeatedRandomNumbers);
+		assertFalse(Arrays.equals(randomNumbers, otherRandomNumbers));
+	}
+	
+	@Test
+	public void testClearSeed_shouldUseUnseededRandomNumbers() {
+		OptimizerRandom.setSeed(42);
+		double[] seededRandomNumbers = createRandomNumbers();
+		OptimizerRandom.setSeed(42);
+		OptimizerRandom.clearSeed();
+		
+		assertFalse(Arrays.equals(seededRandomNumbers, createRandomNumbers()));
+		double random = OptimizerRandom.nextDouble();
+		assertTrue(random >= 0 && random < 1);
+	}
+	
+	@Test
+	public void testDeriveSeed_shouldCreateDifferentSeedsForEveryStream() {
+		Set<Long> seeds = new HashSet<Long>();
+		for (int generation = 0; generation < 100; generation++) {
+			for (int index = -1; index < 100; index++) {
+				seeds.add(OptimizerRandom.deriveSeed(42, generation, index));
+			}
+		}
+		
+		assertEquals(100 * 101, seeds.size());
+		assertEquals(OptimizerRandom.deriveSeed(42, 3, 7), OptimizerRandom.deriveSeed(42, 3, 7));
+		assertNotEquals(OptimizerRandom.deriveSeed(42, 3, 7), OptimizerRandom.deriveSeed(43, 3, 7));
+	}
+	
+	@Test
+	public void testNextGaussian_shouldBeStandardNormalDistributed() {
+		OptimizerRandom.setSeed(42);
+		int samples = 100000;
+		double sum = 0;
+		double squaredSum = 0;
+		for (int i = 0; i < samples; i++) {
+			double gaussian = OptimizerRandom.nextGaussian();
+			sum += gaussian;
+			squaredSum += gaussian * gaussian;
+		}
+		double mean = sum / samples;
+		
+		assertEquals(0, mean, 0.02);
+		assertEquals(1, squaredSum / samples - mean * mean, 0.02);
+	}
+}
\ No newline at end of file
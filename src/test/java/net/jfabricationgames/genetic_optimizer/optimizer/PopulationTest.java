@@ -0,0 +1,61 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class PopulationTest {
+	
+	@Test
+	public void testRowsAreViewsOnTheGenomeMatrix() {
+		Population population = new Population(3, 4);
+		
+		DNA row = population.get(1);
+		row.getDNACode()[row.getOffset() + 2] = 42;
+		row.setFitness(5);
+		
+		assertSame(population.getGenomes(), row.getDNACode());
+		assertEquals(4, row.getOffset());
+		assertEquals(4, row.getLength());
+		assertEquals(42, population.getGenomes()[6], 1e-8);
+		assertEquals(5, population.getFitness(1), 1e-8);
+		assertArrayEquals(new double[] {0, 5, 0}, population.getFitness(), 1e-8);
+	}
+	
+	@Test
+	public void testSetAndCopyRow() {
+		Population population = new Population(2, 3);
+		Population target = new Population(2, 3);
+		DNA dna = new DNA(new double[] {1, 2, 3});
+		dna.setFitness(42);
+		
+		population.set(1, dna);
+		population.copyRow(1, target, 0);
+		
+		assertArrayEquals(new double[] {0, 0, 0, 1, 2, 3}, population.getGenomes(), 1e-8);
+		assertArrayEquals(new double[] {1, 2, 3, 0, 0, 0}, target.getGenomes(), 1e-8);
+		assertEquals(42, target.get(0).getFitness(), 1e-8);
+	}
+	
+	@Test
+	public void testCopyRowToStandaloneDNA() {
+		Population population = new Population(2, 3);
+		System.arraycopy(new double[] {1, 2, 3}, 0, population.getGenomes(), 3, 3);
+		population.setFitness(1, 7);
+		DNA dna = new DNA(3);
+		
+		population.get(1).copyTo(dna);
+		
+		assertArrayEquals(new double[] {1, 2, 3}, dna.getDNACode(), 1e-8);
+		assertEquals(7, dna.getFitness(), 1e-8);
+	}
+	
+	@Test
+	public void testInitialization() {
+		assertThrows(IllegalArgumentException.class, () -> new Population(-1, 5));
+		assertThrows(IllegalArgumentException.class, () -> new Population(Integer.MAX_VALUE, 2));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.jfabricationgames.genetic_optimizer.abort_condition.AbortCondition;
+import net.jfabricationgames.genetic_optimizer.abort_condition.GenerationCountAbortCondition;
+import net.jfabricationgames.genetic_optimizer.heredity.HeredityRandom;
+import net.jfabricationgames.genetic_optimizer.mutation.Mutation;
+import net.jfabricationgames.genetic_optimizer.selection.FitnessProportionalSelectionPressure;
+import net.jfabricationgames.genetic_optimizer.selection.FitnessProportionalSelector;
+
+class SteadyStateGeneticOptimizerTest {
+	
+	@Test
+	public void testOptimizeUsingReplaceWorst_shouldFindTheOptimalFitnessOfZero() {
+		SteadyStateGeneticOptimizer optimizer = generateDefaultBuilder().setSteadyStateReplacement(SteadyStateReplacement.REPLACE_WORST)
+				.buildSteadyState();
+		
+		optimizer.optimize();
+		
+		assertEquals(0, optimizer.getBestDNA().getFitness(), 1e-8, "The optimal fitness of 0 should be found by the mutations");
+	}
+	
+	@Test
+	public void testOptimizeUsingTournamentReplacement_shouldFindTheOptimalFitnessOfZero() {
+		SteadyStateGeneticOptimizer optimizer = generateDefaultBuilder().setSteadyStateReplacement(SteadyStateReplacement.TOURNAMENT)
+				.setReplacementTournamentSize(3).buildSteadyState();
+		
+		optimizer.optimize();
+		
+		assertEquals(0, optimizer.getBestDNA().getFitness(), 1e-8, "The optimal fitness of 0 should be found by the mutations");
+	}
+	
+	@Test
+	public void testOptimize_shouldNeverReplaceBetterIndividuals() {
+		SteadyStateGeneticOptimizer optimizer = generateDefaultBuilder().setAbortCondition(new GenerationCountAbortCondition(5)).buildSteadyState();
+		
+		optimizer.optimize();
+		
+		DNA[] population = optimizer.getPopulation();
+		assertEquals(20, population.length);
+		assertTrue(optimizer.getCreatedChildren() >= 5 * 20, "At least 5 generations of children should have been created");
+		double bestFitness = Double.POSITIVE_INFINITY;
+		for (DNA dna : population) {
+			bestFitness = Math.min(bestFitness, dna.getFitness());
+			assertEquals(sum(dna), dna.getFitness(), 1e-8, "The individuals in the population mussn't be changed after their evaluation");
+		}
+		//the best individual is never replaced, so it has to be in the population
+		assertEquals(optimizer.getBestDNA().getFitness(), bestFitness, 1e-8);
+	}
+	
+	@Test
+	public void testInitialization() {
+		assertThrows(IllegalArgumentException.class, () -> generateDefaultBuilder().setPopulationSize(1).buildSteadyState());
+		assertThrows(IllegalArgumentException.class, () -> generateDefaultBuilder().setUsedThreads(0).buildSteadyState());
+		assertThrows(IllegalArgumentException.class, () -> generateDefaultBuilder().setReplacementTournamentSize(0).buildSteadyState());
+		assertThrows(NullPointerException.class, () -> generateDefaultBuilder().setHeredity(null).buildSteadyState());
+	}
+	
+	private GeneticOptimizerBuilder generateDefaultBuilder() {
+		GeneticOptimizerProblem problem = new GeneticOptimizerProblem() {
+			
+			@Override
+			public int getLength() {
+				return 5;
+			}
+			
+			@Override
+			public double calculateFitness(DNA dna) {
+				return sum(dna);
+			}
+		};
+		Mutation mutation = (dna) -> {
+			for (int i = 0; i < dna.getLength(); i++) {
+				if (Math.random() < 0.05) {//5% chance of lowering the current genome to 0
+					dna.getDNACode()[i] = 0;
+				}
+			}
+		};
+		List<Mutation> mutations = new ArrayList<Mutation>(Collections.singletonList(mutation));
+		//abort when the optimum is found (or after a long time to not block the tests)
+		AbortCondition abortCondition = (bestDNA, timeUsed, generation) -> bestDNA.getFitness() == 0 || timeUsed > 5000;
+		
+		GeneticOptimizerBuilder builder = new GeneticOptimizerBuilder();
+		builder.setProblem(problem).setHeredity(new HeredityRandom(0.5)).setMutations(mutations).setPopulationSize(20)
+				.setAbortCondition(abortCondition).setSelectionPressure(new FitnessProportionalSelectionPressure())
+				.setSelector(new FitnessProportionalSelector()).setUsedThreads(4);
+		return builder;
+	}
+	
+	private static double sum(DNA dna) {
+		double sum = 0;
+		for (int i = 0; i < dna.getLength(); i++) {
+			sum += dna.readDNACode()[dna.getOffset() + i];
+		}
+		return sum;
+	}
+}
\ No newline at end of file
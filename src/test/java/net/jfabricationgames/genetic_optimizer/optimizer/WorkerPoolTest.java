@@ -0,0 +1,85 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class WorkerPoolTest {
+	
+	@Test
+	public void testRun_shouldRunEveryRunnableInItsOwnThread() throws InterruptedException {
+		WorkerPool pool = new WorkerPool(4);
+		try {
+			Thread[] threads = new Thread[4];
+			long[] sums = new long[4];
+			//run many phases, so the results of every phase have to be visible after the phase
+			for (int phase = 0; phase < 1000; phase++) {
+				Runnable[] runnables = new Runnable[4];
+				for (int i = 0; i < 4; i++) {
+					final int index = i;
+					final int value = phase;
+					runnables[i] = () -> {
+						threads[index] = Thread.currentThread();
+						sums[index] += value;
+					};
+				}
+				pool.run(runnables);
+			}
+			
+			assertSame(Thread.currentThread(), threads[0]);
+			for (int i = 0; i < 4; i++) {
+				assertEquals(999 * 1000 / 2, sums[i]);
+				for (int j = i + 1; j < 4; j++) {
+					assertNotEquals(threads[i], threads[j]);
+				}
+			}
+		}
+		finally {
+			pool.close();
+		}
+	}
+	
+	@Test
+	public void testRun_withLessRunnablesThanThreads() throws InterruptedException {
+		WorkerPool pool = new WorkerPool(3);
+		try {
+			int[] runs = new int[1];
+			pool.run(new Runnable[] {() -> runs[0]++});
+			pool.run(new Runnable[0]);
+			
+			assertEquals(1, runs[0]);
+			assertThrows(IllegalArgumentException.class, () -> pool.run(new Runnable[4]));
+		}
+		finally {
+			pool.close();
+		}
+	}
+	
+	@Test
+	public void testRun_shouldReportTheFailureOfAWorker() throws InterruptedException {
+		WorkerPool pool = new WorkerPool(2);
+		try {
+			Runnable failing = () -> {
+				throw new IllegalArgumentException("failed");
+			};
+			IllegalStateException exception = assertThrows(IllegalStateException.class, () -> pool.run(new Runnable[] {() -> {}, failing}));
+			assertTrue(exception.getCause() instanceof IllegalArgumentException);
+			
+			//the pool can be used after a failure
+			int[] runs = new int[2];
+			pool.run(new Runnable[] {() -> runs[0]++, () -> runs[1]++});
+			assertEquals(1, runs[0]);
+			assertEquals(1, runs[1]);
+		}
+		finally {
+			pool.close();
+		}
+		
+		assertTrue(pool.isClosed());
+		assertThrows(IllegalStateException.class, () -> pool.run(new Runnable[0]));
+	}
+}
\ No newline at end of file
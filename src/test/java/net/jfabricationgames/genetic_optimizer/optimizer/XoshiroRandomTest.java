@@ -0,0 +1,110 @@
+package net.jfabricationgames.genetic_optimizer.optimizer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class XoshiroRandomTest {
+	
+	@Test
+	public void testNextDoubles_shouldCreateTheSameNumbersAsSingleDraws() {
+		XoshiroRandom random = new XoshiroRandom(42);
+		XoshiroRandom bulkRandom = new XoshiroRandom(42);
+		double[] singleDraws = new double[100];
+		double[] bulkDraws = new double[110];
+		
+		for (int i = 0; i < singleDraws.length; i++) {
+			singleDraws[i] = random.nextDouble();
+		}
+		bulkRandom.nextDoubles(bulkDraws, 10, 110);
+		
+		for (int i = 0; i < singleDraws.length; i++) {
+			assertEquals(singleDraws[i], bulkDraws[i + 10]);
+			assertTrue(singleDraws[i] >= 0 && singleDraws[i] < 1);
+		}
+		//the state of the generator is stored after the bulk draw
+		assertEquals(random.nextLong(), bulkRandom.nextLong());
+	}
+	
+	@Test
+	public void testNextGaussians_shouldCreateTheSameNumbersAsSingleDraws() {
+		XoshiroRandom random = new XoshiroRandom(42);
+		XoshiroRandom bulkRandom = new XoshiroRandom(42);
+		//enough draws to hit the slow path (outside of the rectangles and in the tail) several times
+		double[] singleDraws = new double[100000];
+		double[] bulkDraws = new double[100010];
+		
+		for (int i = 0; i < singleDraws.length; i++) {
+			singleDraws[i] = random.nextGaussian();
+		}
+		bulkRandom.nextGaussians(bulkDraws, 10, 100010);
+		
+		for (int i = 0; i < singleDraws.length; i++) {
+			assertEquals(singleDraws[i], bulkDraws[i + 10]);
+		}
+		//the state of the generator is stored after the bulk draw
+		assertEquals(random.nextLong(), bulkRandom.nextLong());
+	}
+	
+	@Test
+	public void testSetSeed_shouldRepeatTheRandomNumbers() {
+		XoshiroRandom random = new XoshiroRandom(1);
+		double[] first = new double[20];
+		double[] repeated = new double[20];
+		
+		random.setSeed(42);
+		random.nextGaussians(first, 0, 20);
+		random.setSeed(42);
+		random.nextGaussians(repeated, 0, 20);
+		
+		assertArrayEquals(first, repeated);
+	}
+	
+	@Test
+	public void testNextInt_shouldBeUniformlyDistributedInTheBound() {
+		XoshiroRandom random = new XoshiroRandom(42);
+		int[] counts = new int[7];
+		for (int i = 0; i < 70000; i++) {
+			counts[random.nextInt(7)]++;
+		}
+		
+		for (int count : counts) {
+			assertEquals(10000, count, 500);
+		}
+		assertThrows(IllegalArgumentException.class, () -> random.nextInt(0));
+	}
+	
+	@Test
+	public void testNextGaussian_shouldBeStandardNormalDistributed() {
+		XoshiroRandom random = new XoshiroRandom(42);
+		int samples = 1000000;
+		double sum = 0;
+		double squaredSum = 0;
+		double fourthPowerSum = 0;
+		int tail = 0;
+		int withinOneDeviation = 0;
+		for (int i = 0; i < samples; i++) {
+			double gaussian = random.nextGaussian();
+			sum += gaussian;
+			squaredSum += gaussian * gaussian;
+			fourthPowerSum += gaussian * gaussian * gaussian * gaussian;
+			if (Math.abs(gaussian) > 3.442619855899) {
+				tail++;
+			}
+			if (Math.abs(gaussian) < 1) {
+				withinOneDeviation++;
+			}
+		}
+		
+		assertEquals(0, sum / samples, 0.005);
+		assertEquals(1, squaredSum / samples, 0.01);
+		//the kurtosis of the normal distribution is 3
+		assertEquals(3, fourthPowerSum / samples, 0.05);
+		//P(|x| < 1) = 0.6827 and P(|x| > r) = 0.000576 (the tail of the ziggurat)
+		assertEquals(0.6827, (double) withinOneDeviation / samples, 0.003);
+		assertEquals(576, tail, 100);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package net.jfabricationgames.genetic_optimizer.remote;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+import net.jfabricationgames.genetic_optimizer.optimizer.GeneticOptimizerProblem;
+
+class RemoteGeneticOptimizerProblemTest {
+	
+	/**
+	 * The stand-in problem that is calculated in the worker processes.
+	 */
+	public static class SumProblem implements GeneticOptimizerProblem {
+		
+		@Override
+		public int getLength() {
+			return 3;
+		}
+		
+		@Override
+		public double calculateFitness(DNA dna) {
+			//the output mussn't break the responses of the worker
+			System.out.println("calculating the fitness");
+			return Arrays.stream(dna.readDNACode()).sum();
+		}
+	}
+	
+	@Test
+	public void testCalculateFitness_shouldCalculateTheFitnessInTheWorkerProcessesInTheOrderOfTheDNAs() throws IOException {
+		try (RemoteGeneticOptimizerProblem problem = new RemoteGeneticOptimizerProblem(3,
+				RemoteGeneticOptimizerProblem.createJavaWorkerCommand(SumProblem.class), 2, 3, 2)) {
+			DNA[] dnas = new DNA[50];
+			for (int i = 0; i < dnas.length; i++) {
+				dnas[i] = new DNA(new double[] {i, 2 * i, 0.5});
+			}
+			double[] fitness = new double[dnas.length];
+			
+			problem.calculateFitness(dnas, 5, 45, fitness);
+			
+			for (int i = 0; i < dnas.length; i++) {
+				double expected = i >= 5 && i < 45 ? 3 * i + 0.5 : 0;
+				assertEquals(expected, fitness[i], 1e-10, "Unexpected fitness at index " + i);
+			}
+			assertEquals(6.5, problem.calculateFitness(new DNA(new double[] {1, 2, 3.5})), 1e-10);
+		}
+	}
+	
+	/**
+	 * A problem that terminates the worker process once (the first process that deletes the crash file terminates).
+	 */
+	public static class CrashingProblem extends SumProblem {
+		
+		@Override
+		public double calculateFitness(DNA dna) {
+			try {
+				if (Files.deleteIfExists(Paths.get(System.getProperty("crash.file")))) {
+					Runtime.getRuntime().halt(1);
+				}
+			}
+			catch (IOException ioe) {
+				throw new IllegalStateException(ioe);
+			}
+			return super.calculateFitness(dna);
+		}
+	}
+	
+	@Test
+	public void testCalculateFitness_shouldRestartADiedWorkerAndSendItsRequestsAgain() throws IOException {
+		Path crashFile = Files.createTempFile("crash", ".tmp");
+		List<String> command = RemoteGeneticOptimizerProblem.createJavaWorkerCommand(CrashingProblem.class);
+		command.add(1, "-Dcrash.file=" + crashFile);
+		try (RemoteGeneticOptimizerProblem problem = new RemoteGeneticOptimizerProblem(3, command, 2, 3, 2)) {
+			DNA[] dnas = new DNA[30];
+			for (int i = 0; i < dnas.length; i++) {
+				dnas[i] = new DNA(new double[] {i, 2 * i, 0.5});
+			}
+			double[] fitness = new double[dnas.length];
+			
+			problem.calculateFitness(dnas, 0, dnas.length, fitness);
+			
+			for (int i = 0; i < dnas.length; i++) {
+				assertEquals(3 * i + 0.5, fitness[i], 1e-10, "Unexpected fitness at index " + i);
+			}
+			assertFalse(Files.exists(crashFile), "A worker should have crashed");
+			assertEquals(1, problem.getRestarts());
+			//the restarted worker is used for the next calculations
+			assertEquals(6.5, problem.calculateFitness(new DNA(new double[] {1, 2, 3.5})), 1e-10);
+		}
+		finally {
+			Files.deleteIfExists(crashFile);
+		}
+	}
+	
+	@Test
+	public void testCalculateFitness_shouldFailIfTheWorkerProcessDies() throws IOException {
+		List<String> command = RemoteGeneticOptimizerProblem.createJavaWorkerCommand(SumProblem.class);
+		//the worker can't create the problem and terminates (also after it's restarted)
+		command.set(command.size() - 1, "not.existing.Problem");
+		try (RemoteGeneticOptimizerProblem problem = new RemoteGeneticOptimizerProblem(3, command, 1)) {
+			assertThrows(IllegalStateException.class, () -> problem.calculateFitness(new DNA(new double[] {1, 2, 3})));
+		}
+	}
+	
+	@Test
+	public void testServe_shouldAnswerTheRequestsInTheBinaryProtocol() throws IOException {
+		ByteArrayOutputStream requests = new ByteArrayOutputStream();
+		DataOutputStream requestOutput = new DataOutputStream(requests);
+		requestOutput.writeInt(7);//id
+		requestOutput.writeInt(2);//count
+		requestOutput.writeInt(3);//length
+		for (double genome : new double[] {1, 2, 3, 4, 5, 6}) {
+			requestOutput.writeDouble(genome);
+		}
+		ByteArrayOutputStream responses = new ByteArrayOutputStream();
+		
+		new RemoteFitnessWorker(new SumProblem()).serve(new ByteArrayInputStream(requests.toByteArray()), responses);
+		
+		DataInputStream responseInput = new DataInputStream(new ByteArrayInputStream(responses.toByteArray()));
+		assertEquals(RemoteFitnessProtocol.MAGIC, responseInput.readInt());
+		assertEquals(7, responseInput.readInt());
+		assertEquals(2, responseInput.readInt());
+		assertArrayEquals(new double[] {6, 15}, new double[] {responseInput.readDouble(), responseInput.readDouble()}, 1e-10);
+		assertEquals(-1, responseInput.read(), "No more responses expected");
+	}
+	
+	@Test
+	public void testInitialization() {
+		List<String> command = RemoteGeneticOptimizerProblem.createJavaWorkerCommand(SumProblem.class);
+		
+		assertThrows(IllegalArgumentException.class, () -> new RemoteGeneticOptimizerProblem(0, command, 1));
+		assertThrows(IllegalArgumentException.class, () -> new RemoteGeneticOptimizerProblem(3, command, 0));
+		assertThrows(IllegalArgumentException.class, () -> new RemoteGeneticOptimizerProblem(3, command, 1, 0, 1));
+		assertThrows(IllegalArgumentException.class, () -> new RemoteGeneticOptimizerProblem(3, command, 1, 1, 0));
+		assertThrows(NullPointerException.class, () -> new RemoteGeneticOptimizerProblem(3, null, 1));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package net.jfabricationgames.genetic_optimizer.selection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+import org.junit.jupiter.api.Test;
+
+class AliasTableSelectorTest {
+	
+	@Test
+	public void testSelect_withMockedRandom() {
+		AliasTableSelector selector = spy(new AliasTableSelector());
+		doReturn(new double[] {0.1, 0.4, 0.6, 0.7, 0.95, 0.99}).when(selector).getRandomNumbers(anyInt());
+		
+		//the alias table is: index 0 (always selected); index 1 (selected with 0.75, else 0); index 2 (selected with 0.75, else 0)
+		assertArrayEquals(new int[] {0, 1, 0, 2, 0, 0}, selector.select(new double[] {0.5, 0.25, 0.25}, 3));
+		assertArrayEquals(new double[] {1, 0.75, 0.75}, selector.getProbabilities(), 1e-8);
+		assertArrayEquals(new int[] {0, 0, 0}, selector.getAliases());
+	}
+	
+	@Test
+	public void testSelect_withRandom() {
+		AliasTableSelector selector = new AliasTableSelector();
+		
+		double[] probabilities = new double[] {0, 0, 0, 1 - 1e-8, 0};
+		
+		assertArrayEquals(new int[] {3, 3, 3, 3, 3, 3}, selector.select(probabilities, 3));
+	}
+	
+	@Test
+	public void testSelect_shouldSelectProportionalToTheProbabilities() {
+		AliasTableSelector selector = new AliasTableSelector();
+		double[] probabilities = new double[] {0.05, 0.3, 0, 0.15, 0.4, 0.1};
+		int[] counts = new int[probabilities.length];
+		
+		for (int index : selector.select(probabilities, 50000)) {
+			counts[index]++;
+		}
+		
+		for (int i = 0; i < probabilities.length; i++) {
+			assertEquals(probabilities[i] * 100000, counts[i], 1000);
+		}
+		assertEquals(0, counts[2]);
+	}
+	
+	@Test
+	public void testBuildAliasTable_shouldReuseTheBuffersForSmallerPopulations() {
+		AliasTableSelector selector = new AliasTableSelector();
+		selector.buildAliasTable(new double[] {0.1, 0.2, 0.3, 0.4});
+		double[] buffer = selector.getProbabilities();
+		
+		selector.buildAliasTable(new double[] {0.5, 0.5});
+		
+		assertEquals(buffer, selector.getProbabilities());
+		assertEquals(1, selector.getProbabilities()[0], 1e-8);
+		assertEquals(1, selector.getProbabilities()[1], 1e-8);
+		
+		selector.buildAliasTable(new double[] {0.2, 0.2, 0.2, 0.2, 0.2});
+		assertNotEquals(buffer, selector.getProbabilities());
+	}
+	
+	@Test
+	public void testSelect_withoutProbabilities_shouldSelectEquallyDistributed() {
+		AliasTableSelector selector = spy(new AliasTableSelector());
+		doReturn(new double[] {0.1, 0.6}).when(selector).getRandomNumbers(anyInt());
+		
+		assertArrayEquals(new int[] {0, 1}, selector.select(new double[] {0, 0}, 1));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package net.jfabricationgames.genetic_optimizer.selection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+
+class FitnessStatisticsTest {
+	
+	private DNA[] createPopulation(double... fitness) {
+		DNA[] population = new DNA[fitness.length];
+		for (int i = 0; i < fitness.length; i++) {
+			population[i] = new DNA(0);
+			population[i].setFitness(fitness[i]);
+		}
+		return population;
+	}
+	
+	@Test
+	public void testOf_shouldCalculateAllStatisticsInOnePass() {
+		FitnessStatistics statistics = FitnessStatistics.of(createPopulation(4, 0, 3, 1, 2));
+		
+		assertEquals(5, statistics.getCount());
+		assertEquals(0, statistics.getMin(), 1e-10);
+		assertEquals(4, statistics.getMax(), 1e-10);
+		assertEquals(10, statistics.getSum(), 1e-10);
+		assertEquals(2, statistics.getMean(), 1e-10);
+		assertEquals(10, statistics.getSquaredDeviations(), 1e-10);
+	}
+	
+	@Test
+	public void testOf_withMultipleBlocks_shouldMergeTheBlocks() {
+		double[] fitness = new double[2 * FitnessStatistics.BLOCK_SIZE + 17];
+		double sum = 0;
+		for (int i = 0; i < fitness.length; i++) {
+			//a big offset, that would lead to rounding errors using the sum of the squares
+			fitness[i] = 1e8 + (i % 7) - 3;
+			sum += fitness[i];
+		}
+		double mean = sum / fitness.length;
+		double squaredDeviations = 0;
+		for (double value : fitness) {
+			squaredDeviations += (value - mean) * (value - mean);
+		}
+		DNA[] population = createPopulation(fitness);
+		
+		FitnessStatistics statistics = FitnessStatistics.of(population);
+		FitnessStatistics mergedBlocks = FitnessStatistics.merge(new FitnessStatistics[] {FitnessStatistics.ofBlock(population, 0),
+				FitnessStatistics.ofBlock(population, 1), FitnessStatistics.ofBlock(population, 2)});
+		
+		assertEquals(3, FitnessStatistics.getBlockCount(population.length));
+		assertEquals(fitness.length, statistics.getCount());
+		assertEquals(1e8 - 3, statistics.getMin(), 1e-10);
+		assertEquals(1e8 + 3, statistics.getMax(), 1e-10);
+		assertEquals(mean, statistics.getMean(), 1e-6);
+		assertEquals(squaredDeviations, statistics.getSquaredDeviations(), squaredDeviations * 1e-9);
+		assertEquals(statistics.getSquaredDeviations(), mergedBlocks.getSquaredDeviations());
+		assertEquals(statistics.getMean(), mergedBlocks.getMean());
+	}
+	
+	@Test
+	public void testClear_shouldAllowToReuseTheStatistics() {
+		DNA[] population = createPopulation(5, 1, 3, 8, 2, 7);
+		FitnessStatistics statistics = new FitnessStatistics();
+		statistics.addBlock(createPopulation(100, -100), 0);
+		
+		statistics.clear();
+		statistics.addBlock(population, 0);
+		FitnessStatistics expected = FitnessStatistics.of(population);
+		
+		assertEquals(expected.getCount(), statistics.getCount());
+		assertEquals(expected.getMin(), statistics.getMin());
+		assertEquals(expected.getMax(), statistics.getMax());
+		assertEquals(expected.getMean(), statistics.getMean());
+		assertEquals(expected.getSquaredDeviations(), statistics.getSquaredDeviations());
+	}
+	
+	@Test
+	public void testCalculateSelectionProbability_withBuffer_shouldWriteTheSameProbabilities() {
+		DNA[] population = createPopulation(5, 1, 3, 8, 2, 7);
+		FitnessStatistics statistics = FitnessStatistics.of(population);
+		SelectionPressure[] selectionPressures = new SelectionPressure[] {new SigmaScalingSelectionPressure(),
+				new LinearDynamicScalingSelectionPressure(2, 1), new FitnessProportionalSelectionPressure(10),
+				new EquallyDistributedSelectionPressure()};
+		
+		for (SelectionPressure selectionPressure : selectionPressures) {
+			for (boolean minimize : new boolean[] {true, false}) {
+				double[] buffer = new double[population.length];
+				selectionPressure.calculateSelectionProbability(population, statistics, 0, minimize, 0, buffer);
+				
+				assertArrayEquals(selectionPressure.calculateSelectionProbability(population, 0, minimize, 0), buffer, 1e-12);
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package net.jfabricationgames.genetic_optimizer.selection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+import org.junit.jupiter.api.Test;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+
+class TournamentSelectorTest {
+	
+	private DNA[] createPopulation(double... fitness) {
+		DNA[] population = new DNA[fitness.length];
+		for (int i = 0; i < fitness.length; i++) {
+			population[i] = new DNA(1);
+			population[i].setFitness(fitness[i]);
+		}
+		return population;
+	}
+	
+	@Test
+	public void testSelect_withReplacement() {
+		TournamentSelector selector = spy(new TournamentSelector(2, true));
+		//tournaments: (0, 3), (2, 2), (1, 4), (4, 0)
+		doReturn(0d, 0.6, 0.4, 0.5, 0.2, 0.99, 0.8, 0.1).when(selector).getRandomNumber();
+		DNA[] population = createPopulation(3, 1, 4, 1.5, 5);
+		
+		assertArrayEquals(new int[] {3, 2, 1, 0}, selector.select(population, true, 2));
+	}
+	
+	@Test
+	public void testSelect_withReplacementMaximized() {
+		TournamentSelector selector = spy(new TournamentSelector(2, true));
+		doReturn(0d, 0.6, 0.4, 0.5, 0.2, 0.99, 0.8, 0.1).when(selector).getRandomNumber();
+		DNA[] population = createPopulation(3, 1, 4, 1.5, 5);
+		
+		assertArrayEquals(new int[] {0, 2, 4, 4}, selector.select(population, false, 2));
+	}
+	
+	@Test
+	public void testSelect_withoutReplacement_shouldChooseDifferentParticipants() {
+		TournamentSelector selector = spy(new TournamentSelector(3, false));
+		//the random numbers would always choose the first index with replacement (so the worst individual would win)
+		doReturn(0d).when(selector).getRandomNumber();
+		DNA[] population = createPopulation(2, 1, 0);
+		
+		//every tournament contains the whole population
+		assertArrayEquals(new int[] {2, 2}, selector.select(population, true, 1));
+		
+		TournamentSelector withReplacement = spy(new TournamentSelector(3, true));
+		doReturn(0d).when(withReplacement).getRandomNumber();
+		assertArrayEquals(new int[] {0, 0}, withReplacement.select(population, true, 1));
+	}
+	
+	@Test
+	public void testSelect_withProbabilities_shouldPreferTheHigherProbabilities() {
+		TournamentSelector selector = new TournamentSelector(4, false);
+		int[] counts = new int[4];
+		
+		for (int index : selector.select(new double[] {0.1, 0.4, 0.2, 0.3}, 100)) {
+			counts[index]++;
+		}
+		
+		//the tournaments contain all individuals, so the individual with the highest probability always wins
+		assertEquals(200, counts[1]);
+	}
+	
+	@Test
+	public void testSelect_withRandom_shouldPreferTheBetterIndividuals() {
+		TournamentSelector selector = new TournamentSelector();
+		DNA[] population = createPopulation(0, 1, 2, 3);
+		int[] counts = new int[4];
+		
+		for (int index : selector.select(population, true, 20000)) {
+			counts[index]++;
+		}
+		
+		//binary tournaments with replacement: P(i wins) = ((4 - i)^2 - (3 - i)^2) / 16
+		assertEquals(40000 * 7 / 16d, counts[0], 800);
+		assertEquals(40000 * 5 / 16d, counts[1], 800);
+		assertEquals(40000 * 3 / 16d, counts[2], 800);
+		assertEquals(40000 * 1 / 16d, counts[3], 800);
+		assertNotEquals(0, counts[3]);
+	}
+	
+	@Test
+	public void testConstructor_shouldFailForNonPositiveTournamentSizes() {
+		assertThrows(IllegalArgumentException.class, () -> new TournamentSelector(0, true));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package net.jfabricationgames.genetic_optimizer.selection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import net.jfabricationgames.genetic_optimizer.optimizer.DNA;
+
+class TruncationSelectorTest {
+	
+	private DNA[] createPopulation(double... fitness) {
+		DNA[] population = new DNA[fitness.length];
+		for (int i = 0; i < fitness.length; i++) {
+			population[i] = new DNA(1);
+			population[i].setFitness(fitness[i]);
+		}
+		return population;
+	}
+	
+	@Test
+	public void testSelect_shouldOnlySelectTheBestIndividuals() {
+		TruncationSelector selector = new TruncationSelector(0.3);
+		DNA[] population = createPopulation(5, 9, 1, 7, 3, 8, 2, 6, 4, 0);
+		
+		int[] selected = selector.select(population, true, 500);
+		
+		//the best 3 individuals (fitness 0, 1 and 2) are selected
+		int[] indices = Arrays.copyOf(selector.getIndices(), 3);
+		Arrays.sort(indices);
+		assertArrayEquals(new int[] {2, 6, 9}, indices);
+		for (int index : selected) {
+			assertTrue(index == 2 || index == 6 || index == 9);
+		}
+	}
+	
+	@Test
+	public void testSelect_maximized() {
+		TruncationSelector selector = spy(new TruncationSelector(0.5));
+		doReturn(0d, 0.99).when(selector).getRandomNumber();
+		DNA[] population = createPopulation(5, 9, 1, 7);
+		
+		int[] selected = selector.select(population, false, 1);
+		
+		Arrays.sort(selected);
+		assertArrayEquals(new int[] {1, 3}, selected);
+	}
+	
+	@Test
+	public void testSelect_withProbabilities_shouldSelectTheHighestProbabilities() {
+		TruncationSelector selector = new TruncationSelector(0.25);
+		
+		assertArrayEquals(new int[] {2, 2, 2, 2}, selector.select(new double[] {0.1, 0.2, 0.4, 0.3}, 2));
+	}
+	
+	@Test
+	public void testSelectBest_withEqualAndRandomKeys() {
+		TruncationSelector selector = new TruncationSelector(1);
+		double[] fitness = new double[200];
+		for (int i = 0; i < fitness.length; i++) {
+			fitness[i] = (i * 37) % 20;
+		}
+		DNA[] population = createPopulation(fitness);
+		selector.select(population, true, 1);
+		
+		for (int count = 1; count <= fitness.length; count += 13) {
+			for (int i = 0; i < fitness.length; i++) {
+				selector.getIndices()[i] = i;
+			}
+			selector.selectBest(fitness.length, count);
+			
+			double maxSelected = Double.NEGATIVE_INFINITY;
+			for (int i = 0; i < count; i++) {
+				maxSelected = Math.max(maxSelected, fitness[selector.getIndices()[i]]);
+			}
+			for (int i = count; i < fitness.length; i++) {
+				assertTrue(fitness[selector.getIndices()[i]] >= maxSelected);
+			}
+		}
+	}
+	
+	@Test
+	public void testConstructor_shouldFailForFractionsOutsideTheRange() {
+		assertThrows(IllegalArgumentException.class, () -> new TruncationSelector(0));
+		assertThrows(IllegalArgumentException.class, () -> new TruncationSelector(1.5));
+	}
+}
\ No newline at end of file